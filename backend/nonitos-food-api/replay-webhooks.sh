@@ -0,0 +1,50 @@
+#!/bin/bash
+#
+# Replays signed payment webhooks against a local API, the way the provider
+# redelivers them: every event is sent several times, concurrently.
+#
+# Usage: ./replay-webhooks.sh <transaction-reference> [event-type] [copies]
+#   event-type: charge.succeeded (default), charge.failed or charge.refunded
+#
+# PAYMENT_WEBHOOK_SECRET must match the secret the API was started with.
+
+BASE_URL="${BASE_URL:-http://localhost:8080/api/payments/webhook}"
+SECRET="${PAYMENT_WEBHOOK_SECRET:?Set PAYMENT_WEBHOOK_SECRET to the API webhook secret}"
+REFERENCE="${1:?Usage: $0 <transaction-reference> [event-type] [copies]}"
+TYPE="${2:-charge.succeeded}"
+COPIES="${3:-5}"
+
+EVENT_ID="evt_$(date +%s%N)"
+PAYLOAD=$(printf '{"id":"%s","type":"%s","reference":"%s","failureReason":null}' \
+  "$EVENT_ID" "$TYPE" "$REFERENCE")
+
+TIMESTAMP=$(date +%s)
+SIGNATURE=$(printf '%s.%s' "$TIMESTAMP" "$PAYLOAD" \
+  | openssl dgst -sha256 -hmac "$SECRET" -hex | sed 's/^.* //')
+
+echo "========================================="
+echo "🔁 Replaying webhook $EVENT_ID ($TYPE) x$COPIES"
+echo "========================================="
+echo ""
+
+for i in $(seq 1 "$COPIES"); do
+  (
+    RESPONSE=$(curl -s -X POST "$BASE_URL" \
+      -H "Content-Type: application/json" \
+      -H "X-Webhook-Signature: t=$TIMESTAMP,v1=$SIGNATURE" \
+      -d "$PAYLOAD")
+    echo "Copy $i: $(echo "$RESPONSE" | jq -r '.message')"
+  ) &
+done
+wait
+echo ""
+
+echo "📝 Tampered signature (should fail with 401)"
+echo "--------------------------------------------"
+curl -s -X POST "$BASE_URL" \
+  -H "Content-Type: application/json" \
+  -H "X-Webhook-Signature: t=$TIMESTAMP,v1=00$SIGNATURE" \
+  -d "$PAYLOAD" | jq .
+echo ""
+
+echo "✅ Done. Exactly one copy should have been received; the rest are duplicates."
@@ -0,0 +1,96 @@
+package com.nonitos.food.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for asynchronous processing.
+ *
+ * <p>Background jobs triggered by domain events (such as per-client precomputation
+ * after a menu is published) run on a small bounded pool so they never compete
+ * with request threads. CPU-bound work inside a job parallelizes on the common
+ * fork-join pool. Work that mostly waits on I/O runs on virtual threads.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${async.batch.pool-size:2}")
+    private int batchPoolSize;
+
+    @Value("${async.batch.queue-capacity:100}")
+    private int batchQueueCapacity;
+
+    @Value("${notification-coalescing.pool-size:2}")
+    private int coalescingPoolSize;
+
+    /**
+     * Executor for background batch jobs.
+     *
+     * @return the batch executor
+     */
+    @Bean(name = "batchExecutor")
+    public Executor batchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(batchPoolSize);
+        executor.setMaxPoolSize(batchPoolSize);
+        executor.setQueueCapacity(batchQueueCapacity);
+        executor.setThreadNamePrefix("batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Scheduler flushing notifications held in the coalescing window. Kept apart from
+     * the job scheduler so coalescing also works with scheduling disabled. It accepts
+     * work until it is destroyed, after the notification service has flushed.
+     *
+     * @return the coalescing scheduler
+     */
+    @Bean(name = "coalescingScheduler")
+    public ThreadPoolTaskScheduler coalescingScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(coalescingPoolSize);
+        scheduler.setThreadNamePrefix("notification-coalescer-");
+        scheduler.setAcceptTasksAfterContextClose(true);
+        return scheduler;
+    }
+
+    /**
+     * Executor for writing server-sent events to client connections.
+     * Each write may block on a slow client, so every drain runs on its own virtual thread.
+     *
+     * @return the push executor
+     */
+    @Bean(name = "pushExecutor")
+    public Executor pushExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("push-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Executor for payment provider calls. Each call waits on the provider without
+     * holding a database connection, so every call runs on its own virtual thread.
+     *
+     * @return the payment executor
+     */
+    @Bean(name = "paymentExecutor")
+    public Executor paymentExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("payment-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,94 @@
+package com.nonitos.food.config;
+
+import com.nonitos.food.payment.PaymentGateway;
+import com.nonitos.food.payment.ResilientPaymentGateway;
+import com.nonitos.food.payment.StubPaymentGateway;
+import com.nonitos.food.payment.WebhookSignatureVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Configuration of the card payment provider.
+ *
+ * <p>The provider is always wrapped in a {@link ResilientPaymentGateway}, so
+ * timeouts, the circuit breaker and the bulkhead apply whichever provider is used.
+ * Only the local stub exists for now; its latency and failure rate can be raised
+ * to exercise those limits under load. Provider webhooks are verified with the
+ * shared webhook secret.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Configuration
+public class PaymentGatewayConfig {
+
+    @Value("${payment-gateway.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${payment-gateway.max-concurrent-calls:50}")
+    private int maxConcurrentCalls;
+
+    @Value("${payment-gateway.max-wait-ms:0}")
+    private long maxWaitMs;
+
+    @Value("${payment-gateway.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${payment-gateway.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${payment-gateway.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${payment-gateway.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${payment-gateway.stub.latency-ms:500}")
+    private long stubLatencyMs;
+
+    @Value("${payment-gateway.stub.latency-jitter-ms:0}")
+    private long stubLatencyJitterMs;
+
+    @Value("${payment-gateway.stub.failure-rate:0}")
+    private double stubFailureRate;
+
+    @Value("${payment-webhook.secret:}")
+    private String webhookSecret;
+
+    @Value("${payment-webhook.tolerance-seconds:300}")
+    private long webhookToleranceSeconds;
+
+    /**
+     * Payment gateway used by the payment service.
+     *
+     * @param meterRegistry registry for the gateway metrics
+     * @return the guarded payment gateway
+     */
+    @Bean
+    public ResilientPaymentGateway paymentGateway(MeterRegistry meterRegistry) {
+        PaymentGateway provider = new StubPaymentGateway(stubLatencyMs, stubLatencyJitterMs, stubFailureRate);
+        return new ResilientPaymentGateway(provider, ResilientPaymentGateway.Settings.builder()
+                .timeoutMs(timeoutMs)
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitMs(maxWaitMs)
+                .windowSize(windowSize)
+                .minimumCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .openDurationMs(openDurationMs)
+                .build(), meterRegistry);
+    }
+
+    /**
+     * Verifier of the provider's webhook signatures.
+     *
+     * @return the signature verifier
+     */
+    @Bean
+    public WebhookSignatureVerifier webhookSignatureVerifier() {
+        return new WebhookSignatureVerifier(webhookSecret, webhookToleranceSeconds, Clock.systemUTC());
+    }
+}
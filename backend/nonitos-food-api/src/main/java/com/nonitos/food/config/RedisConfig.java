@@ -0,0 +1,53 @@
+package com.nonitos.food.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Redis configuration.
+ *
+ * <p>Spring Boot already provides a string-based template (used for refresh tokens).
+ * This configuration adds a binary template for values that are stored as raw
+ * bytes, such as pre-serialized and gzipped API responses, and a listener
+ * container for pub/sub channels used to fan out events across nodes.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Template with string keys and raw byte array values.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @return the binary Redis template
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> binaryRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    /**
+     * Container dispatching Redis pub/sub messages to registered listeners.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @return the listener container
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
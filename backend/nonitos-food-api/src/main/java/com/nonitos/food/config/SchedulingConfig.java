@@ -0,0 +1,46 @@
+package com.nonitos.food.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Configuration for scheduled jobs.
+ *
+ * <p>Scheduled jobs run on every node; jobs that must happen once per cluster
+ * claim their work with a conditional database update. Disabled with
+ * {@code scheduling.enabled=false}, e.g. in tests.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+
+    @Value("${scheduling.pool-size:2}")
+    private int poolSize;
+
+    /**
+     * Scheduler for periodic and one-shot jobs. Primary over the coalescing
+     * scheduler declared in {@link AsyncConfig}.
+     *
+     * @return the task scheduler
+     */
+    @Bean
+    @Primary
+    public TaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -1,6 +1,7 @@
 package com.nonitos.food.config;
 
 import com.nonitos.food.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -54,14 +55,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  *       Public to allow potential customers to see offerings before registering.</li>
  *   <li><b>GET /api/menus/**</b> - View weekly menus.
  *       Public for same reason as dishes - marketing/discovery.</li>
+ *   <li><b>POST /api/payments/webhook</b> - Payment provider webhook. Called by the
+ *       provider without a JWT; authenticated by its signature instead.</li>
  * </ul>
  * 
  * <h3>Protected endpoints (authentication required):</h3>
  * <ul>
  *   <li>POST/PUT/DELETE /api/dishes/** - Only authenticated admins can modify dishes</li>
  *   <li>POST/PUT/DELETE /api/menus/** - Only authenticated admins can modify menus</li>
+ *   <li>GET /api/menus/{id}/fit - Personalized fit score of the authenticated client</li>
  *   <li>/api/orders/** - Clients need authentication to place/view orders</li>
  *   <li>/api/users/** - Users need authentication to manage their profile</li>
+ *   <li>/actuator/metrics/** - Admins only</li>
  *   <li>All other endpoints - Default to requiring authentication (secure by default)</li>
  * </ul>
  * 
@@ -77,6 +82,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * our API (localhost:8080). In production, CORS should be restricted to
  * specific allowed origins.</p>
  * 
+ * <h2>Async and error dispatches:</h2>
+ * <p>Async and error dispatches are permitted. The original request was already
+ * authorized, but JwtAuthenticationFilter runs once per request and does not
+ * authenticate the re-dispatch. Without this rule, closing or timing out a
+ * server-sent event stream would end in an access-denied error on a response that
+ * is already committed.</p>
+ * 
  * <h2>Filter Chain Order:</h2>
  * <p>JwtAuthenticationFilter is added BEFORE UsernamePasswordAuthenticationFilter.
  * This ensures JWT validation happens early in the filter chain, before Spring
@@ -111,15 +123,21 @@ public class SecurityConfig {
                 .cors(cors -> cors.configure(http))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Re-dispatches of already authorized requests (SSE completion, errors)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/catalogs/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/payments/webhook").permitAll()
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                         // Swagger UI endpoints
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/v3/api-docs.yaml").permitAll()
                         .requestMatchers("/swagger-resources/**").permitAll()
                         .requestMatchers("/webjars/**").permitAll()
+                        // Personalized menu data
+                        .requestMatchers(HttpMethod.GET, "/api/menus/*/fit").authenticated()
                         // Public API endpoints
                         .requestMatchers(HttpMethod.GET, "/api/dishes/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/menus/**").permitAll()
@@ -1,13 +1,23 @@
 package com.nonitos.food.controller;
 
 import com.nonitos.food.dto.ApiResponse;
+import com.nonitos.food.dto.notification.BroadcastRequest;
+import com.nonitos.food.dto.notification.BroadcastResponse;
+import com.nonitos.food.dto.notification.NotificationPageResponse;
 import com.nonitos.food.dto.notification.NotificationResponse;
 import com.nonitos.food.model.User;
+import com.nonitos.food.service.EventStreamService;
+import com.nonitos.food.service.NotificationBroadcastService;
 import com.nonitos.food.service.NotificationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,19 +33,45 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final EventStreamService eventStreamService;
+    private final NotificationBroadcastService notificationBroadcastService;
 
     /**
-     * Gets all notifications for the authenticated user.
+     * Gets a page of notifications for the authenticated user, newest first.
      *
      * @param user the authenticated user
-     * @return list of notifications
+     * @param cursor cursor returned with the previous page, omitted for the first page
+     * @param limit page size (at most 100)
+     * @return page of notifications
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<NotificationResponse>>> getNotifications(
-            @AuthenticationPrincipal User user
+    public ResponseEntity<ApiResponse<NotificationPageResponse>> getNotifications(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
     ) {
-        List<NotificationResponse> notifications = notificationService.getUserNotifications(user.getId());
-        return ResponseEntity.ok(ApiResponse.success(notifications));
+        NotificationPageResponse page = notificationService.getUserNotifications(
+                user.getId(), cursor, Math.max(1, Math.min(limit, 100)));
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    /**
+     * Opens a server-sent event stream for the authenticated user.
+     * Pushes {@code notification} events for new notifications and
+     * {@code order-status} events when one of the user's orders changes status.
+     *
+     * <p>Like every other endpoint, the stream requires the
+     * {@code Authorization: Bearer} header. The browser's native {@code EventSource}
+     * cannot send headers, so browser clients open the stream with {@code fetch}
+     * and read the response body as a stream, e.g. with a fetch-based EventSource
+     * library, passing the access token in the header.</p>
+     *
+     * @param user the authenticated user
+     * @return the event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@AuthenticationPrincipal User user) {
+        return eventStreamService.connect(user.getId());
     }
 
     /**
@@ -95,4 +131,51 @@ public class NotificationController {
         notificationService.markAllAsRead(user.getId());
         return ResponseEntity.ok(ApiResponse.success("All notifications marked as read", null));
     }
+
+    /**
+     * Broadcasts a notification to every user of a role (Admin only).
+     * Delivery runs in the background; poll the broadcast for progress.
+     *
+     * @param user the authenticated admin
+     * @param request the broadcast request
+     * @return the created broadcast
+     */
+    @PostMapping("/broadcasts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BroadcastResponse>> createBroadcast(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody BroadcastRequest request
+    ) {
+        BroadcastResponse broadcast = notificationBroadcastService.createBroadcast(request, user.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Broadcast accepted", broadcast));
+    }
+
+    /**
+     * Gets a broadcast with its delivery progress (Admin only).
+     *
+     * @param id the broadcast ID
+     * @return the broadcast
+     */
+    @GetMapping("/broadcasts/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BroadcastResponse>> getBroadcast(@PathVariable Long id) {
+        BroadcastResponse broadcast = notificationBroadcastService.getBroadcast(id);
+        return ResponseEntity.ok(ApiResponse.success(broadcast));
+    }
+
+    /**
+     * Resumes delivery of a failed or stalled broadcast (Admin only).
+     * Delivery continues after the last user already notified.
+     *
+     * @param id the broadcast ID
+     * @return the broadcast
+     */
+    @PostMapping("/broadcasts/{id}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BroadcastResponse>> resumeBroadcast(@PathVariable Long id) {
+        BroadcastResponse broadcast = notificationBroadcastService.resumeBroadcast(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Broadcast resumed", broadcast));
+    }
 }
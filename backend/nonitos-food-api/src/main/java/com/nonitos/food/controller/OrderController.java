@@ -5,8 +5,10 @@ import com.nonitos.food.dto.order.CancelOrderRequest;
 import com.nonitos.food.dto.order.CreateOrderRequest;
 import com.nonitos.food.dto.order.OrderResponse;
 import com.nonitos.food.dto.order.UpdateOrderStatusRequest;
+import com.nonitos.food.dto.order.WeeklyPlanResponse;
 import com.nonitos.food.model.User;
 import com.nonitos.food.service.OrderService;
+import com.nonitos.food.service.WeeklyPlanService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -29,6 +31,7 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final WeeklyPlanService weeklyPlanService;
 
     /**
      * Creates a new order (Client).
@@ -63,6 +66,22 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(order));
     }
 
+    /**
+     * Gets the personal weekly plan of a paid order (Client - own orders only).
+     *
+     * @param user the authenticated user
+     * @param id the order ID
+     * @return the plan with only the ordered meals
+     */
+    @GetMapping("/{id}/plan")
+    public ResponseEntity<ApiResponse<WeeklyPlanResponse>> getOrderPlan(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id
+    ) {
+        WeeklyPlanResponse plan = weeklyPlanService.getPlan(id, user.getId());
+        return ResponseEntity.ok(ApiResponse.success(plan));
+    }
+
     /**
      * Gets all orders for the authenticated client.
      *
@@ -1,10 +1,14 @@
 package com.nonitos.food.controller;
 
 import com.nonitos.food.dto.ApiResponse;
+import com.nonitos.food.dto.payment.BatchVerificationRequest;
+import com.nonitos.food.dto.payment.BatchVerificationResponse;
 import com.nonitos.food.dto.payment.CreditCardPaymentRequest;
 import com.nonitos.food.dto.payment.ManualPaymentRequest;
+import com.nonitos.food.dto.payment.PendingPaymentPageResponse;
 import com.nonitos.food.dto.payment.TransactionResponse;
 import com.nonitos.food.service.PaymentService;
+import com.nonitos.food.service.PaymentWebhookService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -26,20 +30,23 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentWebhookService paymentWebhookService;
 
     /**
-     * Processes a credit card payment (Client).
+     * Starts a credit card payment (Client).
+     * The transaction is returned as PROCESSING; its outcome is pushed on the event
+     * stream as a {@code payment} event and can be polled at {@code GET /api/payments/{id}}.
      *
      * @param request the payment request
-     * @return the transaction
+     * @return the processing transaction
      */
     @PostMapping("/credit-card")
     public ResponseEntity<ApiResponse<TransactionResponse>> processCreditCardPayment(
             @Valid @RequestBody CreditCardPaymentRequest request
     ) {
         TransactionResponse transaction = paymentService.processCreditCardPayment(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Payment processed", transaction));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Payment processing", transaction));
     }
 
     /**
@@ -75,6 +82,58 @@ public class PaymentController {
         return ResponseEntity.ok(ApiResponse.success(message, transaction));
     }
 
+    /**
+     * Gets a page of the manual payments awaiting verification, oldest first (Admin).
+     *
+     * @param cursor cursor returned with the previous page, omitted for the first page
+     * @param limit page size (at most 200)
+     * @return page of pending payments
+     */
+    @GetMapping("/pending")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PendingPaymentPageResponse>> getPendingVerificationQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        PendingPaymentPageResponse page = paymentService.getPendingVerificationQueue(
+                cursor, Math.max(1, Math.min(limit, 200)));
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    /**
+     * Approves or rejects several manual payments at once (Admin).
+     *
+     * @param request the transactions and the decision
+     * @return the outcome of the batch
+     */
+    @PostMapping("/verify-batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BatchVerificationResponse>> verifyManualPayments(
+            @Valid @RequestBody BatchVerificationRequest request
+    ) {
+        BatchVerificationResponse result = paymentService.verifyManualPayments(request);
+        String message = Boolean.TRUE.equals(request.getApproved()) ? "Payments approved" : "Payments rejected";
+        return ResponseEntity.ok(ApiResponse.success(message, result));
+    }
+
+    /**
+     * Receives a payment provider event (Provider, authenticated by signature).
+     * The event is stored and acknowledged at once; it is applied in the background.
+     * Redelivered events are acknowledged without effect.
+     *
+     * @param payload the raw event body
+     * @param signature the signature header
+     * @return acknowledgement
+     */
+    @PostMapping("/webhook")
+    public ResponseEntity<ApiResponse<Void>> receiveWebhook(
+            @RequestBody String payload,
+            @RequestHeader(value = "X-Webhook-Signature", required = false) String signature
+    ) {
+        boolean received = paymentWebhookService.receive(payload, signature);
+        return ResponseEntity.ok(ApiResponse.success(received ? "Event received" : "Duplicate event", null));
+    }
+
     /**
      * Gets all transactions for an order.
      *
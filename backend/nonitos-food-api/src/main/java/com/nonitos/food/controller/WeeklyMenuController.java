@@ -1,17 +1,36 @@
 package com.nonitos.food.controller;
 
 import com.nonitos.food.dto.ApiResponse;
+import com.nonitos.food.dto.menu.CloneWeeklyMenuRequest;
 import com.nonitos.food.dto.menu.CreateWeeklyMenuRequest;
+import com.nonitos.food.dto.menu.GenerateMenuRequest;
+import com.nonitos.food.dto.menu.MenuFitResponse;
+import com.nonitos.food.dto.menu.MenuProposalResponse;
+import com.nonitos.food.dto.menu.SchedulePublicationRequest;
 import com.nonitos.food.dto.menu.UpdateWeeklyMenuRequest;
 import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.dto.menu.WeeklyMenuSummaryResponse;
+import com.nonitos.food.model.User;
+import com.nonitos.food.service.MenuFitScoreService;
+import com.nonitos.food.service.MenuGeneratorService;
+import com.nonitos.food.service.MenuSnapshotService;
 import com.nonitos.food.service.WeeklyMenuService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -26,6 +45,9 @@ import java.util.List;
 public class WeeklyMenuController {
 
     private final WeeklyMenuService weeklyMenuService;
+    private final MenuSnapshotService menuSnapshotService;
+    private final MenuGeneratorService menuGeneratorService;
+    private final MenuFitScoreService menuFitScoreService;
 
     /**
      * Creates a new weekly menu (Admin only).
@@ -43,26 +65,102 @@ public class WeeklyMenuController {
                 .body(ApiResponse.success("Menu created successfully", menu));
     }
 
+    /**
+     * Generates weekly menu proposals from the active dish pool (Admin only).
+     *
+     * @param request the generation constraints
+     * @return proposals ordered from best to worst
+     */
+    @PostMapping("/generate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<MenuProposalResponse>>> generateMenus(
+            @Valid @RequestBody GenerateMenuRequest request
+    ) {
+        List<MenuProposalResponse> proposals = menuGeneratorService.generate(request);
+        return ResponseEntity.ok(ApiResponse.success(proposals));
+    }
+
     /**
      * Gets a menu by ID (Public).
+     * Served from a pre-serialized snapshot with ETag revalidation.
      *
      * @param id the menu ID
-     * @return the menu
+     * @param ifNoneMatch the client's cached ETag, if any
+     * @param acceptEncoding the accepted content encodings
+     * @return the menu as JSON bytes, or 304 if unchanged
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<WeeklyMenuResponse>> getMenuById(@PathVariable Long id) {
-        WeeklyMenuResponse menu = weeklyMenuService.getMenuById(id);
-        return ResponseEntity.ok(ApiResponse.success(menu));
+    public ResponseEntity<byte[]> getMenuById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return serveSnapshot(menuSnapshotService.getMenu(id), ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Gets how well a published menu fits the authenticated client's nutrition targets.
+     *
+     * @param id the menu ID
+     * @param user the authenticated user
+     * @return the precomputed fit score
+     */
+    @GetMapping("/{id}/fit")
+    public ResponseEntity<ApiResponse<MenuFitResponse>> getMenuFit(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User user
+    ) {
+        MenuFitResponse fit = menuFitScoreService.getFitScore(id, user.getId());
+        return ResponseEntity.ok(ApiResponse.success(fit));
     }
 
     /**
      * Gets all published menus (Public).
+     * Served from a pre-serialized snapshot with ETag revalidation.
      *
-     * @return list of published menus
+     * @param ifNoneMatch the client's cached ETag, if any
+     * @param acceptEncoding the accepted content encodings
+     * @return list of published menus as JSON bytes, or 304 if unchanged
      */
     @GetMapping("/published")
-    public ResponseEntity<ApiResponse<List<WeeklyMenuResponse>>> getPublishedMenus() {
-        List<WeeklyMenuResponse> menus = weeklyMenuService.getPublishedMenus();
+    public ResponseEntity<byte[]> getPublishedMenus(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return serveSnapshot(menuSnapshotService.getPublishedMenus(), ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * Gets a page of published menu summaries, newest first (Public).
+     *
+     * @param page page number
+     * @param size page size (at most 100)
+     * @return page of menu summaries
+     */
+    @GetMapping("/published/summary")
+    public ResponseEntity<ApiResponse<Page<WeeklyMenuSummaryResponse>>> getPublishedMenuSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        PageRequest pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, 100)),
+                Sort.by("weekStartDate").descending());
+        Page<WeeklyMenuSummaryResponse> menus = weeklyMenuService.getPublishedMenuSummaries(pageable);
+        return ResponseEntity.ok(ApiResponse.success(menus));
+    }
+
+    /**
+     * Gets the fully expanded published menus whose week starts within a range (Public).
+     *
+     * @param from the earliest week start date (inclusive)
+     * @param to the latest week start date (inclusive)
+     * @return list of published menus
+     */
+    @GetMapping("/published/range")
+    public ResponseEntity<ApiResponse<List<WeeklyMenuResponse>>> getPublishedMenusInRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<WeeklyMenuResponse> menus = weeklyMenuService.getPublishedMenusInRange(from, to);
         return ResponseEntity.ok(ApiResponse.success(menus));
     }
 
@@ -96,6 +194,54 @@ public class WeeklyMenuController {
         return ResponseEntity.ok(ApiResponse.success("Menu published successfully", menu));
     }
 
+    /**
+     * Schedules a menu to be published automatically (Admin only).
+     *
+     * @param id the menu ID
+     * @param request the schedule request
+     * @return the scheduled menu
+     */
+    @PutMapping("/{id}/schedule")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<WeeklyMenuResponse>> schedulePublication(
+            @PathVariable Long id,
+            @Valid @RequestBody SchedulePublicationRequest request
+    ) {
+        WeeklyMenuResponse menu = weeklyMenuService.schedulePublication(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Menu publication scheduled successfully", menu));
+    }
+
+    /**
+     * Cancels the scheduled publication of a menu (Admin only).
+     *
+     * @param id the menu ID
+     * @return the updated menu
+     */
+    @DeleteMapping("/{id}/schedule")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<WeeklyMenuResponse>> cancelScheduledPublication(@PathVariable Long id) {
+        WeeklyMenuResponse menu = weeklyMenuService.cancelScheduledPublication(id);
+        return ResponseEntity.ok(ApiResponse.success("Menu publication cancelled successfully", menu));
+    }
+
+    /**
+     * Clones a menu into another week as a new draft (Admin only).
+     *
+     * @param id the ID of the menu to clone
+     * @param request the clone request
+     * @return the cloned menu
+     */
+    @PostMapping("/{id}/clone")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<WeeklyMenuResponse>> cloneMenu(
+            @PathVariable Long id,
+            @Valid @RequestBody CloneWeeklyMenuRequest request
+    ) {
+        WeeklyMenuResponse menu = weeklyMenuService.cloneMenu(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Menu cloned successfully", menu));
+    }
+
     /**
      * Deletes a menu (Admin only).
      *
@@ -108,4 +254,27 @@ public class WeeklyMenuController {
         weeklyMenuService.deleteMenu(id);
         return ResponseEntity.ok(ApiResponse.success("Menu deleted successfully", null));
     }
+
+    private ResponseEntity<byte[]> serveSnapshot(
+            MenuSnapshotService.Snapshot snapshot,
+            String ifNoneMatch,
+            String acceptEncoding
+    ) {
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (MenuSnapshotService.Snapshot.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
+    }
 }
@@ -0,0 +1,26 @@
+package com.nonitos.food.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response containing the completed revenue of a day.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueResponse {
+
+    private LocalDate date;
+    private BigDecimal revenue;
+    private Long transactions;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Response containing dashboard metrics.
@@ -26,6 +27,7 @@ public class DashboardMetricsResponse {
     private Long completedOrders;
     private BigDecimal totalRevenue;
     private BigDecimal pendingRevenue;
+    private List<DailyRevenueResponse> dailyRevenue;
     private Long totalDishes;
     private Long activeDishes;
     private Long totalMenus;
@@ -0,0 +1,26 @@
+package com.nonitos.food.dto.menu;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for cloning a weekly menu into another week.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CloneWeeklyMenuRequest {
+
+    /** Week start date (Monday) of the copy */
+    @NotNull(message = "Week start date is required")
+    private LocalDate weekStartDate;
+}
@@ -0,0 +1,60 @@
+package com.nonitos.food.dto.menu;
+
+import com.nonitos.food.model.Dish;
+import com.nonitos.food.model.MenuDay;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for generating weekly menu proposals.
+ * Macro targets are per day; a null target is not scored.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerateMenuRequest {
+
+    @NotNull(message = "Daily calorie target is required")
+    @Min(value = 1, message = "Daily calorie target must be positive")
+    private Integer targetCalories;
+
+    @Min(value = 0, message = "Daily protein target must not be negative")
+    private Integer targetProtein;
+
+    @Min(value = 0, message = "Daily carbs target must not be negative")
+    private Integer targetCarbs;
+
+    @Min(value = 0, message = "Daily fats target must not be negative")
+    private Integer targetFats;
+
+    /** Dish category to draw from per meal type; defaults to the category of the same name */
+    private Map<MenuDay.MealType, Dish.DishCategory> mealCategories;
+
+    /** Maximum times a dish may appear in the week */
+    @Min(value = 1, message = "Max repeats must be at least 1")
+    @Builder.Default
+    private Integer maxRepeats = 2;
+
+    /** Tags every proposed dish must carry */
+    private List<String> requiredTags;
+
+    @Min(value = 1, message = "At least one proposal must be requested")
+    @Max(value = 10, message = "At most 10 proposals can be requested")
+    @Builder.Default
+    private Integer proposals = 3;
+
+    /** Optional seed for reproducible proposals */
+    private Long seed;
+}
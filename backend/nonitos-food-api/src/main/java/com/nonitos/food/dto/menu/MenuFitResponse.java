@@ -0,0 +1,25 @@
+package com.nonitos.food.dto.menu;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a client's fit score against a weekly menu.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuFitResponse {
+    private Long weeklyMenuId;
+    private Integer fitPercent;
+    private Integer avgDailyCalories;
+    private Integer avgDailyProtein;
+    private Integer avgDailyCarbs;
+    private Integer avgDailyFats;
+}
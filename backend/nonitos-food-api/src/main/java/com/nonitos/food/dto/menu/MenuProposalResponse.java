@@ -0,0 +1,31 @@
+package com.nonitos.food.dto.menu;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for a generated weekly menu proposal.
+ * The menu days can be submitted unchanged to create a menu.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuProposalResponse {
+
+    /** Sum of squared relative deviations from the daily targets; lower is better */
+    private double score;
+
+    private WeeklyMenuResponse.NutritionTotals weeklyTotals;
+    private Map<DayOfWeek, WeeklyMenuResponse.NutritionTotals> dailyTotals;
+    private List<CreateWeeklyMenuRequest.MenuDayRequest> menuDays;
+}
@@ -0,0 +1,27 @@
+package com.nonitos.food.dto.menu;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request DTO for scheduling the publication of a weekly menu.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulePublicationRequest {
+
+    @NotNull(message = "Publication time is required")
+    @Future(message = "Publication time must be in the future")
+    private LocalDateTime publishAt;
+}
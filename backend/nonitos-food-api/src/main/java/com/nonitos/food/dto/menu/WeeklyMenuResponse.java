@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -27,12 +28,18 @@ public class WeeklyMenuResponse {
     private LocalDate weekStartDate;
     private LocalDate weekEndDate;
     private WeeklyMenu.MenuStatus status;
+
+    /** Scheduled publication instant of a draft, if any */
+    private LocalDateTime publishAt;
     private Integer totalCalories;
     private Integer totalProtein;
     private Integer totalCarbs;
     private Integer totalFats;
     private Map<DayOfWeek, DayMenus> menusByDay;
 
+    /** Nutrition totals per meal type across the whole week */
+    private Map<MenuDay.MealType, NutritionTotals> totalsByMealType;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -41,6 +48,9 @@ public class WeeklyMenuResponse {
         private MealInfo breakfast;
         private MealInfo lunch;
         private MealInfo dinner;
+
+        /** Nutrition totals for all meals of the day */
+        private NutritionTotals totals;
     }
 
     @Data
@@ -57,4 +67,15 @@ public class WeeklyMenuResponse {
         private Integer fats;
         private String imageUrl;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NutritionTotals {
+        private int calories;
+        private int protein;
+        private int carbs;
+        private int fats;
+    }
 }
@@ -0,0 +1,31 @@
+package com.nonitos.food.dto.menu;
+
+import com.nonitos.food.model.WeeklyMenu;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight response DTO for menu history listings.
+ * Built directly from a query projection, without loading menu days.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyMenuSummaryResponse {
+    private Long id;
+    private LocalDate weekStartDate;
+    private LocalDate weekEndDate;
+    private WeeklyMenu.MenuStatus status;
+    private Integer totalCalories;
+    private Integer totalProtein;
+    private Integer totalCarbs;
+    private Integer totalFats;
+}
@@ -0,0 +1,38 @@
+package com.nonitos.food.dto.notification;
+
+import com.nonitos.food.model.Notification;
+import com.nonitos.food.model.User;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Request DTO for broadcasting a notification to every user of a role.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastRequest {
+
+    /** MENU_PUBLISHED or SYSTEM_ANNOUNCEMENT */
+    @NotNull(message = "Notification type is required")
+    private Notification.NotificationType type;
+
+    /** Template variables */
+    private Map<String, String> variables;
+
+    /** Role of the recipients (defaults to CLIENT) */
+    private User.UserRole targetRole;
+
+    private Long relatedEntityId;
+
+    private String relatedEntityType;
+}
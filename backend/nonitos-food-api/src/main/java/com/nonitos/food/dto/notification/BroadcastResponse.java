@@ -0,0 +1,36 @@
+package com.nonitos.food.dto.notification;
+
+import com.nonitos.food.model.Notification;
+import com.nonitos.food.model.NotificationBroadcast;
+import com.nonitos.food.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for notification broadcast progress.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastResponse {
+    private Long id;
+    private Notification.NotificationType type;
+    private String title;
+    private String message;
+    private User.UserRole targetRole;
+    private NotificationBroadcast.BroadcastStatus status;
+    private Integer totalRecipients;
+    private Integer deliveredCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private String failureReason;
+    private LocalDateTime createdAt;
+}
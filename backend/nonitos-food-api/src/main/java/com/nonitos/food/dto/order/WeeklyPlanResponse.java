@@ -0,0 +1,72 @@
+package com.nonitos.food.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.model.MenuDay;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for a client's personal weekly plan.
+ * Contains only the meals of the order, with allergen warnings and daily totals.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class WeeklyPlanResponse {
+    private Long orderId;
+    private String orderCode;
+    private Long weeklyMenuId;
+    private LocalDate weekStartDate;
+    private LocalDate weekEndDate;
+    private LocalDateTime pickupDateTime;
+    private List<PlanDay> days;
+    private WeeklyMenuResponse.NutritionTotals weeklyTotals;
+
+    /** Distinct allergen warnings across the whole plan */
+    private List<String> allergenWarnings;
+
+    private LocalDateTime generatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class PlanDay {
+        private DayOfWeek dayOfWeek;
+        private List<PlanMeal> meals;
+        private WeeklyMenuResponse.NutritionTotals totals;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class PlanMeal {
+        private MenuDay.MealType mealType;
+        private Long dishId;
+        private String dishName;
+        private Integer calories;
+        private Integer protein;
+        private Integer carbs;
+        private Integer fats;
+        private String imageUrl;
+
+        /** Allergies of the client carried by this dish, e.g. "Nuts (SEVERE)" */
+        private List<String> allergenWarnings;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nonitos.food.dto.payment;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for approving or rejecting several manual payments at once.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchVerificationRequest {
+
+    @NotEmpty(message = "Transaction IDs are required")
+    @Size(max = 1000, message = "At most 1000 transactions can be verified at once")
+    private List<@NotNull Long> transactionIds;
+
+    @NotNull(message = "Approval decision is required")
+    private Boolean approved;
+}
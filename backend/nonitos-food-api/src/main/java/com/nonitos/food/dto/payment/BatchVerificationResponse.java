@@ -0,0 +1,28 @@
+package com.nonitos.food.dto.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch verification of manual payments.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchVerificationResponse {
+    private int verified;
+
+    /** Orders marked as paid by the approval */
+    private int ordersPaid;
+
+    /** Requested transactions that were not pending verification, or whose order was not payable */
+    private List<Long> skippedTransactionIds;
+}
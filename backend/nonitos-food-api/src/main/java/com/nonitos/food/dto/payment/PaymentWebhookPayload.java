@@ -0,0 +1,33 @@
+package com.nonitos.food.dto.payment;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of a payment provider webhook. Fields the application does not use are ignored.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PaymentWebhookPayload {
+
+    /** Event ID, unique per event and repeated on redelivery */
+    private String id;
+
+    /** Event type: charge.succeeded, charge.failed or charge.refunded */
+    private String type;
+
+    /** Reference of the transaction, sent with the charge */
+    private String reference;
+
+    /** Failure reason of a failed charge */
+    private String failureReason;
+}
@@ -0,0 +1,25 @@
+package com.nonitos.food.dto.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a page of the manual payment verification queue.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingPaymentPageResponse {
+    private List<PendingPaymentResponse> payments;
+
+    /** Cursor of the next page, or null on the last page */
+    private String nextCursor;
+}
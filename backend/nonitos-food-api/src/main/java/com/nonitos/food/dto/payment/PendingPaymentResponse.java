@@ -0,0 +1,34 @@
+package com.nonitos.food.dto.payment;
+
+import com.nonitos.food.model.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a manual payment awaiting admin verification.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingPaymentResponse {
+    private Long id;
+    private String transactionReference;
+    private Transaction.PaymentMethod paymentMethod;
+    private BigDecimal amount;
+    private String currency;
+    private String proofOfPaymentUrl;
+    private LocalDateTime createdAt;
+    private Long orderId;
+    private String orderCode;
+    private String clientName;
+    private String clientEmail;
+}
@@ -0,0 +1,18 @@
+package com.nonitos.food.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event raised when a notification broadcast is created.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class BroadcastRequestedEvent {
+
+    /** ID of the broadcast */
+    private final Long broadcastId;
+}
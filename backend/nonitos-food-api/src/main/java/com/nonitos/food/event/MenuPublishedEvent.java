@@ -0,0 +1,22 @@
+package com.nonitos.food.event;
+
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event raised when a weekly menu is published.
+ *
+ * <p>Carries the fully assembled menu so listeners can react to the publication
+ * (caching, notifications, precomputation) without querying the database again.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class MenuPublishedEvent {
+
+    /** The menu as it was published */
+    private final WeeklyMenuResponse menu;
+}
@@ -0,0 +1,18 @@
+package com.nonitos.food.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event raised when an order transitions to PAID.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class OrderPaidEvent {
+
+    /** ID of the paid order */
+    private final Long orderId;
+}
@@ -0,0 +1,28 @@
+package com.nonitos.food.event;
+
+import com.nonitos.food.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event raised when the status of an order changes.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+
+    /** ID of the order */
+    private final Long orderId;
+
+    /** Code of the order */
+    private final String orderCode;
+
+    /** ID of the ordering client */
+    private final Long clientId;
+
+    /** New status of the order */
+    private final Order.OrderStatus status;
+}
@@ -0,0 +1,28 @@
+package com.nonitos.food.event;
+
+import com.nonitos.food.model.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event raised when an asynchronous card payment has been settled.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class PaymentProcessedEvent {
+
+    /** ID of the transaction */
+    private final Long transactionId;
+
+    /** ID of the paid order */
+    private final Long orderId;
+
+    /** ID of the paying client */
+    private final Long clientId;
+
+    /** Final status of the transaction */
+    private final Transaction.TransactionStatus status;
+}
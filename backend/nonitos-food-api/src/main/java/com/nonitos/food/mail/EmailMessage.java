@@ -0,0 +1,27 @@
+package com.nonitos.food.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A plain-text email waiting to be sent.
+ * Messages compare by identity, so senders can report failures per message.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(of = {"to", "subject"})
+public class EmailMessage {
+
+    /** Recipient address */
+    private final String to;
+
+    /** Email subject */
+    private final String subject;
+
+    /** Plain-text body */
+    private final String body;
+}
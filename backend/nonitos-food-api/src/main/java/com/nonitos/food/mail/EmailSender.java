@@ -0,0 +1,22 @@
+package com.nonitos.food.mail;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transport delivering emails to a mail provider.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface EmailSender {
+
+    /**
+     * Sends a batch of emails, reusing one provider connection for the whole batch.
+     * A failure of one message does not stop the others.
+     *
+     * @param messages the messages to send
+     * @return the messages that could not be sent with their errors, empty when all were sent
+     */
+    Map<EmailMessage, Exception> send(List<EmailMessage> messages);
+}
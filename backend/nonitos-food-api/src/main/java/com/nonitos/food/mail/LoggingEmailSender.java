@@ -0,0 +1,33 @@
+package com.nonitos.food.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email sender that only logs messages. Default for development, where no mail
+ * server is configured.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "email.sender", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingEmailSender implements EmailSender {
+
+    @Override
+    public Map<EmailMessage, Exception> send(List<EmailMessage> messages) {
+        for (EmailMessage message : messages) {
+            log.info("=== MOCK EMAIL ===");
+            log.info("To: {}", message.getTo());
+            log.info("Subject: {}", message.getSubject());
+            log.info("Body: {}", message.getBody());
+            log.info("==================");
+        }
+        return Map.of();
+    }
+}
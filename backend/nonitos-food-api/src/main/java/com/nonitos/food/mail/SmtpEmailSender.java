@@ -0,0 +1,72 @@
+package com.nonitos.food.mail;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email sender delivering over SMTP.
+ * {@link JavaMailSender} opens a single connection per call, so every batch is
+ * sent over one connection.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "email.sender", havingValue = "smtp")
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpEmailSender implements EmailSender {
+
+    private final JavaMailSender mailSender;
+
+    @Value("${email.from:no-reply@nonitosfood.com}")
+    private String from;
+
+    @Override
+    public Map<EmailMessage, Exception> send(List<EmailMessage> messages) {
+        Map<Object, EmailMessage> originals = new IdentityHashMap<>(messages.size());
+        SimpleMailMessage[] mails = new SimpleMailMessage[messages.size()];
+        for (int i = 0; i < mails.length; i++) {
+            EmailMessage message = messages.get(i);
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(from);
+            mail.setTo(message.getTo());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            mails[i] = mail;
+            originals.put(mail, message);
+        }
+
+        try {
+            mailSender.send(mails);
+            return Map.of();
+        } catch (MailSendException e) {
+            Map<EmailMessage, Exception> failures = new IdentityHashMap<>();
+            e.getFailedMessages().forEach((mail, error) -> {
+                EmailMessage message = originals.get(mail);
+                if (message != null) {
+                    failures.put(message, error);
+                }
+            });
+            if (failures.isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            }
+            return failures;
+        } catch (MailException e) {
+            Map<EmailMessage, Exception> failures = new IdentityHashMap<>();
+            messages.forEach(message -> failures.put(message, e));
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nonitos.food.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity storing a client's materialized weekly plan for a paid order.
+ * The plan is a JSON document built in the background and read as-is.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Entity
+@Table(name = "client_weekly_plans")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientWeeklyPlan extends BaseEntity {
+
+    /** ID of the order the plan belongs to */
+    @Column(name = "order_id", nullable = false, unique = true)
+    private Long orderId;
+
+    /** ID of the client user */
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    /** ID of the weekly menu */
+    @Column(name = "weekly_menu_id", nullable = false)
+    private Long weeklyMenuId;
+
+    /** Serialized plan document */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String document;
+}
@@ -0,0 +1,47 @@
+package com.nonitos.food.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entity holding the total of the transactions created on a day, per status and currency.
+ * Adjusted in place whenever a transaction is created or changes status.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Entity
+@Table(name = "daily_revenue_rollups", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"revenue_date", "status", "currency"})
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueRollup extends BaseEntity {
+
+    /** Day the transactions were created */
+    @Column(name = "revenue_date", nullable = false)
+    private LocalDate revenueDate;
+
+    /** Current status of the transactions */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Transaction.TransactionStatus status;
+
+    /** Currency code */
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    /** Sum of the transaction amounts */
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+
+    /** Number of transactions */
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+}
@@ -0,0 +1,41 @@
+package com.nonitos.food.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity storing an email that could not be delivered after all retries,
+ * kept so it can be inspected and resent.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Entity
+@Table(name = "email_dead_letters")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailDeadLetter extends BaseEntity {
+
+    /** Recipient address */
+    @Column(nullable = false)
+    private String recipient;
+
+    /** Email subject */
+    @Column(nullable = false)
+    private String subject;
+
+    /** Email body */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    /** Delivery attempts made */
+    @Column(nullable = false)
+    private Integer attempts;
+
+    /** Error of the last attempt */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -23,7 +23,7 @@ import java.time.DayOfWeek;
 public class MenuDay extends BaseEntity {
 
     /** Reference to the weekly menu */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "weekly_menu_id", nullable = false)
     private WeeklyMenu weeklyMenu;
 
@@ -0,0 +1,51 @@
+package com.nonitos.food.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity storing how well a published weekly menu fits a client's nutrition targets.
+ * Written in bulk when a menu is published; IDs are kept as plain columns.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Entity
+@Table(name = "menu_fit_scores", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"weekly_menu_id", "client_profile_id"})
+})
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuFitScore extends BaseEntity {
+
+    /** ID of the weekly menu */
+    @Column(name = "weekly_menu_id", nullable = false)
+    private Long weeklyMenuId;
+
+    /** ID of the client profile */
+    @Column(name = "client_profile_id", nullable = false)
+    private Long clientProfileId;
+
+    /** Match against the client's targets (0-100) */
+    @Column(name = "fit_percent", nullable = false)
+    private Integer fitPercent;
+
+    /** Average daily calories of the client's selected meals */
+    @Column(name = "avg_daily_calories", nullable = false)
+    private Integer avgDailyCalories;
+
+    /** Average daily protein of the client's selected meals */
+    @Column(name = "avg_daily_protein", nullable = false)
+    private Integer avgDailyProtein;
+
+    /** Average daily carbs of the client's selected meals */
+    @Column(name = "avg_daily_carbs", nullable = false)
+    private Integer avgDailyCarbs;
+
+    /** Average daily fats of the client's selected meals */
+    @Column(name = "avg_daily_fats", nullable = false)
+    private Integer avgDailyFats;
+}
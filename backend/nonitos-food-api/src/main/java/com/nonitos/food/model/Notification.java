@@ -7,6 +7,8 @@ import java.time.LocalDateTime;
 
 /**
  * Entity representing a notification sent to a user.
+ * The table is partitioned by month of {@code created_at}; IDs stay unique
+ * through the shared sequence.
  *
  * @author Nonito's Food Team
  * @since 1.0
@@ -63,6 +65,7 @@ public class Notification extends BaseEntity {
         PAYMENT_RECEIVED,
         PAYMENT_FAILED,
         MENU_PUBLISHED,
-        SYSTEM_ANNOUNCEMENT
+        SYSTEM_ANNOUNCEMENT,
+        ORDER_UPDATES
     }
 }
@@ -0,0 +1,87 @@
+package com.nonitos.food.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity tracking a notification fanned out to every user of a role.
+ * The title and message are rendered once; progress is recorded per chunk so an
+ * interrupted broadcast can resume after the last user it reached.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Entity
+@Table(name = "notification_broadcasts")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBroadcast extends BaseEntity {
+
+    /** Notification type */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Notification.NotificationType type;
+
+    /** Rendered notification title */
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    /** Rendered notification message */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    /** Role of the recipients */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_role", nullable = false, length = 20)
+    private User.UserRole targetRole;
+
+    /** Related entity ID (e.g., menu ID) */
+    @Column(name = "related_entity_id")
+    private Long relatedEntityId;
+
+    /** Related entity type (e.g., "WeeklyMenu") */
+    @Column(name = "related_entity_type", length = 50)
+    private String relatedEntityType;
+
+    /** Broadcast status */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BroadcastStatus status;
+
+    /** Number of recipients when the broadcast was created */
+    @Column(name = "total_recipients", nullable = false)
+    private Integer totalRecipients;
+
+    /** Number of notifications inserted so far */
+    @Column(name = "delivered_count", nullable = false)
+    private Integer deliveredCount;
+
+    /** Highest user ID already notified */
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId;
+
+    /** ID of the admin who created the broadcast */
+    @Column(name = "created_by", nullable = false)
+    private Long createdBy;
+
+    /** When delivery started */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /** When delivery finished */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /** Failure reason, if delivery failed */
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    public enum BroadcastStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,62 @@
+package com.nonitos.food.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity reporting an order whose status disagrees with its transactions.
+ * Written in bulk by a reconciliation run; IDs are kept as plain columns.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Entity
+@Table(name = "payment_discrepancies")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentDiscrepancy extends BaseEntity {
+
+    /** ID of the reconciliation run */
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    /** ID of the order */
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /** ID of the transaction concerned, if a single one */
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    /** Discrepancy type */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private DiscrepancyType type;
+
+    /** Order status when the run read it */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false, length = 20)
+    private Order.OrderStatus orderStatus;
+
+    /** Human-readable details */
+    @Column(length = 500)
+    private String details;
+
+    public enum DiscrepancyType {
+        /** Order past payment without a completed transaction */
+        PAID_WITHOUT_PAYMENT,
+        /** More than one completed transaction for the order */
+        DUPLICATE_PAYMENT,
+        /** Completed transaction for an order still pending payment */
+        UNAPPLIED_PAYMENT,
+        /** Completed transaction for a cancelled order that was never refunded */
+        CANCELLED_WITH_PAYMENT,
+        /** Completed transaction amount differs from the order total */
+        AMOUNT_MISMATCH,
+        /** Card payment waiting on the provider for too long */
+        STUCK_PROCESSING
+    }
+}
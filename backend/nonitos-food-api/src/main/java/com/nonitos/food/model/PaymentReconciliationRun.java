@@ -0,0 +1,56 @@
+package com.nonitos.food.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity tracking one comparison of every order's status with its transactions.
+ * The discrepancies found are stored as {@link PaymentDiscrepancy} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Entity
+@Table(name = "payment_reconciliation_runs")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentReconciliationRun extends BaseEntity {
+
+    /** Run status */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RunStatus status;
+
+    /** When the run started */
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    /** When the run finished */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /** Number of orders compared */
+    @Column(name = "orders_checked", nullable = false)
+    private Long ordersChecked;
+
+    /** Number of transactions compared */
+    @Column(name = "transactions_checked", nullable = false)
+    private Long transactionsChecked;
+
+    /** Number of discrepancies found */
+    @Column(name = "discrepancy_count", nullable = false)
+    private Long discrepancyCount;
+
+    /** Failure reason, if the run failed */
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,61 @@
+package com.nonitos.food.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity storing an event received from the payment provider's webhook.
+ * The unique event ID makes redelivered events no-ops; events are stored as
+ * RECEIVED and applied to their transaction in the background.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Entity
+@Table(name = "payment_webhook_events")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentWebhookEvent extends BaseEntity {
+
+    /** Event ID assigned by the provider */
+    @Column(name = "event_id", nullable = false, unique = true, length = 100)
+    private String eventId;
+
+    /** Event type, e.g. charge.succeeded */
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    /** Reference of the transaction the event is about */
+    @Column(name = "transaction_reference", nullable = false, length = 100)
+    private String transactionReference;
+
+    /** Failure reason reported by the provider */
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    /** Raw event body as signed by the provider */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /** Processing status */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventStatus status;
+
+    /** What applying the event did, or the error that kept it from being applied */
+    @Column(length = 500)
+    private String outcome;
+
+    /** When the event was applied, ignored or failed */
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public enum EventStatus {
+        RECEIVED, APPLIED, IGNORED, FAILED
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Entity representing a weekly menu.
@@ -49,6 +50,9 @@ public class WeeklyMenu extends BaseEntity {
     @Column(nullable = false)
     private Integer totalFats;
 
+    /** Instant at which a draft is published automatically, if scheduled */
+    private LocalDateTime publishAt;
+
     public enum MenuStatus {
         DRAFT, PUBLISHED, ARCHIVED
     }
@@ -0,0 +1,44 @@
+package com.nonitos.food.payment;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * A card charge sent to the payment provider. Card data is never persisted
+ * and is left out of {@link #toString()}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@Builder
+@ToString(of = {"reference", "amount", "currency"})
+public class ChargeRequest {
+
+    /** Transaction reference, sent as idempotency key */
+    private final String reference;
+
+    /** Amount to charge */
+    private final BigDecimal amount;
+
+    /** ISO currency code */
+    private final String currency;
+
+    /** Card number */
+    private final String cardNumber;
+
+    /** Card holder name */
+    private final String cardHolderName;
+
+    /** Expiry month */
+    private final String expiryMonth;
+
+    /** Expiry year */
+    private final String expiryYear;
+
+    /** Card verification value */
+    private final String cvv;
+}
@@ -0,0 +1,29 @@
+package com.nonitos.food.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Answer of the payment provider to a charge.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class ChargeResult {
+
+    /** Whether the charge was approved */
+    private final boolean approved;
+
+    /** Reason given by the issuer when declined */
+    private final String declineReason;
+
+    public static ChargeResult approved() {
+        return new ChargeResult(true, null);
+    }
+
+    public static ChargeResult declined(String reason) {
+        return new ChargeResult(false, reason);
+    }
+}
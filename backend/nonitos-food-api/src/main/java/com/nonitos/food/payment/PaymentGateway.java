@@ -0,0 +1,42 @@
+package com.nonitos.food.payment;
+
+import java.util.Optional;
+
+/**
+ * Card payment provider.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charges a card. A decline is a normal result; an exception means the outcome
+     * is unknown, unless it is a {@link PaymentGatewayRejectedException}.
+     *
+     * @param request the charge
+     * @return the provider's answer
+     * @throws PaymentGatewayRejectedException if the provider was not called
+     * @throws PaymentGatewayException if the provider failed or timed out
+     */
+    ChargeResult charge(ChargeRequest request);
+
+    /**
+     * Looks up the outcome of an earlier charge, to settle charges whose outcome
+     * was unknown.
+     *
+     * @param reference reference of the charge
+     * @return the provider's answer, empty if the provider never charged this reference
+     * @throws PaymentGatewayException if the provider could not answer
+     */
+    Optional<ChargeResult> findCharge(String reference);
+
+    /**
+     * Refunds an approved charge in full. Refunding the same charge again has no
+     * further effect, so a refund whose outcome is unknown can be retried.
+     *
+     * @param reference reference of the charge
+     * @throws PaymentGatewayException if the refund failed, timed out or was not attempted
+     */
+    void refund(String reference);
+}
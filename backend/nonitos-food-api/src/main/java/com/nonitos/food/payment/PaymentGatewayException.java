@@ -0,0 +1,19 @@
+package com.nonitos.food.payment;
+
+/**
+ * Exception thrown when a charge could not be completed by the payment provider:
+ * the call failed, timed out, or was rejected before reaching the provider.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.nonitos.food.payment;
+
+/**
+ * Exception thrown when a call was rejected before reaching the payment provider,
+ * because too many calls were in flight or the circuit was open. Unlike other
+ * {@link PaymentGatewayException}s, it means the provider did nothing.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public class PaymentGatewayRejectedException extends PaymentGatewayException {
+
+    public PaymentGatewayRejectedException(String message) {
+        super(message);
+    }
+}
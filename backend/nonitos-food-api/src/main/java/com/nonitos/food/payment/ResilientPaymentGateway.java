@@ -0,0 +1,317 @@
+package com.nonitos.food.payment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Payment gateway guarding calls to another gateway. Charges and refunds share
+ * the same guards.
+ *
+ * <ul>
+ *   <li>A bulkhead caps the calls in flight, so a slow provider cannot tie up
+ *       every payment thread; calls over the cap are rejected.</li>
+ *   <li>A circuit breaker tracks the outcome of the latest calls. When too many
+ *       fail it opens and rejects calls at once for a while, then lets a single
+ *       trial call through to decide whether to close again. Declines are
+ *       successful calls.</li>
+ *   <li>Every call has a deadline; a call over the deadline is interrupted and
+ *       counts as a failure.</li>
+ * </ul>
+ *
+ * <p>Rejected calls throw {@link PaymentGatewayRejectedException}, so callers know
+ * the provider was never reached; timeouts and errors leave the outcome unknown.</p>
+ *
+ * <p>Call latency is recorded in the {@code payment.gateway.calls} timer, tagged
+ * by outcome; circuit state and bulkhead usage are exported as gauges.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Slf4j
+public class ResilientPaymentGateway implements PaymentGateway, AutoCloseable {
+
+    private static final String[] OUTCOMES = {
+            "approved", "declined", "refunded", "found", "not-found", "error", "timeout", "rejected"};
+
+    private final PaymentGateway delegate;
+    private final Settings settings;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    public ResilientPaymentGateway(PaymentGateway delegate, Settings settings, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.settings = settings;
+        this.bulkhead = new Semaphore(settings.getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(settings);
+
+        for (String outcome : OUTCOMES) {
+            timers.put(outcome, Timer.builder("payment.gateway.calls")
+                    .description("Payment provider calls")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("payment.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Payment provider circuit state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        Gauge.builder("payment.gateway.bulkhead.in-use", bulkhead,
+                        permits -> settings.getMaxConcurrentCalls() - permits.availablePermits())
+                .description("Payment provider calls in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ChargeResult charge(ChargeRequest request) {
+        return execute("charging " + request.getReference(), () -> delegate.charge(request),
+                result -> result.isApproved() ? "approved" : "declined");
+    }
+
+    @Override
+    public void refund(String reference) {
+        execute("refunding " + reference, () -> {
+            delegate.refund(reference);
+            return null;
+        }, result -> "refunded");
+    }
+
+    @Override
+    public Optional<ChargeResult> findCharge(String reference) {
+        return execute("looking up " + reference, () -> delegate.findCharge(reference),
+                result -> result.isPresent() ? "found" : "not-found");
+    }
+
+    /**
+     * Gets the state of the circuit breaker.
+     *
+     * @return the circuit state
+     */
+    public CircuitState getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @Override
+    public void close() {
+        callExecutor.shutdownNow();
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(settings.getMaxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Runs a provider call through the bulkhead, the circuit breaker and the deadline.
+     *
+     * @param action what the call does, for error messages
+     * @param call the provider call
+     * @param outcome names the outcome of a completed call
+     */
+    private <T> T execute(String action, Callable<T> call, Function<T, String> outcome) {
+        long start = System.nanoTime();
+        if (!acquireBulkhead()) {
+            record("rejected", start);
+            throw new PaymentGatewayRejectedException("Too many payment provider calls in flight");
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                record("rejected", start);
+                throw new PaymentGatewayRejectedException("Payment provider unavailable, circuit open");
+            }
+            return call(action, call, outcome, start);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> T call(String action, Callable<T> call, Function<T, String> outcome, long start) {
+        Future<T> future = callExecutor.submit(call);
+        try {
+            T result = future.get(settings.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            record(outcome.apply(result), start);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure();
+            record("timeout", start);
+            throw new PaymentGatewayException(
+                    "Payment provider timed out after " + settings.getTimeoutMs() + " ms", e);
+        } catch (ExecutionException e) {
+            circuitBreaker.onFailure();
+            record("error", start);
+            if (e.getCause() instanceof PaymentGatewayException gatewayException) {
+                throw gatewayException;
+            }
+            throw new PaymentGatewayException("Payment provider error: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            circuitBreaker.onIgnored();
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while " + action, e);
+        }
+    }
+
+    private void record(String outcome, long start) {
+        timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * State of the circuit breaker.
+     */
+    public enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Limits of the gateway.
+     */
+    @Getter
+    @Builder
+    public static class Settings {
+
+        /** Deadline of a single call */
+        private final long timeoutMs;
+
+        /** Maximum calls in flight */
+        private final int maxConcurrentCalls;
+
+        /** How long a call waits for a free slot before it is rejected */
+        private final long maxWaitMs;
+
+        /** Number of latest calls the failure rate is computed over */
+        private final int windowSize;
+
+        /** Calls needed in the window before the circuit can open */
+        private final int minimumCalls;
+
+        /** Failure percentage at which the circuit opens */
+        private final int failureRateThreshold;
+
+        /** How long the circuit stays open before a trial call */
+        private final long openDurationMs;
+    }
+
+    /**
+     * Count-based circuit breaker over a ring of the latest call outcomes.
+     */
+    private static final class CircuitBreaker {
+
+        private final boolean[] failed;
+        private final int minimumCalls;
+        private final int failureRateThreshold;
+        private final long openDurationNanos;
+
+        private CircuitState state = CircuitState.CLOSED;
+        private int calls;
+        private int failures;
+        private int next;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        private CircuitBreaker(Settings settings) {
+            this.failed = new boolean[settings.getWindowSize()];
+            this.minimumCalls = Math.min(settings.getMinimumCalls(), settings.getWindowSize());
+            this.failureRateThreshold = settings.getFailureRateThreshold();
+            this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(settings.getOpenDurationMs());
+        }
+
+        private synchronized CircuitState getState() {
+            return state;
+        }
+
+        private synchronized boolean tryAcquire() {
+            if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+                state = CircuitState.HALF_OPEN;
+                trialInFlight = false;
+                log.info("Payment provider circuit half-open, allowing a trial call");
+            }
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (trialInFlight) {
+                        yield false;
+                    }
+                    trialInFlight = true;
+                    yield true;
+                }
+            };
+        }
+
+        private synchronized void onSuccess() {
+            if (state == CircuitState.HALF_OPEN) {
+                state = CircuitState.CLOSED;
+                calls = 0;
+                failures = 0;
+                next = 0;
+                log.info("Payment provider circuit closed");
+            } else if (state == CircuitState.CLOSED) {
+                record(false);
+            }
+        }
+
+        private synchronized void onFailure() {
+            if (state == CircuitState.HALF_OPEN) {
+                open();
+            } else if (state == CircuitState.CLOSED) {
+                record(true);
+                if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+                    open();
+                }
+            }
+        }
+
+        private synchronized void onIgnored() {
+            if (state == CircuitState.HALF_OPEN) {
+                trialInFlight = false;
+            }
+        }
+
+        private void record(boolean failure) {
+            if (calls == failed.length) {
+                if (failed[next]) {
+                    failures--;
+                }
+            } else {
+                calls++;
+            }
+            failed[next] = failure;
+            if (failure) {
+                failures++;
+            }
+            next = (next + 1) % failed.length;
+        }
+
+        private void open() {
+            log.warn("Payment provider circuit open for {} ms", TimeUnit.NANOSECONDS.toMillis(openDurationNanos));
+            state = CircuitState.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.nonitos.food.payment;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment gateway that simulates the provider locally. Cards ending in an even
+ * digit are approved, odd ones declined; refunds always succeed. Outcomes are kept
+ * in memory for lookups until the application stops.
+ *
+ * <p>Latency and provider failures can be injected for load and resilience
+ * testing: every call waits the base latency plus a random jitter, and fails
+ * with the configured probability.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Slf4j
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final long latencyMs;
+    private final long latencyJitterMs;
+    private final double failureRate;
+    private final Map<String, ChargeResult> charges = new ConcurrentHashMap<>();
+
+    /**
+     * @param latencyMs base latency of every call
+     * @param latencyJitterMs maximum random latency added to the base
+     * @param failureRate probability between 0 and 1 that a call fails
+     */
+    public StubPaymentGateway(long latencyMs, long latencyJitterMs, double failureRate) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = latencyJitterMs;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public ChargeResult charge(ChargeRequest request) {
+        long latency = simulateCall("charging " + request.getReference());
+
+        String cardNumber = request.getCardNumber();
+        int lastDigit = Character.digit(cardNumber.charAt(cardNumber.length() - 1), 10);
+        ChargeResult result = lastDigit % 2 == 0 ? ChargeResult.approved() : ChargeResult.declined("Card declined by issuer");
+        charges.put(request.getReference(), result);
+        log.debug("Stub charged {} after {} ms", request, latency);
+        return result;
+    }
+
+    @Override
+    public Optional<ChargeResult> findCharge(String reference) {
+        simulateCall("looking up " + reference);
+        return Optional.ofNullable(charges.get(reference));
+    }
+
+    @Override
+    public void refund(String reference) {
+        long latency = simulateCall("refunding " + reference);
+        log.debug("Stub refunded {} after {} ms", reference, latency);
+    }
+
+    /**
+     * Waits the simulated latency and fails with the configured probability.
+     *
+     * @return the latency waited, in milliseconds
+     */
+    private long simulateCall(String action) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = latencyMs + (latencyJitterMs > 0 ? random.nextLong(latencyJitterMs + 1) : 0);
+        try {
+            TimeUnit.MILLISECONDS.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while " + action, e);
+        }
+
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            throw new PaymentGatewayException("Simulated provider failure");
+        }
+        return latency;
+    }
+}
@@ -2,8 +2,11 @@ package com.nonitos.food.repository;
 
 import com.nonitos.food.model.ClientAllergy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,4 +42,23 @@ public interface ClientAllergyRepository extends JpaRepository<ClientAllergy, Lo
      * @param clientProfileId the client profile ID
      */
     void deleteByClientProfileId(Long clientProfileId);
+
+    /**
+     * Finds the allergies of a set of client users in a single query.
+     *
+     * @param userIds the client user IDs
+     * @return list of user/allergy pairs
+     */
+    @Query("SELECT cp.user.id AS userId, ca.allergy.id AS allergyId, ca.severity AS severity " +
+           "FROM ClientAllergy ca JOIN ca.clientProfile cp WHERE cp.user.id IN :userIds")
+    List<UserAllergyRef> findAllergyRefsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Projection of an allergy declared by a client user.
+     */
+    interface UserAllergyRef {
+        Long getUserId();
+        Long getAllergyId();
+        ClientAllergy.AllergySeverity getSeverity();
+    }
 }
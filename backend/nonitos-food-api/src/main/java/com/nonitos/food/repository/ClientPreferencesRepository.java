@@ -2,8 +2,10 @@ package com.nonitos.food.repository;
 
 import com.nonitos.food.model.ClientPreferences;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -29,4 +31,32 @@ public interface ClientPreferencesRepository extends JpaRepository<ClientPrefere
      * @param clientProfileId the client profile ID
      */
     void deleteByClientProfileId(Long clientProfileId);
+
+    /**
+     * Finds the meal selection and nutrition targets of every client with at least one target set.
+     *
+     * @return list of nutrition targets
+     */
+    @Query("SELECT p.clientProfile.id AS clientProfileId, p.mealsPerDay AS mealsPerDay, " +
+           "p.includeBreakfast AS includeBreakfast, p.includeLunch AS includeLunch, " +
+           "p.includeDinner AS includeDinner, p.targetCalories AS targetCalories, " +
+           "p.targetProtein AS targetProtein, p.targetCarbs AS targetCarbs, p.targetFats AS targetFats " +
+           "FROM ClientPreferences p WHERE p.targetCalories IS NOT NULL OR p.targetProtein IS NOT NULL " +
+           "OR p.targetCarbs IS NOT NULL OR p.targetFats IS NOT NULL")
+    List<NutritionTargets> findAllWithTargets();
+
+    /**
+     * Projection of a client's meal selection and daily nutrition targets.
+     */
+    interface NutritionTargets {
+        Long getClientProfileId();
+        Integer getMealsPerDay();
+        Boolean getIncludeBreakfast();
+        Boolean getIncludeLunch();
+        Boolean getIncludeDinner();
+        Integer getTargetCalories();
+        Integer getTargetProtein();
+        Integer getTargetCarbs();
+        Integer getTargetFats();
+    }
 }
@@ -0,0 +1,25 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.ClientWeeklyPlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for {@link ClientWeeklyPlan} entity operations.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Repository
+public interface ClientWeeklyPlanRepository extends JpaRepository<ClientWeeklyPlan, Long>, ClientWeeklyPlanRepositoryCustom {
+
+    /**
+     * Finds the plan of an order.
+     *
+     * @param orderId the order ID
+     * @return optional containing the plan if built
+     */
+    Optional<ClientWeeklyPlan> findByOrderId(Long orderId);
+}
@@ -0,0 +1,21 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.ClientWeeklyPlan;
+
+import java.util.List;
+
+/**
+ * Custom bulk write operations for {@link ClientWeeklyPlan} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface ClientWeeklyPlanRepositoryCustom {
+
+    /**
+     * Inserts or replaces plans as a single JDBC batch, keyed on {@code order_id}.
+     *
+     * @param plans the plans to upsert
+     */
+    void batchUpsert(List<ClientWeeklyPlan> plans);
+}
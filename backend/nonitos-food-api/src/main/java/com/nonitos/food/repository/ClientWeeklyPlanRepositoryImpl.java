@@ -0,0 +1,43 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.ClientWeeklyPlan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ClientWeeklyPlanRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class ClientWeeklyPlanRepositoryImpl implements ClientWeeklyPlanRepositoryCustom {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO client_weekly_plans (order_id, client_id, weekly_menu_id, document, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (order_id) DO UPDATE SET document = EXCLUDED.document, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchUpsert(List<ClientWeeklyPlan> plans) {
+        if (plans.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, plans, plans.size(), (ps, plan) -> {
+            ps.setLong(1, plan.getOrderId());
+            ps.setLong(2, plan.getClientId());
+            ps.setLong(3, plan.getWeeklyMenuId());
+            ps.setString(4, plan.getDocument());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+    }
+}
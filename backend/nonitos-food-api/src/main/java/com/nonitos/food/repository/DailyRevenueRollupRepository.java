@@ -0,0 +1,61 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.DailyRevenueRollup;
+import com.nonitos.food.model.Transaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for {@link DailyRevenueRollup} entity operations.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Repository
+public interface DailyRevenueRollupRepository
+        extends JpaRepository<DailyRevenueRollup, Long>, DailyRevenueRollupRepositoryCustom {
+
+    /**
+     * Sums the amounts of all transactions per status.
+     *
+     * @return revenue per status
+     */
+    @Query("SELECT r.status AS status, SUM(r.amount) AS amount FROM DailyRevenueRollup r GROUP BY r.status")
+    List<StatusRevenue> sumAmountByStatus();
+
+    /**
+     * Sums the amounts of transactions in a status per day, from a day on.
+     *
+     * @param status the transaction status
+     * @param from first day included
+     * @return revenue per day, oldest first
+     */
+    @Query("SELECT r.revenueDate AS revenueDate, SUM(r.amount) AS amount, SUM(r.transactionCount) AS transactionCount " +
+           "FROM DailyRevenueRollup r WHERE r.status = :status AND r.revenueDate >= :from " +
+           "GROUP BY r.revenueDate ORDER BY r.revenueDate")
+    List<DayRevenue> sumAmountByDay(@Param("status") Transaction.TransactionStatus status,
+                                    @Param("from") LocalDate from);
+
+    /**
+     * Projection of the revenue in a status.
+     */
+    interface StatusRevenue {
+        Transaction.TransactionStatus getStatus();
+        BigDecimal getAmount();
+    }
+
+    /**
+     * Projection of the revenue of a day.
+     */
+    interface DayRevenue {
+        LocalDate getRevenueDate();
+        BigDecimal getAmount();
+        Long getTransactionCount();
+    }
+}
@@ -0,0 +1,30 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.DailyRevenueRollup;
+import com.nonitos.food.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Custom write operations for {@link DailyRevenueRollup} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface DailyRevenueRollupRepositoryCustom {
+
+    /**
+     * Moves transactions from one status to another in the rollup of their day,
+     * creating the rows as needed. Must run in the transaction changing the status.
+     *
+     * @param revenueDate day the transactions were created
+     * @param currency the currency code
+     * @param from previous status, null for new transactions
+     * @param to new status
+     * @param amount sum of the transaction amounts
+     * @param count number of transactions
+     */
+    void moveRevenue(LocalDate revenueDate, String currency, Transaction.TransactionStatus from,
+                     Transaction.TransactionStatus to, BigDecimal amount, long count);
+}
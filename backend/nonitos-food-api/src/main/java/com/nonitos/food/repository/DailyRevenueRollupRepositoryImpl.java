@@ -0,0 +1,64 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link DailyRevenueRollupRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class DailyRevenueRollupRepositoryImpl implements DailyRevenueRollupRepositoryCustom {
+
+    private static final String ADD_SQL =
+            "INSERT INTO daily_revenue_rollups (revenue_date, status, currency, amount, transaction_count, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (revenue_date, status, currency) DO UPDATE SET " +
+            "amount = daily_revenue_rollups.amount + EXCLUDED.amount, " +
+            "transaction_count = daily_revenue_rollups.transaction_count + EXCLUDED.transaction_count, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void moveRevenue(LocalDate revenueDate, String currency, Transaction.TransactionStatus from,
+                            Transaction.TransactionStatus to, BigDecimal amount, long count) {
+        if (from == to) {
+            return;
+        }
+
+        List<Delta> deltas = new ArrayList<>(2);
+        if (from != null) {
+            deltas.add(new Delta(from, amount.negate(), -count));
+        }
+        deltas.add(new Delta(to, amount, count));
+        // Same row order in every transaction, so concurrent moves cannot deadlock
+        deltas.sort(Comparator.comparing(delta -> delta.status().name()));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(ADD_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setDate(1, Date.valueOf(revenueDate));
+            ps.setString(2, delta.status().name());
+            ps.setString(3, currency);
+            ps.setBigDecimal(4, delta.amount());
+            ps.setLong(5, delta.count());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    private record Delta(Transaction.TransactionStatus status, BigDecimal amount, long count) {
+    }
+}
@@ -2,8 +2,11 @@ package com.nonitos.food.repository;
 
 import com.nonitos.food.model.DishAllergen;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,4 +32,23 @@ public interface DishAllergenRepository extends JpaRepository<DishAllergen, Long
      * @param dishId the dish ID
      */
     void deleteByDishId(Long dishId);
+
+    /**
+     * Finds the allergens of a set of dishes in a single query.
+     *
+     * @param dishIds the dish IDs
+     * @return list of dish/allergy pairs
+     */
+    @Query("SELECT da.dish.id AS dishId, a.id AS allergyId, a.name AS allergyName " +
+           "FROM DishAllergen da JOIN da.allergy a WHERE da.dish.id IN :dishIds")
+    List<DishAllergyRef> findAllergyRefsByDishIdIn(@Param("dishIds") Collection<Long> dishIds);
+
+    /**
+     * Projection of an allergy carried by a dish.
+     */
+    interface DishAllergyRef {
+        Long getDishId();
+        Long getAllergyId();
+        String getAllergyName();
+    }
 }
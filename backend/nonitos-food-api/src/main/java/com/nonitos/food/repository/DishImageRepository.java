@@ -2,8 +2,11 @@ package com.nonitos.food.repository;
 
 import com.nonitos.food.model.DishImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,10 +26,30 @@ public interface DishImageRepository extends JpaRepository<DishImage, Long> {
      */
     List<DishImage> findByDishIdOrderByDisplayOrderAsc(Long dishId);
 
+    /**
+     * Finds the primary image URLs for a batch of dishes.
+     * Only the dish ID and URL are selected, so no dish entities are loaded.
+     *
+     * @param dishIds the dish IDs
+     * @return primary images ordered by display order
+     */
+    @Query("SELECT i.dish.id AS dishId, i.imageUrl AS imageUrl FROM DishImage i " +
+           "WHERE i.dish.id IN :dishIds AND i.isPrimary = true " +
+           "ORDER BY i.displayOrder ASC")
+    List<PrimaryImage> findPrimaryImagesByDishIdIn(@Param("dishIds") Collection<Long> dishIds);
+
     /**
      * Deletes all images for a dish.
      *
      * @param dishId the dish ID
      */
     void deleteByDishId(Long dishId);
+
+    /**
+     * Projection of a dish's primary image.
+     */
+    interface PrimaryImage {
+        Long getDishId();
+        String getImageUrl();
+    }
 }
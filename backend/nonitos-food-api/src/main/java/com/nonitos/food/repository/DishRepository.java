@@ -3,8 +3,12 @@ package com.nonitos.food.repository;
 import com.nonitos.food.model.Dish;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,4 +43,46 @@ public interface DishRepository extends JpaRepository<Dish, Long>, JpaSpecificat
      * @return count of dishes
      */
     long countByIsActive(Boolean isActive);
+
+    /**
+     * Finds the macros of all active dishes in the given categories.
+     *
+     * @param categories the dish categories
+     * @return list of dish macros
+     */
+    @Query("SELECT d.id AS id, d.category AS category, d.calories AS calories, " +
+           "d.protein AS protein, d.carbs AS carbs, d.fats AS fats " +
+           "FROM Dish d WHERE d.isActive = true AND d.category IN :categories")
+    List<DishMacros> findActiveMacrosByCategoryIn(@Param("categories") Collection<Dish.DishCategory> categories);
+
+    /**
+     * Finds the macros of all active dishes in the given categories that carry every given tag.
+     *
+     * @param categories the dish categories
+     * @param tagNames the required tag names
+     * @param tagCount the number of distinct required tags
+     * @return list of dish macros
+     */
+    @Query("SELECT d.id AS id, d.category AS category, d.calories AS calories, " +
+           "d.protein AS protein, d.carbs AS carbs, d.fats AS fats " +
+           "FROM Dish d WHERE d.isActive = true AND d.category IN :categories AND d.id IN (" +
+           "SELECT a.dish.id FROM DishTagAssignment a WHERE a.tag.name IN :tagNames " +
+           "GROUP BY a.dish.id HAVING COUNT(DISTINCT a.tag.id) = :tagCount)")
+    List<DishMacros> findActiveMacrosByCategoryInWithAllTags(
+        @Param("categories") Collection<Dish.DishCategory> categories,
+        @Param("tagNames") Collection<String> tagNames,
+        @Param("tagCount") long tagCount
+    );
+
+    /**
+     * Projection of the nutritional columns of a dish.
+     */
+    interface DishMacros {
+        Long getId();
+        Dish.DishCategory getCategory();
+        Integer getCalories();
+        Integer getProtein();
+        Integer getCarbs();
+        Integer getFats();
+    }
 }
@@ -0,0 +1,25 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.EmailDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for EmailDeadLetter entity.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Repository
+public interface EmailDeadLetterRepository extends JpaRepository<EmailDeadLetter, Long> {
+
+    /**
+     * Saves a dead letter in its own transaction, so it is stored even when called
+     * from an after-commit callback of another transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    <S extends EmailDeadLetter> S save(S entity);
+}
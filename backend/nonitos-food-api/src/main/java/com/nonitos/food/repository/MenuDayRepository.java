@@ -2,9 +2,13 @@ package com.nonitos.food.repository;
 
 import com.nonitos.food.model.MenuDay;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +19,7 @@ import java.util.Optional;
  * @since 1.0
  */
 @Repository
-public interface MenuDayRepository extends JpaRepository<MenuDay, Long> {
+public interface MenuDayRepository extends JpaRepository<MenuDay, Long>, MenuDayRepositoryCustom {
 
     /**
      * Finds all menu days for a weekly menu.
@@ -25,6 +29,29 @@ public interface MenuDayRepository extends JpaRepository<MenuDay, Long> {
      */
     List<MenuDay> findByWeeklyMenuIdOrderByDayOfWeekAscMealTypeAsc(Long weeklyMenuId);
 
+    /**
+     * Finds all menu days for a set of weekly menus with their dishes fetched
+     * in the same query, so assembling N menus costs a single round trip.
+     *
+     * @param weeklyMenuIds the weekly menu IDs
+     * @return list of menu days with dishes initialized
+     */
+    @Query("SELECT md FROM MenuDay md JOIN FETCH md.dish " +
+           "WHERE md.weeklyMenu.id IN :weeklyMenuIds " +
+           "ORDER BY md.weeklyMenu.id, md.dayOfWeek, md.mealType")
+    List<MenuDay> findWithDishByWeeklyMenuIdIn(@Param("weeklyMenuIds") Collection<Long> weeklyMenuIds);
+
+    /**
+     * Sums the nutritional values of all dishes in a weekly menu in a single aggregate query.
+     *
+     * @param weeklyMenuId the weekly menu ID
+     * @return weekly nutrition totals (zero when the menu has no days)
+     */
+    @Query("SELECT COALESCE(SUM(d.calories), 0) AS calories, COALESCE(SUM(d.protein), 0) AS protein, " +
+           "COALESCE(SUM(d.carbs), 0) AS carbs, COALESCE(SUM(d.fats), 0) AS fats " +
+           "FROM MenuDay md JOIN md.dish d WHERE md.weeklyMenu.id = :weeklyMenuId")
+    NutritionTotals sumNutritionByWeeklyMenuId(@Param("weeklyMenuId") Long weeklyMenuId);
+
     /**
      * Finds a specific menu day.
      *
@@ -40,9 +67,45 @@ public interface MenuDayRepository extends JpaRepository<MenuDay, Long> {
     );
 
     /**
-     * Deletes all menu days for a weekly menu.
+     * Deletes all menu days for a weekly menu with a single bulk statement.
      *
      * @param weeklyMenuId the weekly menu ID
      */
-    void deleteByWeeklyMenuId(Long weeklyMenuId);
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM MenuDay md WHERE md.weeklyMenu.id = :weeklyMenuId")
+    void deleteByWeeklyMenuId(@Param("weeklyMenuId") Long weeklyMenuId);
+
+    /**
+     * Deletes menu days by ID with a single bulk statement.
+     *
+     * @param ids the menu day IDs
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MenuDay md WHERE md.id IN :ids")
+    void deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Copies every menu day of one weekly menu into another with a single
+     * {@code INSERT ... SELECT}, without loading any rows into the application.
+     *
+     * @param sourceMenuId the weekly menu to copy from
+     * @param targetMenuId the weekly menu to copy into
+     * @return number of menu days copied
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO menu_days (weekly_menu_id, day_of_week, meal_type, dish_id, created_at, updated_at) " +
+                   "SELECT :targetMenuId, day_of_week, meal_type, dish_id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                   "FROM menu_days WHERE weekly_menu_id = :sourceMenuId",
+           nativeQuery = true)
+    int copyMenuDays(@Param("sourceMenuId") Long sourceMenuId, @Param("targetMenuId") Long targetMenuId);
+
+    /**
+     * Projection of summed nutritional values.
+     */
+    interface NutritionTotals {
+        Long getCalories();
+        Long getProtein();
+        Long getCarbs();
+        Long getFats();
+    }
 }
@@ -0,0 +1,35 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.MenuDay;
+
+import java.util.List;
+
+/**
+ * Custom bulk write operations for {@link MenuDay} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface MenuDayRepositoryCustom {
+
+    /**
+     * Inserts menu days for a weekly menu as a single JDBC batch.
+     * Only the day of week, meal type and dish ID of each element are read;
+     * the entities are not attached to the persistence context.
+     *
+     * @param weeklyMenuId the weekly menu ID
+     * @param menuDays the menu days to insert
+     */
+    void batchInsert(Long weeklyMenuId, List<MenuDay> menuDays);
+
+    /**
+     * Inserts or replaces the dish of menu day slots as a single JDBC batch,
+     * keyed on the {@code (weekly_menu_id, day_of_week, meal_type)} unique constraint.
+     * The persistence context is flushed before and cleared after the batch,
+     * so previously loaded menu days must not be reused.
+     *
+     * @param weeklyMenuId the weekly menu ID
+     * @param menuDays the menu days to upsert
+     */
+    void batchUpsert(Long weeklyMenuId, List<MenuDay> menuDays);
+}
@@ -0,0 +1,66 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.MenuDay;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link MenuDayRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class MenuDayRepositoryImpl implements MenuDayRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO menu_days (weekly_menu_id, day_of_week, meal_type, dish_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_SQL = INSERT_SQL +
+            " ON CONFLICT (weekly_menu_id, day_of_week, meal_type) " +
+            "DO UPDATE SET dish_id = EXCLUDED.dish_id, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void batchInsert(Long weeklyMenuId, List<MenuDay> menuDays) {
+        execute(INSERT_SQL, weeklyMenuId, menuDays);
+    }
+
+    @Override
+    public void batchUpsert(Long weeklyMenuId, List<MenuDay> menuDays) {
+        if (menuDays.isEmpty()) {
+            return;
+        }
+
+        entityManager.flush();
+        execute(UPSERT_SQL, weeklyMenuId, menuDays);
+        entityManager.clear();
+    }
+
+    private void execute(String sql, Long weeklyMenuId, List<MenuDay> menuDays) {
+        if (menuDays.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sql, menuDays, menuDays.size(), (ps, menuDay) -> {
+            ps.setLong(1, weeklyMenuId);
+            ps.setString(2, menuDay.getDayOfWeek().name());
+            ps.setString(3, menuDay.getMealType().name());
+            ps.setLong(4, menuDay.getDish().getId());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.MenuFitScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for {@link MenuFitScore} entity operations.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Repository
+public interface MenuFitScoreRepository extends JpaRepository<MenuFitScore, Long>, MenuFitScoreRepositoryCustom {
+
+    /**
+     * Finds the fit score of a menu for a client.
+     *
+     * @param weeklyMenuId the weekly menu ID
+     * @param clientProfileId the client profile ID
+     * @return optional containing the score if computed
+     */
+    Optional<MenuFitScore> findByWeeklyMenuIdAndClientProfileId(Long weeklyMenuId, Long clientProfileId);
+}
@@ -0,0 +1,22 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.MenuFitScore;
+
+import java.util.List;
+
+/**
+ * Custom bulk write operations for {@link MenuFitScore} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface MenuFitScoreRepositoryCustom {
+
+    /**
+     * Inserts or replaces fit scores as a single JDBC batch,
+     * keyed on {@code (weekly_menu_id, client_profile_id)}.
+     *
+     * @param scores the scores to upsert
+     */
+    void batchUpsert(List<MenuFitScore> scores);
+}
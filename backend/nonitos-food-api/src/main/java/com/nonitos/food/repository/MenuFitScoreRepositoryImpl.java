@@ -0,0 +1,50 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.MenuFitScore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link MenuFitScoreRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class MenuFitScoreRepositoryImpl implements MenuFitScoreRepositoryCustom {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO menu_fit_scores (weekly_menu_id, client_profile_id, fit_percent, avg_daily_calories, " +
+            "avg_daily_protein, avg_daily_carbs, avg_daily_fats, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (weekly_menu_id, client_profile_id) DO UPDATE SET " +
+            "fit_percent = EXCLUDED.fit_percent, avg_daily_calories = EXCLUDED.avg_daily_calories, " +
+            "avg_daily_protein = EXCLUDED.avg_daily_protein, avg_daily_carbs = EXCLUDED.avg_daily_carbs, " +
+            "avg_daily_fats = EXCLUDED.avg_daily_fats, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchUpsert(List<MenuFitScore> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, scores, scores.size(), (ps, score) -> {
+            ps.setLong(1, score.getWeeklyMenuId());
+            ps.setLong(2, score.getClientProfileId());
+            ps.setInt(3, score.getFitPercent());
+            ps.setInt(4, score.getAvgDailyCalories());
+            ps.setInt(5, score.getAvgDailyProtein());
+            ps.setInt(6, score.getAvgDailyCarbs());
+            ps.setInt(7, score.getAvgDailyFats());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.NotificationBroadcast;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for {@link NotificationBroadcast} entity operations.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Repository
+public interface NotificationBroadcastRepository extends JpaRepository<NotificationBroadcast, Long> {
+
+    /**
+     * Claims a broadcast for delivery. Only one node wins: a broadcast is claimable
+     * while PENDING or FAILED, or while RUNNING without progress since the stale cutoff.
+     *
+     * @param id the broadcast ID
+     * @param now the claim timestamp
+     * @param staleBefore RUNNING broadcasts last updated before this are claimable
+     * @return 1 if claimed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE NotificationBroadcast b SET b.status = com.nonitos.food.model.NotificationBroadcast$BroadcastStatus.RUNNING, " +
+           "b.startedAt = COALESCE(b.startedAt, :now), b.completedAt = NULL, b.failureReason = NULL, " +
+           "b.updatedAt = :now WHERE b.id = :id " +
+           "AND (b.status IN (com.nonitos.food.model.NotificationBroadcast$BroadcastStatus.PENDING, " +
+           "com.nonitos.food.model.NotificationBroadcast$BroadcastStatus.FAILED) " +
+           "OR (b.status = com.nonitos.food.model.NotificationBroadcast$BroadcastStatus.RUNNING " +
+           "AND b.updatedAt < :staleBefore))")
+    int claim(
+        @Param("id") Long id,
+        @Param("now") LocalDateTime now,
+        @Param("staleBefore") LocalDateTime staleBefore
+    );
+
+    /**
+     * Finds PENDING or RUNNING broadcasts without progress since the cutoff.
+     *
+     * @param staleBefore cutoff for the last update
+     * @return broadcast IDs, oldest first
+     */
+    @Query("SELECT b.id FROM NotificationBroadcast b " +
+           "WHERE b.status IN (com.nonitos.food.model.NotificationBroadcast$BroadcastStatus.PENDING, " +
+           "com.nonitos.food.model.NotificationBroadcast$BroadcastStatus.RUNNING) " +
+           "AND b.updatedAt < :staleBefore ORDER BY b.id")
+    List<Long> findStaleIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Records a delivered chunk of a broadcast with a single update, provided the
+     * broadcast is still RUNNING from the chunk's starting point. Zero rows means
+     * another node took the broadcast over.
+     *
+     * @param id the broadcast ID
+     * @param afterUserId user ID the chunk started after
+     * @param lastUserId highest user ID of the chunk
+     * @param delivered number of notifications inserted for the chunk
+     * @param now the modification timestamp
+     * @return 1 if recorded, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE NotificationBroadcast b SET b.lastUserId = :lastUserId, " +
+           "b.deliveredCount = b.deliveredCount + :delivered, b.updatedAt = :now " +
+           "WHERE b.id = :id AND b.status = com.nonitos.food.model.NotificationBroadcast$BroadcastStatus.RUNNING " +
+           "AND b.lastUserId = :afterUserId")
+    int recordProgress(
+        @Param("id") Long id,
+        @Param("afterUserId") Long afterUserId,
+        @Param("lastUserId") Long lastUserId,
+        @Param("delivered") int delivered,
+        @Param("now") LocalDateTime now
+    );
+}
@@ -1,9 +1,15 @@
 package com.nonitos.food.repository;
 
 import com.nonitos.food.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,7 +19,7 @@ import java.util.List;
  * @since 1.0
  */
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
 
     /**
      * Finds all notifications for a user.
@@ -23,6 +29,35 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      */
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    /**
+     * Finds the newest notifications of a user, newest first.
+     *
+     * @param userId the user ID
+     * @param pageable page size (the page number must be 0)
+     * @return list of notifications
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Finds the notifications of a user older than a keyset position, newest first.
+     *
+     * @param userId the user ID
+     * @param createdAt creation timestamp of the last notification of the previous page
+     * @param id ID of the last notification of the previous page
+     * @param pageable page size (the page number must be 0)
+     * @return list of notifications
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageBefore(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
     /**
      * Finds unread notifications for a user.
      *
@@ -40,4 +75,35 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * @return count of unread notifications
      */
     long countByUserIdAndIsRead(Long userId, Boolean isRead);
+
+    /**
+     * Marks all unread notifications of a user as read with a single bulk statement.
+     *
+     * @param userId the user ID
+     * @param readAt the read timestamp
+     * @return number of notifications marked as read
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt, n.updatedAt = :readAt " +
+           "WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Counts unread notifications for a set of users in a single grouped query.
+     * Users without unread notifications are absent from the result.
+     *
+     * @param userIds the user IDs
+     * @return unread count per user
+     */
+    @Query("SELECT n.user.id AS userId, COUNT(n) AS unread FROM Notification n " +
+           "WHERE n.isRead = false AND n.user.id IN :userIds GROUP BY n.user.id")
+    List<UnreadCount> countUnreadByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Projection of a user's unread notification count.
+     */
+    interface UnreadCount {
+        Long getUserId();
+        Long getUnread();
+    }
 }
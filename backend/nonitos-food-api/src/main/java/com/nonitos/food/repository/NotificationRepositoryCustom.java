@@ -0,0 +1,67 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.NotificationBroadcast;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Custom bulk write and partition maintenance operations for notifications.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Inserts the notification of a broadcast for every user of its target role
+     * whose ID lies in {@code (afterUserId, lastUserId]}, with a single
+     * {@code INSERT ... SELECT}.
+     *
+     * @param broadcast the broadcast
+     * @param afterUserId exclusive lower bound of user IDs
+     * @param lastUserId inclusive upper bound of user IDs
+     * @return number of notifications inserted
+     */
+    int insertForUserRange(NotificationBroadcast broadcast, Long afterUserId, Long lastUserId);
+
+    /**
+     * Takes the cluster-wide partition maintenance lock for the current transaction.
+     *
+     * @return true if the lock was acquired, false if another node holds it
+     */
+    boolean tryLockPartitionMaintenance();
+
+    /**
+     * Creates the partition holding the notifications of a month, if missing, moving
+     * the month's rows out of the default partition.
+     *
+     * @param month the month
+     * @return number of rows moved from the default partition
+     */
+    int createMonthlyPartition(YearMonth month);
+
+    /**
+     * Finds the months that have a notification partition.
+     *
+     * @return months in ascending order
+     */
+    List<YearMonth> findMonthlyPartitions();
+
+    /**
+     * Drops the partition of a month with every notification in it.
+     *
+     * @param month the month
+     */
+    void dropMonthlyPartition(YearMonth month);
+
+    /**
+     * Moves a batch of read notifications created before a cutoff to the archive table.
+     *
+     * @param cutoff notifications created before this are archived
+     * @param limit maximum number of notifications to move
+     * @return number of notifications moved
+     */
+    int archiveReadBefore(LocalDateTime cutoff, int limit);
+}
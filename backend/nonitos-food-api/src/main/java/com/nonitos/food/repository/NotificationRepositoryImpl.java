@@ -0,0 +1,127 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.NotificationBroadcast;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link NotificationRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class NotificationRepositoryImpl implements NotificationRepositoryCustom {
+
+    private static final String INSERT_FOR_USER_RANGE_SQL =
+            "INSERT INTO notifications (user_id, type, title, message, is_read, related_entity_id, " +
+            "related_entity_type, created_at, updated_at) " +
+            "SELECT u.id, ?, ?, ?, false, ?, ?, ?, ? FROM users u " +
+            "WHERE u.role = ? AND u.id > ? AND u.id <= ?";
+
+    private static final String PARTITION_PREFIX = "notifications_p";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /** Advisory lock key serializing partition DDL across nodes */
+    private static final long PARTITION_MAINTENANCE_LOCK = 7_420_001L;
+
+    private static final String FIND_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'notifications' AND c.relname LIKE 'notifications\\_p%'";
+
+    /** Moves rows of a month out of the default partition into the new, still detached partition */
+    private static final String MOVE_FROM_DEFAULT_SQL =
+            "WITH moved AS (" +
+            "DELETE FROM " + DEFAULT_PARTITION + " WHERE created_at >= ? AND created_at < ? RETURNING *) " +
+            "INSERT INTO %s SELECT * FROM moved";
+
+    private static final String ARCHIVE_READ_BEFORE_SQL =
+            "WITH moved AS (" +
+            "DELETE FROM notifications n USING (" +
+            "SELECT id, created_at FROM notifications WHERE is_read = true AND created_at < ? LIMIT ?) batch " +
+            "WHERE n.id = batch.id AND n.created_at = batch.created_at " +
+            "RETURNING n.id, n.user_id, n.type, n.title, n.message, n.is_read, n.related_entity_id, " +
+            "n.related_entity_type, n.read_at, n.created_at, n.updated_at) " +
+            "INSERT INTO notifications_archive (id, user_id, type, title, message, is_read, related_entity_id, " +
+            "related_entity_type, read_at, created_at, updated_at) " +
+            "SELECT * FROM moved ON CONFLICT (id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertForUserRange(NotificationBroadcast broadcast, Long afterUserId, Long lastUserId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(INSERT_FOR_USER_RANGE_SQL, ps -> {
+            ps.setString(1, broadcast.getType().name());
+            ps.setString(2, broadcast.getTitle());
+            ps.setString(3, broadcast.getMessage());
+            ps.setObject(4, broadcast.getRelatedEntityId(), Types.BIGINT);
+            ps.setObject(5, broadcast.getRelatedEntityType(), Types.VARCHAR);
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+            ps.setString(8, broadcast.getTargetRole().name());
+            ps.setLong(9, afterUserId);
+            ps.setLong(10, lastUserId);
+        });
+    }
+
+    @Override
+    public boolean tryLockPartitionMaintenance() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, PARTITION_MAINTENANCE_LOCK));
+    }
+
+    @Override
+    public int createMonthlyPartition(YearMonth month) {
+        String name = partitionName(month);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, name))) {
+            return 0;
+        }
+
+        // Attaching fails while the default partition holds rows of the month, so move them
+        // first; the lock keeps new rows out of the default partition until the attach
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE notifications INCLUDING DEFAULTS)");
+        int moved = jdbcTemplate.update(MOVE_FROM_DEFAULT_SQL.formatted(name),
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()));
+        jdbcTemplate.execute("ALTER TABLE notifications ATTACH PARTITION " + name +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        return moved;
+    }
+
+    @Override
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class).stream()
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public void dropMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    @Override
+    public int archiveReadBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(ARCHIVE_READ_BEFORE_SQL, Timestamp.valueOf(cutoff), limit);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
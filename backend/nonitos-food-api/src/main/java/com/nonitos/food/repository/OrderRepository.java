@@ -2,8 +2,12 @@ package com.nonitos.food.repository;
 
 import com.nonitos.food.model.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +18,7 @@ import java.util.Optional;
  * @since 1.0
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
     /**
      * Finds an order by order code.
@@ -55,4 +59,49 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @return count of orders with the status
      */
     long countByStatus(Order.OrderStatus status);
+
+    /**
+     * Finds the meal selection of the orders for a weekly menu in the given statuses.
+     *
+     * @param weeklyMenuId the weekly menu ID
+     * @param statuses the order statuses
+     * @return list of meal selections
+     */
+    @Query("SELECT o.id AS id, o.orderCode AS orderCode, o.client.id AS clientId, " +
+           "o.weeklyMenu.id AS weeklyMenuId, o.mealsPerDay AS mealsPerDay, " +
+           "o.includeBreakfast AS includeBreakfast, o.includeLunch AS includeLunch, " +
+           "o.includeDinner AS includeDinner, o.pickupDateTime AS pickupDateTime " +
+           "FROM Order o WHERE o.weeklyMenu.id = :weeklyMenuId AND o.status IN :statuses")
+    List<MealSelection> findMealSelectionsByWeeklyMenuId(
+        @Param("weeklyMenuId") Long weeklyMenuId,
+        @Param("statuses") Collection<Order.OrderStatus> statuses
+    );
+
+    /**
+     * Finds the meal selection of an order.
+     *
+     * @param id the order ID
+     * @return optional containing the meal selection if found
+     */
+    @Query("SELECT o.id AS id, o.orderCode AS orderCode, o.client.id AS clientId, " +
+           "o.weeklyMenu.id AS weeklyMenuId, o.mealsPerDay AS mealsPerDay, " +
+           "o.includeBreakfast AS includeBreakfast, o.includeLunch AS includeLunch, " +
+           "o.includeDinner AS includeDinner, o.pickupDateTime AS pickupDateTime " +
+           "FROM Order o WHERE o.id = :id")
+    Optional<MealSelection> findMealSelectionById(@Param("id") Long id);
+
+    /**
+     * Projection of the meals a client ordered.
+     */
+    interface MealSelection {
+        Long getId();
+        String getOrderCode();
+        Long getClientId();
+        Long getWeeklyMenuId();
+        Integer getMealsPerDay();
+        Boolean getIncludeBreakfast();
+        Boolean getIncludeLunch();
+        Boolean getIncludeDinner();
+        LocalDateTime getPickupDateTime();
+    }
 }
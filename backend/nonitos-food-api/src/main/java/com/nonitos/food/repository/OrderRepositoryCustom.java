@@ -0,0 +1,34 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.Order;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+/**
+ * Custom bulk read operations for {@link Order} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Streams the payment state of every order ordered by ID, fetching rows from a
+     * server-side cursor. Must be called in a transaction and the stream closed.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @return the orders
+     */
+    Stream<OrderPaymentState> streamPaymentStates(int fetchSize);
+
+    /**
+     * Payment state of an order.
+     *
+     * @param id the order ID
+     * @param status the order status
+     * @param totalAmount the order total
+     */
+    record OrderPaymentState(Long id, Order.OrderStatus status, BigDecimal totalAmount) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.stream.Stream;
+
+/**
+ * JDBC implementation of {@link OrderRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final String STREAM_PAYMENT_STATES_SQL =
+            "SELECT id, status, total_amount FROM orders ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Stream<OrderPaymentState> streamPaymentStates(int fetchSize) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAM_PAYMENT_STATES_SQL);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (rs, rowNum) -> new OrderPaymentState(
+                rs.getLong("id"),
+                Order.OrderStatus.valueOf(rs.getString("status")),
+                rs.getBigDecimal("total_amount")));
+    }
+}
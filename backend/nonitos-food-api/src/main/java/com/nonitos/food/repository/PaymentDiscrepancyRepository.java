@@ -0,0 +1,16 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.PaymentDiscrepancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for {@link PaymentDiscrepancy} entity operations.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Repository
+public interface PaymentDiscrepancyRepository
+        extends JpaRepository<PaymentDiscrepancy, Long>, PaymentDiscrepancyRepositoryCustom {
+}
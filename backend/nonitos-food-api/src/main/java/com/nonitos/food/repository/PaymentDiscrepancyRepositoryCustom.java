@@ -0,0 +1,21 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.PaymentDiscrepancy;
+
+import java.util.List;
+
+/**
+ * Custom bulk write operations for {@link PaymentDiscrepancy} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface PaymentDiscrepancyRepositoryCustom {
+
+    /**
+     * Inserts discrepancies as a single JDBC batch.
+     *
+     * @param discrepancies the discrepancies to insert
+     */
+    void batchInsert(List<PaymentDiscrepancy> discrepancies);
+}
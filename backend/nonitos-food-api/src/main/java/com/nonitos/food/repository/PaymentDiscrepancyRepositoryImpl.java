@@ -0,0 +1,49 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.PaymentDiscrepancy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link PaymentDiscrepancyRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class PaymentDiscrepancyRepositoryImpl implements PaymentDiscrepancyRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO payment_discrepancies (run_id, order_id, transaction_id, type, order_status, details, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<PaymentDiscrepancy> discrepancies) {
+        if (discrepancies.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, discrepancies, discrepancies.size(), (ps, discrepancy) -> {
+            ps.setLong(1, discrepancy.getRunId());
+            ps.setLong(2, discrepancy.getOrderId());
+            if (discrepancy.getTransactionId() != null) {
+                ps.setLong(3, discrepancy.getTransactionId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, discrepancy.getType().name());
+            ps.setString(5, discrepancy.getOrderStatus().name());
+            ps.setString(6, discrepancy.getDetails());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+}
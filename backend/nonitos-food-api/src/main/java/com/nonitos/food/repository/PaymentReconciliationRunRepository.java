@@ -0,0 +1,30 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.PaymentReconciliationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for {@link PaymentReconciliationRun} entity operations.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Repository
+public interface PaymentReconciliationRunRepository extends JpaRepository<PaymentReconciliationRun, Long> {
+
+    /**
+     * Deletes the runs started before a cutoff; their discrepancies are deleted by cascade.
+     *
+     * @param before runs started before this are deleted
+     * @return number of runs deleted
+     */
+    @Modifying
+    @Query("DELETE FROM PaymentReconciliationRun r WHERE r.startedAt < :before")
+    int deleteStartedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,52 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.PaymentWebhookEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link PaymentWebhookEvent} entity operations.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Repository
+public interface PaymentWebhookEventRepository
+        extends JpaRepository<PaymentWebhookEvent, Long>, PaymentWebhookEventRepositoryCustom {
+
+    /**
+     * Locks the given events that are still waiting to be applied, skipping events
+     * locked by another worker.
+     *
+     * @param ids the event row IDs
+     * @return the locked events in arrival order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM PaymentWebhookEvent e WHERE e.id IN :ids " +
+           "AND e.status = com.nonitos.food.model.PaymentWebhookEvent$EventStatus.RECEIVED ORDER BY e.id")
+    List<PaymentWebhookEvent> lockReceived(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds events received before a cutoff that were never applied.
+     *
+     * @param before events received before this are returned
+     * @param pageable the page size
+     * @return the event row IDs, oldest first
+     */
+    @Query("SELECT e.id FROM PaymentWebhookEvent e " +
+           "WHERE e.status = com.nonitos.food.model.PaymentWebhookEvent$EventStatus.RECEIVED " +
+           "AND e.createdAt < :before ORDER BY e.createdAt, e.id")
+    List<Long> findReceivedIdsBefore(@Param("before") LocalDateTime before, Pageable pageable);
+}
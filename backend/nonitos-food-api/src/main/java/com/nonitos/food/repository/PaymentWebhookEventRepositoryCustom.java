@@ -0,0 +1,20 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.PaymentWebhookEvent;
+
+/**
+ * Custom write operations for {@link PaymentWebhookEvent} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface PaymentWebhookEventRepositoryCustom {
+
+    /**
+     * Stores a received event unless one with the same event ID exists.
+     *
+     * @param event the event
+     * @return ID of the stored row, or null if the event ID was already stored
+     */
+    Long insertIfAbsent(PaymentWebhookEvent event);
+}
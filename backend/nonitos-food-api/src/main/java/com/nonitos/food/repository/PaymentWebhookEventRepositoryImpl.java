@@ -0,0 +1,35 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.PaymentWebhookEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link PaymentWebhookEventRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class PaymentWebhookEventRepositoryImpl implements PaymentWebhookEventRepositoryCustom {
+
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO payment_webhook_events (event_id, type, transaction_reference, failure_reason, payload, " +
+            "status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 'RECEIVED', ?, ?) " +
+            "ON CONFLICT (event_id) DO NOTHING RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Long insertIfAbsent(PaymentWebhookEvent event) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = jdbcTemplate.queryForList(INSERT_IF_ABSENT_SQL, Long.class,
+                event.getEventId(), event.getType(), event.getTransactionReference(), event.getFailureReason(),
+                event.getPayload(), now, now);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+}
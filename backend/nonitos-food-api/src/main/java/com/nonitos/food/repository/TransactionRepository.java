@@ -1,9 +1,16 @@
 package com.nonitos.food.repository;
 
 import com.nonitos.food.model.Transaction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +21,7 @@ import java.util.Optional;
  * @since 1.0
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
 
     /**
      * Finds a transaction by reference.
@@ -24,6 +31,43 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     Optional<Transaction> findByTransactionReference(String transactionReference);
 
+    /**
+     * Finds and locks a transaction, with its order.
+     *
+     * @param id the transaction ID
+     * @return optional containing the transaction if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.order WHERE t.id = :id")
+    Optional<Transaction> lockById(@Param("id") Long id);
+
+    /**
+     * Finds and locks the transactions with the given references, with their orders.
+     *
+     * @param transactionReferences the transaction references
+     * @return the transactions in ID order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.order " +
+           "WHERE t.transactionReference IN :references ORDER BY t.id")
+    List<Transaction> lockByTransactionReferenceIn(@Param("references") Collection<String> transactionReferences);
+
+    /**
+     * Finds the transactions of a payment method left in a status since before a cutoff.
+     *
+     * @param paymentMethod the payment method
+     * @param status the transaction status
+     * @param before transactions created before this are returned
+     * @param pageable the page size
+     * @return the transactions, oldest first
+     */
+    List<Transaction> findByPaymentMethodAndStatusAndCreatedAtBeforeOrderByCreatedAt(
+        Transaction.PaymentMethod paymentMethod,
+        Transaction.TransactionStatus status,
+        LocalDateTime before,
+        Pageable pageable
+    );
+
     /**
      * Finds all transactions for an order.
      *
@@ -43,4 +87,39 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         Long orderId, 
         Transaction.TransactionStatus status
     );
+
+    /**
+     * Finds the oldest transactions in a status, with their orders and clients.
+     *
+     * @param status the transaction status
+     * @param pageable the page size
+     * @return transactions oldest first
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.order o JOIN FETCH o.client " +
+           "WHERE t.status = :status ORDER BY t.createdAt, t.id")
+    List<Transaction> findQueueFirstPage(
+        @Param("status") Transaction.TransactionStatus status,
+        Pageable pageable
+    );
+
+    /**
+     * Finds the transactions in a status created after a keyset position, with their
+     * orders and clients.
+     *
+     * @param status the transaction status
+     * @param createdAt creation timestamp of the last transaction of the previous page
+     * @param id ID of the last transaction of the previous page
+     * @param pageable the page size
+     * @return transactions oldest first
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.order o JOIN FETCH o.client " +
+           "WHERE t.status = :status " +
+           "AND (t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id)) " +
+           "ORDER BY t.createdAt, t.id")
+    List<Transaction> findQueuePageAfter(
+        @Param("status") Transaction.TransactionStatus status,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
 }
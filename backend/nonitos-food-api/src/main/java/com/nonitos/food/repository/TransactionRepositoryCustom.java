@@ -0,0 +1,83 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom bulk write operations for {@link Transaction} rows.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Approves the pending transactions among the given ones whose order is pending
+     * payment and marks those orders as paid, in one statement. At most one
+     * transaction is approved per order, the one with the lowest ID, so an order is
+     * never paid twice.
+     *
+     * @param transactionIds the transaction IDs
+     * @param verifiedAt verification timestamp
+     * @return the approved transactions, each with the code and client of its paid order
+     */
+    List<VerifiedTransaction> approvePending(Collection<Long> transactionIds, LocalDateTime verifiedAt);
+
+    /**
+     * Rejects the pending transactions among the given ones, in one statement.
+     *
+     * @param transactionIds the transaction IDs
+     * @param verifiedAt verification timestamp
+     * @return the rejected transactions
+     */
+    List<VerifiedTransaction> rejectPending(Collection<Long> transactionIds, LocalDateTime verifiedAt);
+
+    /**
+     * Takes the transaction-scoped lock allowing a single payment reconciliation at a time.
+     *
+     * @return true if acquired, false if a reconciliation is running elsewhere
+     */
+    boolean tryLockReconciliation();
+
+    /**
+     * Streams the payment state of every transaction ordered by order ID, fetching rows
+     * from a server-side cursor. Must be called in a transaction and the stream closed.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @return the transactions
+     */
+    Stream<TransactionPaymentState> streamPaymentStates(int fetchSize);
+
+    /**
+     * A transaction changed by a batch verification.
+     *
+     * @param id the transaction ID
+     * @param orderId the order ID
+     * @param amount the transaction amount
+     * @param currency the currency code
+     * @param createdAt creation timestamp of the transaction
+     * @param orderCode code of the order if it was marked as paid, otherwise null
+     * @param clientId client of the order if it was marked as paid, otherwise null
+     */
+    record VerifiedTransaction(Long id, Long orderId, BigDecimal amount, String currency,
+                               LocalDateTime createdAt, String orderCode, Long clientId) {
+    }
+
+    /**
+     * Payment state of a transaction.
+     *
+     * @param id the transaction ID
+     * @param orderId the order ID
+     * @param status the transaction status
+     * @param amount the transaction amount
+     * @param createdAt creation timestamp of the transaction
+     */
+    record TransactionPaymentState(Long id, Long orderId, Transaction.TransactionStatus status,
+                                   BigDecimal amount, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.nonitos.food.repository;
+
+import com.nonitos.food.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * JDBC implementation of {@link TransactionRepositoryCustom}.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    private static final String APPROVE_PENDING_SQL =
+            "WITH locked AS (" +
+            "SELECT t.id, t.order_id FROM transactions t JOIN orders o ON o.id = t.order_id " +
+            "WHERE t.id = ANY(?) AND t.status = 'PENDING' AND o.status = 'PENDING_PAYMENT' " +
+            "FOR UPDATE OF t, o), " +
+            "approvable AS (" +
+            "SELECT DISTINCT ON (order_id) id FROM locked ORDER BY order_id, id), " +
+            "verified AS (" +
+            "UPDATE transactions t SET status = 'COMPLETED', processed_at = ?, " +
+            "provider_response = 'Payment verified by admin', updated_at = ? " +
+            "FROM approvable a WHERE t.id = a.id " +
+            "RETURNING t.id, t.order_id, t.amount, t.currency, t.created_at), " +
+            "paid AS (" +
+            "UPDATE orders o SET status = 'PAID', updated_at = ? " +
+            "FROM verified v WHERE o.id = v.order_id " +
+            "RETURNING o.id, o.order_code, o.client_id) " +
+            "SELECT v.id, v.order_id, v.amount, v.currency, v.created_at, p.order_code, p.client_id " +
+            "FROM verified v JOIN paid p ON p.id = v.order_id";
+
+    private static final String REJECT_PENDING_SQL =
+            "UPDATE transactions SET status = 'FAILED', failure_reason = 'Payment rejected by admin', updated_at = ? " +
+            "WHERE id = ANY(?) AND status = 'PENDING' " +
+            "RETURNING id, order_id, amount, currency, created_at, NULL AS order_code, NULL AS client_id";
+
+    /** Advisory lock key serializing payment reconciliations across nodes */
+    private static final long RECONCILIATION_LOCK = 7_420_002L;
+
+    private static final String STREAM_PAYMENT_STATES_SQL =
+            "SELECT id, order_id, status, amount, created_at FROM transactions ORDER BY order_id";
+
+    private static final RowMapper<VerifiedTransaction> VERIFIED_TRANSACTION_MAPPER = (rs, rowNum) ->
+            new VerifiedTransaction(
+                    rs.getLong("id"),
+                    rs.getLong("order_id"),
+                    rs.getBigDecimal("amount"),
+                    rs.getString("currency"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    rs.getString("order_code"),
+                    rs.getObject("client_id", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<VerifiedTransaction> approvePending(Collection<Long> transactionIds, LocalDateTime verifiedAt) {
+        if (transactionIds.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp now = Timestamp.valueOf(verifiedAt);
+        return jdbcTemplate.query(APPROVE_PENDING_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", transactionIds.toArray()));
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+        }, VERIFIED_TRANSACTION_MAPPER);
+    }
+
+    @Override
+    public List<VerifiedTransaction> rejectPending(Collection<Long> transactionIds, LocalDateTime verifiedAt) {
+        if (transactionIds.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(REJECT_PENDING_SQL, ps -> {
+            ps.setTimestamp(1, Timestamp.valueOf(verifiedAt));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", transactionIds.toArray()));
+        }, VERIFIED_TRANSACTION_MAPPER);
+    }
+
+    @Override
+    public boolean tryLockReconciliation() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RECONCILIATION_LOCK));
+    }
+
+    @Override
+    public Stream<TransactionPaymentState> streamPaymentStates(int fetchSize) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAM_PAYMENT_STATES_SQL);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (rs, rowNum) -> new TransactionPaymentState(
+                rs.getLong("id"),
+                rs.getLong("order_id"),
+                Transaction.TransactionStatus.valueOf(rs.getString("status")),
+                rs.getBigDecimal("amount"),
+                rs.getTimestamp("created_at").toLocalDateTime()));
+    }
+}
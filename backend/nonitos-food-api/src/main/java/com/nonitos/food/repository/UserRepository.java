@@ -1,9 +1,13 @@
 package com.nonitos.food.repository;
 
 import com.nonitos.food.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -47,4 +51,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return count of users with the role
      */
     long countByRole(User.UserRole role);
+
+    /**
+     * Finds the IDs of users with a role after a given ID, in ID order.
+     *
+     * @param role the user role
+     * @param afterId exclusive lower bound of user IDs
+     * @param pageable chunk size (the page number must be 0)
+     * @return list of user IDs
+     */
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsByRoleAfter(
+        @Param("role") User.UserRole role,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
 }
@@ -1,10 +1,17 @@
 package com.nonitos.food.repository;
 
+import com.nonitos.food.dto.menu.WeeklyMenuSummaryResponse;
 import com.nonitos.food.model.WeeklyMenu;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +40,38 @@ public interface WeeklyMenuRepository extends JpaRepository<WeeklyMenu, Long> {
      */
     List<WeeklyMenu> findByStatusOrderByWeekStartDateDesc(WeeklyMenu.MenuStatus status);
 
+    /**
+     * Finds a page of menu summaries by status.
+     * Reads only {@code weekly_menus} columns; menu days are never touched.
+     *
+     * @param status the menu status
+     * @param pageable pagination parameters
+     * @return page of menu summaries
+     */
+    @Query(value = "SELECT new com.nonitos.food.dto.menu.WeeklyMenuSummaryResponse(" +
+                   "m.id, m.weekStartDate, m.weekEndDate, m.status, " +
+                   "m.totalCalories, m.totalProtein, m.totalCarbs, m.totalFats) " +
+                   "FROM WeeklyMenu m WHERE m.status = :status",
+           countQuery = "SELECT COUNT(m) FROM WeeklyMenu m WHERE m.status = :status")
+    Page<WeeklyMenuSummaryResponse> findSummariesByStatus(
+        @Param("status") WeeklyMenu.MenuStatus status,
+        Pageable pageable
+    );
+
+    /**
+     * Finds menus by status whose week starts within a date range.
+     *
+     * @param status the menu status
+     * @param from the earliest week start date (inclusive)
+     * @param to the latest week start date (inclusive)
+     * @return list of menus ordered by week
+     */
+    List<WeeklyMenu> findByStatusAndWeekStartDateBetweenOrderByWeekStartDateAsc(
+        WeeklyMenu.MenuStatus status,
+        LocalDate from,
+        LocalDate to
+    );
+
     /**
      * Checks if a published menu exists for a given week.
      *
@@ -50,6 +89,41 @@ public interface WeeklyMenuRepository extends JpaRepository<WeeklyMenu, Long> {
      */
     List<WeeklyMenu> findByStatus(WeeklyMenu.MenuStatus status);
 
+    /**
+     * Finds menus by status whose scheduled publication is at or before an instant.
+     *
+     * @param status the menu status
+     * @param horizon the latest publication instant (inclusive)
+     * @return list of menus
+     */
+    List<WeeklyMenu> findByStatusAndPublishAtLessThanEqual(WeeklyMenu.MenuStatus status, LocalDateTime horizon);
+
+    /**
+     * Publishes a scheduled draft with a single conditional update.
+     * The update only matches while the menu is still a draft with the same
+     * publication instant and modification timestamp, so when several nodes
+     * race for the same menu exactly one of them succeeds.
+     *
+     * @param id the menu ID
+     * @param draft the draft status
+     * @param published the published status
+     * @param publishAt the expected publication instant
+     * @param updatedAt the expected modification timestamp
+     * @param now the new modification timestamp
+     * @return number of menus updated (0 or 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WeeklyMenu m SET m.status = :published, m.publishAt = NULL, m.updatedAt = :now " +
+           "WHERE m.id = :id AND m.status = :draft AND m.publishAt = :publishAt AND m.updatedAt = :updatedAt")
+    int publishIfUnchanged(
+        @Param("id") Long id,
+        @Param("draft") WeeklyMenu.MenuStatus draft,
+        @Param("published") WeeklyMenu.MenuStatus published,
+        @Param("publishAt") LocalDateTime publishAt,
+        @Param("updatedAt") LocalDateTime updatedAt,
+        @Param("now") LocalDateTime now
+    );
+
     /**
      * Counts menus by status.
      *
@@ -6,8 +6,10 @@ import com.nonitos.food.exception.ResourceNotFoundException;
 import com.nonitos.food.exception.UnauthorizedException;
 import com.nonitos.food.model.User;
 import com.nonitos.food.repository.UserRepository;
+import com.nonitos.food.util.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -64,8 +66,12 @@ public class AuthService {
     private final JwtService jwtService;
     private final RedisTemplate<String, String> redisTemplate;
     private final ClientProfileService clientProfileService;
+    private final EmailService emailService;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(12);
 
+    @Value("${email.verification-url:http://localhost:3000/verify-email}")
+    private String verificationUrl;
+
     /**
      * Registers a new user in the system.
      * 
@@ -84,7 +90,7 @@ public class AuthService {
      * <ol>
      *   <li>Generate cryptographically random UUID token</li>
      *   <li>Store token with 24-hour expiration</li>
-     *   <li>Send verification email (currently mocked, will integrate email service)</li>
+     *   <li>Queue verification email once the user is committed</li>
      *   <li>User clicks link to verify</li>
      * </ol>
      * 
@@ -131,12 +137,13 @@ public class AuthService {
             log.info("Created client profile for user: {}", user.getEmail());
         }
 
-        // Mock email sending
-        log.info("=== EMAIL VERIFICATION ===");
-        log.info("To: {}", user.getEmail());
-        log.info("Verification Token: {}", verificationToken);
-        log.info("Verification Link: http://localhost:3000/verify-email?token={}", verificationToken);
-        log.info("==========================");
+        String email = user.getEmail();
+        String verificationLink = verificationUrl + "?token=" + verificationToken;
+        AfterCommit.run(() -> emailService.send(
+                email,
+                "Verify your email",
+                "Welcome to Nonito's Food! Confirm your email address within 24 hours: " + verificationLink
+        ));
 
         return generateLoginResponse(user);
     }
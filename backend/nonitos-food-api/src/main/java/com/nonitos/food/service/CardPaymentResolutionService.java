@@ -0,0 +1,79 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.model.Transaction;
+import com.nonitos.food.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service settling card payments left PROCESSING because the provider call failed
+ * or timed out.
+ *
+ * <p>Such payments are looked up at the provider once they are older than the
+ * longest a charge or its webhook can take, and settled with the provider's answer.
+ * This frees the order for a new card payment. Payments the provider cannot answer
+ * for stay PROCESSING for the next run.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class CardPaymentResolutionService {
+
+    private final TransactionRepository transactionRepository;
+    private final PaymentService paymentService;
+
+    @Value("${payment-resolution.stale-after-minutes:15}")
+    private long staleAfterMinutes;
+
+    @Value("${payment-resolution.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Resolves the stale card payments.
+     */
+    @Scheduled(initialDelayString = "${payment-resolution.interval-ms:300000}",
+            fixedDelayString = "${payment-resolution.interval-ms:300000}")
+    public void resolveStale() {
+        try {
+            resolveStartedBefore(LocalDateTime.now().minusMinutes(staleAfterMinutes));
+        } catch (RuntimeException e) {
+            log.error("Card payment resolution failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resolves up to one batch of card payments PROCESSING since before a cutoff.
+     *
+     * @param before payments started before this are resolved
+     * @return number of payments settled
+     */
+    public int resolveStartedBefore(LocalDateTime before) {
+        List<Transaction> stale = transactionRepository.findByPaymentMethodAndStatusAndCreatedAtBeforeOrderByCreatedAt(
+                Transaction.PaymentMethod.CREDIT_CARD, Transaction.TransactionStatus.PROCESSING,
+                before, PageRequest.of(0, batchSize));
+
+        int resolved = 0;
+        for (Transaction transaction : stale) {
+            if (paymentService.resolveCardPayment(transaction.getId(), transaction.getTransactionReference())) {
+                resolved++;
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            log.info("Resolved {} of {} stale card payments", resolved, stale.size());
+        }
+        return resolved;
+    }
+}
@@ -1,5 +1,6 @@
 package com.nonitos.food.service;
 
+import com.nonitos.food.dto.dashboard.DailyRevenueResponse;
 import com.nonitos.food.dto.dashboard.DashboardMetricsResponse;
 import com.nonitos.food.dto.dashboard.UpdateUserRequest;
 import com.nonitos.food.dto.dashboard.UserManagementResponse;
@@ -11,16 +12,23 @@ import com.nonitos.food.model.User;
 import com.nonitos.food.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Service for admin dashboard operations.
  *
+ * <p>Revenue is read from the daily revenue rollups, which payments keep up to date
+ * as transactions change status, so the dashboard never scans the transactions.</p>
+ *
  * @author Nonito's Food Team
  * @since 1.0
  */
@@ -31,10 +39,13 @@ public class DashboardService {
 
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
-    private final TransactionRepository transactionRepository;
+    private final DailyRevenueRollupRepository dailyRevenueRollupRepository;
     private final DishRepository dishRepository;
     private final WeeklyMenuRepository weeklyMenuRepository;
 
+    @Value("${dashboard.revenue-days:30}")
+    private int revenueDays;
+
     /**
      * Gets dashboard metrics.
      *
@@ -48,15 +59,25 @@ public class DashboardService {
                 orderRepository.countByStatus(Order.OrderStatus.PAID);
         long completedOrders = orderRepository.countByStatus(Order.OrderStatus.COMPLETED);
 
-        BigDecimal totalRevenue = transactionRepository.findAll().stream()
-                .filter(t -> t.getStatus() == Transaction.TransactionStatus.COMPLETED)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal pendingRevenue = BigDecimal.ZERO;
+        for (DailyRevenueRollupRepository.StatusRevenue revenue : dailyRevenueRollupRepository.sumAmountByStatus()) {
+            if (revenue.getStatus() == Transaction.TransactionStatus.COMPLETED) {
+                totalRevenue = revenue.getAmount();
+            } else if (revenue.getStatus() == Transaction.TransactionStatus.PENDING) {
+                pendingRevenue = revenue.getAmount();
+            }
+        }
 
-        BigDecimal pendingRevenue = transactionRepository.findAll().stream()
-                .filter(t -> t.getStatus() == Transaction.TransactionStatus.PENDING)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<DailyRevenueResponse> dailyRevenue = dailyRevenueRollupRepository.sumAmountByDay(
+                        Transaction.TransactionStatus.COMPLETED, LocalDate.now().minusDays(revenueDays - 1L))
+                .stream()
+                .map(day -> DailyRevenueResponse.builder()
+                        .date(day.getRevenueDate())
+                        .revenue(day.getAmount())
+                        .transactions(day.getTransactionCount())
+                        .build())
+                .collect(Collectors.toList());
 
         long totalDishes = dishRepository.count();
         long activeDishes = dishRepository.countByIsActive(true);
@@ -71,6 +92,7 @@ public class DashboardService {
                 .completedOrders(completedOrders)
                 .totalRevenue(totalRevenue)
                 .pendingRevenue(pendingRevenue)
+                .dailyRevenue(dailyRevenue)
                 .totalDishes(totalDishes)
                 .activeDishes(activeDishes)
                 .totalMenus(totalMenus)
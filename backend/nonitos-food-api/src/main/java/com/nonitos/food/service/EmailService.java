@@ -0,0 +1,284 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.mail.EmailMessage;
+import com.nonitos.food.mail.EmailSender;
+import com.nonitos.food.model.EmailDeadLetter;
+import com.nonitos.food.repository.EmailDeadLetterRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service delivering emails in the background.
+ *
+ * <p>Callers only enqueue a message, so request latency never depends on the mail
+ * provider. Worker threads drain the queue in batches, each sent over one provider
+ * connection, throttled to the provider's sending rate: a batch holds at most one
+ * second's worth of messages and is sent once its last message is due. Failed
+ * messages are retried with exponential backoff and jitter; messages that still
+ * fail, that arrive while the queue is full, or that are undelivered at shutdown
+ * are stored as dead letters.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailService {
+
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailSender emailSender;
+    private final EmailDeadLetterRepository emailDeadLetterRepository;
+
+    @Value("${email.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${email.workers:2}")
+    private int workers;
+
+    @Value("${email.batch-size:20}")
+    private int batchSize;
+
+    @Value("${email.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${email.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${email.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${email.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    private final DelayQueue<Delivery> retries = new DelayQueue<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private BlockingQueue<Delivery> queue;
+    private RateLimiter rateLimiter;
+    private int batchLimit;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        rateLimiter = new RateLimiter(ratePerSecond);
+        batchLimit = ratePerSecond > 0 ? Math.max(1, Math.min(batchSize, (int) ratePerSecond)) : batchSize;
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            workerThreads.add(Thread.ofVirtual().name("email-" + i).start(this::work));
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workerThreads) {
+            worker.join(shutdownTimeoutMs);
+            worker.interrupt();
+            worker.join(shutdownTimeoutMs);
+        }
+
+        List<Delivery> undelivered = new ArrayList<>();
+        queue.drainTo(undelivered);
+        undelivered.addAll(retries);
+        retries.clear();
+        undelivered.forEach(delivery -> deadLetter(delivery, "Undelivered at shutdown"));
+    }
+
+    /**
+     * Queues an email for delivery. Never blocks; when the queue is full the email
+     * is stored as a dead letter instead.
+     *
+     * @param to the recipient address
+     * @param subject the subject
+     * @param body the plain-text body
+     * @return true if the email was queued
+     */
+    public boolean send(String to, String subject, String body) {
+        Delivery delivery = new Delivery(new EmailMessage(to, subject, body));
+        if (queue.offer(delivery)) {
+            return true;
+        }
+
+        log.warn("Email queue full, storing email to {} as dead letter", to);
+        deadLetter(delivery, "Email queue full");
+        return false;
+    }
+
+    /**
+     * Gets the number of emails waiting for delivery, including pending retries.
+     *
+     * @return number of queued emails
+     */
+    public int getQueuedCount() {
+        return queue.size() + retries.size();
+    }
+
+    private void work() {
+        List<Delivery> batch = new ArrayList<>(batchLimit);
+        while (running) {
+            try {
+                collect(batch);
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } catch (InterruptedException e) {
+                batch.forEach(delivery -> deadLetter(delivery, "Undelivered at shutdown"));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Email worker error: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Fills a batch with due retries first, then new emails, waiting briefly when
+     * there is nothing to send.
+     */
+    private void collect(List<Delivery> batch) throws InterruptedException {
+        retries.drainTo(batch, batchLimit);
+        if (batch.size() < batchLimit) {
+            queue.drainTo(batch, batchLimit - batch.size());
+        }
+        if (batch.isEmpty()) {
+            Delivery first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, batchLimit - 1);
+            }
+        }
+    }
+
+    private void deliver(List<Delivery> batch) throws InterruptedException {
+        rateLimiter.acquire(batch.size());
+
+        List<EmailMessage> messages = new ArrayList<>(batch.size());
+        batch.forEach(delivery -> messages.add(delivery.message));
+
+        Map<EmailMessage, Exception> failures;
+        try {
+            failures = emailSender.send(messages);
+        } catch (RuntimeException e) {
+            log.warn("Email batch of {} failed: {}", batch.size(), e.getMessage());
+            batch.forEach(delivery -> retryOrDeadLetter(delivery, e));
+            return;
+        }
+
+        for (Delivery delivery : batch) {
+            Exception failure = failures.get(delivery.message);
+            if (failure != null) {
+                retryOrDeadLetter(delivery, failure);
+            }
+        }
+        log.debug("Sent {} of {} emails", batch.size() - failures.size(), batch.size());
+    }
+
+    private void retryOrDeadLetter(Delivery delivery, Exception failure) {
+        delivery.attempts++;
+        delivery.lastError = failure.getMessage();
+        if (delivery.attempts >= maxAttempts) {
+            log.error("Giving up on email to {} after {} attempts: {}",
+                    delivery.message.getTo(), delivery.attempts, failure.getMessage());
+            deadLetter(delivery, delivery.lastError);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(delivery.attempts - 1, 30));
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        delivery.dueAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        retries.add(delivery);
+    }
+
+    private void deadLetter(Delivery delivery, String error) {
+        try {
+            emailDeadLetterRepository.save(EmailDeadLetter.builder()
+                    .recipient(delivery.message.getTo())
+                    .subject(delivery.message.getSubject())
+                    .body(delivery.message.getBody())
+                    .attempts(delivery.attempts)
+                    .lastError(error != null && error.length() > MAX_ERROR_LENGTH
+                            ? error.substring(0, MAX_ERROR_LENGTH) : error)
+                    .build());
+        } catch (RuntimeException e) {
+            log.error("Could not store dead letter for email to {}: {}", delivery.message.getTo(), e.getMessage());
+        }
+    }
+
+    /**
+     * An email with its delivery state. Ordered by due time while waiting for a retry.
+     */
+    private static final class Delivery implements Delayed {
+
+        private final EmailMessage message;
+        private int attempts;
+        private String lastError;
+        private long dueAt;
+
+        private Delivery(EmailMessage message) {
+            this.message = message;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((Delivery) other).dueAt);
+        }
+    }
+
+    /**
+     * Spaces sends evenly at a fixed rate. A batch reserves one slot per message and
+     * waits until its last slot is reached, so it never goes out ahead of the rate.
+     */
+    private static final class RateLimiter {
+
+        private final long intervalNanos;
+        private long nextFreeAt;
+
+        private RateLimiter(double permitsPerSecond) {
+            this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+            this.nextFreeAt = System.nanoTime();
+        }
+
+        private void acquire(int permits) throws InterruptedException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long start = Math.max(now, nextFreeAt);
+                nextFreeAt = start + permits * intervalNanos;
+                wait = start + (permits - 1) * intervalNanos - now;
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nonitos.food.event.OrderStatusChangedEvent;
+import com.nonitos.food.event.PaymentProcessedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service pushing notifications and order status changes to connected clients
+ * as server-sent events.
+ *
+ * <p>Each node keeps a registry of its own connections by user. An event is
+ * delivered to the local connections of the user and published once on a Redis
+ * channel, from which the other nodes deliver it to theirs. Every connection has a
+ * bounded buffer drained on a virtual thread; a client that falls behind by a full
+ * buffer is disconnected and resynchronizes when it reconnects. Heartbeat comments
+ * keep idle connections open through proxies.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class EventStreamService implements MessageListener {
+
+    private static final String CHANNEL = "event_stream";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Executor pushExecutor;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    @Value("${event-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${event-stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${event-stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    public EventStreamService(
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            ObjectMapper objectMapper,
+            @Qualifier("pushExecutor") Executor pushExecutor
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.pushExecutor = pushExecutor;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Opens an event stream for a user. When the user already has the maximum
+     * number of open streams, the oldest one is closed.
+     *
+     * @param userId the user ID
+     * @return the emitter bound to the HTTP response
+     */
+    public SseEmitter connect(Long userId) {
+        Connection connection = new Connection(userId, new SseEmitter(timeoutMs), bufferSize);
+        Set<Connection> userConnections = connections.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+
+        Iterator<Connection> oldest = userConnections.iterator();
+        while (userConnections.size() >= maxConnectionsPerUser && oldest.hasNext()) {
+            close(oldest.next());
+        }
+        userConnections.add(connection);
+
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onTimeout(() -> close(connection));
+        connection.emitter.onError(error -> remove(connection));
+
+        enqueue(connection, new Event("connected", "{}"));
+        log.debug("Opened event stream for user {}", userId);
+        return connection.emitter;
+    }
+
+    /**
+     * Sends an event to every open stream of a user, on any node.
+     *
+     * @param userId the user ID
+     * @param name the event name
+     * @param payload the event payload, serialized as JSON
+     */
+    public void send(Long userId, String name, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} event for user {}", name, userId, e);
+            return;
+        }
+
+        deliver(userId, new Event(name, data));
+
+        try {
+            redisTemplate.convertAndSend(CHANNEL,
+                    objectMapper.writeValueAsString(new Envelope(nodeId, userId, name, data)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not fan out {} event for user {}: {}", name, userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Pushes an order status change to the ordering client once it has committed.
+     *
+     * @param event the status change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        send(event.getClientId(), "order-status", event);
+    }
+
+    /**
+     * Pushes the outcome of a card payment to the paying client once it has committed.
+     *
+     * @param event the payment event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentProcessed(PaymentProcessedEvent event) {
+        send(event.getClientId(), "payment", event);
+    }
+
+    /**
+     * Delivers an event published by another node to the local streams of its user.
+     *
+     * @param message the pub/sub message
+     * @param pattern the matched pattern, unused
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Envelope.class);
+            if (!nodeId.equals(envelope.getOrigin())) {
+                deliver(envelope.getUserId(), new Event(envelope.getName(), envelope.getData()));
+            }
+        } catch (IOException e) {
+            log.warn("Discarded malformed event stream message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment on every local stream.
+     */
+    @Scheduled(fixedDelayString = "${event-stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> enqueue(connection, Event.HEARTBEAT)));
+    }
+
+    /**
+     * Counts the local open streams of a user.
+     *
+     * @param userId the user ID
+     * @return number of open streams on this node
+     */
+    public int getConnectionCount(Long userId) {
+        Set<Connection> userConnections = connections.get(userId);
+        return userConnections != null ? userConnections.size() : 0;
+    }
+
+    private void deliver(Long userId, Event event) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections != null) {
+            userConnections.forEach(connection -> enqueue(connection, event));
+        }
+    }
+
+    private void enqueue(Connection connection, Event event) {
+        if (!connection.buffer.offer(event)) {
+            log.info("Closing slow event stream of user {}", connection.userId);
+            close(connection);
+            return;
+        }
+        if (connection.draining.compareAndSet(false, true)) {
+            pushExecutor.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        do {
+            try {
+                Event event;
+                while ((event = connection.buffer.poll()) != null) {
+                    connection.emitter.send(event.toSse());
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(connection);
+                return;
+            } finally {
+                connection.draining.set(false);
+            }
+        } while (!connection.buffer.isEmpty() && connection.draining.compareAndSet(false, true));
+    }
+
+    private void close(Connection connection) {
+        remove(connection);
+        connection.emitter.complete();
+    }
+
+    private void remove(Connection connection) {
+        connection.buffer.clear();
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private static final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Event> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private record Event(String name, String data) {
+
+        static final Event HEARTBEAT = new Event(null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+
+    /**
+     * Event as published on the Redis channel.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Envelope {
+        private String origin;
+        private Long userId;
+        private String name;
+        private String data;
+    }
+}
@@ -0,0 +1,242 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nonitos.food.dto.notification.NotificationResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service keeping each user's latest notifications in a capped Redis list.
+ *
+ * <p>The list holds the serialized notifications newest first, up to the capacity.
+ * When it was filled with fewer notifications than the capacity, it ends with a
+ * marker meaning "nothing older exists"; pushes trim the list from the tail, so the
+ * marker disappears as soon as older notifications stop fitting. A page can be
+ * served from Redis when the list holds enough entries or ends with the marker;
+ * anything else is read from the database.</p>
+ *
+ * <p>New notifications are only pushed onto lists that exist, and a missing list is
+ * filled without overwriting one created concurrently. Changes to existing
+ * notifications (reads, bulk inserts) evict the list instead of editing it.
+ * Every push and eviction bumps a per-user generation, even when there is no list;
+ * readers take the generation before reading the database and a fill is refused
+ * if it changed since, so a snapshot older than a push or an eviction is never
+ * cached. Redis failures never fail the caller.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotInboxService {
+
+    private static final String KEY_PREFIX = "notification_inbox:";
+    private static final String GENERATION_KEY_PREFIX = "notification_inbox_gen:";
+    private static final String END_MARKER = "-";
+
+    private static final RedisScript<Long> PUSH_IF_PRESENT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[3]) " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('LPUSH', KEYS[1], ARGV[1]) " +
+            "redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1) " +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> FILL_IF_UNCHANGED = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '') ~= ARGV[2] then return 0 end " +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('RPUSH', KEYS[1], unpack(ARGV, 3)) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS, 2 do " +
+            "redis.call('DEL', KEYS[i]) " +
+            "redis.call('INCR', KEYS[i + 1]) " +
+            "redis.call('EXPIRE', KEYS[i + 1], ARGV[1]) " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${hot-inbox.capacity:50}")
+    private int capacity;
+
+    @Value("${hot-inbox.ttl-hours:24}")
+    private long ttlHours;
+
+    /**
+     * Gets the maximum number of notifications kept per user.
+     *
+     * @return the capacity, 0 when the hot inbox is disabled
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets a user's latest notifications from Redis.
+     *
+     * @param userId the user ID
+     * @param count number of notifications wanted
+     * @return up to {@code count} notifications newest first, fewer only when the user
+     *         has no more; null when Redis cannot answer and the database must be read
+     */
+    public List<NotificationResponse> getLatest(Long userId, int count) {
+        if (capacity <= 0) {
+            return null;
+        }
+
+        List<String> values;
+        try {
+            values = redisTemplate.opsForList().range(KEY_PREFIX + userId, 0, count - 1);
+        } catch (RuntimeException e) {
+            log.warn("Could not read hot inbox of user {}: {}", userId, e.getMessage());
+            return null;
+        }
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+
+        List<NotificationResponse> latest = new ArrayList<>(values.size());
+        for (String value : values) {
+            if (END_MARKER.equals(value)) {
+                return latest;
+            }
+            try {
+                latest.add(objectMapper.readValue(value, NotificationResponse.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable hot inbox entry of user {}, evicting: {}", userId, e.getMessage());
+                evict(userId);
+                return null;
+            }
+        }
+        return latest.size() == count ? latest : null;
+    }
+
+    /**
+     * Gets the generation of a user's list. Must be read before the database, and
+     * passed to {@link #fill} with what was read.
+     *
+     * @param userId the user ID
+     * @return the generation, null when Redis cannot answer and nothing can be filled
+     */
+    public String getGeneration(Long userId) {
+        if (capacity <= 0) {
+            return null;
+        }
+
+        try {
+            String generation = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + userId);
+            return generation != null ? generation : "";
+        } catch (RuntimeException e) {
+            log.warn("Could not read hot inbox generation of user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fills a user's list if it does not exist and no push or eviction happened
+     * since the generation was read.
+     *
+     * @param userId the user ID
+     * @param generation the generation read before the database, may be null
+     * @param latest the user's latest notifications newest first, read with a limit
+     *               of at least the capacity
+     */
+    public void fill(Long userId, String generation, List<NotificationResponse> latest) {
+        if (capacity <= 0 || generation == null) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(Math.min(latest.size(), capacity) + 3);
+        args.add(Long.toString(TimeUnit.HOURS.toSeconds(ttlHours)));
+        args.add(generation);
+        try {
+            for (NotificationResponse notification : latest.subList(0, Math.min(latest.size(), capacity))) {
+                args.add(objectMapper.writeValueAsString(notification));
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize hot inbox of user {}: {}", userId, e.getMessage());
+            return;
+        }
+        if (latest.size() < capacity) {
+            args.add(END_MARKER);
+        }
+
+        try {
+            redisTemplate.execute(FILL_IF_UNCHANGED,
+                    List.of(KEY_PREFIX + userId, GENERATION_KEY_PREFIX + userId), args.toArray());
+        } catch (RuntimeException e) {
+            log.warn("Could not fill hot inbox of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Pushes a new notification onto a user's list, if the list exists.
+     *
+     * @param userId the user ID
+     * @param notification the stored notification
+     */
+    public void push(Long userId, NotificationResponse notification) {
+        if (capacity <= 0) {
+            return;
+        }
+
+        try {
+            redisTemplate.execute(PUSH_IF_PRESENT, List.of(KEY_PREFIX + userId, GENERATION_KEY_PREFIX + userId),
+                    objectMapper.writeValueAsString(notification), Integer.toString(capacity),
+                    Long.toString(TimeUnit.HOURS.toSeconds(ttlHours)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not push to hot inbox of user {}, evicting: {}", userId, e.getMessage());
+            evict(userId);
+        }
+    }
+
+    /**
+     * Evicts a user's list, so it is refilled from the database on next read.
+     *
+     * @param userId the user ID
+     */
+    public void evict(Long userId) {
+        evict(List.of(userId));
+    }
+
+    /**
+     * Evicts the lists of several users with a single command.
+     *
+     * @param userIds the user IDs
+     */
+    public void evict(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(userIds.size() * 2);
+        userIds.forEach(userId -> {
+            keys.add(KEY_PREFIX + userId);
+            keys.add(GENERATION_KEY_PREFIX + userId);
+        });
+        try {
+            redisTemplate.execute(EVICT, keys, Long.toString(TimeUnit.HOURS.toSeconds(ttlHours)));
+        } catch (RuntimeException e) {
+            log.warn("Could not evict {} hot inboxes: {}", userIds.size(), e.getMessage());
+        }
+    }
+}
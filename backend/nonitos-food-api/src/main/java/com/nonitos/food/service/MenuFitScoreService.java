@@ -0,0 +1,240 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.dto.menu.MenuFitResponse;
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.event.MenuPublishedEvent;
+import com.nonitos.food.exception.ResourceNotFoundException;
+import com.nonitos.food.model.ClientProfile;
+import com.nonitos.food.model.MenuFitScore;
+import com.nonitos.food.repository.ClientPreferencesRepository;
+import com.nonitos.food.repository.ClientProfileRepository;
+import com.nonitos.food.repository.MenuFitScoreRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Service scoring how well published menus fit each client's nutrition targets.
+ *
+ * <p>A client only eats the meal types selected in their preferences, so there are
+ * at most eight distinct meal selections. The daily macro sums of the menu are
+ * computed once per selection; every client is then scored against the sums of
+ * their selection in a parallel pass over primitive arrays, and the results are
+ * stored in batches so reads are a single row lookup.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuFitScoreService {
+
+    private static final int DAYS = 7;
+    private static final int MEALS = 3;
+    private static final int MACROS = 4;
+    private static final int SELECTIONS = 1 << MEALS;
+    private static final int WRITE_CHUNK_SIZE = 1000;
+
+    private final ClientPreferencesRepository clientPreferencesRepository;
+    private final ClientProfileRepository clientProfileRepository;
+    private final MenuFitScoreRepository menuFitScoreRepository;
+
+    /**
+     * Scores a newly published menu in the background once the publication has committed.
+     *
+     * @param event the publication event
+     */
+    @Async("batchExecutor")
+    @TransactionalEventListener
+    public void onMenuPublished(MenuPublishedEvent event) {
+        scoreMenu(event.getMenu());
+    }
+
+    /**
+     * Scores a menu for every client with nutrition targets and stores the results.
+     *
+     * @param menu the menu to score
+     * @return number of clients scored
+     */
+    public int scoreMenu(WeeklyMenuResponse menu) {
+        long start = System.nanoTime();
+
+        int[][] daySums = new int[SELECTIONS][DAYS * MACROS];
+        boolean[][] served = new boolean[SELECTIONS][DAYS];
+        sumBySelection(menu, daySums, served);
+
+        List<ClientPreferencesRepository.NutritionTargets> clients = clientPreferencesRepository.findAllWithTargets();
+        int size = clients.size();
+        long[] profileIds = new long[size];
+        int[] selections = new int[size];
+        double[] targets = new double[size * MACROS];
+        for (int i = 0; i < size; i++) {
+            ClientPreferencesRepository.NutritionTargets client = clients.get(i);
+            profileIds[i] = client.getClientProfileId();
+            selections[i] = selection(client);
+            targets[i * MACROS] = orZero(client.getTargetCalories());
+            targets[i * MACROS + 1] = orZero(client.getTargetProtein());
+            targets[i * MACROS + 2] = orZero(client.getTargetCarbs());
+            targets[i * MACROS + 3] = orZero(client.getTargetFats());
+        }
+
+        int[] fitPercents = new int[size];
+        int[] averages = new int[size * MACROS];
+        IntStream.range(0, size).parallel().forEach(i -> score(
+                i, daySums[selections[i]], served[selections[i]], targets, fitPercents, averages));
+
+        List<MenuFitScore> scores = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (selections[i] == 0) {
+                continue;
+            }
+            scores.add(MenuFitScore.builder()
+                    .weeklyMenuId(menu.getId())
+                    .clientProfileId(profileIds[i])
+                    .fitPercent(fitPercents[i])
+                    .avgDailyCalories(averages[i * MACROS])
+                    .avgDailyProtein(averages[i * MACROS + 1])
+                    .avgDailyCarbs(averages[i * MACROS + 2])
+                    .avgDailyFats(averages[i * MACROS + 3])
+                    .build());
+        }
+
+        for (int from = 0; from < scores.size(); from += WRITE_CHUNK_SIZE) {
+            menuFitScoreRepository.batchUpsert(
+                    scores.subList(from, Math.min(from + WRITE_CHUNK_SIZE, scores.size())));
+        }
+
+        log.info("Scored menu {} for {} clients in {} ms", menu.getId(), scores.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return scores.size();
+    }
+
+    /**
+     * Gets the stored fit score of a menu for a user's client profile.
+     *
+     * @param menuId the menu ID
+     * @param userId the user ID
+     * @return the fit score
+     */
+    @Transactional(readOnly = true)
+    public MenuFitResponse getFitScore(Long menuId, Long userId) {
+        ClientProfile profile = clientProfileRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client profile not found"));
+
+        MenuFitScore score = menuFitScoreRepository.findByWeeklyMenuIdAndClientProfileId(menuId, profile.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Fit score not available for this menu"));
+
+        return MenuFitResponse.builder()
+                .weeklyMenuId(score.getWeeklyMenuId())
+                .fitPercent(score.getFitPercent())
+                .avgDailyCalories(score.getAvgDailyCalories())
+                .avgDailyProtein(score.getAvgDailyProtein())
+                .avgDailyCarbs(score.getAvgDailyCarbs())
+                .avgDailyFats(score.getAvgDailyFats())
+                .build();
+    }
+
+    /**
+     * Fills the daily macro sums of every meal selection. Bit {@code m} of a
+     * selection stands for breakfast, lunch and dinner in that order.
+     */
+    private void sumBySelection(WeeklyMenuResponse menu, int[][] daySums, boolean[][] served) {
+        if (menu.getMenusByDay() == null) {
+            return;
+        }
+
+        menu.getMenusByDay().forEach((day, dayMenus) -> {
+            int d = day.getValue() - 1;
+            WeeklyMenuResponse.MealInfo[] meals = {
+                    dayMenus.getBreakfast(), dayMenus.getLunch(), dayMenus.getDinner()
+            };
+            for (int selection = 1; selection < SELECTIONS; selection++) {
+                for (int m = 0; m < MEALS; m++) {
+                    WeeklyMenuResponse.MealInfo meal = meals[m];
+                    if ((selection & (1 << m)) == 0 || meal == null) {
+                        continue;
+                    }
+                    daySums[selection][d * MACROS] += meal.getCalories();
+                    daySums[selection][d * MACROS + 1] += meal.getProtein();
+                    daySums[selection][d * MACROS + 2] += meal.getCarbs();
+                    daySums[selection][d * MACROS + 3] += meal.getFats();
+                    served[selection][d] = true;
+                }
+            }
+        });
+    }
+
+    /**
+     * Fit of a client is the mean over served days of {@code 1 - mean relative error}
+     * across the macros that have a target, floored at zero per day.
+     */
+    private static void score(int i, int[] daySums, boolean[] served, double[] targets,
+                              int[] fitPercents, int[] averages) {
+        double fitSum = 0;
+        long[] macroSums = new long[MACROS];
+        int days = 0;
+
+        for (int d = 0; d < DAYS; d++) {
+            if (!served[d]) {
+                continue;
+            }
+            days++;
+
+            double errorSum = 0;
+            int scored = 0;
+            for (int k = 0; k < MACROS; k++) {
+                int actual = daySums[d * MACROS + k];
+                macroSums[k] += actual;
+                double target = targets[i * MACROS + k];
+                if (target > 0) {
+                    errorSum += Math.abs(actual - target) / target;
+                    scored++;
+                }
+            }
+            fitSum += scored == 0 ? 0 : Math.max(0, 1 - errorSum / scored);
+        }
+
+        if (days == 0) {
+            return;
+        }
+        fitPercents[i] = (int) Math.round(100 * fitSum / days);
+        for (int k = 0; k < MACROS; k++) {
+            averages[i * MACROS + k] = (int) Math.round((double) macroSums[k] / days);
+        }
+    }
+
+    /**
+     * Meal selection of a client: the included meal types, limited to meals per day.
+     */
+    private static int selection(ClientPreferencesRepository.NutritionTargets client) {
+        boolean[] included = {
+                Boolean.TRUE.equals(client.getIncludeBreakfast()),
+                Boolean.TRUE.equals(client.getIncludeLunch()),
+                Boolean.TRUE.equals(client.getIncludeDinner())
+        };
+        int limit = client.getMealsPerDay() != null ? client.getMealsPerDay() : MEALS;
+
+        int selection = 0;
+        int count = 0;
+        for (int m = 0; m < MEALS && count < limit; m++) {
+            if (included[m]) {
+                selection |= 1 << m;
+                count++;
+            }
+        }
+        return selection;
+    }
+
+    private static double orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
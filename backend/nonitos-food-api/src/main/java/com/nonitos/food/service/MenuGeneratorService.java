@@ -0,0 +1,331 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.dto.menu.CreateWeeklyMenuRequest;
+import com.nonitos.food.dto.menu.GenerateMenuRequest;
+import com.nonitos.food.dto.menu.MenuProposalResponse;
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.exception.BadRequestException;
+import com.nonitos.food.model.Dish;
+import com.nonitos.food.model.MenuDay;
+import com.nonitos.food.repository.DishRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Service generating weekly menu proposals from the active dish pool.
+ *
+ * <p>Dish macros are copied into primitive arrays and searched with randomized
+ * hill climbing: each run builds a random week that respects the repeat limit,
+ * then keeps replacing or swapping single slots while the deviation from the
+ * daily targets does not grow. Independent runs execute on the common
+ * fork-join pool and the best distinct weeks are returned.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuGeneratorService {
+
+    private static final MenuDay.MealType[] MEAL_TYPES = MenuDay.MealType.values();
+    private static final int DAYS = 7;
+    private static final int MEALS = MEAL_TYPES.length;
+    private static final int SLOTS = DAYS * MEALS;
+    private static final int MACROS = 4;
+
+    private final DishRepository dishRepository;
+
+    @Value("${menu-generator.iterations:20000}")
+    private int iterations;
+
+    @Value("${menu-generator.runs:0}")
+    private int runs;
+
+    /**
+     * Generates the best-scoring weekly menus for the given constraints.
+     *
+     * @param request the generation constraints
+     * @return proposals ordered from best to worst
+     */
+    @Transactional(readOnly = true)
+    public List<MenuProposalResponse> generate(GenerateMenuRequest request) {
+        int maxRepeats = request.getMaxRepeats() != null ? request.getMaxRepeats() : 2;
+        int proposals = request.getProposals() != null ? request.getProposals() : 3;
+        Map<MenuDay.MealType, Dish.DishCategory> categories = resolveCategories(request.getMealCategories());
+        double[] targets = {
+                orZero(request.getTargetCalories()),
+                orZero(request.getTargetProtein()),
+                orZero(request.getTargetCarbs()),
+                orZero(request.getTargetFats())
+        };
+
+        Pool pool = buildPool(loadDishes(categories, request.getRequiredTags()), categories, maxRepeats);
+
+        long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+        int runCount = runs > 0 ? runs : Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+        long start = System.nanoTime();
+        List<Candidate> candidates = IntStream.range(0, runCount)
+                .parallel()
+                .mapToObj(run -> search(pool, targets, maxRepeats,
+                        new SplittableRandom(seed + run * 0x9E3779B97F4A7C15L)))
+                .sorted(Comparator.comparingDouble(Candidate::score))
+                .collect(Collectors.toList());
+
+        List<Candidate> distinct = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (distinct.size() == proposals) {
+                break;
+            }
+            if (distinct.stream().noneMatch(kept -> Arrays.equals(kept.assignment(), candidate.assignment()))) {
+                distinct.add(candidate);
+            }
+        }
+
+        log.info("Generated {} menu proposals from {} dishes with {} runs in {} ms",
+                distinct.size(), pool.ids().length, runCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        return distinct.stream()
+                .map(candidate -> toResponse(pool, candidate))
+                .collect(Collectors.toList());
+    }
+
+    private Map<MenuDay.MealType, Dish.DishCategory> resolveCategories(
+            Map<MenuDay.MealType, Dish.DishCategory> overrides) {
+        Map<MenuDay.MealType, Dish.DishCategory> categories = new EnumMap<>(MenuDay.MealType.class);
+        for (MenuDay.MealType mealType : MEAL_TYPES) {
+            categories.put(mealType, Dish.DishCategory.valueOf(mealType.name()));
+        }
+        if (overrides != null) {
+            categories.putAll(overrides);
+        }
+        return categories;
+    }
+
+    private List<DishRepository.DishMacros> loadDishes(
+            Map<MenuDay.MealType, Dish.DishCategory> categories, List<String> requiredTags) {
+        Set<Dish.DishCategory> categorySet = EnumSet.copyOf(categories.values());
+        if (requiredTags == null || requiredTags.isEmpty()) {
+            return dishRepository.findActiveMacrosByCategoryIn(categorySet);
+        }
+
+        Set<String> tags = new HashSet<>(requiredTags);
+        return dishRepository.findActiveMacrosByCategoryInWithAllTags(categorySet, tags, tags.size());
+    }
+
+    /**
+     * Copies dish macros into flat arrays and indexes the dishes usable for each
+     * meal type, rejecting constraints that no week can satisfy.
+     */
+    private Pool buildPool(List<DishRepository.DishMacros> dishes,
+                           Map<MenuDay.MealType, Dish.DishCategory> categories, int maxRepeats) {
+        int size = dishes.size();
+        long[] ids = new long[size];
+        int[] macros = new int[size * MACROS];
+        Map<Dish.DishCategory, List<Integer>> byCategory = new EnumMap<>(Dish.DishCategory.class);
+
+        for (int i = 0; i < size; i++) {
+            DishRepository.DishMacros dish = dishes.get(i);
+            ids[i] = dish.getId();
+            macros[i * MACROS] = dish.getCalories();
+            macros[i * MACROS + 1] = dish.getProtein();
+            macros[i * MACROS + 2] = dish.getCarbs();
+            macros[i * MACROS + 3] = dish.getFats();
+            byCategory.computeIfAbsent(dish.getCategory(), c -> new ArrayList<>()).add(i);
+        }
+
+        Map<Dish.DishCategory, Integer> slotsPerCategory = new EnumMap<>(Dish.DishCategory.class);
+        categories.values().forEach(category -> slotsPerCategory.merge(category, DAYS, Integer::sum));
+        slotsPerCategory.forEach((category, needed) -> {
+            int available = byCategory.getOrDefault(category, List.of()).size();
+            if ((long) available * maxRepeats < needed) {
+                throw new BadRequestException("Not enough matching " + category + " dishes: "
+                        + available + " available, " + needed + " slots with at most " + maxRepeats + " repeats");
+            }
+        });
+
+        int[][] byMeal = new int[MEALS][];
+        for (int meal = 0; meal < MEALS; meal++) {
+            byMeal[meal] = byCategory.get(categories.get(MEAL_TYPES[meal])).stream()
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        return new Pool(ids, macros, byMeal);
+    }
+
+    /**
+     * Runs one randomized hill climb. Slot {@code s} holds day {@code s / MEALS}
+     * and meal type {@code s % MEALS}; day sums are kept per macro so a move only
+     * rescores the one or two days it touches.
+     */
+    private Candidate search(Pool pool, double[] targets, int maxRepeats, SplittableRandom random) {
+        int[] macros = pool.macros();
+        int[] assignment = new int[SLOTS];
+        int[] counts = new int[pool.ids().length];
+        int[] daySums = new int[DAYS * MACROS];
+        double[] dayScores = new double[DAYS];
+
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int dish = pickAvailable(pool.byMeal()[slot % MEALS], counts, maxRepeats, random);
+            assignment[slot] = dish;
+            counts[dish]++;
+            addMacros(daySums, slot / MEALS, macros, dish, 1);
+        }
+        for (int day = 0; day < DAYS; day++) {
+            dayScores[day] = score(daySums, day, targets);
+        }
+
+        for (int i = 0; i < iterations; i++) {
+            if (random.nextBoolean()) {
+                int slot = random.nextInt(SLOTS);
+                int day = slot / MEALS;
+                int[] options = pool.byMeal()[slot % MEALS];
+                int current = assignment[slot];
+                int next = options[random.nextInt(options.length)];
+                if (next == current || counts[next] >= maxRepeats) {
+                    continue;
+                }
+
+                addMacros(daySums, day, macros, current, -1);
+                addMacros(daySums, day, macros, next, 1);
+                double nextScore = score(daySums, day, targets);
+                if (nextScore <= dayScores[day]) {
+                    assignment[slot] = next;
+                    counts[current]--;
+                    counts[next]++;
+                    dayScores[day] = nextScore;
+                } else {
+                    addMacros(daySums, day, macros, next, -1);
+                    addMacros(daySums, day, macros, current, 1);
+                }
+            } else {
+                int meal = random.nextInt(MEALS);
+                int dayA = random.nextInt(DAYS);
+                int dayB = random.nextInt(DAYS);
+                int slotA = dayA * MEALS + meal;
+                int slotB = dayB * MEALS + meal;
+                int dishA = assignment[slotA];
+                int dishB = assignment[slotB];
+                if (dayA == dayB || dishA == dishB) {
+                    continue;
+                }
+
+                swapMacros(daySums, dayA, dayB, macros, dishA, dishB);
+                double scoreA = score(daySums, dayA, targets);
+                double scoreB = score(daySums, dayB, targets);
+                if (scoreA + scoreB <= dayScores[dayA] + dayScores[dayB]) {
+                    assignment[slotA] = dishB;
+                    assignment[slotB] = dishA;
+                    dayScores[dayA] = scoreA;
+                    dayScores[dayB] = scoreB;
+                } else {
+                    swapMacros(daySums, dayA, dayB, macros, dishB, dishA);
+                }
+            }
+        }
+
+        double total = 0;
+        for (double dayScore : dayScores) {
+            total += dayScore;
+        }
+        return new Candidate(assignment, total);
+    }
+
+    private static int pickAvailable(int[] options, int[] counts, int maxRepeats, SplittableRandom random) {
+        int offset = random.nextInt(options.length);
+        for (int i = 0; i < options.length; i++) {
+            int dish = options[(offset + i) % options.length];
+            if (counts[dish] < maxRepeats) {
+                return dish;
+            }
+        }
+        throw new IllegalStateException("No dish available below the repeat limit");
+    }
+
+    private static void addMacros(int[] daySums, int day, int[] macros, int dish, int sign) {
+        for (int k = 0; k < MACROS; k++) {
+            daySums[day * MACROS + k] += sign * macros[dish * MACROS + k];
+        }
+    }
+
+    private static void swapMacros(int[] daySums, int dayA, int dayB, int[] macros, int dishA, int dishB) {
+        for (int k = 0; k < MACROS; k++) {
+            int diff = macros[dishB * MACROS + k] - macros[dishA * MACROS + k];
+            daySums[dayA * MACROS + k] += diff;
+            daySums[dayB * MACROS + k] -= diff;
+        }
+    }
+
+    /**
+     * Sum of squared relative deviations of a day's macros from the targets.
+     */
+    private static double score(int[] daySums, int day, double[] targets) {
+        double score = 0;
+        for (int k = 0; k < MACROS; k++) {
+            if (targets[k] > 0) {
+                double deviation = (daySums[day * MACROS + k] - targets[k]) / targets[k];
+                score += deviation * deviation;
+            }
+        }
+        return score;
+    }
+
+    private MenuProposalResponse toResponse(Pool pool, Candidate candidate) {
+        int[] macros = pool.macros();
+        List<CreateWeeklyMenuRequest.MenuDayRequest> menuDays = new ArrayList<>(SLOTS);
+        Map<DayOfWeek, WeeklyMenuResponse.NutritionTotals> dailyTotals = new EnumMap<>(DayOfWeek.class);
+        WeeklyMenuResponse.NutritionTotals weeklyTotals = new WeeklyMenuResponse.NutritionTotals();
+
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int dish = candidate.assignment()[slot];
+            DayOfWeek day = DayOfWeek.of(slot / MEALS + 1);
+
+            menuDays.add(CreateWeeklyMenuRequest.MenuDayRequest.builder()
+                    .dayOfWeek(day)
+                    .mealType(MEAL_TYPES[slot % MEALS].name())
+                    .dishId(pool.ids()[dish])
+                    .build());
+
+            WeeklyMenuResponse.NutritionTotals dayTotals =
+                    dailyTotals.computeIfAbsent(day, d -> new WeeklyMenuResponse.NutritionTotals());
+            for (WeeklyMenuResponse.NutritionTotals totals : List.of(dayTotals, weeklyTotals)) {
+                totals.setCalories(totals.getCalories() + macros[dish * MACROS]);
+                totals.setProtein(totals.getProtein() + macros[dish * MACROS + 1]);
+                totals.setCarbs(totals.getCarbs() + macros[dish * MACROS + 2]);
+                totals.setFats(totals.getFats() + macros[dish * MACROS + 3]);
+            }
+        }
+
+        return MenuProposalResponse.builder()
+                .score(Math.round(candidate.score() * 10_000) / 10_000.0)
+                .weeklyTotals(weeklyTotals)
+                .dailyTotals(dailyTotals)
+                .menuDays(menuDays)
+                .build();
+    }
+
+    private static double orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Dish pool as flat arrays: {@code macros[i * MACROS + k]} is macro {@code k}
+     * of dish {@code i}, and {@code byMeal[m]} lists the dishes usable for meal type {@code m}.
+     */
+    private record Pool(long[] ids, int[] macros, int[][] byMeal) {
+    }
+
+    private record Candidate(int[] assignment, double score) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.model.WeeklyMenu;
+import com.nonitos.food.repository.WeeklyMenuRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Service publishing weekly menus at their scheduled instant.
+ *
+ * <p>A poller finds drafts due within the lead time and builds their responses
+ * ahead of time, so the dishes and primary images of the menu are loaded before
+ * the publication instant. A one-shot task then flips the status with a single
+ * conditional update; only the node whose update matches publishes the event,
+ * which stores the menu snapshot before any client request arrives. The published
+ * list is rebuilt right after, so the first reader after publication does not
+ * pay for it either.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class MenuPublicationService {
+
+    private final WeeklyMenuRepository weeklyMenuRepository;
+    private final WeeklyMenuService weeklyMenuService;
+    private final MenuSnapshotService menuSnapshotService;
+    private final TaskScheduler taskScheduler;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    @Value("${menu-publication.lead-seconds:120}")
+    private long leadSeconds;
+
+    /**
+     * Prepares every draft whose publication is due within the lead time.
+     */
+    @Scheduled(fixedDelayString = "${menu-publication.poll-interval-ms:30000}")
+    public void prepareDuePublications() {
+        LocalDateTime horizon = LocalDateTime.now().plusSeconds(leadSeconds);
+        for (WeeklyMenu menu : weeklyMenuRepository.findByStatusAndPublishAtLessThanEqual(
+                WeeklyMenu.MenuStatus.DRAFT, horizon)) {
+            Pending current = pending.get(menu.getId());
+            if (current != null && current.matches(menu)) {
+                continue;
+            }
+            if (current != null) {
+                current.future().cancel(false);
+            }
+            prepare(menu);
+        }
+    }
+
+    private void prepare(WeeklyMenu menu) {
+        Prepared prepared = new Prepared(
+                weeklyMenuService.getMenuById(menu.getId()), menu.getPublishAt(), menu.getUpdatedAt());
+        ScheduledFuture<?> future = taskScheduler.schedule(() -> publish(prepared),
+                menu.getPublishAt().atZone(ZoneId.systemDefault()).toInstant());
+        pending.put(menu.getId(), new Pending(prepared, future));
+        log.debug("Prepared weekly menu {} for publication at {}", menu.getId(), menu.getPublishAt());
+    }
+
+    private void publish(Prepared prepared) {
+        Long id = prepared.menu().getId();
+        pending.computeIfPresent(id, (key, current) -> current.prepared() == prepared ? null : current);
+
+        try {
+            if (weeklyMenuService.publishPrepared(prepared.menu(), prepared.publishAt(), prepared.updatedAt())) {
+                menuSnapshotService.getPublishedMenus();
+                return;
+            }
+
+            // Edited since it was prepared: rebuild now rather than at the next poll
+            weeklyMenuRepository.findById(id)
+                    .filter(menu -> menu.getStatus() == WeeklyMenu.MenuStatus.DRAFT)
+                    .filter(menu -> menu.getPublishAt() != null && !menu.getPublishAt().isAfter(LocalDateTime.now()))
+                    .filter(menu -> !pending.containsKey(id))
+                    .ifPresent(this::prepare);
+        } catch (RuntimeException e) {
+            log.error("Scheduled publication of weekly menu {} failed: {}", id, e.getMessage(), e);
+        }
+    }
+
+    private record Prepared(WeeklyMenuResponse menu, LocalDateTime publishAt, LocalDateTime updatedAt) {
+    }
+
+    private record Pending(Prepared prepared, ScheduledFuture<?> future) {
+
+        boolean matches(WeeklyMenu menu) {
+            return prepared.publishAt().equals(menu.getPublishAt())
+                    && prepared.updatedAt().equals(menu.getUpdatedAt());
+        }
+    }
+}
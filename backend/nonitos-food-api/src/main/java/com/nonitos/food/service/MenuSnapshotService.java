@@ -0,0 +1,299 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nonitos.food.dto.ApiResponse;
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.event.MenuPublishedEvent;
+import com.nonitos.food.model.WeeklyMenu;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service serving published weekly menus as immutable, pre-serialized snapshots.
+ *
+ * <p>A published menu can no longer be updated or deleted, so its API response is
+ * rendered once into JSON and gzip bytes and kept in a local cache backed by Redis.
+ * Each snapshot carries a strong ETag so clients can revalidate with
+ * {@code If-None-Match} and receive {@code 304 Not Modified}.</p>
+ *
+ * <p>Lookup order is local cache, then Redis, then the database. Individual menus
+ * are cached indefinitely on each node; the published list is cached locally for a
+ * short time because a later publication changes it.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuSnapshotService {
+
+    private static final String MENU_KEY_PREFIX = "menu_snapshot:menu:";
+    private static final String PUBLISHED_LIST_KEY = "menu_snapshot:published";
+
+    private final WeeklyMenuService weeklyMenuService;
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    private final Map<Long, Snapshot> menuSnapshots = new ConcurrentHashMap<>();
+    private final Object publishedListLock = new Object();
+    private volatile Snapshot publishedList;
+    private volatile long publishedListLoadedAt;
+
+    @Value("${menu-snapshot.redis-ttl-days:30}")
+    private long redisTtlDays;
+
+    @Value("${menu-snapshot.list-ttl-seconds:30}")
+    private long listTtlSeconds;
+
+    /**
+     * Gets the snapshot for a menu.
+     * Published menus are cached; drafts are rendered on every call.
+     *
+     * @param id the menu ID
+     * @return the menu snapshot
+     */
+    public Snapshot getMenu(Long id) {
+        Snapshot snapshot = menuSnapshots.get(id);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        snapshot = readFromRedis(MENU_KEY_PREFIX + id);
+        if (snapshot != null) {
+            menuSnapshots.put(id, snapshot);
+            return snapshot;
+        }
+
+        WeeklyMenuResponse menu = weeklyMenuService.getMenuById(id);
+        snapshot = render(menu);
+        if (menu.getStatus() == WeeklyMenu.MenuStatus.PUBLISHED) {
+            store(id, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the snapshot of all published menus.
+     *
+     * @return the published menus snapshot
+     */
+    public Snapshot getPublishedMenus() {
+        Snapshot snapshot = publishedList;
+        if (snapshot != null && !isPublishedListExpired()) {
+            return snapshot;
+        }
+
+        synchronized (publishedListLock) {
+            if (publishedList != null && !isPublishedListExpired()) {
+                return publishedList;
+            }
+
+            snapshot = readFromRedis(PUBLISHED_LIST_KEY);
+            if (snapshot == null) {
+                List<WeeklyMenuResponse> menus = weeklyMenuService.getPublishedMenus();
+                snapshot = render(menus);
+                writeToRedis(PUBLISHED_LIST_KEY, snapshot);
+            }
+
+            publishedList = snapshot;
+            publishedListLoadedAt = System.currentTimeMillis();
+            return snapshot;
+        }
+    }
+
+    /**
+     * Renders the snapshot of a newly published menu once the publication has
+     * committed, and evicts the published list so it is rebuilt on next read.
+     *
+     * @param event the publication event
+     */
+    @TransactionalEventListener
+    public void onMenuPublished(MenuPublishedEvent event) {
+        WeeklyMenuResponse menu = event.getMenu();
+        store(menu.getId(), render(menu));
+        evictPublishedList();
+        log.info("Stored snapshot for published menu {}", menu.getId());
+    }
+
+    /**
+     * Evicts the published list from the local cache and Redis.
+     */
+    public void evictPublishedList() {
+        synchronized (publishedListLock) {
+            publishedList = null;
+            try {
+                binaryRedisTemplate.delete(PUBLISHED_LIST_KEY);
+            } catch (RuntimeException e) {
+                log.warn("Could not evict published menu list from Redis: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean isPublishedListExpired() {
+        return System.currentTimeMillis() - publishedListLoadedAt > TimeUnit.SECONDS.toMillis(listTtlSeconds);
+    }
+
+    private void store(Long id, Snapshot snapshot) {
+        menuSnapshots.put(id, snapshot);
+        writeToRedis(MENU_KEY_PREFIX + id, snapshot);
+    }
+
+    private Snapshot render(Object data) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(data));
+            return new Snapshot(json, gzip(json), etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu snapshot", e);
+        }
+    }
+
+    private Snapshot readFromRedis(String key) {
+        try {
+            byte[] gzip = binaryRedisTemplate.opsForValue().get(key);
+            if (gzip == null) {
+                return null;
+            }
+            byte[] json = gunzip(gzip);
+            return new Snapshot(json, gzip, etag(json));
+        } catch (RuntimeException e) {
+            log.warn("Could not read menu snapshot {} from Redis: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToRedis(String key, Snapshot snapshot) {
+        try {
+            binaryRedisTemplate.opsForValue().set(key, snapshot.getGzip(), redisTtlDays, TimeUnit.DAYS);
+        } catch (RuntimeException e) {
+            log.warn("Could not write menu snapshot {} to Redis: {}", key, e.getMessage());
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Immutable pre-serialized API response.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+
+        /** Serialized JSON body */
+        private final byte[] json;
+
+        /** Gzip-compressed JSON body */
+        private final byte[] gzip;
+
+        /** Strong entity tag, including quotes */
+        private final String etag;
+
+        /**
+         * Checks whether an If-None-Match header matches this snapshot.
+         *
+         * @param ifNoneMatch the header value, may be null
+         * @return true if the client already has this representation
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Checks whether an Accept-Encoding header accepts gzip. An explicit
+         * {@code gzip} entry wins over {@code *}, and a q-value of zero refuses.
+         *
+         * @param acceptEncoding the header value, may be null
+         * @return true if the gzip body may be sent
+         */
+        public static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            Boolean wildcard = null;
+            for (String entry : acceptEncoding.split(",")) {
+                String[] parts = entry.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                boolean accepted = quality(parts) > 0;
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    return accepted;
+                }
+                if (coding.equals("*")) {
+                    wildcard = accepted;
+                }
+            }
+            return Boolean.TRUE.equals(wildcard);
+        }
+
+        private static double quality(String[] parts) {
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.dto.notification.BroadcastRequest;
+import com.nonitos.food.dto.notification.BroadcastResponse;
+import com.nonitos.food.event.BroadcastRequestedEvent;
+import com.nonitos.food.exception.BadRequestException;
+import com.nonitos.food.exception.ResourceNotFoundException;
+import com.nonitos.food.model.Notification;
+import com.nonitos.food.model.NotificationBroadcast;
+import com.nonitos.food.model.User;
+import com.nonitos.food.repository.NotificationBroadcastRepository;
+import com.nonitos.food.repository.NotificationRepository;
+import com.nonitos.food.repository.UserRepository;
+import com.nonitos.food.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service broadcasting a notification to every user of a role.
+ *
+ * <p>The template is rendered once when the broadcast is created; the admin request
+ * returns immediately and delivery runs in the background after commit. Recipients
+ * are walked in user ID order in chunks, and each chunk is a single
+ * {@code INSERT ... SELECT} committed together with the broadcast progress, so an
+ * interrupted broadcast resumes after the last chunk it delivered. Unread counters
+ * and hot inboxes of a chunk are evicted with one Redis command each and rebuilt on
+ * next read.</p>
+ *
+ * <p>Delivery starts by claiming the broadcast with a conditional update, and each
+ * chunk's progress update doubles as a heartbeat. Broadcasts left PENDING or RUNNING
+ * without progress, e.g. by a restart, are resumed by a periodic sweep; FAILED ones
+ * are resumed on admin request.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationBroadcastService {
+
+    private static final Set<Notification.NotificationType> BROADCAST_TYPES = EnumSet.of(
+            Notification.NotificationType.MENU_PUBLISHED,
+            Notification.NotificationType.SYSTEM_ANNOUNCEMENT
+    );
+
+    private final NotificationBroadcastRepository notificationBroadcastRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final NotificationTemplateRegistry notificationTemplateRegistry;
+    private final UnreadCounterService unreadCounterService;
+    private final HotInboxService hotInboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification-broadcast.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${notification-broadcast.stale-after-ms:600000}")
+    private long staleAfterMs;
+
+    /**
+     * Creates a broadcast and schedules its delivery.
+     *
+     * @param request the broadcast request
+     * @param adminId the admin user ID
+     * @return the created broadcast
+     */
+    @Transactional
+    public BroadcastResponse createBroadcast(BroadcastRequest request, Long adminId) {
+        if (!BROADCAST_TYPES.contains(request.getType())) {
+            throw new BadRequestException("Notification type cannot be broadcast: " + request.getType());
+        }
+
+        NotificationTemplateRegistry.Compiled template = notificationTemplateRegistry.get(request.getType());
+        User.UserRole role = request.getTargetRole() != null ? request.getTargetRole() : User.UserRole.CLIENT;
+
+        NotificationBroadcast broadcast = notificationBroadcastRepository.save(NotificationBroadcast.builder()
+                .type(request.getType())
+                .title(template.getTitle().render(request.getVariables()))
+                .message(template.getMessage().render(request.getVariables()))
+                .targetRole(role)
+                .relatedEntityId(request.getRelatedEntityId())
+                .relatedEntityType(request.getRelatedEntityType())
+                .status(NotificationBroadcast.BroadcastStatus.PENDING)
+                .totalRecipients((int) userRepository.countByRole(role))
+                .deliveredCount(0)
+                .lastUserId(0L)
+                .createdBy(adminId)
+                .build());
+
+        eventPublisher.publishEvent(new BroadcastRequestedEvent(broadcast.getId()));
+
+        log.info("Created {} broadcast {} for {} {} users", broadcast.getType(), broadcast.getId(),
+                broadcast.getTotalRecipients(), role);
+        return buildBroadcastResponse(broadcast);
+    }
+
+    /**
+     * Gets a broadcast with its delivery progress.
+     *
+     * @param id the broadcast ID
+     * @return the broadcast
+     */
+    @Transactional(readOnly = true)
+    public BroadcastResponse getBroadcast(Long id) {
+        return notificationBroadcastRepository.findById(id)
+                .map(this::buildBroadcastResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Broadcast not found"));
+    }
+
+    /**
+     * Resumes delivery of a FAILED or stalled broadcast.
+     *
+     * @param id the broadcast ID
+     * @return the broadcast
+     */
+    @Transactional
+    public BroadcastResponse resumeBroadcast(Long id) {
+        NotificationBroadcast broadcast = notificationBroadcastRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Broadcast not found"));
+        if (broadcast.getStatus() == NotificationBroadcast.BroadcastStatus.COMPLETED) {
+            throw new BadRequestException("Broadcast is already completed");
+        }
+        if (broadcast.getStatus() == NotificationBroadcast.BroadcastStatus.RUNNING
+                && !broadcast.getUpdatedAt().isBefore(staleBefore(LocalDateTime.now()))) {
+            throw new BadRequestException("Broadcast is being delivered");
+        }
+
+        eventPublisher.publishEvent(new BroadcastRequestedEvent(id));
+        log.info("Resuming {} broadcast {} after user {}", broadcast.getStatus(), id, broadcast.getLastUserId());
+        return buildBroadcastResponse(broadcast);
+    }
+
+    /**
+     * Resumes broadcasts left PENDING or RUNNING without progress for longer than the
+     * stale age. Runs on every node; the claim in {@link #deliver} lets one win.
+     *
+     * @return number of broadcasts delivered by this node
+     */
+    @Scheduled(initialDelayString = "${notification-broadcast.sweep-interval-ms:300000}",
+            fixedDelayString = "${notification-broadcast.sweep-interval-ms:300000}")
+    public int resumeStale() {
+        int resumed = 0;
+        try {
+            for (Long id : notificationBroadcastRepository.findStaleIds(staleBefore(LocalDateTime.now()))) {
+                if (deliver(id)) {
+                    resumed++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Broadcast sweep failed: {}", e.getMessage(), e);
+        }
+        return resumed;
+    }
+
+    /**
+     * Delivers a broadcast in the background once its creation has committed.
+     *
+     * @param event the broadcast event
+     */
+    @Async("batchExecutor")
+    @TransactionalEventListener
+    public void onBroadcastRequested(BroadcastRequestedEvent event) {
+        deliver(event.getBroadcastId());
+    }
+
+    /**
+     * Delivers the remaining chunks of a broadcast, unless another node holds it.
+     *
+     * @param id the broadcast ID
+     * @return true if this node claimed the broadcast
+     */
+    public boolean deliver(Long id) {
+        long start = System.nanoTime();
+        NotificationBroadcast broadcast = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (notificationBroadcastRepository.claim(id, now, staleBefore(now)) == 0) {
+                return null;
+            }
+            return notificationBroadcastRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Broadcast not found"));
+        });
+        if (broadcast == null) {
+            log.debug("Broadcast {} is finished or held by another node", id);
+            return false;
+        }
+
+        try {
+            Long lastUserId = broadcast.getLastUserId();
+            int delivered = 0;
+            List<Long> userIds;
+            while (!(userIds = userRepository.findIdsByRoleAfter(
+                    broadcast.getTargetRole(), lastUserId, PageRequest.of(0, chunkSize))).isEmpty()) {
+                Long afterUserId = lastUserId;
+                Long chunkLastUserId = userIds.get(userIds.size() - 1);
+                List<Long> chunk = userIds;
+
+                delivered += transactionTemplate.execute(status -> {
+                    int inserted = notificationRepository.insertForUserRange(broadcast, afterUserId, chunkLastUserId);
+                    if (notificationBroadcastRepository.recordProgress(
+                            id, afterUserId, chunkLastUserId, inserted, LocalDateTime.now()) == 0) {
+                        throw new BroadcastTakenOverException();
+                    }
+                    AfterCommit.run(() -> {
+                        unreadCounterService.evict(chunk);
+                        hotInboxService.evict(chunk);
+                    });
+                    return inserted;
+                });
+                lastUserId = chunkLastUserId;
+            }
+
+            finish(id, NotificationBroadcast.BroadcastStatus.COMPLETED, null);
+            log.info("Delivered broadcast {} to {} users in {} ms", id, delivered,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (BroadcastTakenOverException e) {
+            log.warn("Broadcast {} was taken over by another node, stopping", id);
+        } catch (RuntimeException e) {
+            log.error("Broadcast {} failed: {}", id, e.getMessage(), e);
+            finish(id, NotificationBroadcast.BroadcastStatus.FAILED, e.getMessage());
+        }
+        return true;
+    }
+
+    private LocalDateTime staleBefore(LocalDateTime now) {
+        return now.minusNanos(TimeUnit.MILLISECONDS.toNanos(staleAfterMs));
+    }
+
+    private void finish(Long id, NotificationBroadcast.BroadcastStatus status, String failureReason) {
+        transactionTemplate.executeWithoutResult(tx -> notificationBroadcastRepository.findById(id)
+                .ifPresent(broadcast -> {
+                    broadcast.setStatus(status);
+                    broadcast.setCompletedAt(LocalDateTime.now());
+                    broadcast.setFailureReason(failureReason != null && failureReason.length() > 500
+                            ? failureReason.substring(0, 500) : failureReason);
+                    notificationBroadcastRepository.save(broadcast);
+                }));
+    }
+
+    private BroadcastResponse buildBroadcastResponse(NotificationBroadcast broadcast) {
+        return BroadcastResponse.builder()
+                .id(broadcast.getId())
+                .type(broadcast.getType())
+                .title(broadcast.getTitle())
+                .message(broadcast.getMessage())
+                .targetRole(broadcast.getTargetRole())
+                .status(broadcast.getStatus())
+                .totalRecipients(broadcast.getTotalRecipients())
+                .deliveredCount(broadcast.getDeliveredCount())
+                .startedAt(broadcast.getStartedAt())
+                .completedAt(broadcast.getCompletedAt())
+                .failureReason(broadcast.getFailureReason())
+                .createdAt(broadcast.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Thrown when a chunk's progress no longer matches the broadcast, rolling the chunk back.
+     */
+    private static final class BroadcastTakenOverException extends RuntimeException {
+    }
+}
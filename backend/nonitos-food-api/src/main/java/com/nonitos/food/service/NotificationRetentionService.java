@@ -0,0 +1,158 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service maintaining the monthly notification partitions.
+ *
+ * <p>Partitions are created a few months ahead. Rows outside every monthly partition,
+ * e.g. while this job is disabled or failing, land in {@code notifications_default}
+ * instead of failing the insert, and are moved into their month's partition when it
+ * is created. An error is logged whenever the next month has no partition yet. Months
+ * older than the retention period are removed by dropping their partition, which
+ * frees the space at once instead of deleting and vacuuming row by row. Unread
+ * counters of the affected users are corrected by the regular reconciliation.
+ * Optionally, read notifications older than a number of days are moved to the
+ * archive table in batches, keeping the partitions the inbox reads small.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationRetentionService {
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification-retention.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${notification-retention.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${notification-retention.archive-read-after-days:0}")
+    private int archiveReadAfterDays;
+
+    @Value("${notification-retention.archive-batch-size:5000}")
+    private int archiveBatchSize;
+
+    /**
+     * Runs partition maintenance and archiving.
+     */
+    @Scheduled(initialDelayString = "${notification-retention.initial-delay-ms:60000}",
+            fixedDelayString = "${notification-retention.interval-ms:21600000}")
+    public void maintain() {
+        YearMonth currentMonth = YearMonth.now();
+        try {
+            maintainPartitions(currentMonth);
+        } catch (RuntimeException e) {
+            log.error("Notification partition maintenance failed: {}", e.getMessage(), e);
+        }
+
+        try {
+            checkPartitionHorizon(currentMonth);
+        } catch (RuntimeException e) {
+            log.error("Notification partition check failed: {}", e.getMessage(), e);
+        }
+
+        if (archiveReadAfterDays > 0) {
+            try {
+                archiveRead(LocalDateTime.now().minusDays(archiveReadAfterDays));
+            } catch (RuntimeException e) {
+                log.error("Notification archiving failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Creates the partitions of the coming months and drops the expired ones.
+     * Only one node does the work; the others skip while it holds the lock.
+     *
+     * @param currentMonth the current month
+     * @return the dropped months, empty if another node held the lock
+     */
+    public List<YearMonth> maintainPartitions(YearMonth currentMonth) {
+        return transactionTemplate.execute(status -> {
+            if (!notificationRepository.tryLockPartitionMaintenance()) {
+                log.debug("Notification partition maintenance running on another node");
+                return List.of();
+            }
+
+            for (int i = 0; i <= premakeMonths; i++) {
+                YearMonth month = currentMonth.plusMonths(i);
+                int moved = notificationRepository.createMonthlyPartition(month);
+                if (moved > 0) {
+                    log.warn("Moved {} notifications of {} out of the default partition", moved, month);
+                }
+            }
+
+            List<YearMonth> dropped = new ArrayList<>();
+            if (retentionMonths > 0) {
+                YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+                for (YearMonth month : notificationRepository.findMonthlyPartitions()) {
+                    if (month.isBefore(oldestKept)) {
+                        notificationRepository.dropMonthlyPartition(month);
+                        dropped.add(month);
+                    }
+                }
+            }
+
+            if (!dropped.isEmpty()) {
+                log.info("Dropped expired notification partitions {}", dropped);
+            }
+            return dropped;
+        });
+    }
+
+    /**
+     * Logs an error when the next month has no partition, i.e. its notifications are
+     * about to land in the default partition.
+     *
+     * @param currentMonth the current month
+     * @return true if the next month has a partition
+     */
+    public boolean checkPartitionHorizon(YearMonth currentMonth) {
+        List<YearMonth> months = notificationRepository.findMonthlyPartitions();
+        YearMonth furthest = months.isEmpty() ? null : months.get(months.size() - 1);
+        if (furthest == null || furthest.isBefore(currentMonth.plusMonths(1))) {
+            log.error("Notification partitions end at {}; new notifications go to the default partition", furthest);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Moves read notifications created before a cutoff to the archive, one batch per statement.
+     *
+     * @param cutoff notifications created before this are archived
+     * @return number of notifications archived
+     */
+    public int archiveRead(LocalDateTime cutoff) {
+        int total = 0;
+        int moved;
+        do {
+            moved = notificationRepository.archiveReadBefore(cutoff, archiveBatchSize);
+            total += moved;
+        } while (moved == archiveBatchSize);
+
+        if (total > 0) {
+            log.info("Archived {} read notifications created before {}", total, cutoff);
+        }
+        return total;
+    }
+}
@@ -1,37 +1,90 @@
 package com.nonitos.food.service;
 
+import com.nonitos.food.dto.notification.NotificationPageResponse;
 import com.nonitos.food.dto.notification.NotificationResponse;
 import com.nonitos.food.exception.ResourceNotFoundException;
 import com.nonitos.food.model.Notification;
-import com.nonitos.food.model.NotificationTemplate;
 import com.nonitos.food.model.User;
 import com.nonitos.food.repository.NotificationRepository;
-import com.nonitos.food.repository.NotificationTemplateRepository;
 import com.nonitos.food.repository.UserRepository;
+import com.nonitos.food.util.AfterCommit;
+import com.nonitos.food.util.KeysetCursor;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing notifications.
  *
+ * <p>Order events tend to arrive in bursts (created, payment received, paid within
+ * seconds). Notifications of the coalesced types are held per user for a short
+ * window and stored as a single notification and email; when more than one
+ * arrived, they are merged into an {@code ORDER_UPDATES} digest. Each event is
+ * still pushed to open streams right away as {@code notification-pending}.</p>
+ *
  * @author Nonito's Food Team
  * @since 1.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final NotificationTemplateRepository notificationTemplateRepository;
+    private final NotificationTemplateRegistry notificationTemplateRegistry;
     private final UserRepository userRepository;
+    private final UnreadCounterService unreadCounterService;
+    private final EventStreamService eventStreamService;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final HotInboxService hotInboxService;
+    private final TaskScheduler coalescingScheduler;
+
+    private final Map<Long, PendingBatch> pending = new ConcurrentHashMap<>();
+
+    @Value("${notification-coalescing.window-ms:0}")
+    private long coalescingWindowMs;
+
+    @Value("${notification-coalescing.types:ORDER_CREATED,PAYMENT_RECEIVED,ORDER_PAID}")
+    private Set<Notification.NotificationType> coalescedTypes = Set.of();
+
+    public NotificationService(
+            NotificationRepository notificationRepository,
+            NotificationTemplateRegistry notificationTemplateRegistry,
+            UserRepository userRepository,
+            UnreadCounterService unreadCounterService,
+            EventStreamService eventStreamService,
+            EmailService emailService,
+            TransactionTemplate transactionTemplate,
+            HotInboxService hotInboxService,
+            @Qualifier("coalescingScheduler") TaskScheduler coalescingScheduler
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.notificationTemplateRegistry = notificationTemplateRegistry;
+        this.userRepository = userRepository;
+        this.unreadCounterService = unreadCounterService;
+        this.eventStreamService = eventStreamService;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.hotInboxService = hotInboxService;
+        this.coalescingScheduler = coalescingScheduler;
+    }
 
     /**
      * Sends a notification to a user.
@@ -53,12 +106,104 @@ public class NotificationService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        NotificationTemplate template = notificationTemplateRepository.findByType(type)
-                .orElseThrow(() -> new ResourceNotFoundException("Template not found for type: " + type));
+        NotificationTemplateRegistry.Compiled template = notificationTemplateRegistry.get(type);
+
+        String title = template.getTitle().render(variables);
+        String message = template.getMessage().render(variables);
+
+        if (coalescingWindowMs > 0 && coalescedTypes.contains(type)) {
+            PendingNotification notification = new PendingNotification(
+                    type, title, message, relatedEntityId, relatedEntityType, LocalDateTime.now());
+            String email = user.getEmail();
+            AfterCommit.run(() -> hold(userId, email, notification));
+            log.info("Notification held for coalescing for user {}: {}", userId, type);
+            return;
+        }
+
+        store(user, user.getEmail(), type, title, message, relatedEntityId, relatedEntityType);
+        log.info("Notification sent to user {}: {}", userId, type);
+    }
+
+    /**
+     * Stores every held notification right away. Called on shutdown, before the
+     * coalescing scheduler is destroyed, so nothing held in the window is lost.
+     */
+    @PreDestroy
+    public void flushPending() {
+        new ArrayList<>(pending.keySet()).forEach(this::flush);
+    }
 
-        String title = replaceVariables(template.getTitleTemplate(), variables);
-        String message = replaceVariables(template.getMessageTemplate(), variables);
+    private void hold(Long userId, String email, PendingNotification notification) {
+        pending.compute(userId, (id, batch) -> {
+            if (batch == null) {
+                batch = new PendingBatch(email);
+                coalescingScheduler.schedule(() -> flush(id), Instant.now().plusMillis(coalescingWindowMs));
+            }
+            batch.notifications.add(notification);
+            return batch;
+        });
+
+        eventStreamService.send(userId, "notification-pending", NotificationResponse.builder()
+                .type(notification.type())
+                .title(notification.title())
+                .message(notification.message())
+                .isRead(false)
+                .relatedEntityId(notification.relatedEntityId())
+                .relatedEntityType(notification.relatedEntityType())
+                .createdAt(notification.createdAt())
+                .build());
+    }
+
+    /**
+     * Stores the notifications held for a user: as they are when only one arrived,
+     * otherwise as one digest listing every message.
+     */
+    void flush(Long userId) {
+        PendingBatch batch = pending.remove(userId);
+        if (batch == null) {
+            return;
+        }
+
+        try {
+            List<PendingNotification> notifications = batch.notifications;
+            if (notifications.size() == 1) {
+                PendingNotification only = notifications.get(0);
+                transactionTemplate.executeWithoutResult(status -> store(userRepository.getReferenceById(userId),
+                        batch.email, only.type(),
+                        only.title(), only.message(), only.relatedEntityId(), only.relatedEntityType()));
+                return;
+            }
+
+            Long relatedEntityId = notifications.get(0).relatedEntityId();
+            String relatedEntityType = notifications.get(0).relatedEntityType();
+            boolean sameEntity = notifications.stream().allMatch(n ->
+                    Objects.equals(n.relatedEntityId(), relatedEntityId)
+                            && Objects.equals(n.relatedEntityType(), relatedEntityType));
+
+            Map<String, String> variables = Map.of(
+                    "count", String.valueOf(notifications.size()),
+                    "summary", notifications.stream()
+                            .map(PendingNotification::message)
+                            .collect(Collectors.joining("\n")));
+            NotificationTemplateRegistry.Compiled digest =
+                    notificationTemplateRegistry.get(Notification.NotificationType.ORDER_UPDATES);
+
+            transactionTemplate.executeWithoutResult(status -> store(userRepository.getReferenceById(userId),
+                    batch.email,
+                    Notification.NotificationType.ORDER_UPDATES,
+                    digest.getTitle().render(variables),
+                    digest.getMessage().render(variables),
+                    sameEntity ? relatedEntityId : null,
+                    sameEntity ? relatedEntityType : null));
+            log.info("Coalesced {} notifications for user {}", notifications.size(), userId);
+        } catch (RuntimeException e) {
+            log.error("Could not store coalesced notifications for user {}: {}", userId, e.getMessage(), e);
+        }
+    }
 
+    private void store(User user, String email, Notification.NotificationType type, String title,
+                       String message, Long relatedEntityId, String relatedEntityType) {
+        Long userId = user.getId();
         Notification notification = Notification.builder()
                 .user(user)
                 .type(type)
@@ -69,26 +214,58 @@ public class NotificationService {
                 .relatedEntityType(relatedEntityType)
                 .build();
 
-        notificationRepository.save(notification);
-
-        // Mock email sending
-        mockSendEmail(user.getEmail(), title, message);
-
-        log.info("Notification sent to user {}: {}", userId, type);
+        Notification saved = notificationRepository.save(notification);
+        AfterCommit.run(() -> {
+            NotificationResponse response = buildNotificationResponse(saved);
+            unreadCounterService.add(userId, 1);
+            hotInboxService.push(userId, response);
+            eventStreamService.send(userId, "notification", response);
+            emailService.send(email, title, message);
+        });
     }
 
     /**
-     * Gets all notifications for a user.
+     * Gets a page of a user's notifications, newest first.
+     * Pages are addressed by keyset cursor, so each page costs one index range scan
+     * regardless of how deep it is. The first page is served from the user's hot
+     * inbox in Redis; on a miss it is read with enough rows to refill the hot inbox.
      *
      * @param userId the user ID
-     * @return list of notifications
+     * @param cursor cursor returned with the previous page, or null for the first page
+     * @param limit page size
+     * @return page of notifications
      */
-    @Transactional(readOnly = true)
-    public List<NotificationResponse> getUserNotifications(Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::buildNotificationResponse)
-                .collect(Collectors.toList());
+    public NotificationPageResponse getUserNotifications(Long userId, String cursor, int limit) {
+        List<NotificationResponse> notifications;
+        if (cursor == null || cursor.isBlank()) {
+            notifications = hotInboxService.getLatest(userId, limit + 1);
+            if (notifications == null) {
+                String generation = hotInboxService.getGeneration(userId);
+                notifications = toResponses(notificationRepository.findInboxFirstPage(
+                        userId, PageRequest.of(0, Math.max(limit + 1, hotInboxService.getCapacity()))));
+                hotInboxService.fill(userId, generation, notifications);
+            }
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            notifications = toResponses(notificationRepository.findInboxPageBefore(
+                    userId, position.getCreatedAt(), position.getId(), PageRequest.of(0, limit + 1)));
+        }
+
+        boolean hasMore = notifications.size() > limit;
+        if (hasMore) {
+            notifications = notifications.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationResponse last = notifications.get(notifications.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return NotificationPageResponse.builder()
+                .notifications(notifications)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
@@ -107,13 +284,13 @@ public class NotificationService {
 
     /**
      * Gets unread notification count for a user.
+     * Served from a Redis counter; the database is only read when it is missing.
      *
      * @param userId the user ID
      * @return count of unread notifications
      */
-    @Transactional(readOnly = true)
     public long getUnreadCount(Long userId) {
-        return notificationRepository.countByUserIdAndIsRead(userId, false);
+        return unreadCounterService.get(userId);
     }
 
     /**
@@ -135,6 +312,10 @@ public class NotificationService {
             notification.setIsRead(true);
             notification.setReadAt(LocalDateTime.now());
             notificationRepository.save(notification);
+            AfterCommit.run(() -> {
+                unreadCounterService.add(userId, -1);
+                hotInboxService.evict(userId);
+            });
             log.info("Notification {} marked as read", notificationId);
         }
     }
@@ -146,36 +327,19 @@ public class NotificationService {
      */
     @Transactional
     public void markAllAsRead(Long userId) {
-        List<Notification> unreadNotifications = notificationRepository
-                .findByUserIdAndIsReadOrderByCreatedAtDesc(userId, false);
+        int updated = notificationRepository.markAllAsReadByUserId(userId, LocalDateTime.now());
 
-        LocalDateTime now = LocalDateTime.now();
-        unreadNotifications.forEach(notification -> {
-            notification.setIsRead(true);
-            notification.setReadAt(now);
+        AfterCommit.run(() -> {
+            unreadCounterService.reset(userId);
+            hotInboxService.evict(userId);
         });
-
-        notificationRepository.saveAll(unreadNotifications);
-        log.info("Marked {} notifications as read for user {}", unreadNotifications.size(), userId);
-    }
-
-    private String replaceVariables(String template, Map<String, String> variables) {
-        String result = template;
-        if (variables != null) {
-            for (Map.Entry<String, String> entry : variables.entrySet()) {
-                result = result.replace("{{" + entry.getKey() + "}}", entry.getValue());
-            }
-        }
-        return result;
+        log.info("Marked {} notifications as read for user {}", updated, userId);
     }
 
-    private void mockSendEmail(String to, String subject, String body) {
-        // Mock email sending - in production, use actual email service
-        log.info("=== MOCK EMAIL ===");
-        log.info("To: {}", to);
-        log.info("Subject: {}", subject);
-        log.info("Body: {}", body);
-        log.info("==================");
+    private List<NotificationResponse> toResponses(List<Notification> notifications) {
+        return notifications.stream()
+                .map(this::buildNotificationResponse)
+                .collect(Collectors.toList());
     }
 
     private NotificationResponse buildNotificationResponse(Notification notification) {
@@ -191,4 +355,20 @@ public class NotificationService {
                 .createdAt(notification.getCreatedAt())
                 .build();
     }
+
+    private record PendingNotification(
+            Notification.NotificationType type,
+            String title,
+            String message,
+            Long relatedEntityId,
+            String relatedEntityType,
+            LocalDateTime createdAt
+    ) {
+    }
+
+    @RequiredArgsConstructor
+    private static class PendingBatch {
+        private final String email;
+        private final List<PendingNotification> notifications = new ArrayList<>();
+    }
 }
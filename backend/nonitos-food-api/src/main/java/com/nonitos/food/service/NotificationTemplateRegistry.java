@@ -0,0 +1,172 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.exception.ResourceNotFoundException;
+import com.nonitos.food.model.Notification;
+import com.nonitos.food.model.NotificationTemplate;
+import com.nonitos.food.repository.NotificationTemplateRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of compiled notification templates, cached by notification type.
+ *
+ * <p>Each template is parsed once into literal and placeholder segments, so rendering
+ * is a single pass into a pre-sized builder instead of one scan of the whole text per
+ * variable. Templates are only edited directly in the database, so there is no
+ * explicit eviction: changes are picked up when the cached entry's TTL
+ * ({@code notification-templates.ttl-seconds}, 300 s by default) expires.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationTemplateRegistry {
+
+    private final NotificationTemplateRepository notificationTemplateRepository;
+
+    private final Map<Notification.NotificationType, Entry> templates = new ConcurrentHashMap<>();
+
+    @Value("${notification-templates.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * Gets the compiled template of a notification type.
+     *
+     * @param type the notification type
+     * @return the compiled template
+     */
+    public Compiled get(Notification.NotificationType type) {
+        long now = System.currentTimeMillis();
+        Entry entry = templates.get(type);
+        if (entry != null && now - entry.loadedAt < TimeUnit.SECONDS.toMillis(ttlSeconds)) {
+            return entry.compiled;
+        }
+
+        Compiled compiled = notificationTemplateRepository.findByType(type)
+                .map(Compiled::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Template not found for type: " + type));
+        templates.put(type, new Entry(compiled, now));
+        log.debug("Compiled notification template for type {}", type);
+        return compiled;
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final Compiled compiled;
+        private final long loadedAt;
+    }
+
+    /**
+     * Compiled title and message of a notification template.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Compiled {
+
+        /** Compiled title */
+        private final CompiledTemplate title;
+
+        /** Compiled message */
+        private final CompiledTemplate message;
+
+        /**
+         * Compiles a notification template.
+         *
+         * @param template the template entity
+         * @return the compiled template
+         */
+        public static Compiled of(NotificationTemplate template) {
+            return new Compiled(
+                    CompiledTemplate.compile(template.getTitleTemplate()),
+                    CompiledTemplate.compile(template.getMessageTemplate()));
+        }
+    }
+
+    /**
+     * Template text split into literals and {@code {{name}}} placeholders.
+     * A template always has one more literal than placeholders; literal {@code i}
+     * precedes placeholder {@code i}.
+     */
+    public static class CompiledTemplate {
+
+        private static final String OPEN = "{{";
+        private static final String CLOSE = "}}";
+        private static final int EXPECTED_VALUE_LENGTH = 16;
+
+        private final String[] literals;
+        private final String[] names;
+        private final int literalLength;
+
+        private CompiledTemplate(String[] literals, String[] names) {
+            this.literals = literals;
+            this.names = names;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        /**
+         * Compiles a template. Unterminated placeholders are kept as literal text.
+         *
+         * @param template the template text
+         * @return the compiled template
+         */
+        public static CompiledTemplate compile(String template) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+
+            int position = 0;
+            while (true) {
+                int open = template.indexOf(OPEN, position);
+                int close = open < 0 ? -1 : template.indexOf(CLOSE, open + OPEN.length());
+                if (close < 0) {
+                    literals.add(template.substring(position));
+                    break;
+                }
+                literals.add(template.substring(position, open));
+                names.add(template.substring(open + OPEN.length(), close));
+                position = close + CLOSE.length();
+            }
+
+            return new CompiledTemplate(literals.toArray(String[]::new), names.toArray(String[]::new));
+        }
+
+        /**
+         * Renders the template in a single pass. Placeholders without a value are
+         * left in the output unchanged.
+         *
+         * @param variables the template variables, may be null
+         * @return the rendered text
+         */
+        public String render(Map<String, String> variables) {
+            if (names.length == 0) {
+                return literals[0];
+            }
+
+            StringBuilder result = new StringBuilder(literalLength + names.length * EXPECTED_VALUE_LENGTH);
+            for (int i = 0; i < names.length; i++) {
+                result.append(literals[i]);
+                String value = variables != null ? variables.get(names[i]) : null;
+                if (value != null) {
+                    result.append(value);
+                } else {
+                    result.append(OPEN).append(names[i]).append(CLOSE);
+                }
+            }
+            return result.append(literals[names.length]).toString();
+        }
+    }
+}
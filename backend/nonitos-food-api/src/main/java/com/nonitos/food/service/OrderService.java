@@ -4,12 +4,15 @@ import com.nonitos.food.dto.order.CancelOrderRequest;
 import com.nonitos.food.dto.order.CreateOrderRequest;
 import com.nonitos.food.dto.order.OrderResponse;
 import com.nonitos.food.dto.order.UpdateOrderStatusRequest;
+import com.nonitos.food.event.OrderPaidEvent;
+import com.nonitos.food.event.OrderStatusChangedEvent;
 import com.nonitos.food.exception.BadRequestException;
 import com.nonitos.food.exception.ResourceNotFoundException;
 import com.nonitos.food.model.*;
 import com.nonitos.food.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +39,7 @@ public class OrderService {
     private final WeeklyMenuRepository weeklyMenuRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final BigDecimal PRICE_PER_MEAL = new BigDecimal("10.00");
     private static final int CANCELLATION_HOURS_LIMIT = 24;
@@ -174,6 +178,12 @@ public class OrderService {
         orderRepository.save(order);
 
         addStatusHistory(order, previousStatus, newStatus, admin, request.getNotes());
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), order.getOrderCode(), order.getClient().getId(), newStatus));
+
+        if (newStatus == Order.OrderStatus.PAID) {
+            eventPublisher.publishEvent(new OrderPaidEvent(order.getId()));
+        }
 
         log.info("Updated order {} status from {} to {}", order.getOrderCode(), previousStatus, newStatus);
         return buildOrderResponse(order);
@@ -217,6 +227,8 @@ public class OrderService {
         orderRepository.save(order);
 
         addStatusHistory(order, previousStatus, Order.OrderStatus.CANCELLED, order.getClient(), request.getReason());
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), order.getOrderCode(), userId, Order.OrderStatus.CANCELLED));
 
         log.info("Cancelled order {}", order.getOrderCode());
         return buildOrderResponse(order);
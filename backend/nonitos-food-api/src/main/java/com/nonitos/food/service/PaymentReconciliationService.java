@@ -0,0 +1,259 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.model.Order;
+import com.nonitos.food.model.PaymentDiscrepancy;
+import com.nonitos.food.model.PaymentReconciliationRun;
+import com.nonitos.food.model.Transaction;
+import com.nonitos.food.repository.OrderRepository;
+import com.nonitos.food.repository.OrderRepositoryCustom.OrderPaymentState;
+import com.nonitos.food.repository.PaymentDiscrepancyRepository;
+import com.nonitos.food.repository.PaymentReconciliationRunRepository;
+import com.nonitos.food.repository.TransactionRepository;
+import com.nonitos.food.repository.TransactionRepositoryCustom.TransactionPaymentState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Service checking that every order's status agrees with its transactions.
+ *
+ * <p>Orders and transactions are streamed from server-side cursors, both ordered by
+ * order ID, and merge-joined: only the transactions of the current order are held,
+ * so memory stays constant however many rows there are. Both cursors read the same
+ * repeatable-read snapshot, taking no row locks, and discrepancies are written in
+ * small batches in separate transactions. Runs are scheduled off-peak and only one
+ * node runs at a time.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentReconciliationService {
+
+    private static final Set<Order.OrderStatus> PAID_STATUSES = EnumSet.of(
+            Order.OrderStatus.PAID,
+            Order.OrderStatus.IN_PREPARATION,
+            Order.OrderStatus.READY_FOR_PICKUP,
+            Order.OrderStatus.COMPLETED);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OrderRepository orderRepository;
+    private final TransactionRepository transactionRepository;
+    private final PaymentReconciliationRunRepository paymentReconciliationRunRepository;
+    private final PaymentDiscrepancyRepository paymentDiscrepancyRepository;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate writeTemplate;
+
+    @Value("${payment-reconciliation.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${payment-reconciliation.flush-size:500}")
+    private int flushSize;
+
+    @Value("${payment-reconciliation.stuck-processing-minutes:60}")
+    private long stuckProcessingMinutes;
+
+    @Value("${payment-reconciliation.retention-days:30}")
+    private int retentionDays;
+
+    public PaymentReconciliationService(
+            OrderRepository orderRepository,
+            TransactionRepository transactionRepository,
+            PaymentReconciliationRunRepository paymentReconciliationRunRepository,
+            PaymentDiscrepancyRepository paymentDiscrepancyRepository,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.orderRepository = orderRepository;
+        this.transactionRepository = transactionRepository;
+        this.paymentReconciliationRunRepository = paymentReconciliationRunRepository;
+        this.paymentDiscrepancyRepository = paymentDiscrepancyRepository;
+
+        this.snapshotTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        this.writeTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Runs the nightly reconciliation and deletes expired reports.
+     */
+    @Scheduled(cron = "${payment-reconciliation.cron:0 30 3 * * *}")
+    public void reconcileNightly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Payment reconciliation failed: {}", e.getMessage(), e);
+        }
+
+        if (retentionDays > 0) {
+            int deleted = writeTemplate.execute(status -> paymentReconciliationRunRepository
+                    .deleteStartedBefore(LocalDateTime.now().minusDays(retentionDays)));
+            if (deleted > 0) {
+                log.info("Deleted {} expired payment reconciliation runs", deleted);
+            }
+        }
+    }
+
+    /**
+     * Compares every order with its transactions and records the discrepancies.
+     *
+     * @return the finished run, or null if a reconciliation was running elsewhere
+     */
+    public PaymentReconciliationRun reconcile() {
+        return snapshotTemplate.execute(status -> {
+            if (!transactionRepository.tryLockReconciliation()) {
+                log.debug("Payment reconciliation running on another node");
+                return null;
+            }
+
+            PaymentReconciliationRun run = writeTemplate.execute(s -> paymentReconciliationRunRepository.save(
+                    PaymentReconciliationRun.builder()
+                            .status(PaymentReconciliationRun.RunStatus.RUNNING)
+                            .startedAt(LocalDateTime.now())
+                            .ordersChecked(0L)
+                            .transactionsChecked(0L)
+                            .discrepancyCount(0L)
+                            .build()));
+
+            try (Stream<OrderPaymentState> orders = orderRepository.streamPaymentStates(fetchSize);
+                 Stream<TransactionPaymentState> transactions = transactionRepository.streamPaymentStates(fetchSize)) {
+                merge(run, orders.iterator(), transactions.iterator());
+                run.setStatus(PaymentReconciliationRun.RunStatus.COMPLETED);
+            } catch (RuntimeException e) {
+                run.setStatus(PaymentReconciliationRun.RunStatus.FAILED);
+                run.setFailureReason(e.getMessage() != null && e.getMessage().length() > MAX_ERROR_LENGTH
+                        ? e.getMessage().substring(0, MAX_ERROR_LENGTH) : e.getMessage());
+                throw e;
+            } finally {
+                run.setCompletedAt(LocalDateTime.now());
+                writeTemplate.executeWithoutResult(s -> paymentReconciliationRunRepository.save(run));
+            }
+
+            log.info("Payment reconciliation checked {} orders and {} transactions, found {} discrepancies",
+                    run.getOrdersChecked(), run.getTransactionsChecked(), run.getDiscrepancyCount());
+            return run;
+        });
+    }
+
+    /**
+     * Walks both streams in order ID order, checking each order against its transactions.
+     */
+    private void merge(PaymentReconciliationRun run, Iterator<OrderPaymentState> orders,
+                       Iterator<TransactionPaymentState> transactions) {
+        LocalDateTime stuckBefore = LocalDateTime.now().minusMinutes(stuckProcessingMinutes);
+        List<PaymentDiscrepancy> pending = new ArrayList<>(flushSize);
+        long ordersChecked = 0;
+        long transactionsChecked = 0;
+        long discrepancies = 0;
+
+        TransactionPaymentState next = transactions.hasNext() ? transactions.next() : null;
+        while (orders.hasNext()) {
+            OrderPaymentState order = orders.next();
+
+            // Transactions of orders that no longer exist cannot be matched
+            while (next != null && next.orderId() < order.id()) {
+                transactionsChecked++;
+                next = transactions.hasNext() ? transactions.next() : null;
+            }
+
+            int completed = 0;
+            TransactionPaymentState firstCompleted = null;
+            while (next != null && next.orderId().equals(order.id())) {
+                transactionsChecked++;
+                if (next.status() == Transaction.TransactionStatus.COMPLETED) {
+                    if (completed++ == 0) {
+                        firstCompleted = next;
+                    }
+                } else if (next.status() == Transaction.TransactionStatus.PROCESSING
+                        && next.createdAt().isBefore(stuckBefore)) {
+                    pending.add(discrepancy(run, order, next.id(), PaymentDiscrepancy.DiscrepancyType.STUCK_PROCESSING,
+                            "Processing since " + next.createdAt()));
+                }
+                next = transactions.hasNext() ? transactions.next() : null;
+            }
+
+            check(run, order, completed, firstCompleted, pending);
+            ordersChecked++;
+
+            if (pending.size() >= flushSize) {
+                discrepancies += flush(pending);
+            }
+        }
+        while (next != null) {
+            transactionsChecked++;
+            next = transactions.hasNext() ? transactions.next() : null;
+        }
+        discrepancies += flush(pending);
+
+        run.setOrdersChecked(ordersChecked);
+        run.setTransactionsChecked(transactionsChecked);
+        run.setDiscrepancyCount(discrepancies);
+    }
+
+    private void check(PaymentReconciliationRun run, OrderPaymentState order, int completed,
+                       TransactionPaymentState firstCompleted, List<PaymentDiscrepancy> pending) {
+        Long transactionId = firstCompleted != null ? firstCompleted.id() : null;
+
+        if (completed == 0) {
+            if (PAID_STATUSES.contains(order.status())) {
+                pending.add(discrepancy(run, order, null, PaymentDiscrepancy.DiscrepancyType.PAID_WITHOUT_PAYMENT,
+                        "Order is " + order.status() + " without a completed transaction"));
+            }
+            return;
+        }
+
+        if (completed > 1) {
+            pending.add(discrepancy(run, order, null, PaymentDiscrepancy.DiscrepancyType.DUPLICATE_PAYMENT,
+                    completed + " completed transactions"));
+        } else if (firstCompleted.amount().compareTo(order.totalAmount()) != 0) {
+            pending.add(discrepancy(run, order, transactionId, PaymentDiscrepancy.DiscrepancyType.AMOUNT_MISMATCH,
+                    "Paid " + firstCompleted.amount() + " for a total of " + order.totalAmount()));
+        }
+
+        if (order.status() == Order.OrderStatus.PENDING_PAYMENT) {
+            pending.add(discrepancy(run, order, transactionId, PaymentDiscrepancy.DiscrepancyType.UNAPPLIED_PAYMENT,
+                    "Completed payment not applied to the order"));
+        } else if (order.status() == Order.OrderStatus.CANCELLED) {
+            pending.add(discrepancy(run, order, transactionId, PaymentDiscrepancy.DiscrepancyType.CANCELLED_WITH_PAYMENT,
+                    "Cancelled order with a completed payment"));
+        }
+    }
+
+    private PaymentDiscrepancy discrepancy(PaymentReconciliationRun run, OrderPaymentState order, Long transactionId,
+                                           PaymentDiscrepancy.DiscrepancyType type, String details) {
+        return PaymentDiscrepancy.builder()
+                .runId(run.getId())
+                .orderId(order.id())
+                .transactionId(transactionId)
+                .type(type)
+                .orderStatus(order.status())
+                .details(details)
+                .build();
+    }
+
+    private int flush(List<PaymentDiscrepancy> pending) {
+        int flushed = pending.size();
+        if (flushed > 0) {
+            writeTemplate.executeWithoutResult(status -> paymentDiscrepancyRepository.batchInsert(pending));
+            pending.clear();
+        }
+        return flushed;
+    }
+}
@@ -1,46 +1,127 @@
 package com.nonitos.food.service;
 
+import com.nonitos.food.dto.payment.BatchVerificationRequest;
+import com.nonitos.food.dto.payment.BatchVerificationResponse;
 import com.nonitos.food.dto.payment.CreditCardPaymentRequest;
 import com.nonitos.food.dto.payment.ManualPaymentRequest;
+import com.nonitos.food.dto.payment.PendingPaymentPageResponse;
+import com.nonitos.food.dto.payment.PendingPaymentResponse;
 import com.nonitos.food.dto.payment.TransactionResponse;
+import com.nonitos.food.event.OrderPaidEvent;
+import com.nonitos.food.event.OrderStatusChangedEvent;
+import com.nonitos.food.event.PaymentProcessedEvent;
 import com.nonitos.food.exception.BadRequestException;
 import com.nonitos.food.exception.ResourceNotFoundException;
 import com.nonitos.food.model.Order;
 import com.nonitos.food.model.Transaction;
+import com.nonitos.food.payment.ChargeRequest;
+import com.nonitos.food.payment.ChargeResult;
+import com.nonitos.food.payment.PaymentGateway;
+import com.nonitos.food.payment.PaymentGatewayRejectedException;
+import com.nonitos.food.repository.DailyRevenueRollupRepository;
 import com.nonitos.food.repository.OrderRepository;
 import com.nonitos.food.repository.TransactionRepository;
-import lombok.RequiredArgsConstructor;
+import com.nonitos.food.repository.TransactionRepositoryCustom.VerifiedTransaction;
+import com.nonitos.food.util.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing payments and transactions.
  *
+ * <p>Card payments never hold a database connection while waiting on the provider.
+ * The transaction is recorded as PROCESSING and committed, the provider is called
+ * outside any transaction on a virtual thread, and the transaction and order are
+ * settled in a second short transaction. A partial unique index allows only one
+ * card payment in flight per order. Calls rejected by the gateway's circuit
+ * breaker or bulkhead fail the payment, since the provider was never reached.
+ * Calls that fail or time out leave the outcome unknown: the transaction stays
+ * PROCESSING until a webhook settles it or {@link #resolveCardPayment} looks the
+ * charge up at the provider.</p>
+ *
+ * <p>A charge approved after its order stopped waiting for payment is refunded at
+ * the provider, again outside any transaction. The transaction stays COMPLETED
+ * until the provider confirms the refund, so a refund that fails is reported by
+ * the payment reconciliation for a manual refund.</p>
+ *
+ * <p>Every status change of a transaction also moves its amount between the daily
+ * revenue rollups, in the same database transaction.</p>
+ *
  * @author Nonito's Food Team
  * @since 1.0
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PaymentService {
 
     private final TransactionRepository transactionRepository;
     private final OrderRepository orderRepository;
+    private final DailyRevenueRollupRepository dailyRevenueRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor paymentExecutor;
+    private final PaymentGateway paymentGateway;
+
+    public PaymentService(
+            TransactionRepository transactionRepository,
+            OrderRepository orderRepository,
+            DailyRevenueRollupRepository dailyRevenueRollupRepository,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("paymentExecutor") Executor paymentExecutor,
+            PaymentGateway paymentGateway
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.orderRepository = orderRepository;
+        this.dailyRevenueRollupRepository = dailyRevenueRollupRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.paymentExecutor = paymentExecutor;
+        this.paymentGateway = paymentGateway;
+    }
 
     /**
-     * Processes a credit card payment (Mock Stripe).
+     * Starts a credit card payment.
+     * Returns as soon as the PROCESSING transaction is committed; the outcome is
+     * published as a {@link PaymentProcessedEvent}.
      *
      * @param request the payment request
-     * @return the transaction
+     * @return the processing transaction
      */
-    @Transactional
     public TransactionResponse processCreditCardPayment(CreditCardPaymentRequest request) {
+        TransactionResponse transaction;
+        try {
+            transaction = transactionTemplate.execute(status -> startCardPayment(request));
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("A payment for this order is already in progress");
+        }
+
+        paymentExecutor.execute(() -> chargeCard(transaction, request));
+        return transaction;
+    }
+
+    private TransactionResponse startCardPayment(CreditCardPaymentRequest request) {
         Order order = orderRepository.findById(request.getOrderId())
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
@@ -54,33 +135,203 @@ public class PaymentService {
             throw new BadRequestException("Order is already paid");
         }
 
-        // Mock Stripe payment processing
-        String transactionRef = "stripe_" + UUID.randomUUID().toString();
-        boolean paymentSuccess = mockStripePayment(request);
-
         Transaction transaction = Transaction.builder()
                 .order(order)
-                .transactionReference(transactionRef)
+                .transactionReference("stripe_" + UUID.randomUUID())
                 .paymentMethod(Transaction.PaymentMethod.CREDIT_CARD)
-                .status(paymentSuccess ? Transaction.TransactionStatus.COMPLETED : Transaction.TransactionStatus.FAILED)
+                .status(Transaction.TransactionStatus.PROCESSING)
                 .amount(order.getTotalAmount())
                 .currency("CRC")
-                .providerResponse(paymentSuccess ? "Payment successful" : "Payment declined")
-                .processedAt(paymentSuccess ? LocalDateTime.now() : null)
-                .failureReason(paymentSuccess ? null : "Card declined by issuer")
+                .providerResponse("Awaiting payment provider")
                 .build();
 
         transaction = transactionRepository.save(transaction);
+        rollUpRevenue(transaction, null);
+        log.info("Credit card payment started for order {}", order.getOrderCode());
+        return buildTransactionResponse(transaction);
+    }
+
+    /**
+     * Calls the provider outside any transaction, then settles the transaction.
+     */
+    private void chargeCard(TransactionResponse transaction, CreditCardPaymentRequest request) {
+        boolean success;
+        String failureReason = null;
+        try {
+            ChargeResult result = paymentGateway.charge(ChargeRequest.builder()
+                    .reference(transaction.getTransactionReference())
+                    .amount(transaction.getAmount())
+                    .currency(transaction.getCurrency())
+                    .cardNumber(request.getCardNumber())
+                    .cardHolderName(request.getCardHolderName())
+                    .expiryMonth(request.getExpiryMonth())
+                    .expiryYear(request.getExpiryYear())
+                    .cvv(request.getCvv())
+                    .build());
+            success = result.isApproved();
+            failureReason = result.getDeclineReason();
+        } catch (PaymentGatewayRejectedException e) {
+            success = false;
+            failureReason = "Payment provider error: " + e.getMessage();
+            log.warn("Payment provider call rejected for transaction {}: {}", transaction.getId(), e.getMessage());
+        } catch (RuntimeException e) {
+            // The card may have been charged; charging again could charge it twice
+            log.warn("Outcome of card payment {} unknown, left PROCESSING: {}", transaction.getId(), e.getMessage());
+            return;
+        }
+
+        settleAndRefund(transaction.getId(), transaction.getTransactionReference(), success, failureReason);
+    }
+
+    /**
+     * Resolves a card payment whose charge outcome is unknown by looking the charge
+     * up at the provider. A charge the provider does not know was never made and
+     * fails the payment.
+     *
+     * @param transactionId the transaction ID
+     * @param transactionReference the transaction reference
+     * @return true if the payment was settled, false if the provider could not answer
+     */
+    public boolean resolveCardPayment(Long transactionId, String transactionReference) {
+        Optional<ChargeResult> charge;
+        try {
+            charge = paymentGateway.findCharge(transactionReference);
+        } catch (RuntimeException e) {
+            log.warn("Could not look up card payment {}: {}", transactionReference, e.getMessage());
+            return false;
+        }
+
+        boolean success = charge.map(ChargeResult::isApproved).orElse(false);
+        String failureReason = charge.map(ChargeResult::getDeclineReason).orElse("Charge not found at payment provider");
+        settleAndRefund(transactionId, transactionReference, success, failureReason);
+        return true;
+    }
+
+    /**
+     * Settles a card payment in its own transaction, then refunds the charge if the
+     * order no longer waited for it.
+     */
+    private void settleAndRefund(Long transactionId, String transactionReference,
+                                 boolean success, String failureReason) {
+        Settlement settlement;
+        try {
+            settlement = transactionTemplate.execute(status -> settleCardPayment(
+                    transactionRepository.lockById(transactionId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Transaction not found")),
+                    success, failureReason));
+        } catch (RuntimeException e) {
+            log.error("Could not settle card payment {}: {}", transactionId, e.getMessage(), e);
+            return;
+        }
+
+        if (settlement == Settlement.REFUND_DUE) {
+            refundCardPayment(transactionId, transactionReference);
+        }
+    }
+
+    /**
+     * Applies the provider's outcome to a card payment in flight. Must be called in a
+     * transaction, with the transaction locked; outcomes for transactions no longer
+     * PROCESSING are ignored. When the settlement is {@link Settlement#REFUND_DUE},
+     * the caller refunds the charge with {@link #refundCardPayment} after committing.
+     *
+     * @param transaction the transaction
+     * @param success whether the charge succeeded
+     * @param failureReason reason of the failure, if it failed
+     * @return what the outcome did
+     */
+    public Settlement settleCardPayment(Transaction transaction, boolean success, String failureReason) {
+        if (transaction.getStatus() != Transaction.TransactionStatus.PROCESSING) {
+            return Settlement.IGNORED;
+        }
+
+        Order order = transaction.getOrder();
+        Transaction.TransactionStatus previousStatus = transaction.getStatus();
+        Settlement settlement;
+        if (!success) {
+            transaction.setStatus(Transaction.TransactionStatus.FAILED);
+            transaction.setProviderResponse("Payment declined");
+            transaction.setFailureReason(failureReason);
+            settlement = Settlement.FAILED;
+            log.warn("Credit card payment failed for order {}", order.getOrderCode());
+        } else if (order.getStatus() != Order.OrderStatus.PENDING_PAYMENT) {
+            // The order stopped waiting for payment while the provider was charging the card;
+            // the money was taken, so the charge stays COMPLETED until it is refunded
+            transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+            transaction.setProcessedAt(LocalDateTime.now());
+            transaction.setProviderResponse("Order no longer pending payment, refund due");
+            settlement = Settlement.REFUND_DUE;
+            log.warn("Card payment for order {} in status {} must be refunded", order.getOrderCode(), order.getStatus());
+        } else {
+            transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+            transaction.setProcessedAt(LocalDateTime.now());
+            transaction.setProviderResponse("Payment successful");
 
-        if (paymentSuccess) {
             order.setStatus(Order.OrderStatus.PAID);
             orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderPaidEvent(order.getId()));
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                    order.getId(), order.getOrderCode(), order.getClient().getId(), Order.OrderStatus.PAID));
+            settlement = Settlement.PAID;
             log.info("Credit card payment successful for order {}", order.getOrderCode());
-        } else {
-            log.warn("Credit card payment failed for order {}", order.getOrderCode());
         }
 
-        return buildTransactionResponse(transaction);
+        transactionRepository.save(transaction);
+        rollUpRevenue(transaction, previousStatus);
+        eventPublisher.publishEvent(new PaymentProcessedEvent(
+                transaction.getId(), order.getId(), order.getClient().getId(), transaction.getStatus()));
+        return settlement;
+    }
+
+    /**
+     * Refunds a completed card payment at the provider, outside any transaction, and
+     * records the refund once the provider confirms it. A refund that fails leaves
+     * the transaction COMPLETED for a manual refund.
+     *
+     * @param transactionId the transaction ID
+     * @param transactionReference the transaction reference
+     * @return true if the refund was recorded
+     */
+    public boolean refundCardPayment(Long transactionId, String transactionReference) {
+        try {
+            paymentGateway.refund(transactionReference);
+        } catch (RuntimeException e) {
+            log.error("Refund of card payment {} failed, left COMPLETED for a manual refund: {}",
+                    transactionReference, e.getMessage());
+            return false;
+        }
+
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> recordRefund(
+                    transactionRepository.lockById(transactionId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Transaction not found")))));
+        } catch (RuntimeException e) {
+            log.error("Could not record refund of card payment {}: {}", transactionReference, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Records a refund made at the provider for a completed card payment. Must be
+     * called in a transaction; refunds of transactions not COMPLETED are ignored.
+     *
+     * @param transaction the transaction
+     * @return true if the refund was recorded
+     */
+    public boolean recordRefund(Transaction transaction) {
+        if (transaction.getStatus() != Transaction.TransactionStatus.COMPLETED) {
+            return false;
+        }
+
+        Order order = transaction.getOrder();
+        transaction.setStatus(Transaction.TransactionStatus.REFUNDED);
+        transaction.setProviderResponse("Refunded by payment provider");
+        transactionRepository.save(transaction);
+        rollUpRevenue(transaction, Transaction.TransactionStatus.COMPLETED);
+        eventPublisher.publishEvent(new PaymentProcessedEvent(
+                transaction.getId(), order.getId(), order.getClient().getId(), transaction.getStatus()));
+        log.info("Card payment {} refunded for order {}", transaction.getTransactionReference(), order.getOrderCode());
+        return true;
     }
 
     /**
@@ -112,6 +363,7 @@ public class PaymentService {
                 .build();
 
         transaction = transactionRepository.save(transaction);
+        rollUpRevenue(transaction, null);
         log.info("Manual payment submitted for order {}", order.getOrderCode());
 
         return buildTransactionResponse(transaction);
@@ -141,6 +393,9 @@ public class PaymentService {
             Order order = transaction.getOrder();
             order.setStatus(Order.OrderStatus.PAID);
             orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderPaidEvent(order.getId()));
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                    order.getId(), order.getOrderCode(), order.getClient().getId(), Order.OrderStatus.PAID));
 
             log.info("Manual payment approved for order {}", order.getOrderCode());
         } else {
@@ -150,9 +405,100 @@ public class PaymentService {
         }
 
         transactionRepository.save(transaction);
+        rollUpRevenue(transaction, Transaction.TransactionStatus.PENDING);
         return buildTransactionResponse(transaction);
     }
 
+    /**
+     * Gets a page of the manual payments awaiting verification, oldest first.
+     * Pages are addressed by keyset cursor, so each page costs one index range scan.
+     *
+     * @param cursor cursor returned with the previous page, or null for the first page
+     * @param limit page size
+     * @return page of pending payments
+     */
+    @Transactional(readOnly = true)
+    public PendingPaymentPageResponse getPendingVerificationQueue(String cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findQueueFirstPage(Transaction.TransactionStatus.PENDING, page);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            transactions = transactionRepository.findQueuePageAfter(
+                    Transaction.TransactionStatus.PENDING, position.getCreatedAt(), position.getId(), page);
+        }
+
+        boolean hasMore = transactions.size() > limit;
+        if (hasMore) {
+            transactions = transactions.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = transactions.get(transactions.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return PendingPaymentPageResponse.builder()
+                .payments(transactions.stream().map(this::buildPendingPaymentResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Approves or rejects several manual payments (Admin).
+     * Transactions and orders are updated set-wise in one transaction. Transactions
+     * that are no longer pending are skipped, and so are approvals whose order is no
+     * longer pending payment or that repeat another approval of the same order.
+     *
+     * @param request the transactions and the decision
+     * @return the outcome of the batch
+     */
+    @Transactional
+    public BatchVerificationResponse verifyManualPayments(BatchVerificationRequest request) {
+        Set<Long> requested = new LinkedHashSet<>(request.getTransactionIds());
+        boolean approved = Boolean.TRUE.equals(request.getApproved());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<VerifiedTransaction> verified = approved
+                ? transactionRepository.approvePending(requested, now)
+                : transactionRepository.rejectPending(requested, now);
+        Transaction.TransactionStatus status = approved
+                ? Transaction.TransactionStatus.COMPLETED : Transaction.TransactionStatus.FAILED;
+
+        // One rollup move per day and currency, in key order so concurrent batches cannot deadlock
+        Map<String, List<VerifiedTransaction>> byDay = new TreeMap<>();
+        for (VerifiedTransaction transaction : verified) {
+            byDay.computeIfAbsent(transaction.createdAt().toLocalDate() + "|" + transaction.currency(),
+                    key -> new ArrayList<>()).add(transaction);
+        }
+        for (List<VerifiedTransaction> group : byDay.values()) {
+            BigDecimal amount = group.stream().map(VerifiedTransaction::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            VerifiedTransaction first = group.get(0);
+            dailyRevenueRollupRepository.moveRevenue(first.createdAt().toLocalDate(), first.currency(),
+                    Transaction.TransactionStatus.PENDING, status, amount, group.size());
+        }
+
+        Set<Long> paidOrders = new HashSet<>();
+        for (VerifiedTransaction transaction : verified) {
+            requested.remove(transaction.id());
+            if (transaction.orderCode() != null && paidOrders.add(transaction.orderId())) {
+                eventPublisher.publishEvent(new OrderPaidEvent(transaction.orderId()));
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                        transaction.orderId(), transaction.orderCode(), transaction.clientId(), Order.OrderStatus.PAID));
+            }
+        }
+
+        log.info("Manual payments {} in batch: {} verified, {} orders paid, {} skipped",
+                approved ? "approved" : "rejected", verified.size(), paidOrders.size(), requested.size());
+        return BatchVerificationResponse.builder()
+                .verified(verified.size())
+                .ordersPaid(paidOrders.size())
+                .skippedTransactionIds(new ArrayList<>(requested))
+                .build();
+    }
+
     /**
      * Gets all transactions for an order.
      *
@@ -181,22 +527,31 @@ public class PaymentService {
     }
 
     /**
-     * Mock Stripe payment processing.
-     * In production, this would call the actual Stripe API.
+     * Moves a transaction's amount from its previous status to its current one in the
+     * rollup of the day it was created.
      */
-    private boolean mockStripePayment(CreditCardPaymentRequest request) {
-        // Mock: Cards ending in even numbers succeed, odd numbers fail
-        String lastDigit = request.getCardNumber().substring(request.getCardNumber().length() - 1);
-        int digit = Integer.parseInt(lastDigit);
-        
-        // Simulate processing delay
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        return digit % 2 == 0;
+    private void rollUpRevenue(Transaction transaction, Transaction.TransactionStatus previousStatus) {
+        LocalDate revenueDate = transaction.getCreatedAt() != null
+                ? transaction.getCreatedAt().toLocalDate() : LocalDate.now();
+        dailyRevenueRollupRepository.moveRevenue(revenueDate, transaction.getCurrency(),
+                previousStatus, transaction.getStatus(), transaction.getAmount(), 1);
+    }
+
+    private PendingPaymentResponse buildPendingPaymentResponse(Transaction transaction) {
+        Order order = transaction.getOrder();
+        return PendingPaymentResponse.builder()
+                .id(transaction.getId())
+                .transactionReference(transaction.getTransactionReference())
+                .paymentMethod(transaction.getPaymentMethod())
+                .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
+                .proofOfPaymentUrl(transaction.getProofOfPaymentUrl())
+                .createdAt(transaction.getCreatedAt())
+                .orderId(order.getId())
+                .orderCode(order.getOrderCode())
+                .clientName(order.getClient().getFullName())
+                .clientEmail(order.getClient().getEmail())
+                .build();
     }
 
     private TransactionResponse buildTransactionResponse(Transaction transaction) {
@@ -214,4 +569,18 @@ public class PaymentService {
                 .createdAt(transaction.getCreatedAt())
                 .build();
     }
+
+    /**
+     * What settling a card payment did.
+     */
+    public enum Settlement {
+        /** The transaction was no longer PROCESSING; nothing changed */
+        IGNORED,
+        /** The payment failed */
+        FAILED,
+        /** The payment completed and the order is paid */
+        PAID,
+        /** The payment completed, but the order no longer waited for it; the charge must be refunded */
+        REFUND_DUE
+    }
 }
@@ -0,0 +1,368 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nonitos.food.dto.payment.PaymentWebhookPayload;
+import com.nonitos.food.exception.BadRequestException;
+import com.nonitos.food.exception.UnauthorizedException;
+import com.nonitos.food.model.PaymentWebhookEvent;
+import com.nonitos.food.model.Transaction;
+import com.nonitos.food.payment.WebhookSignatureVerifier;
+import com.nonitos.food.repository.PaymentWebhookEventRepository;
+import com.nonitos.food.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service ingesting payment provider webhooks.
+ *
+ * <p>Receiving an event only verifies its signature, drops duplicates and stores it
+ * as RECEIVED, so the provider is acknowledged within milliseconds. The unique
+ * event ID in the database decides what is a duplicate. Event IDs are remembered
+ * in Redis only once stored, so redeliveries are usually dropped without touching
+ * the database, and an event is never remembered without having been stored. Stored events are queued
+ * to worker threads that apply them to their transactions in batches, one database
+ * transaction per batch. A batch that fails is applied again one event at a time,
+ * so a single bad event cannot hold back the others; an event that fails on its
+ * own is marked FAILED with its error. Events that could not be queued, or were
+ * left over by a restart, are picked up again by a periodic recovery.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookService {
+
+    static final String CHARGE_SUCCEEDED = "charge.succeeded";
+    static final String CHARGE_FAILED = "charge.failed";
+    static final String CHARGE_REFUNDED = "charge.refunded";
+
+    private static final String DEDUPE_KEY_PREFIX = "payment_webhook:";
+    private static final String DEFAULT_FAILURE_REASON = "Card declined by issuer";
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+    private static final int MAX_OUTCOME_LENGTH = 500;
+
+    private final WebhookSignatureVerifier webhookSignatureVerifier;
+    private final PaymentWebhookEventRepository paymentWebhookEventRepository;
+    private final TransactionRepository transactionRepository;
+    private final PaymentService paymentService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payment-webhook.dedupe-ttl-hours:72}")
+    private long dedupeTtlHours;
+
+    @Value("${payment-webhook.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${payment-webhook.workers:2}")
+    private int workers;
+
+    @Value("${payment-webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment-webhook.recovery-age-ms:60000}")
+    private long recoveryAgeMs;
+
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private BlockingQueue<Long> queue;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            workerThreads.add(Thread.ofVirtual().name("payment-webhook-" + i).start(this::work));
+        }
+    }
+
+    /**
+     * Stops the workers. Queued events stay RECEIVED and are recovered after restart.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workerThreads) {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Receives a webhook event and queues it to be applied.
+     *
+     * @param payload the raw request body
+     * @param signature the signature header
+     * @return true if the event is new, false if it was already received
+     * @throws UnauthorizedException if the signature is missing, invalid or expired
+     * @throws BadRequestException if the body is not a valid event
+     */
+    public boolean receive(String payload, String signature) {
+        if (!webhookSignatureVerifier.verify(payload, signature)) {
+            throw new UnauthorizedException("Invalid webhook signature");
+        }
+        PaymentWebhookPayload event = parse(payload);
+
+        String key = DEDUPE_KEY_PREFIX + event.getId();
+        if (isKnown(key)) {
+            log.debug("Duplicate webhook event {} dropped by Redis", event.getId());
+            return false;
+        }
+
+        Long id = paymentWebhookEventRepository.insertIfAbsent(PaymentWebhookEvent.builder()
+                .eventId(event.getId())
+                .type(event.getType())
+                .transactionReference(event.getReference())
+                .failureReason(event.getFailureReason())
+                .payload(payload)
+                .status(PaymentWebhookEvent.EventStatus.RECEIVED)
+                .build());
+        remember(key);
+        if (id == null) {
+            log.debug("Duplicate webhook event {} dropped by the database", event.getId());
+            return false;
+        }
+
+        if (!queue.offer(id)) {
+            log.warn("Webhook queue full, event {} left for recovery", event.getId());
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of events waiting to be applied by the workers.
+     *
+     * @return number of queued events
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Queues again the events that stayed RECEIVED for longer than the recovery age.
+     *
+     * @return number of events queued
+     */
+    @Scheduled(initialDelayString = "${payment-webhook.recovery-interval-ms:60000}",
+            fixedDelayString = "${payment-webhook.recovery-interval-ms:60000}")
+    public int recoverReceived() {
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) {
+            return 0;
+        }
+
+        int queued = 0;
+        try {
+            List<Long> ids = paymentWebhookEventRepository.findReceivedIdsBefore(
+                    LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(recoveryAgeMs)),
+                    PageRequest.of(0, capacity));
+            for (Long id : ids) {
+                if (!queue.offer(id)) {
+                    break;
+                }
+                queued++;
+            }
+        } catch (RuntimeException e) {
+            log.error("Webhook recovery failed: {}", e.getMessage(), e);
+        }
+
+        if (queued > 0) {
+            log.info("Queued {} unapplied webhook events again", queued);
+        }
+        return queued;
+    }
+
+    /**
+     * Applies a batch of events, falling back to one event at a time when the batch
+     * fails.
+     *
+     * @param ids the event row IDs
+     * @return number of events that changed a transaction
+     */
+    int apply(List<Long> ids) {
+        if (ids.size() > 1) {
+            try {
+                return applyBatch(ids);
+            } catch (RuntimeException e) {
+                log.warn("Webhook batch of {} failed, applying its events one at a time: {}", ids.size(), e.getMessage());
+            }
+        }
+
+        int applied = 0;
+        for (Long id : ids) {
+            try {
+                applied += applyBatch(List.of(id));
+            } catch (RuntimeException e) {
+                markFailed(id, e);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Applies a batch of events to their transactions in one database transaction.
+     * Events already applied, or locked by another worker, are skipped. Charges that
+     * must be refunded are refunded after the transaction commits.
+     */
+    private int applyBatch(List<Long> ids) {
+        List<Transaction> refundsDue = new ArrayList<>();
+        Integer applied = transactionTemplate.execute(status -> {
+            List<PaymentWebhookEvent> events = paymentWebhookEventRepository.lockReceived(ids);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            Set<String> references = events.stream()
+                    .map(PaymentWebhookEvent::getTransactionReference)
+                    .collect(Collectors.toSet());
+            Map<String, Transaction> transactions = transactionRepository.lockByTransactionReferenceIn(references)
+                    .stream()
+                    .collect(Collectors.toMap(Transaction::getTransactionReference, Function.identity()));
+
+            LocalDateTime now = LocalDateTime.now();
+            int changed = 0;
+            for (PaymentWebhookEvent event : events) {
+                Transaction transaction = transactions.get(event.getTransactionReference());
+                boolean done = transaction != null && applyEvent(event, transaction, refundsDue);
+                event.setStatus(done ? PaymentWebhookEvent.EventStatus.APPLIED : PaymentWebhookEvent.EventStatus.IGNORED);
+                event.setOutcome(transaction == null ? "Unknown transaction"
+                        : done ? "Transaction " + transaction.getStatus()
+                        : "Transaction already " + transaction.getStatus());
+                event.setProcessedAt(now);
+                if (done) {
+                    changed++;
+                }
+            }
+            paymentWebhookEventRepository.saveAll(events);
+            return changed;
+        });
+
+        for (Transaction transaction : refundsDue) {
+            paymentService.refundCardPayment(transaction.getId(), transaction.getTransactionReference());
+        }
+        return applied != null ? applied : 0;
+    }
+
+    private void markFailed(Long id, RuntimeException error) {
+        log.error("Webhook event {} could not be applied: {}", id, error.getMessage(), error);
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PaymentWebhookEvent event : paymentWebhookEventRepository.lockReceived(List.of(id))) {
+                    event.setStatus(PaymentWebhookEvent.EventStatus.FAILED);
+                    event.setOutcome(message.length() > MAX_OUTCOME_LENGTH
+                            ? message.substring(0, MAX_OUTCOME_LENGTH) : message);
+                    event.setProcessedAt(LocalDateTime.now());
+                    paymentWebhookEventRepository.save(event);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Could not mark webhook event {} failed, left for recovery: {}", id, e.getMessage());
+        }
+    }
+
+    private boolean applyEvent(PaymentWebhookEvent event, Transaction transaction, List<Transaction> refundsDue) {
+        if (CHARGE_REFUNDED.equals(event.getType())) {
+            return paymentService.recordRefund(transaction);
+        }
+
+        PaymentService.Settlement settlement = switch (event.getType()) {
+            case CHARGE_SUCCEEDED -> paymentService.settleCardPayment(transaction, true, null);
+            case CHARGE_FAILED -> paymentService.settleCardPayment(transaction, false,
+                    event.getFailureReason() != null ? event.getFailureReason() : DEFAULT_FAILURE_REASON);
+            default -> PaymentService.Settlement.IGNORED;
+        };
+        if (settlement == PaymentService.Settlement.REFUND_DUE) {
+            refundsDue.add(transaction);
+        }
+        return settlement != PaymentService.Settlement.IGNORED;
+    }
+
+    private PaymentWebhookPayload parse(String payload) {
+        PaymentWebhookPayload event;
+        try {
+            event = objectMapper.readValue(payload, PaymentWebhookPayload.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Unreadable webhook event");
+        }
+        if (isBlank(event.getId()) || isBlank(event.getType()) || isBlank(event.getReference())) {
+            throw new BadRequestException("Webhook event must have an id, type and reference");
+        }
+        return event;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Checks whether an event ID is remembered in Redis.
+     *
+     * @return true if the event was already stored; false otherwise, also when Redis
+     *         cannot answer and the database has to decide
+     */
+    private boolean isKnown(String key) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        } catch (RuntimeException e) {
+            log.warn("Could not check webhook event {} in Redis: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Remembers in Redis an event ID stored in the database.
+     */
+    private void remember(String key) {
+        try {
+            redisTemplate.opsForValue().set(key, "1", dedupeTtlHours, TimeUnit.HOURS);
+        } catch (RuntimeException e) {
+            log.warn("Could not remember webhook event {} in Redis: {}", key, e.getMessage());
+        }
+    }
+
+    private void work() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Long first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    apply(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Webhook worker error, batch of {} left for recovery: {}", batch.size(), e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service keeping per-user unread notification counters in Redis.
+ *
+ * <p>Reading a counter is a single {@code GET}; the database is only queried when the
+ * counter is missing, and the rebuilt value is stored with {@code SET NX} so it never
+ * overwrites a counter created concurrently. Increments and decrements are Lua scripts
+ * that only touch existing counters (a missing counter is rebuilt from the database on
+ * the next read) and never go below zero. A periodic job compares live counters with
+ * the database and corrects drift with a compare-and-set.</p>
+ *
+ * <p>Redis failures never fail the caller: reads fall back to the database and
+ * writes are logged and left to reconciliation.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCounterService {
+
+    private static final String KEY_PREFIX = "notification_unread:";
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private static final RedisScript<Long> ADD_IF_PRESENT = new DefaultRedisScript<>(
+            "local value = redis.call('GET', KEYS[1]) " +
+            "if not value then return nil end " +
+            "local next = tonumber(value) + tonumber(ARGV[1]) " +
+            "if next < 0 then next = 0 end " +
+            "redis.call('SET', KEYS[1], next, 'KEEPTTL') " +
+            "return next",
+            Long.class);
+
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'KEEPTTL') return 1 end " +
+            "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notification-unread.ttl-hours:24}")
+    private long ttlHours;
+
+    /**
+     * Gets the unread notification count of a user.
+     *
+     * @param userId the user ID
+     * @return the unread count
+     */
+    public long get(Long userId) {
+        String key = KEY_PREFIX + userId;
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            if (value != null) {
+                return Long.parseLong(value);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read unread counter of user {}: {}", userId, e.getMessage());
+            return countUnread(userId);
+        }
+
+        long count = countUnread(userId);
+        try {
+            redisTemplate.opsForValue().setIfAbsent(key, Long.toString(count), ttlHours, TimeUnit.HOURS);
+        } catch (RuntimeException e) {
+            log.warn("Could not store unread counter of user {}: {}", userId, e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Adds a delta to the unread counter of a user, if the counter exists.
+     *
+     * @param userId the user ID
+     * @param delta the amount to add, negative to subtract
+     */
+    public void add(Long userId, long delta) {
+        try {
+            redisTemplate.execute(ADD_IF_PRESENT, List.of(KEY_PREFIX + userId), Long.toString(delta));
+        } catch (RuntimeException e) {
+            log.warn("Could not update unread counter of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Evicts the unread counters of several users with a single command, so they are
+     * rebuilt from the database on next read. Used after bulk inserts.
+     *
+     * @param userIds the user IDs
+     */
+    public void evict(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(userIds.size());
+        userIds.forEach(userId -> keys.add(KEY_PREFIX + userId));
+        try {
+            redisTemplate.delete(keys);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict {} unread counters: {}", keys.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Resets the unread counter of a user to zero.
+     *
+     * @param userId the user ID
+     */
+    public void reset(Long userId) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, "0", ttlHours, TimeUnit.HOURS);
+        } catch (RuntimeException e) {
+            log.warn("Could not reset unread counter of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Compares every live counter with the database and corrects those that drifted.
+     *
+     * @return number of counters corrected
+     */
+    @Scheduled(fixedDelayString = "${notification-unread.reconcile-interval-ms:600000}")
+    public int reconcile() {
+        int corrected = 0;
+        List<String> keys = new ArrayList<>(RECONCILE_BATCH_SIZE);
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(RECONCILE_BATCH_SIZE).build();
+
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == RECONCILE_BATCH_SIZE) {
+                    corrected += reconcile(keys);
+                    keys.clear();
+                }
+            }
+            if (!keys.isEmpty()) {
+                corrected += reconcile(keys);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unread counter reconciliation failed: {}", e.getMessage());
+        }
+
+        if (corrected > 0) {
+            log.info("Corrected {} unread notification counters", corrected);
+        }
+        return corrected;
+    }
+
+    private int reconcile(List<String> keys) {
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        Map<Long, String> cached = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (values != null && values.get(i) != null) {
+                cached.put(Long.parseLong(keys.get(i).substring(KEY_PREFIX.length())), values.get(i));
+            }
+        }
+        if (cached.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Long> actual = new HashMap<>();
+        for (NotificationRepository.UnreadCount count : notificationRepository.countUnreadByUserIdIn(cached.keySet())) {
+            actual.put(count.getUserId(), count.getUnread());
+        }
+
+        int corrected = 0;
+        for (Map.Entry<Long, String> entry : cached.entrySet()) {
+            String expected = Long.toString(actual.getOrDefault(entry.getKey(), 0L));
+            if (!expected.equals(entry.getValue())) {
+                Long swapped = redisTemplate.execute(COMPARE_AND_SET,
+                        List.of(KEY_PREFIX + entry.getKey()), entry.getValue(), expected);
+                if (swapped != null && swapped == 1) {
+                    corrected++;
+                }
+            }
+        }
+        return corrected;
+    }
+
+    private long countUnread(Long userId) {
+        return notificationRepository.countByUserIdAndIsRead(userId, false);
+    }
+}
@@ -1,19 +1,28 @@
 package com.nonitos.food.service;
 
+import com.nonitos.food.dto.menu.CloneWeeklyMenuRequest;
 import com.nonitos.food.dto.menu.CreateWeeklyMenuRequest;
+import com.nonitos.food.dto.menu.SchedulePublicationRequest;
 import com.nonitos.food.dto.menu.UpdateWeeklyMenuRequest;
 import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.dto.menu.WeeklyMenuSummaryResponse;
+import com.nonitos.food.event.MenuPublishedEvent;
 import com.nonitos.food.exception.BadRequestException;
 import com.nonitos.food.exception.ResourceNotFoundException;
 import com.nonitos.food.model.*;
 import com.nonitos.food.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -32,6 +41,9 @@ public class WeeklyMenuService {
     private final MenuDayRepository menuDayRepository;
     private final DishRepository dishRepository;
     private final DishImageRepository dishImageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_RANGE_WEEKS = 8;
 
     /**
      * Creates a new weekly menu.
@@ -74,6 +86,46 @@ public class WeeklyMenuService {
         return buildMenuResponse(menu);
     }
 
+    /**
+     * Clones a weekly menu into another week as a new draft.
+     * Menu days are copied with a single set-based statement and the stored
+     * nutrition totals are carried over, so the cost does not depend on menu size.
+     *
+     * @param id the ID of the menu to clone
+     * @param request the clone request
+     * @return the cloned menu
+     */
+    @Transactional
+    public WeeklyMenuResponse cloneMenu(Long id, CloneWeeklyMenuRequest request) {
+        LocalDate weekStart = request.getWeekStartDate();
+
+        if (!weekStart.getDayOfWeek().equals(DayOfWeek.MONDAY)) {
+            throw new BadRequestException("Week start date must be a Monday");
+        }
+
+        WeeklyMenu source = weeklyMenuRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu not found"));
+
+        if (weeklyMenuRepository.findByWeekStartDate(weekStart).isPresent()) {
+            throw new BadRequestException("Menu already exists for this week");
+        }
+
+        WeeklyMenu copy = weeklyMenuRepository.save(WeeklyMenu.builder()
+                .weekStartDate(weekStart)
+                .weekEndDate(weekStart.plusDays(6))
+                .status(WeeklyMenu.MenuStatus.DRAFT)
+                .totalCalories(source.getTotalCalories())
+                .totalProtein(source.getTotalProtein())
+                .totalCarbs(source.getTotalCarbs())
+                .totalFats(source.getTotalFats())
+                .build());
+
+        int copied = menuDayRepository.copyMenuDays(source.getId(), copy.getId());
+
+        log.info("Cloned weekly menu {} into week starting {} ({} menu days)", id, weekStart, copied);
+        return buildMenuResponse(copy);
+    }
+
     /**
      * Gets a weekly menu by ID.
      *
@@ -94,10 +146,40 @@ public class WeeklyMenuService {
      */
     @Transactional(readOnly = true)
     public List<WeeklyMenuResponse> getPublishedMenus() {
-        return weeklyMenuRepository.findByStatusOrderByWeekStartDateDesc(WeeklyMenu.MenuStatus.PUBLISHED)
-                .stream()
-                .map(this::buildMenuResponse)
-                .collect(Collectors.toList());
+        return buildMenuResponses(
+                weeklyMenuRepository.findByStatusOrderByWeekStartDateDesc(WeeklyMenu.MenuStatus.PUBLISHED));
+    }
+
+    /**
+     * Gets a page of published menu summaries, newest first.
+     *
+     * @param pageable pagination parameters
+     * @return page of menu summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<WeeklyMenuSummaryResponse> getPublishedMenuSummaries(Pageable pageable) {
+        return weeklyMenuRepository.findSummariesByStatus(WeeklyMenu.MenuStatus.PUBLISHED, pageable);
+    }
+
+    /**
+     * Gets the fully expanded published menus whose week starts within a date range.
+     *
+     * @param from the earliest week start date (inclusive)
+     * @param to the latest week start date (inclusive)
+     * @return list of published menus ordered by week
+     */
+    @Transactional(readOnly = true)
+    public List<WeeklyMenuResponse> getPublishedMenusInRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Range start must not be after range end");
+        }
+
+        if (ChronoUnit.WEEKS.between(from, to) >= MAX_RANGE_WEEKS) {
+            throw new BadRequestException("Range must not exceed " + MAX_RANGE_WEEKS + " weeks");
+        }
+
+        return buildMenuResponses(weeklyMenuRepository.findByStatusAndWeekStartDateBetweenOrderByWeekStartDateAsc(
+                WeeklyMenu.MenuStatus.PUBLISHED, from, to));
     }
 
     /**
@@ -117,9 +199,7 @@ public class WeeklyMenuService {
         }
 
         if (request.getMenuDays() != null) {
-            menuDayRepository.deleteByWeeklyMenuId(menu.getId());
-            addMenuDays(menu, convertToCreateRequests(request.getMenuDays()));
-            menu = calculateNutritionalSummary(menu);
+            menu = applyMenuDayChanges(menu, convertToCreateRequests(request.getMenuDays()));
         }
 
         log.info("Updated weekly menu {}", id);
@@ -147,12 +227,88 @@ public class WeeklyMenuService {
         }
 
         menu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        menu.setPublishAt(null);
         weeklyMenuRepository.save(menu);
 
+        WeeklyMenuResponse response = buildMenuResponse(menu);
+        eventPublisher.publishEvent(new MenuPublishedEvent(response));
+
         log.info("Published weekly menu {}", id);
+        return response;
+    }
+
+    /**
+     * Schedules a draft menu to be published automatically.
+     *
+     * @param id the menu ID
+     * @param request the schedule request
+     * @return the updated menu
+     */
+    @Transactional
+    public WeeklyMenuResponse schedulePublication(Long id, SchedulePublicationRequest request) {
+        WeeklyMenu menu = weeklyMenuRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu not found"));
+
+        if (menu.getStatus() == WeeklyMenu.MenuStatus.PUBLISHED) {
+            throw new BadRequestException("Menu is already published");
+        }
+
+        menu.setPublishAt(request.getPublishAt());
+        menu = weeklyMenuRepository.save(menu);
+
+        log.info("Scheduled weekly menu {} for publication at {}", id, request.getPublishAt());
+        return buildMenuResponse(menu);
+    }
+
+    /**
+     * Cancels the scheduled publication of a draft menu.
+     *
+     * @param id the menu ID
+     * @return the updated menu
+     */
+    @Transactional
+    public WeeklyMenuResponse cancelScheduledPublication(Long id) {
+        WeeklyMenu menu = weeklyMenuRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu not found"));
+
+        if (menu.getPublishAt() == null) {
+            throw new BadRequestException("Menu has no scheduled publication");
+        }
+
+        menu.setPublishAt(null);
+        menu = weeklyMenuRepository.save(menu);
+
+        log.info("Cancelled scheduled publication of weekly menu {}", id);
         return buildMenuResponse(menu);
     }
 
+    /**
+     * Publishes a scheduled draft from a response built ahead of time.
+     * The status is flipped with a single conditional update; nothing happens when
+     * the menu was published by another node, rescheduled or edited since the
+     * response was built.
+     *
+     * @param menu the prepared menu response
+     * @param publishAt the publication instant the response was prepared for
+     * @param updatedAt the modification timestamp the response was built from
+     * @return true if this call published the menu
+     */
+    @Transactional
+    public boolean publishPrepared(WeeklyMenuResponse menu, LocalDateTime publishAt, LocalDateTime updatedAt) {
+        int updated = weeklyMenuRepository.publishIfUnchanged(menu.getId(), WeeklyMenu.MenuStatus.DRAFT,
+                WeeklyMenu.MenuStatus.PUBLISHED, publishAt, updatedAt, LocalDateTime.now());
+        if (updated == 0) {
+            return false;
+        }
+
+        menu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        menu.setPublishAt(null);
+        eventPublisher.publishEvent(new MenuPublishedEvent(menu));
+
+        log.info("Published scheduled weekly menu {}", menu.getId());
+        return true;
+    }
+
     /**
      * Deletes a weekly menu.
      *
@@ -171,63 +327,177 @@ public class WeeklyMenuService {
         log.info("Deleted weekly menu {}", id);
     }
 
+    /**
+     * Resolves every referenced dish with one IN query and inserts all menu days
+     * as a single JDBC batch.
+     */
     private void addMenuDays(WeeklyMenu menu, List<CreateWeeklyMenuRequest.MenuDayRequest> requests) {
-        for (CreateWeeklyMenuRequest.MenuDayRequest request : requests) {
-            Dish dish = dishRepository.findById(request.getDishId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Dish not found: " + request.getDishId()));
+        Map<Slot, Long> requested = toSlots(requests);
+        Map<Long, Dish> dishes = resolveDishes(requested.values());
 
-            MenuDay menuDay = MenuDay.builder()
-                    .weeklyMenu(menu)
-                    .dayOfWeek(request.getDayOfWeek())
-                    .mealType(MenuDay.MealType.valueOf(request.getMealType()))
-                    .dish(dish)
-                    .build();
+        List<MenuDay> menuDays = new ArrayList<>(requested.size());
+        requested.forEach((slot, dishId) -> menuDays.add(slot.toMenuDay(menu, dishes.get(dishId))));
+
+        menuDayRepository.batchInsert(menu.getId(), menuDays);
+    }
+
+    /**
+     * Diffs the requested slots against the stored menu days and writes only the
+     * slots that changed: one batched upsert for new or replaced dishes and one
+     * bulk delete for removed slots. Nutrition totals are adjusted by the delta.
+     */
+    private WeeklyMenu applyMenuDayChanges(WeeklyMenu menu, List<CreateWeeklyMenuRequest.MenuDayRequest> requests) {
+        Map<Slot, Long> requested = toSlots(requests);
+
+        Map<Slot, MenuDay> existing = new HashMap<>();
+        for (MenuDay menuDay : menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(menu.getId()))) {
+            existing.put(new Slot(menuDay.getDayOfWeek(), menuDay.getMealType()), menuDay);
+        }
+
+        Map<Slot, Long> changed = new LinkedHashMap<>();
+        requested.forEach((slot, dishId) -> {
+            MenuDay current = existing.get(slot);
+            if (current == null || !current.getDish().getId().equals(dishId)) {
+                changed.put(slot, dishId);
+            }
+        });
+
+        List<MenuDay> removed = existing.entrySet().stream()
+                .filter(entry -> !requested.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
 
-            menuDayRepository.save(menuDay);
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return menu;
         }
+
+        Map<Long, Dish> dishes = resolveDishes(changed.values());
+
+        List<MenuDay> upserts = new ArrayList<>(changed.size());
+        changed.forEach((slot, dishId) -> {
+            Dish dish = dishes.get(dishId);
+            MenuDay current = existing.get(slot);
+            if (current != null) {
+                adjustTotals(menu, current.getDish(), -1);
+            }
+            adjustTotals(menu, dish, 1);
+            upserts.add(slot.toMenuDay(menu, dish));
+        });
+        removed.forEach(menuDay -> adjustTotals(menu, menuDay.getDish(), -1));
+
+        if (!removed.isEmpty()) {
+            menuDayRepository.deleteByIdIn(removed.stream().map(MenuDay::getId).collect(Collectors.toList()));
+        }
+        menuDayRepository.batchUpsert(menu.getId(), upserts);
+
+        // Touch the menu even when totals are unchanged so prepared publications see the edit
+        menu.setUpdatedAt(LocalDateTime.now());
+
+        log.debug("Menu {}: {} slots upserted, {} removed", menu.getId(), upserts.size(), removed.size());
+        return weeklyMenuRepository.save(menu);
     }
 
-    private WeeklyMenu calculateNutritionalSummary(WeeklyMenu menu) {
-        List<MenuDay> menuDays = menuDayRepository.findByWeeklyMenuIdOrderByDayOfWeekAscMealTypeAsc(menu.getId());
+    private Map<Slot, Long> toSlots(List<CreateWeeklyMenuRequest.MenuDayRequest> requests) {
+        Map<Slot, Long> slots = new LinkedHashMap<>();
+        for (CreateWeeklyMenuRequest.MenuDayRequest request : requests) {
+            Slot slot = new Slot(request.getDayOfWeek(), MenuDay.MealType.valueOf(request.getMealType()));
+            if (slots.putIfAbsent(slot, request.getDishId()) != null) {
+                throw new BadRequestException("Duplicate meal for " + slot.dayOfWeek() + " " + slot.mealType());
+            }
+        }
+        return slots;
+    }
 
-        int totalCalories = 0;
-        int totalProtein = 0;
-        int totalCarbs = 0;
-        int totalFats = 0;
+    private Map<Long, Dish> resolveDishes(Collection<Long> dishIds) {
+        Set<Long> ids = new HashSet<>(dishIds);
+        Map<Long, Dish> dishes = new HashMap<>();
+        if (ids.isEmpty()) {
+            return dishes;
+        }
 
-        for (MenuDay menuDay : menuDays) {
-            Dish dish = menuDay.getDish();
-            totalCalories += dish.getCalories();
-            totalProtein += dish.getProtein();
-            totalCarbs += dish.getCarbs();
-            totalFats += dish.getFats();
+        for (Dish dish : dishRepository.findAllById(ids)) {
+            dishes.put(dish.getId(), dish);
         }
+        for (Long id : ids) {
+            if (!dishes.containsKey(id)) {
+                throw new ResourceNotFoundException("Dish not found: " + id);
+            }
+        }
+        return dishes;
+    }
 
-        menu.setTotalCalories(totalCalories);
-        menu.setTotalProtein(totalProtein);
-        menu.setTotalCarbs(totalCarbs);
-        menu.setTotalFats(totalFats);
+    private void adjustTotals(WeeklyMenu menu, Dish dish, int sign) {
+        menu.setTotalCalories(menu.getTotalCalories() + sign * dish.getCalories());
+        menu.setTotalProtein(menu.getTotalProtein() + sign * dish.getProtein());
+        menu.setTotalCarbs(menu.getTotalCarbs() + sign * dish.getCarbs());
+        menu.setTotalFats(menu.getTotalFats() + sign * dish.getFats());
+    }
+
+    private WeeklyMenu calculateNutritionalSummary(WeeklyMenu menu) {
+        MenuDayRepository.NutritionTotals totals = menuDayRepository.sumNutritionByWeeklyMenuId(menu.getId());
+
+        menu.setTotalCalories(totals.getCalories().intValue());
+        menu.setTotalProtein(totals.getProtein().intValue());
+        menu.setTotalCarbs(totals.getCarbs().intValue());
+        menu.setTotalFats(totals.getFats().intValue());
 
         return weeklyMenuRepository.save(menu);
     }
 
     private WeeklyMenuResponse buildMenuResponse(WeeklyMenu menu) {
-        List<MenuDay> menuDays = menuDayRepository.findByWeeklyMenuIdOrderByDayOfWeekAscMealTypeAsc(menu.getId());
+        return buildMenuResponses(List.of(menu)).get(0);
+    }
 
+    /**
+     * Assembles responses for several menus with a constant number of queries:
+     * one for all menu days (dishes fetch-joined) and one for the primary images
+     * of every dish referenced by those days.
+     */
+    private List<WeeklyMenuResponse> buildMenuResponses(List<WeeklyMenu> menus) {
+        if (menus.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> menuIds = menus.stream().map(WeeklyMenu::getId).collect(Collectors.toList());
+        Map<Long, List<MenuDay>> menuDaysByMenu = menuDayRepository.findWithDishByWeeklyMenuIdIn(menuIds)
+                .stream()
+                .collect(Collectors.groupingBy(menuDay -> menuDay.getWeeklyMenu().getId()));
+
+        Set<Long> dishIds = menuDaysByMenu.values().stream()
+                .flatMap(List::stream)
+                .map(menuDay -> menuDay.getDish().getId())
+                .collect(Collectors.toSet());
+        Map<Long, String> primaryImages = findPrimaryImageUrls(dishIds);
+
+        return menus.stream()
+                .map(menu -> toMenuResponse(
+                        menu,
+                        menuDaysByMenu.getOrDefault(menu.getId(), Collections.emptyList()),
+                        primaryImages))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, String> findPrimaryImageUrls(Set<Long> dishIds) {
+        Map<Long, String> imageUrls = new HashMap<>();
+        if (dishIds.isEmpty()) {
+            return imageUrls;
+        }
+        for (DishImageRepository.PrimaryImage image : dishImageRepository.findPrimaryImagesByDishIdIn(dishIds)) {
+            imageUrls.putIfAbsent(image.getDishId(), image.getImageUrl());
+        }
+        return imageUrls;
+    }
+
+    private WeeklyMenuResponse toMenuResponse(WeeklyMenu menu, List<MenuDay> menuDays, Map<Long, String> primaryImages) {
         Map<DayOfWeek, WeeklyMenuResponse.DayMenus> menusByDay = new HashMap<>();
+        Map<MenuDay.MealType, WeeklyMenuResponse.NutritionTotals> totalsByMealType =
+                new EnumMap<>(MenuDay.MealType.class);
 
         for (MenuDay menuDay : menuDays) {
             DayOfWeek day = menuDay.getDayOfWeek();
             MenuDay.MealType mealType = menuDay.getMealType();
             Dish dish = menuDay.getDish();
 
-            String imageUrl = dishImageRepository.findByDishIdOrderByDisplayOrderAsc(dish.getId())
-                    .stream()
-                    .filter(DishImage::getIsPrimary)
-                    .findFirst()
-                    .map(DishImage::getImageUrl)
-                    .orElse(null);
-
             WeeklyMenuResponse.MealInfo mealInfo = WeeklyMenuResponse.MealInfo.builder()
                     .menuDayId(menuDay.getId())
                     .dishId(dish.getId())
@@ -236,11 +506,16 @@ public class WeeklyMenuService {
                     .protein(dish.getProtein())
                     .carbs(dish.getCarbs())
                     .fats(dish.getFats())
-                    .imageUrl(imageUrl)
+                    .imageUrl(primaryImages.get(dish.getId()))
                     .build();
 
-            menusByDay.putIfAbsent(day, WeeklyMenuResponse.DayMenus.builder().build());
-            WeeklyMenuResponse.DayMenus dayMenus = menusByDay.get(day);
+            WeeklyMenuResponse.DayMenus dayMenus = menusByDay.computeIfAbsent(day,
+                    d -> WeeklyMenuResponse.DayMenus.builder()
+                            .totals(new WeeklyMenuResponse.NutritionTotals())
+                            .build());
+            addNutrition(dayMenus.getTotals(), dish);
+            addNutrition(totalsByMealType.computeIfAbsent(mealType,
+                    m -> new WeeklyMenuResponse.NutritionTotals()), dish);
 
             switch (mealType) {
                 case BREAKFAST -> dayMenus.setBreakfast(mealInfo);
@@ -254,14 +529,23 @@ public class WeeklyMenuService {
                 .weekStartDate(menu.getWeekStartDate())
                 .weekEndDate(menu.getWeekEndDate())
                 .status(menu.getStatus())
+                .publishAt(menu.getPublishAt())
                 .totalCalories(menu.getTotalCalories())
                 .totalProtein(menu.getTotalProtein())
                 .totalCarbs(menu.getTotalCarbs())
                 .totalFats(menu.getTotalFats())
                 .menusByDay(menusByDay)
+                .totalsByMealType(totalsByMealType)
                 .build();
     }
 
+    private void addNutrition(WeeklyMenuResponse.NutritionTotals totals, Dish dish) {
+        totals.setCalories(totals.getCalories() + dish.getCalories());
+        totals.setProtein(totals.getProtein() + dish.getProtein());
+        totals.setCarbs(totals.getCarbs() + dish.getCarbs());
+        totals.setFats(totals.getFats() + dish.getFats());
+    }
+
     private List<CreateWeeklyMenuRequest.MenuDayRequest> convertToCreateRequests(
             List<UpdateWeeklyMenuRequest.MenuDayRequest> requests) {
         return requests.stream()
@@ -272,4 +556,19 @@ public class WeeklyMenuService {
                         .build())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * A menu day slot, unique per weekly menu.
+     */
+    private record Slot(DayOfWeek dayOfWeek, MenuDay.MealType mealType) {
+
+        MenuDay toMenuDay(WeeklyMenu menu, Dish dish) {
+            return MenuDay.builder()
+                    .weeklyMenu(menu)
+                    .dayOfWeek(dayOfWeek)
+                    .mealType(mealType)
+                    .dish(dish)
+                    .build();
+        }
+    }
 }
@@ -0,0 +1,296 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.dto.order.WeeklyPlanResponse;
+import com.nonitos.food.event.MenuPublishedEvent;
+import com.nonitos.food.event.OrderPaidEvent;
+import com.nonitos.food.exception.BadRequestException;
+import com.nonitos.food.exception.ResourceNotFoundException;
+import com.nonitos.food.model.ClientWeeklyPlan;
+import com.nonitos.food.model.MenuDay;
+import com.nonitos.food.model.Order;
+import com.nonitos.food.repository.ClientAllergyRepository;
+import com.nonitos.food.repository.ClientWeeklyPlanRepository;
+import com.nonitos.food.repository.DishAllergenRepository;
+import com.nonitos.food.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service materializing each client's personal weekly plan.
+ *
+ * <p>A plan holds only the meals of the order, warnings for dishes that carry one of
+ * the client's allergies, and daily macro totals. Plans are built in the background
+ * when an order is paid and rebuilt for every paid order of a menu when it is
+ * published, then stored as JSON documents so reading a plan is a single lookup
+ * by order ID. Bulk builds load allergies per chunk of orders and render the
+ * documents of a chunk in parallel.</p>
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WeeklyPlanService {
+
+    private static final Set<Order.OrderStatus> PLANNED_STATUSES = EnumSet.of(
+            Order.OrderStatus.PAID,
+            Order.OrderStatus.IN_PREPARATION,
+            Order.OrderStatus.READY_FOR_PICKUP,
+            Order.OrderStatus.COMPLETED
+    );
+    private static final MenuDay.MealType[] MEAL_TYPES = MenuDay.MealType.values();
+    private static final int CHUNK_SIZE = 500;
+
+    private final WeeklyMenuService weeklyMenuService;
+    private final OrderRepository orderRepository;
+    private final DishAllergenRepository dishAllergenRepository;
+    private final ClientAllergyRepository clientAllergyRepository;
+    private final ClientWeeklyPlanRepository clientWeeklyPlanRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Rebuilds the plans of all paid orders of a menu once its publication has committed.
+     *
+     * @param event the publication event
+     */
+    @Async("batchExecutor")
+    @TransactionalEventListener
+    public void onMenuPublished(MenuPublishedEvent event) {
+        buildPlansForMenu(event.getMenu());
+    }
+
+    /**
+     * Builds the plan of an order once its payment has committed.
+     *
+     * @param event the payment event
+     */
+    @Async("batchExecutor")
+    @TransactionalEventListener
+    public void onOrderPaid(OrderPaidEvent event) {
+        buildPlanForOrder(event.getOrderId());
+    }
+
+    /**
+     * Builds and stores the plans of every paid order of a menu.
+     *
+     * @param menu the menu
+     * @return number of plans stored
+     */
+    public int buildPlansForMenu(WeeklyMenuResponse menu) {
+        long start = System.nanoTime();
+        List<OrderRepository.MealSelection> orders =
+                orderRepository.findMealSelectionsByWeeklyMenuId(menu.getId(), PLANNED_STATUSES);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<DishAllergenRepository.DishAllergyRef>> dishAllergies = loadDishAllergies(menu);
+        for (int from = 0; from < orders.size(); from += CHUNK_SIZE) {
+            List<OrderRepository.MealSelection> chunk =
+                    orders.subList(from, Math.min(from + CHUNK_SIZE, orders.size()));
+            Map<Long, List<ClientAllergyRepository.UserAllergyRef>> clientAllergies = loadClientAllergies(
+                    chunk.stream().map(OrderRepository.MealSelection::getClientId).collect(Collectors.toSet()));
+
+            List<ClientWeeklyPlan> plans = chunk.parallelStream()
+                    .map(order -> toPlan(order, menu, dishAllergies,
+                            clientAllergies.getOrDefault(order.getClientId(), Collections.emptyList())))
+                    .collect(Collectors.toList());
+            clientWeeklyPlanRepository.batchUpsert(plans);
+        }
+
+        log.info("Built {} weekly plans for menu {} in {} ms", orders.size(), menu.getId(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return orders.size();
+    }
+
+    /**
+     * Builds and stores the plan of a single order.
+     *
+     * @param orderId the order ID
+     */
+    public void buildPlanForOrder(Long orderId) {
+        OrderRepository.MealSelection order = orderRepository.findMealSelectionById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        WeeklyMenuResponse menu = weeklyMenuService.getMenuById(order.getWeeklyMenuId());
+
+        ClientWeeklyPlan plan = toPlan(order, menu, loadDishAllergies(menu),
+                loadClientAllergies(Set.of(order.getClientId()))
+                        .getOrDefault(order.getClientId(), Collections.emptyList()));
+        clientWeeklyPlanRepository.batchUpsert(List.of(plan));
+        log.info("Built weekly plan for order {}", order.getOrderCode());
+    }
+
+    /**
+     * Gets the stored plan of an order.
+     *
+     * @param orderId the order ID
+     * @param userId the user ID (for authorization)
+     * @return the plan
+     */
+    @Transactional(readOnly = true)
+    public WeeklyPlanResponse getPlan(Long orderId, Long userId) {
+        ClientWeeklyPlan plan = clientWeeklyPlanRepository.findByOrderId(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Plan not available for this order"));
+
+        if (!plan.getClientId().equals(userId)) {
+            throw new BadRequestException("Unauthorized access to order");
+        }
+
+        try {
+            return objectMapper.readValue(plan.getDocument(), WeeklyPlanResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read weekly plan of order " + orderId, e);
+        }
+    }
+
+    private Map<Long, List<DishAllergenRepository.DishAllergyRef>> loadDishAllergies(WeeklyMenuResponse menu) {
+        if (menu.getMenusByDay() == null) {
+            return Collections.emptyMap();
+        }
+
+        Set<Long> dishIds = menu.getMenusByDay().values().stream()
+                .flatMap(day -> Stream.of(day.getBreakfast(), day.getLunch(), day.getDinner()))
+                .filter(Objects::nonNull)
+                .map(WeeklyMenuResponse.MealInfo::getDishId)
+                .collect(Collectors.toSet());
+        if (dishIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return dishAllergenRepository.findAllergyRefsByDishIdIn(dishIds).stream()
+                .collect(Collectors.groupingBy(DishAllergenRepository.DishAllergyRef::getDishId));
+    }
+
+    private Map<Long, List<ClientAllergyRepository.UserAllergyRef>> loadClientAllergies(Set<Long> userIds) {
+        return clientAllergyRepository.findAllergyRefsByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(ClientAllergyRepository.UserAllergyRef::getUserId));
+    }
+
+    private ClientWeeklyPlan toPlan(OrderRepository.MealSelection order, WeeklyMenuResponse menu,
+                                    Map<Long, List<DishAllergenRepository.DishAllergyRef>> dishAllergies,
+                                    List<ClientAllergyRepository.UserAllergyRef> clientAllergies) {
+        boolean[] selected = selectedMeals(order);
+        Map<Long, ClientAllergyRepository.UserAllergyRef> allergiesById = clientAllergies.stream()
+                .collect(Collectors.toMap(
+                        ClientAllergyRepository.UserAllergyRef::getAllergyId, allergy -> allergy, (a, b) -> a));
+
+        List<WeeklyPlanResponse.PlanDay> days = new ArrayList<>();
+        WeeklyMenuResponse.NutritionTotals weeklyTotals = new WeeklyMenuResponse.NutritionTotals();
+        Set<String> planWarnings = new LinkedHashSet<>();
+        Map<DayOfWeek, WeeklyMenuResponse.DayMenus> menusByDay =
+                menu.getMenusByDay() != null ? new TreeMap<>(menu.getMenusByDay()) : Collections.emptyMap();
+
+        menusByDay.forEach((dayOfWeek, dayMenus) -> {
+            WeeklyMenuResponse.MealInfo[] meals = {
+                    dayMenus.getBreakfast(), dayMenus.getLunch(), dayMenus.getDinner()
+            };
+            List<WeeklyPlanResponse.PlanMeal> planMeals = new ArrayList<>();
+            WeeklyMenuResponse.NutritionTotals dayTotals = new WeeklyMenuResponse.NutritionTotals();
+
+            for (int m = 0; m < MEAL_TYPES.length; m++) {
+                WeeklyMenuResponse.MealInfo meal = meals[m];
+                if (!selected[m] || meal == null) {
+                    continue;
+                }
+
+                List<String> warnings = dishAllergies.getOrDefault(meal.getDishId(), Collections.emptyList())
+                        .stream()
+                        .filter(ref -> allergiesById.containsKey(ref.getAllergyId()))
+                        .map(ref -> ref.getAllergyName()
+                                + " (" + allergiesById.get(ref.getAllergyId()).getSeverity() + ")")
+                        .collect(Collectors.toList());
+                planWarnings.addAll(warnings);
+
+                planMeals.add(WeeklyPlanResponse.PlanMeal.builder()
+                        .mealType(MEAL_TYPES[m])
+                        .dishId(meal.getDishId())
+                        .dishName(meal.getDishName())
+                        .calories(meal.getCalories())
+                        .protein(meal.getProtein())
+                        .carbs(meal.getCarbs())
+                        .fats(meal.getFats())
+                        .imageUrl(meal.getImageUrl())
+                        .allergenWarnings(warnings)
+                        .build());
+                addMeal(dayTotals, meal);
+                addMeal(weeklyTotals, meal);
+            }
+
+            if (!planMeals.isEmpty()) {
+                days.add(WeeklyPlanResponse.PlanDay.builder()
+                        .dayOfWeek(dayOfWeek)
+                        .meals(planMeals)
+                        .totals(dayTotals)
+                        .build());
+            }
+        });
+
+        WeeklyPlanResponse plan = WeeklyPlanResponse.builder()
+                .orderId(order.getId())
+                .orderCode(order.getOrderCode())
+                .weeklyMenuId(menu.getId())
+                .weekStartDate(menu.getWeekStartDate())
+                .weekEndDate(menu.getWeekEndDate())
+                .pickupDateTime(order.getPickupDateTime())
+                .days(days)
+                .weeklyTotals(weeklyTotals)
+                .allergenWarnings(new ArrayList<>(planWarnings))
+                .generatedAt(LocalDateTime.now())
+                .build();
+
+        try {
+            return ClientWeeklyPlan.builder()
+                    .orderId(order.getId())
+                    .clientId(order.getClientId())
+                    .weeklyMenuId(menu.getId())
+                    .document(objectMapper.writeValueAsString(plan))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize weekly plan of order " + order.getId(), e);
+        }
+    }
+
+    /**
+     * Meal types of an order in breakfast, lunch, dinner order, limited to meals per day.
+     */
+    private static boolean[] selectedMeals(OrderRepository.MealSelection order) {
+        boolean[] included = {
+                Boolean.TRUE.equals(order.getIncludeBreakfast()),
+                Boolean.TRUE.equals(order.getIncludeLunch()),
+                Boolean.TRUE.equals(order.getIncludeDinner())
+        };
+        int remaining = order.getMealsPerDay() != null ? order.getMealsPerDay() : MEAL_TYPES.length;
+        for (int m = 0; m < included.length; m++) {
+            if (included[m]) {
+                if (remaining > 0) {
+                    remaining--;
+                } else {
+                    included[m] = false;
+                }
+            }
+        }
+        return included;
+    }
+
+    private static void addMeal(WeeklyMenuResponse.NutritionTotals totals, WeeklyMenuResponse.MealInfo meal) {
+        totals.setCalories(totals.getCalories() + meal.getCalories());
+        totals.setProtein(totals.getProtein() + meal.getProtein());
+        totals.setCarbs(totals.getCarbs() + meal.getCarbs());
+        totals.setFats(totals.getFats() + meal.getFats());
+    }
+}
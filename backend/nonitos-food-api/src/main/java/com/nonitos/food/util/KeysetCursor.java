@@ -0,0 +1,60 @@
+package com.nonitos.food.util;
+
+import com.nonitos.food.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination over rows ordered by {@code (created_at, id)}.
+ * The cursor holds the sort key of the last row of a page; the next page starts
+ * strictly after it, so pages stay stable while new rows are inserted.
+ *
+ * @author Nonito's Food Team
+ * @since 1.0
+ */
+@Getter
+@RequiredArgsConstructor
+public class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    /** Creation timestamp of the last row */
+    private final LocalDateTime createdAt;
+
+    /** ID of the last row */
+    private final Long id;
+
+    /**
+     * Encodes the cursor as a URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
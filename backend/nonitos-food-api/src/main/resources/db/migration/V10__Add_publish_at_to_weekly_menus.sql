@@ -0,0 +1,6 @@
+-- Add scheduled publication instant to weekly menus
+ALTER TABLE weekly_menus ADD COLUMN publish_at TIMESTAMP;
+
+-- Create indexes
+CREATE INDEX idx_weekly_menus_publish_at ON weekly_menus(publish_at)
+    WHERE status = 'DRAFT' AND publish_at IS NOT NULL;
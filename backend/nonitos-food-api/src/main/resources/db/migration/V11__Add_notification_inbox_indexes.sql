@@ -0,0 +1,10 @@
+-- Replace single-column notification indexes with composite indexes matching the inbox queries
+DROP INDEX IF EXISTS idx_notifications_user_id;
+DROP INDEX IF EXISTS idx_notifications_is_read;
+DROP INDEX IF EXISTS idx_notifications_created_at;
+
+-- Unread lists, unread counts and mark-all-as-read
+CREATE INDEX idx_notifications_user_read_created ON notifications(user_id, is_read, created_at);
+
+-- Keyset-paginated inbox ordered by (created_at, id)
+CREATE INDEX idx_notifications_user_created_id ON notifications(user_id, created_at, id);
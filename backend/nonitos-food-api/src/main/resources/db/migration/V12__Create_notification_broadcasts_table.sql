@@ -0,0 +1,24 @@
+-- Create notification broadcasts table (one notification fanned out to every user of a role)
+CREATE TABLE notification_broadcasts (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(30) NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    message TEXT NOT NULL,
+    target_role VARCHAR(20) NOT NULL,
+    related_entity_id BIGINT,
+    related_entity_type VARCHAR(50),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    total_recipients INTEGER NOT NULL DEFAULT 0,
+    delivered_count INTEGER NOT NULL DEFAULT 0,
+    last_user_id BIGINT NOT NULL DEFAULT 0,
+    created_by BIGINT NOT NULL,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    failure_reason VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_notification_broadcast_creator FOREIGN KEY (created_by) REFERENCES users(id)
+);
+
+-- Create indexes
+CREATE INDEX idx_users_role_id ON users(role, id);
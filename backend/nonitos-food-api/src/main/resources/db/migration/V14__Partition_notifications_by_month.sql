@@ -0,0 +1,66 @@
+-- Store notifications in monthly range partitions so expired months can be dropped whole
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER INDEX notifications_pkey RENAME TO notifications_legacy_pkey;
+ALTER SEQUENCE notifications_id_seq OWNED BY NONE;
+
+CREATE TABLE notifications (
+    id BIGINT NOT NULL DEFAULT nextval('notifications_id_seq'),
+    user_id BIGINT NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    message TEXT NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT false,
+    related_entity_id BIGINT,
+    related_entity_type VARCHAR(50),
+    read_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_notification_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+-- Create one partition per month from the oldest notification to three months ahead
+DO $$
+DECLARE
+    partition_start DATE := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_legacy), CURRENT_TIMESTAMP));
+    last_start DATE := date_trunc('month', CURRENT_TIMESTAMP + INTERVAL '3 months');
+BEGIN
+    WHILE partition_start <= last_start LOOP
+        EXECUTE format(
+            'CREATE TABLE notifications_p%s PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+            to_char(partition_start, 'YYYYMM'), partition_start, (partition_start + INTERVAL '1 month')::DATE);
+        partition_start := partition_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+-- Catches rows outside every monthly partition, so inserts never fail when maintenance falls behind
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+INSERT INTO notifications SELECT * FROM notifications_legacy;
+DROP TABLE notifications_legacy;
+
+-- Recreate indexes after the copy; they cascade to every partition
+CREATE INDEX idx_notifications_type ON notifications(type);
+CREATE INDEX idx_notifications_user_read_created ON notifications(user_id, is_read, created_at);
+CREATE INDEX idx_notifications_user_created_id ON notifications(user_id, created_at, id);
+
+-- Read notifications moved out of the hot table
+CREATE TABLE notifications_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    message TEXT NOT NULL,
+    is_read BOOLEAN NOT NULL,
+    related_entity_id BIGINT,
+    related_entity_type VARCHAR(50),
+    read_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_notification_archive_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_notifications_archive_user_created ON notifications_archive(user_id, created_at);
@@ -0,0 +1,3 @@
+-- Digest template for order notifications coalesced within a short window
+INSERT INTO notification_templates (code, type, title_template, message_template) VALUES
+('ORDER_UPDATES', 'ORDER_UPDATES', '{{count}} Order Updates', '{{summary}}');
@@ -0,0 +1,2 @@
+-- Allow at most one card payment in flight per order
+CREATE UNIQUE INDEX uq_transactions_order_processing ON transactions(order_id) WHERE status = 'PROCESSING';
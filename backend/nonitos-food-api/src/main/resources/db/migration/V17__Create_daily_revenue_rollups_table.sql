@@ -0,0 +1,21 @@
+-- Create daily revenue rollups (transaction amounts per creation day, status and currency)
+CREATE TABLE daily_revenue_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    revenue_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED', 'REFUNDED')),
+    currency VARCHAR(3) NOT NULL,
+    amount DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_daily_revenue_rollup UNIQUE (revenue_date, status, currency)
+);
+
+-- Backfill from existing transactions
+INSERT INTO daily_revenue_rollups (revenue_date, status, currency, amount, transaction_count)
+SELECT CAST(created_at AS DATE), status, currency, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY CAST(created_at AS DATE), status, currency;
+
+-- Create indexes
+CREATE INDEX idx_daily_revenue_rollups_status_date ON daily_revenue_rollups(status, revenue_date);
@@ -0,0 +1,2 @@
+-- Index for the admin verification queue (oldest pending payments first, keyset paginated)
+CREATE INDEX idx_transactions_status_created_at ON transactions(status, created_at, id);
@@ -0,0 +1,32 @@
+-- Create payment reconciliation runs table (one row per nightly comparison of orders and transactions)
+CREATE TABLE payment_reconciliation_runs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    started_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    orders_checked BIGINT NOT NULL DEFAULT 0,
+    transactions_checked BIGINT NOT NULL DEFAULT 0,
+    discrepancy_count BIGINT NOT NULL DEFAULT 0,
+    failure_reason VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create payment discrepancies table (report of orders whose status disagrees with their transactions)
+CREATE TABLE payment_discrepancies (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    transaction_id BIGINT,
+    type VARCHAR(30) NOT NULL CHECK (type IN ('PAID_WITHOUT_PAYMENT', 'DUPLICATE_PAYMENT', 'UNAPPLIED_PAYMENT',
+        'CANCELLED_WITH_PAYMENT', 'AMOUNT_MISMATCH', 'STUCK_PROCESSING')),
+    order_status VARCHAR(20) NOT NULL,
+    details VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_payment_discrepancy_run FOREIGN KEY (run_id) REFERENCES payment_reconciliation_runs(id) ON DELETE CASCADE
+);
+
+-- Create indexes
+CREATE INDEX idx_payment_discrepancies_run_id ON payment_discrepancies(run_id, id);
+CREATE INDEX idx_payment_discrepancies_order_id ON payment_discrepancies(order_id);
@@ -0,0 +1,18 @@
+-- Create payment webhook events table (inbox of provider events, one row per event ID)
+CREATE TABLE payment_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(100) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    transaction_reference VARCHAR(100) NOT NULL,
+    failure_reason VARCHAR(500),
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RECEIVED', 'APPLIED', 'IGNORED', 'FAILED')),
+    outcome VARCHAR(500),
+    processed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_payment_webhook_event_id UNIQUE (event_id)
+);
+
+-- Create indexes
+CREATE INDEX idx_payment_webhook_events_received ON payment_webhook_events(created_at, id) WHERE status = 'RECEIVED';
@@ -0,0 +1,19 @@
+-- Create menu fit scores table (per-client match of a published menu against preference targets)
+CREATE TABLE menu_fit_scores (
+    id BIGSERIAL PRIMARY KEY,
+    weekly_menu_id BIGINT NOT NULL,
+    client_profile_id BIGINT NOT NULL,
+    fit_percent INTEGER NOT NULL CHECK (fit_percent BETWEEN 0 AND 100),
+    avg_daily_calories INTEGER NOT NULL,
+    avg_daily_protein INTEGER NOT NULL,
+    avg_daily_carbs INTEGER NOT NULL,
+    avg_daily_fats INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_menu_fit_score_menu FOREIGN KEY (weekly_menu_id) REFERENCES weekly_menus(id) ON DELETE CASCADE,
+    CONSTRAINT fk_menu_fit_score_profile FOREIGN KEY (client_profile_id) REFERENCES client_profiles(id) ON DELETE CASCADE,
+    CONSTRAINT uk_menu_fit_score UNIQUE (weekly_menu_id, client_profile_id)
+);
+
+-- Create indexes
+CREATE INDEX idx_menu_fit_scores_client_profile_id ON menu_fit_scores(client_profile_id);
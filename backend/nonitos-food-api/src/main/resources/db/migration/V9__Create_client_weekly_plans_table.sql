@@ -0,0 +1,16 @@
+-- Create client weekly plans table (materialized personal plan document per paid order)
+CREATE TABLE client_weekly_plans (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL UNIQUE,
+    client_id BIGINT NOT NULL,
+    weekly_menu_id BIGINT NOT NULL,
+    document TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_client_weekly_plan_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    CONSTRAINT fk_client_weekly_plan_client FOREIGN KEY (client_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_client_weekly_plan_menu FOREIGN KEY (weekly_menu_id) REFERENCES weekly_menus(id) ON DELETE CASCADE
+);
+
+-- Create indexes
+CREATE INDEX idx_client_weekly_plans_client_id ON client_weekly_plans(client_id);
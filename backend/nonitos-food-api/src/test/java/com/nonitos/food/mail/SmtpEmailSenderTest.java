@@ -0,0 +1,61 @@
+package com.nonitos.food.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpEmailSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void send_DeliversBatchToSmtpServer() throws Exception {
+        SmtpEmailSender sender = sender(greenMail.getSmtp().getPort());
+        EmailMessage first = new EmailMessage("a@example.com", "Order Created", "Your order TEST123 has been created");
+        EmailMessage second = new EmailMessage("b@example.com", "Order Paid", "Your order TEST456 has been paid");
+
+        Map<EmailMessage, Exception> failures = sender.send(List.of(first, second));
+
+        assertTrue(failures.isEmpty());
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Order Created", received[0].getSubject());
+        assertEquals("a@example.com", received[0].getAllRecipients()[0].toString());
+        assertEquals("no-reply@nonitosfood.com", received[0].getFrom()[0].toString());
+        assertEquals("Your order TEST123 has been created", GreenMailUtil.getBody(received[0]).trim());
+        assertEquals("b@example.com", received[1].getAllRecipients()[0].toString());
+    }
+
+    @Test
+    void send_ReportsEveryMessageWhenServerUnreachable() {
+        SmtpEmailSender sender = sender(1);
+        EmailMessage first = new EmailMessage("a@example.com", "Subject", "Body");
+        EmailMessage second = new EmailMessage("b@example.com", "Subject", "Body");
+
+        Map<EmailMessage, Exception> failures = sender.send(List.of(first, second));
+
+        assertEquals(2, failures.size());
+        assertTrue(failures.containsKey(first));
+        assertTrue(failures.containsKey(second));
+    }
+
+    private static SmtpEmailSender sender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        SmtpEmailSender sender = new SmtpEmailSender(mailSender);
+        ReflectionTestUtils.setField(sender, "from", "no-reply@nonitosfood.com");
+        return sender;
+    }
+}
@@ -0,0 +1,179 @@
+package com.nonitos.food.payment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientPaymentGatewayTest {
+
+    @Mock
+    private PaymentGateway provider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResilientPaymentGateway gateway;
+
+    private final ChargeRequest request = ChargeRequest.builder()
+            .reference("stripe_test")
+            .amount(new BigDecimal("10000"))
+            .currency("CRC")
+            .cardNumber("4242424242424242")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gateway = new ResilientPaymentGateway(provider, ResilientPaymentGateway.Settings.builder()
+                .timeoutMs(500)
+                .maxConcurrentCalls(1)
+                .maxWaitMs(0)
+                .windowSize(4)
+                .minimumCalls(4)
+                .failureRateThreshold(50)
+                .openDurationMs(100)
+                .build(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.close();
+    }
+
+    @Test
+    void charge_RecordsOutcome() {
+        when(provider.charge(request)).thenReturn(ChargeResult.approved(), ChargeResult.declined("Card declined"));
+
+        assertTrue(gateway.charge(request).isApproved());
+        assertFalse(gateway.charge(request).isApproved());
+
+        assertEquals(1, meterRegistry.get("payment.gateway.calls").tag("outcome", "approved").timer().count());
+        assertEquals(1, meterRegistry.get("payment.gateway.calls").tag("outcome", "declined").timer().count());
+        assertEquals(ResilientPaymentGateway.CircuitState.CLOSED, gateway.getCircuitState());
+    }
+
+    @Test
+    void refund_SharesCircuitWithCharges() {
+        when(provider.charge(request)).thenThrow(new PaymentGatewayException("Provider down"));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(PaymentGatewayException.class, () -> gateway.charge(request));
+        }
+
+        PaymentGatewayException exception = assertThrows(PaymentGatewayException.class,
+                () -> gateway.refund("stripe_test"));
+
+        assertTrue(exception.getMessage().contains("circuit open"));
+        verify(provider, never()).refund(any());
+    }
+
+    @Test
+    void refund_RecordsOutcome() {
+        gateway.refund("stripe_test");
+
+        verify(provider).refund("stripe_test");
+        assertEquals(1, meterRegistry.get("payment.gateway.calls").tag("outcome", "refunded").timer().count());
+    }
+
+    @Test
+    void findCharge_ReturnsProviderAnswer() {
+        when(provider.findCharge("stripe_test")).thenReturn(Optional.of(ChargeResult.approved()));
+        when(provider.findCharge("stripe_unknown")).thenReturn(Optional.empty());
+
+        assertTrue(gateway.findCharge("stripe_test").orElseThrow().isApproved());
+        assertTrue(gateway.findCharge("stripe_unknown").isEmpty());
+
+        assertEquals(1, meterRegistry.get("payment.gateway.calls").tag("outcome", "found").timer().count());
+        assertEquals(1, meterRegistry.get("payment.gateway.calls").tag("outcome", "not-found").timer().count());
+    }
+
+    @Test
+    void charge_TimesOut() {
+        when(provider.charge(request)).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return ChargeResult.approved();
+        });
+
+        long start = System.nanoTime();
+        PaymentGatewayException exception = assertThrows(PaymentGatewayException.class, () -> gateway.charge(request));
+
+        assertFalse(exception instanceof PaymentGatewayRejectedException);
+        assertTrue(exception.getMessage().contains("timed out"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, meterRegistry.get("payment.gateway.calls").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void charge_OpensCircuitAndFailsFast() {
+        when(provider.charge(request))
+                .thenReturn(ChargeResult.approved(), ChargeResult.approved())
+                .thenThrow(new PaymentGatewayException("Provider down"));
+
+        gateway.charge(request);
+        gateway.charge(request);
+        assertThrows(PaymentGatewayException.class, () -> gateway.charge(request));
+        assertEquals(ResilientPaymentGateway.CircuitState.CLOSED, gateway.getCircuitState());
+        assertThrows(PaymentGatewayException.class, () -> gateway.charge(request));
+        assertEquals(ResilientPaymentGateway.CircuitState.OPEN, gateway.getCircuitState());
+
+        PaymentGatewayException exception = assertThrows(PaymentGatewayRejectedException.class,
+                () -> gateway.charge(request));
+
+        assertTrue(exception.getMessage().contains("circuit open"));
+        verify(provider, times(4)).charge(request);
+        assertEquals(1, meterRegistry.get("payment.gateway.calls").tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void charge_ClosesCircuitAfterSuccessfulTrialCall() throws InterruptedException {
+        when(provider.charge(request))
+                .thenThrow(new PaymentGatewayException("Provider down"))
+                .thenThrow(new PaymentGatewayException("Provider down"))
+                .thenThrow(new PaymentGatewayException("Provider down"))
+                .thenThrow(new PaymentGatewayException("Provider down"))
+                .thenReturn(ChargeResult.approved());
+        for (int i = 0; i < 4; i++) {
+            assertThrows(PaymentGatewayException.class, () -> gateway.charge(request));
+        }
+        assertEquals(ResilientPaymentGateway.CircuitState.OPEN, gateway.getCircuitState());
+
+        Thread.sleep(150);
+
+        assertTrue(gateway.charge(request).isApproved());
+        assertEquals(ResilientPaymentGateway.CircuitState.CLOSED, gateway.getCircuitState());
+    }
+
+    @Test
+    void charge_RejectsWhenBulkheadFull() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(provider.charge(any(ChargeRequest.class))).thenAnswer(invocation -> {
+            inCall.countDown();
+            release.await(1, TimeUnit.SECONDS);
+            return ChargeResult.approved();
+        });
+
+        CompletableFuture<ChargeResult> first = CompletableFuture.supplyAsync(() -> gateway.charge(request));
+        assertTrue(inCall.await(1, TimeUnit.SECONDS));
+
+        PaymentGatewayException exception = assertThrows(PaymentGatewayRejectedException.class,
+                () -> gateway.charge(request));
+        release.countDown();
+
+        assertTrue(exception.getMessage().contains("in flight"));
+        assertTrue(first.get(1, TimeUnit.SECONDS).isApproved());
+        verify(provider, times(1)).charge(any(ChargeRequest.class));
+    }
+}
@@ -40,6 +40,9 @@ class AuthServiceTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
+    @Mock
+    private EmailService emailService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -81,6 +84,7 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail(request.getEmail());
         verify(userRepository).save(any(User.class));
         verify(valueOperations).set(eq("refresh_token:test@example.com"), eq("refresh-token"), eq(7L), eq(TimeUnit.DAYS));
+        verify(emailService).send(eq("test@example.com"), eq("Verify your email"), contains("?token="));
     }
 
     @Test
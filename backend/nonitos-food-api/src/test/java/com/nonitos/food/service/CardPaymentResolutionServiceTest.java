@@ -0,0 +1,70 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.model.Transaction;
+import com.nonitos.food.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardPaymentResolutionServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    private CardPaymentResolutionService cardPaymentResolutionService;
+
+    @BeforeEach
+    void setUp() {
+        cardPaymentResolutionService = new CardPaymentResolutionService(transactionRepository, paymentService);
+        ReflectionTestUtils.setField(cardPaymentResolutionService, "batchSize", 50);
+    }
+
+    @Test
+    void resolveStartedBefore_ResolvesStaleCardPayments() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(15);
+        Transaction first = stale(1L, "stripe_1");
+        Transaction second = stale(2L, "stripe_2");
+        when(transactionRepository.findByPaymentMethodAndStatusAndCreatedAtBeforeOrderByCreatedAt(
+                Transaction.PaymentMethod.CREDIT_CARD, Transaction.TransactionStatus.PROCESSING,
+                cutoff, PageRequest.of(0, 50))).thenReturn(List.of(first, second));
+        when(paymentService.resolveCardPayment(1L, "stripe_1")).thenReturn(true);
+        when(paymentService.resolveCardPayment(2L, "stripe_2")).thenReturn(false);
+
+        assertEquals(1, cardPaymentResolutionService.resolveStartedBefore(cutoff));
+    }
+
+    @Test
+    void resolveStartedBefore_NothingStale() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(15);
+        when(transactionRepository.findByPaymentMethodAndStatusAndCreatedAtBeforeOrderByCreatedAt(
+                Transaction.PaymentMethod.CREDIT_CARD, Transaction.TransactionStatus.PROCESSING,
+                cutoff, PageRequest.of(0, 50))).thenReturn(List.of());
+
+        assertEquals(0, cardPaymentResolutionService.resolveStartedBefore(cutoff));
+        verifyNoInteractions(paymentService);
+    }
+
+    private Transaction stale(Long id, String reference) {
+        Transaction transaction = Transaction.builder()
+                .transactionReference(reference)
+                .paymentMethod(Transaction.PaymentMethod.CREDIT_CARD)
+                .status(Transaction.TransactionStatus.PROCESSING)
+                .build();
+        transaction.setId(id);
+        return transaction;
+    }
+}
@@ -22,12 +22,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +41,7 @@ class DashboardServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private DailyRevenueRollupRepository dailyRevenueRollupRepository;
 
     @Mock
     private DishRepository dishRepository;
@@ -71,7 +72,17 @@ class DashboardServiceTest {
         when(orderRepository.countByStatus(Order.OrderStatus.PENDING_PAYMENT)).thenReturn(3L);
         when(orderRepository.countByStatus(Order.OrderStatus.PAID)).thenReturn(2L);
         when(orderRepository.countByStatus(Order.OrderStatus.COMPLETED)).thenReturn(15L);
-        when(transactionRepository.findAll()).thenReturn(Collections.emptyList());
+        List<DailyRevenueRollupRepository.StatusRevenue> revenueByStatus = List.of(
+                statusRevenue(Transaction.TransactionStatus.COMPLETED, "1500.00"),
+                statusRevenue(Transaction.TransactionStatus.PENDING, "210.00"),
+                statusRevenue(Transaction.TransactionStatus.FAILED, "90.00"));
+        when(dailyRevenueRollupRepository.sumAmountByStatus()).thenReturn(revenueByStatus);
+        DailyRevenueRollupRepository.DayRevenue today = mock(DailyRevenueRollupRepository.DayRevenue.class);
+        when(today.getRevenueDate()).thenReturn(LocalDate.now());
+        when(today.getAmount()).thenReturn(new BigDecimal("420.00"));
+        when(today.getTransactionCount()).thenReturn(2L);
+        when(dailyRevenueRollupRepository.sumAmountByDay(eq(Transaction.TransactionStatus.COMPLETED), any(LocalDate.class)))
+                .thenReturn(List.of(today));
         when(dishRepository.count()).thenReturn(30L);
         when(dishRepository.countByIsActive(true)).thenReturn(25L);
         when(weeklyMenuRepository.count()).thenReturn(5L);
@@ -85,6 +96,11 @@ class DashboardServiceTest {
         assertEquals(20L, metrics.getTotalOrders());
         assertEquals(5L, metrics.getPendingOrders());
         assertEquals(15L, metrics.getCompletedOrders());
+        assertEquals(new BigDecimal("1500.00"), metrics.getTotalRevenue());
+        assertEquals(new BigDecimal("210.00"), metrics.getPendingRevenue());
+        assertEquals(1, metrics.getDailyRevenue().size());
+        assertEquals(new BigDecimal("420.00"), metrics.getDailyRevenue().get(0).getRevenue());
+        assertEquals(2L, metrics.getDailyRevenue().get(0).getTransactions());
     }
 
     @Test
@@ -170,6 +186,13 @@ class DashboardServiceTest {
         );
     }
 
+    private DailyRevenueRollupRepository.StatusRevenue statusRevenue(Transaction.TransactionStatus status, String amount) {
+        DailyRevenueRollupRepository.StatusRevenue revenue = mock(DailyRevenueRollupRepository.StatusRevenue.class);
+        lenient().when(revenue.getStatus()).thenReturn(status);
+        lenient().when(revenue.getAmount()).thenReturn(new BigDecimal(amount));
+        return revenue;
+    }
+
     private void setId(Object entity, Long id) {
         try {
             var idField = entity.getClass().getSuperclass().getDeclaredField("id");
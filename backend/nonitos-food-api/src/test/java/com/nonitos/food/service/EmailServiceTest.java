@@ -0,0 +1,178 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.mail.EmailMessage;
+import com.nonitos.food.mail.EmailSender;
+import com.nonitos.food.model.EmailDeadLetter;
+import com.nonitos.food.repository.EmailDeadLetterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    @Mock
+    private EmailSender emailSender;
+
+    @Mock
+    private EmailDeadLetterRepository emailDeadLetterRepository;
+
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        emailService = new EmailService(emailSender, emailDeadLetterRepository);
+        ReflectionTestUtils.setField(emailService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(emailService, "workers", 1);
+        ReflectionTestUtils.setField(emailService, "batchSize", 10);
+        ReflectionTestUtils.setField(emailService, "ratePerSecond", 0.0);
+        ReflectionTestUtils.setField(emailService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailService, "initialBackoffMs", 10L);
+        ReflectionTestUtils.setField(emailService, "maxBackoffMs", 50L);
+        ReflectionTestUtils.setField(emailService, "shutdownTimeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        emailService.stop();
+    }
+
+    @Test
+    void send_DeliversQueuedEmails() {
+        List<String> sent = new CopyOnWriteArrayList<>();
+        when(emailSender.send(anyList())).thenAnswer(invocation -> {
+            List<EmailMessage> messages = invocation.getArgument(0);
+            messages.forEach(message -> sent.add(message.getTo()));
+            return Map.of();
+        });
+        emailService.start();
+
+        assertTrue(emailService.send("a@example.com", "Subject", "Body"));
+        assertTrue(emailService.send("b@example.com", "Subject", "Body"));
+
+        verify(emailSender, timeout(2000).atLeastOnce()).send(anyList());
+        await(() -> sent.size() == 2);
+        assertEquals(List.of("a@example.com", "b@example.com"), sent);
+        verifyNoInteractions(emailDeadLetterRepository);
+    }
+
+    @Test
+    void send_RetriesFailedEmail() {
+        AtomicInteger calls = new AtomicInteger();
+        when(emailSender.send(anyList())).thenAnswer(invocation -> {
+            List<EmailMessage> messages = invocation.getArgument(0);
+            return calls.getAndIncrement() == 0
+                    ? Map.of(messages.get(0), new IllegalStateException("421 try again later"))
+                    : Map.of();
+        });
+        emailService.start();
+
+        emailService.send("a@example.com", "Subject", "Body");
+
+        verify(emailSender, timeout(2000).times(2)).send(anyList());
+        await(() -> emailService.getQueuedCount() == 0);
+        verifyNoInteractions(emailDeadLetterRepository);
+    }
+
+    @Test
+    void send_DeadLettersAfterMaxAttempts() {
+        when(emailSender.send(anyList())).thenThrow(new IllegalStateException("connection refused"));
+        emailService.start();
+
+        emailService.send("a@example.com", "Subject", "Body");
+
+        verify(emailDeadLetterRepository, timeout(2000)).save(argThat((EmailDeadLetter deadLetter) ->
+                deadLetter.getRecipient().equals("a@example.com")
+                        && deadLetter.getAttempts() == 3
+                        && deadLetter.getLastError().equals("connection refused")));
+        verify(emailSender, times(3)).send(anyList());
+    }
+
+    @Test
+    void send_DeadLettersWhenQueueFull() {
+        ReflectionTestUtils.setField(emailService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(emailService, "workers", 0);
+        emailService.start();
+
+        assertTrue(emailService.send("a@example.com", "Subject", "Body"));
+        assertFalse(emailService.send("b@example.com", "Subject", "Body"));
+
+        verify(emailDeadLetterRepository).save(argThat((EmailDeadLetter deadLetter) ->
+                deadLetter.getRecipient().equals("b@example.com")
+                        && deadLetter.getLastError().equals("Email queue full")));
+        verifyNoInteractions(emailSender);
+    }
+
+    @Test
+    void send_SpacesBatchesAtTheSendingRate() {
+        ReflectionTestUtils.setField(emailService, "ratePerSecond", 2.0);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        AtomicLong lastSentAt = new AtomicLong();
+        when(emailSender.send(anyList())).thenAnswer(invocation -> {
+            List<EmailMessage> messages = invocation.getArgument(0);
+            batchSizes.add(messages.size());
+            lastSentAt.set(System.nanoTime());
+            return Map.of();
+        });
+        emailService.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            emailService.send(i + "@example.com", "Subject", "Body");
+        }
+
+        await(() -> batchSizes.stream().mapToInt(Integer::intValue).sum() == 4, 3000);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 2), "Batch larger than one second of sends");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(lastSentAt.get() - start) >= 1400,
+                "Fourth email sent before its slot");
+    }
+
+    @Test
+    void stop_DeadLettersBatchInterruptedWhileWaiting() throws InterruptedException {
+        ReflectionTestUtils.setField(emailService, "ratePerSecond", 0.1);
+        ReflectionTestUtils.setField(emailService, "shutdownTimeoutMs", 100L);
+        when(emailSender.send(anyList())).thenReturn(Map.of());
+        emailService.start();
+
+        emailService.send("a@example.com", "Subject", "Body");
+        verify(emailSender, timeout(2000)).send(anyList());
+        emailService.send("b@example.com", "Subject", "Body");
+        await(() -> emailService.getQueuedCount() == 0);
+
+        emailService.stop();
+
+        verify(emailDeadLetterRepository).save(argThat((EmailDeadLetter deadLetter) ->
+                deadLetter.getRecipient().equals("b@example.com")
+                        && deadLetter.getLastError().equals("Undelivered at shutdown")));
+        verify(emailSender, times(1)).send(anyList());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        await(condition, 2000);
+    }
+
+    private static void await(BooleanSupplier condition, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nonitos.food.event.OrderStatusChangedEvent;
+import com.nonitos.food.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventStreamServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Runnable> pendingDrains = new ArrayList<>();
+
+    private EventStreamService eventStreamService;
+
+    @BeforeEach
+    void setUp() {
+        eventStreamService = new EventStreamService(redisTemplate, listenerContainer, objectMapper, pendingDrains::add);
+        ReflectionTestUtils.setField(eventStreamService, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(eventStreamService, "bufferSize", 4);
+        ReflectionTestUtils.setField(eventStreamService, "maxConnectionsPerUser", 2);
+    }
+
+    @Test
+    void send_DeliversLocallyAndPublishesOnce() throws Exception {
+        eventStreamService.connect(1L);
+
+        eventStreamService.send(1L, "notification", Map.of("title", "Hi"));
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("event_stream"), message.capture());
+        EventStreamService.Envelope envelope = objectMapper.readValue(message.getValue(), EventStreamService.Envelope.class);
+        assertEquals(1L, envelope.getUserId());
+        assertEquals("notification", envelope.getName());
+        assertEquals("{\"title\":\"Hi\"}", envelope.getData());
+        assertEquals(1, pendingDrains.size());
+    }
+
+    @Test
+    void onMessage_IgnoresEventsFromOwnNode() throws Exception {
+        eventStreamService.connect(1L);
+        eventStreamService.send(1L, "notification", Map.of());
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("event_stream"), message.capture());
+
+        for (int i = 0; i < 10; i++) {
+            eventStreamService.onMessage(new DefaultMessage(
+                    "event_stream".getBytes(StandardCharsets.UTF_8),
+                    message.getValue().getBytes(StandardCharsets.UTF_8)), null);
+        }
+
+        assertEquals(1, eventStreamService.getConnectionCount(1L));
+    }
+
+    @Test
+    void onMessage_FromOtherNodeFillsBufferUntilSlowClientIsDropped() throws Exception {
+        eventStreamService.connect(1L);
+        String remote = objectMapper.writeValueAsString(
+                new EventStreamService.Envelope("other-node", 1L, "notification", "{}"));
+
+        for (int i = 0; i < 4; i++) {
+            eventStreamService.onMessage(new DefaultMessage(
+                    "event_stream".getBytes(StandardCharsets.UTF_8), remote.getBytes(StandardCharsets.UTF_8)), null);
+        }
+
+        assertEquals(0, eventStreamService.getConnectionCount(1L));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void connect_ClosesOldestBeyondLimit() {
+        eventStreamService.connect(1L);
+        eventStreamService.connect(1L);
+        eventStreamService.connect(1L);
+
+        assertEquals(2, eventStreamService.getConnectionCount(1L));
+    }
+
+    @Test
+    void onOrderStatusChanged_SendsToClient() {
+        eventStreamService.onOrderStatusChanged(
+                new OrderStatusChangedEvent(5L, "ORD5", 1L, Order.OrderStatus.READY_FOR_PICKUP));
+
+        verify(redisTemplate).convertAndSend(eq("event_stream"),
+                argThat((String message) -> message.contains("order-status") && message.contains("READY_FOR_PICKUP")));
+    }
+}
@@ -0,0 +1,169 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nonitos.food.dto.notification.NotificationResponse;
+import com.nonitos.food.model.Notification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotInboxServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ListOperations<String, String> listOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private HotInboxService hotInboxService;
+
+    private NotificationResponse notification;
+
+    @BeforeEach
+    void setUp() {
+        hotInboxService = new HotInboxService(redisTemplate, objectMapper);
+        ReflectionTestUtils.setField(hotInboxService, "capacity", 3);
+        ReflectionTestUtils.setField(hotInboxService, "ttlHours", 24L);
+        lenient().when(redisTemplate.opsForList()).thenReturn(listOperations);
+
+        notification = NotificationResponse.builder()
+                .id(1L)
+                .type(Notification.NotificationType.ORDER_PAID)
+                .title("Payment Confirmed")
+                .message("Payment for order TEST123 has been confirmed.")
+                .isRead(false)
+                .createdAt(LocalDateTime.of(2026, 2, 9, 10, 0, 0, 123456000))
+                .build();
+    }
+
+    @Test
+    void getLatest_ServesCompleteListEndingWithMarker() throws Exception {
+        when(listOperations.range("notification_inbox:1", 0, 20))
+                .thenReturn(List.of(objectMapper.writeValueAsString(notification), "-"));
+
+        List<NotificationResponse> latest = hotInboxService.getLatest(1L, 21);
+
+        assertEquals(List.of(notification), latest);
+    }
+
+    @Test
+    void getLatest_MissesWhenListHoldsTooFew() throws Exception {
+        when(listOperations.range("notification_inbox:1", 0, 3))
+                .thenReturn(List.of(objectMapper.writeValueAsString(notification)));
+
+        assertNull(hotInboxService.getLatest(1L, 4));
+    }
+
+    @Test
+    void getLatest_MissesWhenListAbsent() {
+        when(listOperations.range("notification_inbox:1", 0, 1)).thenReturn(List.of());
+
+        assertNull(hotInboxService.getLatest(1L, 2));
+    }
+
+    @Test
+    void getLatest_FallsBackWhenRedisFails() {
+        when(listOperations.range("notification_inbox:1", 0, 1))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertNull(hotInboxService.getLatest(1L, 2));
+    }
+
+    @Test
+    void fill_AppendsMarkerWhenUserHasFewerThanCapacity() {
+        hotInboxService.fill(1L, "", List.of(notification));
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("notification_inbox:1", "notification_inbox_gen:1")),
+                eq("86400"), eq(""), anyString(), eq("-"));
+    }
+
+    @Test
+    void fill_OmitsMarkerWhenListIsFull() {
+        hotInboxService.fill(1L, "4", List.of(notification, notification, notification, notification));
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("notification_inbox:1", "notification_inbox_gen:1")),
+                eq("86400"), eq("4"), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void fill_SkippedWhenGenerationUnknown() {
+        hotInboxService.fill(1L, null, List.of(notification));
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void getGeneration_TreatsMissingCounterAsEmpty() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("notification_inbox_gen:1")).thenReturn(null, "3");
+
+        assertEquals("", hotInboxService.getGeneration(1L));
+        assertEquals("3", hotInboxService.getGeneration(1L));
+    }
+
+    @Test
+    void getGeneration_NullWhenRedisFails() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertNull(hotInboxService.getGeneration(1L));
+    }
+
+    @Test
+    void push_BumpsGenerationEvenWithoutList() {
+        hotInboxService.push(1L, notification);
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("notification_inbox:1", "notification_inbox_gen:1")),
+                anyString(), eq("3"), eq("86400"));
+    }
+
+    @Test
+    void push_EvictsWhenRedisFails() {
+        // lenient: the eviction calls the same method with other arguments
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), eq("3"), eq("86400")))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        hotInboxService.push(1L, notification);
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("notification_inbox:1", "notification_inbox_gen:1")), eq("86400"));
+    }
+
+    @Test
+    void disabled_NeverTouchesRedis() {
+        ReflectionTestUtils.setField(hotInboxService, "capacity", 0);
+
+        assertNull(hotInboxService.getLatest(1L, 21));
+        assertNull(hotInboxService.getGeneration(1L));
+        hotInboxService.fill(1L, "", List.of(notification));
+        hotInboxService.push(1L, notification);
+
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,147 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.dto.menu.MenuFitResponse;
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.exception.ResourceNotFoundException;
+import com.nonitos.food.model.ClientProfile;
+import com.nonitos.food.model.MenuFitScore;
+import com.nonitos.food.repository.ClientPreferencesRepository;
+import com.nonitos.food.repository.ClientProfileRepository;
+import com.nonitos.food.repository.MenuFitScoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuFitScoreServiceTest {
+
+    @Mock
+    private ClientPreferencesRepository clientPreferencesRepository;
+
+    @Mock
+    private ClientProfileRepository clientProfileRepository;
+
+    @Mock
+    private MenuFitScoreRepository menuFitScoreRepository;
+
+    @InjectMocks
+    private MenuFitScoreService menuFitScoreService;
+
+    private WeeklyMenuResponse menu;
+
+    @BeforeEach
+    void setUp() {
+        Map<DayOfWeek, WeeklyMenuResponse.DayMenus> days = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            days.put(day, WeeklyMenuResponse.DayMenus.builder()
+                    .breakfast(meal(400, 20))
+                    .lunch(meal(700, 40))
+                    .dinner(meal(600, 35))
+                    .build());
+        }
+        menu = WeeklyMenuResponse.builder().id(5L).menusByDay(days).build();
+    }
+
+    @Test
+    void scoreMenu_ScoresOnlySelectedMeals() {
+        ClientPreferencesRepository.NutritionTargets exact = targets(1L, 3, true, true, true, 1700, 95);
+        ClientPreferencesRepository.NutritionTargets lunchOnly = targets(2L, 1, false, true, false, 700, null);
+        ClientPreferencesRepository.NutritionTargets limited = targets(3L, 1, true, true, false, 800, null);
+        when(clientPreferencesRepository.findAllWithTargets()).thenReturn(List.of(exact, lunchOnly, limited));
+
+        int scored = menuFitScoreService.scoreMenu(menu);
+
+        assertEquals(3, scored);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MenuFitScore>> captor = ArgumentCaptor.forClass(List.class);
+        verify(menuFitScoreRepository).batchUpsert(captor.capture());
+        List<MenuFitScore> scores = captor.getValue();
+
+        assertEquals(100, scores.get(0).getFitPercent());
+        assertEquals(1700, scores.get(0).getAvgDailyCalories());
+        assertEquals(95, scores.get(0).getAvgDailyProtein());
+        assertEquals(100, scores.get(1).getFitPercent());
+        assertEquals(700, scores.get(1).getAvgDailyCalories());
+        // Only breakfast fits within one meal per day: 400 of 800 calories
+        assertEquals(50, scores.get(2).getFitPercent());
+        assertEquals(400, scores.get(2).getAvgDailyCalories());
+        assertEquals(5L, scores.get(2).getWeeklyMenuId());
+    }
+
+    @Test
+    void scoreMenu_SkipsClientsWithoutMeals() {
+        ClientPreferencesRepository.NutritionTargets none = targets(1L, 1, false, false, false, 1700, null);
+        when(clientPreferencesRepository.findAllWithTargets()).thenReturn(List.of(none));
+
+        assertEquals(0, menuFitScoreService.scoreMenu(menu));
+        verify(menuFitScoreRepository, never()).batchUpsert(anyList());
+    }
+
+    @Test
+    void getFitScore_Success() {
+        ClientProfile profile = new ClientProfile();
+        profile.setId(9L);
+        MenuFitScore score = MenuFitScore.builder()
+                .weeklyMenuId(5L)
+                .clientProfileId(9L)
+                .fitPercent(92)
+                .avgDailyCalories(1650)
+                .avgDailyProtein(90)
+                .avgDailyCarbs(200)
+                .avgDailyFats(55)
+                .build();
+        when(clientProfileRepository.findByUserId(1L)).thenReturn(Optional.of(profile));
+        when(menuFitScoreRepository.findByWeeklyMenuIdAndClientProfileId(5L, 9L)).thenReturn(Optional.of(score));
+
+        MenuFitResponse response = menuFitScoreService.getFitScore(5L, 1L);
+
+        assertEquals(92, response.getFitPercent());
+        assertEquals(1650, response.getAvgDailyCalories());
+    }
+
+    @Test
+    void getFitScore_NotComputed() {
+        ClientProfile profile = new ClientProfile();
+        profile.setId(9L);
+        when(clientProfileRepository.findByUserId(1L)).thenReturn(Optional.of(profile));
+        when(menuFitScoreRepository.findByWeeklyMenuIdAndClientProfileId(5L, 9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> menuFitScoreService.getFitScore(5L, 1L));
+    }
+
+    private WeeklyMenuResponse.MealInfo meal(int calories, int protein) {
+        return WeeklyMenuResponse.MealInfo.builder()
+                .calories(calories)
+                .protein(protein)
+                .carbs(50)
+                .fats(15)
+                .build();
+    }
+
+    private ClientPreferencesRepository.NutritionTargets targets(
+            Long profileId, int mealsPerDay, boolean breakfast, boolean lunch, boolean dinner,
+            Integer calories, Integer protein) {
+        ClientPreferencesRepository.NutritionTargets targets = mock(ClientPreferencesRepository.NutritionTargets.class);
+        lenient().when(targets.getClientProfileId()).thenReturn(profileId);
+        lenient().when(targets.getMealsPerDay()).thenReturn(mealsPerDay);
+        lenient().when(targets.getIncludeBreakfast()).thenReturn(breakfast);
+        lenient().when(targets.getIncludeLunch()).thenReturn(lunch);
+        lenient().when(targets.getIncludeDinner()).thenReturn(dinner);
+        lenient().when(targets.getTargetCalories()).thenReturn(calories);
+        lenient().when(targets.getTargetProtein()).thenReturn(protein);
+        return targets;
+    }
+}
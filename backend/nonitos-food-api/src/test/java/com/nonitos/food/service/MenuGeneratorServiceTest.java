@@ -0,0 +1,149 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.dto.menu.CreateWeeklyMenuRequest;
+import com.nonitos.food.dto.menu.GenerateMenuRequest;
+import com.nonitos.food.dto.menu.MenuProposalResponse;
+import com.nonitos.food.exception.BadRequestException;
+import com.nonitos.food.model.Dish;
+import com.nonitos.food.repository.DishRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuGeneratorServiceTest {
+
+    @Mock
+    private DishRepository dishRepository;
+
+    @InjectMocks
+    private MenuGeneratorService menuGeneratorService;
+
+    private List<DishRepository.DishMacros> pool;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(menuGeneratorService, "iterations", 5000);
+        ReflectionTestUtils.setField(menuGeneratorService, "runs", 4);
+
+        pool = new ArrayList<>();
+        long id = 1;
+        for (int i = 0; i < 10; i++) {
+            pool.add(dish(id++, Dish.DishCategory.BREAKFAST, 300 + i * 20, 15 + i));
+            pool.add(dish(id++, Dish.DishCategory.LUNCH, 600 + i * 30, 35 + i));
+            pool.add(dish(id++, Dish.DishCategory.DINNER, 500 + i * 25, 30 + i));
+        }
+    }
+
+    @Test
+    void generate_RespectsCategoriesAndRepeatLimit() {
+        when(dishRepository.findActiveMacrosByCategoryIn(any())).thenReturn(pool);
+        Map<Long, DishRepository.DishMacros> byId = pool.stream()
+                .collect(Collectors.toMap(DishRepository.DishMacros::getId, Function.identity()));
+
+        List<MenuProposalResponse> proposals = menuGeneratorService.generate(GenerateMenuRequest.builder()
+                .targetCalories(1700)
+                .targetProtein(90)
+                .maxRepeats(1)
+                .proposals(2)
+                .seed(42L)
+                .build());
+
+        assertFalse(proposals.isEmpty());
+        for (MenuProposalResponse proposal : proposals) {
+            assertEquals(21, proposal.getMenuDays().size());
+            assertEquals(21, proposal.getMenuDays().stream()
+                    .map(CreateWeeklyMenuRequest.MenuDayRequest::getDishId).distinct().count());
+            for (CreateWeeklyMenuRequest.MenuDayRequest day : proposal.getMenuDays()) {
+                assertEquals(day.getMealType(), byId.get(day.getDishId()).getCategory().name());
+            }
+        }
+    }
+
+    @Test
+    void generate_ConvergesToDailyTarget() {
+        when(dishRepository.findActiveMacrosByCategoryIn(any())).thenReturn(pool);
+
+        // Daily calories range from 1400 to 2075 in steps of 5, so 1700 is reachable many ways
+        MenuProposalResponse best = menuGeneratorService.generate(GenerateMenuRequest.builder()
+                .targetCalories(1700)
+                .maxRepeats(7)
+                .proposals(1)
+                .seed(7L)
+                .build()).get(0);
+
+        assertTrue(best.getScore() < 0.001);
+        assertEquals(7, best.getDailyTotals().size());
+        best.getDailyTotals().values()
+                .forEach(totals -> assertTrue(Math.abs(totals.getCalories() - 1700) <= 30));
+        assertEquals(best.getDailyTotals().values().stream().mapToInt(t -> t.getCalories()).sum(),
+                best.getWeeklyTotals().getCalories());
+    }
+
+    @Test
+    void generate_ProposalsOrderedByScore() {
+        when(dishRepository.findActiveMacrosByCategoryIn(any())).thenReturn(pool);
+
+        List<MenuProposalResponse> proposals = menuGeneratorService.generate(GenerateMenuRequest.builder()
+                .targetCalories(1650)
+                .targetProtein(100)
+                .targetFats(10)
+                .proposals(3)
+                .seed(1L)
+                .build());
+
+        for (int i = 1; i < proposals.size(); i++) {
+            assertTrue(proposals.get(i - 1).getScore() <= proposals.get(i).getScore());
+        }
+    }
+
+    @Test
+    void generate_RequiredTagsFilterPool() {
+        when(dishRepository.findActiveMacrosByCategoryInWithAllTags(any(), eq(Set.of("vegan", "keto")), eq(2L)))
+                .thenReturn(pool);
+
+        menuGeneratorService.generate(GenerateMenuRequest.builder()
+                .targetCalories(1700)
+                .requiredTags(List.of("vegan", "keto", "vegan"))
+                .seed(3L)
+                .build());
+
+        verify(dishRepository, never()).findActiveMacrosByCategoryIn(any());
+    }
+
+    @Test
+    void generate_NotEnoughDishes() {
+        when(dishRepository.findActiveMacrosByCategoryIn(any())).thenReturn(pool.subList(0, 9));
+
+        assertThrows(BadRequestException.class, () -> menuGeneratorService.generate(GenerateMenuRequest.builder()
+                .targetCalories(1700)
+                .maxRepeats(2)
+                .build()));
+    }
+
+    private DishRepository.DishMacros dish(long id, Dish.DishCategory category, int calories, int protein) {
+        DishRepository.DishMacros dish = mock(DishRepository.DishMacros.class);
+        lenient().when(dish.getId()).thenReturn(id);
+        lenient().when(dish.getCategory()).thenReturn(category);
+        lenient().when(dish.getCalories()).thenReturn(calories);
+        lenient().when(dish.getProtein()).thenReturn(protein);
+        lenient().when(dish.getCarbs()).thenReturn(60);
+        lenient().when(dish.getFats()).thenReturn(20);
+        return dish;
+    }
+}
@@ -0,0 +1,131 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.model.WeeklyMenu;
+import com.nonitos.food.repository.WeeklyMenuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuPublicationServiceTest {
+
+    @Mock
+    private WeeklyMenuRepository weeklyMenuRepository;
+
+    @Mock
+    private WeeklyMenuService weeklyMenuService;
+
+    @Mock
+    private MenuSnapshotService menuSnapshotService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<Object> future;
+
+    @InjectMocks
+    private MenuPublicationService menuPublicationService;
+
+    private WeeklyMenu menu;
+    private WeeklyMenuResponse prepared;
+    private LocalDateTime publishAt;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(menuPublicationService, "leadSeconds", 120L);
+
+        publishAt = LocalDateTime.now().plusSeconds(60);
+        menu = new WeeklyMenu();
+        menu.setStatus(WeeklyMenu.MenuStatus.DRAFT);
+        menu.setPublishAt(publishAt);
+        menu.setUpdatedAt(LocalDateTime.of(2026, 2, 5, 9, 30));
+        ReflectionTestUtils.setField(menu, "id", 1L);
+
+        prepared = WeeklyMenuResponse.builder().id(1L).status(WeeklyMenu.MenuStatus.DRAFT).build();
+    }
+
+    @Test
+    void prepareDuePublications_BuildsResponseAheadAndSchedulesAtPublishInstant() {
+        when(weeklyMenuRepository.findByStatusAndPublishAtLessThanEqual(eq(WeeklyMenu.MenuStatus.DRAFT), any()))
+                .thenReturn(List.of(menu));
+        when(weeklyMenuService.getMenuById(1L)).thenReturn(prepared);
+        doReturn(future).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+
+        menuPublicationService.prepareDuePublications();
+        menuPublicationService.prepareDuePublications();
+
+        verify(weeklyMenuService, times(1)).getMenuById(1L);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class),
+                eq(publishAt.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    @Test
+    void prepareDuePublications_EditedMenuIsPreparedAgain() {
+        when(weeklyMenuRepository.findByStatusAndPublishAtLessThanEqual(eq(WeeklyMenu.MenuStatus.DRAFT), any()))
+                .thenReturn(List.of(menu));
+        when(weeklyMenuService.getMenuById(1L)).thenReturn(prepared);
+        doReturn(future).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+
+        menuPublicationService.prepareDuePublications();
+        menu.setUpdatedAt(menu.getUpdatedAt().plusMinutes(1));
+        menuPublicationService.prepareDuePublications();
+
+        verify(future).cancel(false);
+        verify(weeklyMenuService, times(2)).getMenuById(1L);
+    }
+
+    @Test
+    void scheduledTask_PublishesPreparedMenuAndWarmsPublishedList() {
+        when(weeklyMenuRepository.findByStatusAndPublishAtLessThanEqual(eq(WeeklyMenu.MenuStatus.DRAFT), any()))
+                .thenReturn(List.of(menu));
+        when(weeklyMenuService.getMenuById(1L)).thenReturn(prepared);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(future).when(taskScheduler).schedule(task.capture(), any(Instant.class));
+        when(weeklyMenuService.publishPrepared(prepared, publishAt, menu.getUpdatedAt())).thenReturn(true);
+
+        menuPublicationService.prepareDuePublications();
+        task.getValue().run();
+
+        verify(menuSnapshotService).getPublishedMenus();
+        verify(weeklyMenuRepository, never()).findById(any());
+    }
+
+    @Test
+    void scheduledTask_PublishedByAnotherNode() {
+        when(weeklyMenuRepository.findByStatusAndPublishAtLessThanEqual(eq(WeeklyMenu.MenuStatus.DRAFT), any()))
+                .thenReturn(List.of(menu));
+        when(weeklyMenuService.getMenuById(1L)).thenReturn(prepared);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(future).when(taskScheduler).schedule(task.capture(), any(Instant.class));
+        when(weeklyMenuService.publishPrepared(any(), any(), any())).thenReturn(false);
+        WeeklyMenu published = new WeeklyMenu();
+        published.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(published));
+
+        menuPublicationService.prepareDuePublications();
+        task.getValue().run();
+
+        verifyNoInteractions(menuSnapshotService);
+        verify(weeklyMenuService, times(1)).getMenuById(1L);
+    }
+}
@@ -0,0 +1,130 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.event.MenuPublishedEvent;
+import com.nonitos.food.model.WeeklyMenu;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuSnapshotServiceTest {
+
+    @Mock
+    private WeeklyMenuService weeklyMenuService;
+
+    @Mock
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    private MenuSnapshotService menuSnapshotService;
+
+    private WeeklyMenuResponse publishedMenu;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        menuSnapshotService = new MenuSnapshotService(weeklyMenuService, objectMapper, binaryRedisTemplate);
+        ReflectionTestUtils.setField(menuSnapshotService, "redisTtlDays", 30L);
+        ReflectionTestUtils.setField(menuSnapshotService, "listTtlSeconds", 30L);
+
+        publishedMenu = WeeklyMenuResponse.builder()
+                .id(1L)
+                .weekStartDate(LocalDate.of(2026, 2, 9))
+                .weekEndDate(LocalDate.of(2026, 2, 15))
+                .status(WeeklyMenu.MenuStatus.PUBLISHED)
+                .totalCalories(10500)
+                .build();
+
+        lenient().when(binaryRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void onMenuPublished_ServesSnapshotWithoutRebuilding() throws Exception {
+        menuSnapshotService.onMenuPublished(new MenuPublishedEvent(publishedMenu));
+
+        MenuSnapshotService.Snapshot snapshot = menuSnapshotService.getMenu(1L);
+
+        String json = new String(snapshot.getJson(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"weekStartDate\":\"2026-02-09\""));
+        assertTrue(json.contains("\"success\":true"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.getGzip()))) {
+            assertArrayEquals(snapshot.getJson(), gzip.readAllBytes());
+        }
+        verify(valueOperations).set(eq("menu_snapshot:menu:1"), any(byte[].class), eq(30L), any());
+        verify(binaryRedisTemplate).delete("menu_snapshot:published");
+        verifyNoInteractions(weeklyMenuService);
+    }
+
+    @Test
+    void getMenu_DraftIsRenderedButNotCached() {
+        WeeklyMenuResponse draft = WeeklyMenuResponse.builder()
+                .id(2L)
+                .status(WeeklyMenu.MenuStatus.DRAFT)
+                .build();
+        when(weeklyMenuService.getMenuById(2L)).thenReturn(draft);
+
+        menuSnapshotService.getMenu(2L);
+        menuSnapshotService.getMenu(2L);
+
+        verify(weeklyMenuService, times(2)).getMenuById(2L);
+        verify(valueOperations, never()).set(anyString(), any(byte[].class), anyLong(), any());
+    }
+
+    @Test
+    void getPublishedMenus_CachedLocallyAfterFirstLoad() {
+        when(weeklyMenuService.getPublishedMenus()).thenReturn(List.of(publishedMenu));
+
+        MenuSnapshotService.Snapshot first = menuSnapshotService.getPublishedMenus();
+        MenuSnapshotService.Snapshot second = menuSnapshotService.getPublishedMenus();
+
+        assertSame(first, second);
+        verify(weeklyMenuService, times(1)).getPublishedMenus();
+    }
+
+    @Test
+    void snapshot_MatchesStrongEtag() {
+        menuSnapshotService.onMenuPublished(new MenuPublishedEvent(publishedMenu));
+        MenuSnapshotService.Snapshot snapshot = menuSnapshotService.getMenu(1L);
+
+        assertTrue(snapshot.getEtag().startsWith("\""));
+        assertTrue(snapshot.matches(snapshot.getEtag()));
+        assertTrue(snapshot.matches("\"other\", " + snapshot.getEtag()));
+        assertFalse(snapshot.matches("\"other\""));
+        assertFalse(snapshot.matches(null));
+    }
+
+    @Test
+    void acceptsGzip_HonorsQualityValues() {
+        assertTrue(MenuSnapshotService.Snapshot.acceptsGzip("gzip, deflate, br"));
+        assertTrue(MenuSnapshotService.Snapshot.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(MenuSnapshotService.Snapshot.acceptsGzip("*"));
+        assertFalse(MenuSnapshotService.Snapshot.acceptsGzip("gzip;q=0"));
+        assertFalse(MenuSnapshotService.Snapshot.acceptsGzip("gzip; q=0.0, *"));
+        assertFalse(MenuSnapshotService.Snapshot.acceptsGzip("*;q=0, identity"));
+        assertFalse(MenuSnapshotService.Snapshot.acceptsGzip("deflate"));
+        assertFalse(MenuSnapshotService.Snapshot.acceptsGzip(null));
+    }
+}
@@ -0,0 +1,269 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.dto.notification.BroadcastRequest;
+import com.nonitos.food.dto.notification.BroadcastResponse;
+import com.nonitos.food.event.BroadcastRequestedEvent;
+import com.nonitos.food.exception.BadRequestException;
+import com.nonitos.food.model.Notification;
+import com.nonitos.food.model.NotificationBroadcast;
+import com.nonitos.food.model.NotificationTemplate;
+import com.nonitos.food.model.User;
+import com.nonitos.food.repository.NotificationBroadcastRepository;
+import com.nonitos.food.repository.NotificationRepository;
+import com.nonitos.food.repository.NotificationTemplateRepository;
+import com.nonitos.food.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBroadcastServiceTest {
+
+    @Mock
+    private NotificationBroadcastRepository notificationBroadcastRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationTemplateRepository notificationTemplateRepository;
+
+    @Mock
+    private UnreadCounterService unreadCounterService;
+
+    @Mock
+    private HotInboxService hotInboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationBroadcastService notificationBroadcastService;
+
+    private NotificationBroadcast broadcast;
+
+    @BeforeEach
+    void setUp() {
+        NotificationTemplateRegistry notificationTemplateRegistry =
+                new NotificationTemplateRegistry(notificationTemplateRepository);
+        ReflectionTestUtils.setField(notificationTemplateRegistry, "ttlSeconds", 300L);
+        notificationBroadcastService = new NotificationBroadcastService(
+                notificationBroadcastRepository, notificationRepository, userRepository,
+                notificationTemplateRegistry, unreadCounterService, hotInboxService, eventPublisher,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(notificationBroadcastService, "chunkSize", 2);
+        ReflectionTestUtils.setField(notificationBroadcastService, "staleAfterMs", 600000L);
+
+        broadcast = NotificationBroadcast.builder()
+                .type(Notification.NotificationType.SYSTEM_ANNOUNCEMENT)
+                .title("Holiday hours")
+                .message("Closed on Monday")
+                .targetRole(User.UserRole.CLIENT)
+                .status(NotificationBroadcast.BroadcastStatus.PENDING)
+                .totalRecipients(3)
+                .deliveredCount(0)
+                .lastUserId(0L)
+                .build();
+        setId(broadcast, 7L);
+    }
+
+    @Test
+    void createBroadcast_RendersOnceAndPublishesEvent() {
+        NotificationTemplate template = new NotificationTemplate();
+        template.setType(Notification.NotificationType.SYSTEM_ANNOUNCEMENT);
+        template.setTitleTemplate("{{title}}");
+        template.setMessageTemplate("{{message}}");
+        when(notificationTemplateRepository.findByType(Notification.NotificationType.SYSTEM_ANNOUNCEMENT))
+                .thenReturn(Optional.of(template));
+        when(userRepository.countByRole(User.UserRole.CLIENT)).thenReturn(3L);
+        when(notificationBroadcastRepository.save(any(NotificationBroadcast.class))).thenAnswer(invocation -> {
+            NotificationBroadcast saved = invocation.getArgument(0);
+            setId(saved, 7L);
+            return saved;
+        });
+
+        BroadcastResponse response = notificationBroadcastService.createBroadcast(BroadcastRequest.builder()
+                .type(Notification.NotificationType.SYSTEM_ANNOUNCEMENT)
+                .variables(Map.of("title", "Holiday hours", "message", "Closed on Monday"))
+                .build(), 1L);
+
+        assertEquals("Holiday hours", response.getTitle());
+        assertEquals("Closed on Monday", response.getMessage());
+        assertEquals(User.UserRole.CLIENT, response.getTargetRole());
+        assertEquals(NotificationBroadcast.BroadcastStatus.PENDING, response.getStatus());
+        assertEquals(3, response.getTotalRecipients());
+        ArgumentCaptor<BroadcastRequestedEvent> event = ArgumentCaptor.forClass(BroadcastRequestedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(7L, event.getValue().getBroadcastId());
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void createBroadcast_RejectsPersonalType() {
+        assertThrows(BadRequestException.class, () -> notificationBroadcastService.createBroadcast(
+                BroadcastRequest.builder().type(Notification.NotificationType.ORDER_PAID).build(), 1L));
+        verifyNoInteractions(notificationBroadcastRepository, eventPublisher);
+    }
+
+    @Test
+    void deliver_InsertsChunksAndRecordsProgress() {
+        when(notificationBroadcastRepository.claim(eq(7L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(notificationBroadcastRepository.findById(7L)).thenReturn(Optional.of(broadcast));
+        when(userRepository.findIdsByRoleAfter(User.UserRole.CLIENT, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(2L, 5L));
+        when(userRepository.findIdsByRoleAfter(User.UserRole.CLIENT, 5L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(9L));
+        when(userRepository.findIdsByRoleAfter(User.UserRole.CLIENT, 9L, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+        when(notificationRepository.insertForUserRange(broadcast, 0L, 5L)).thenReturn(2);
+        when(notificationRepository.insertForUserRange(broadcast, 5L, 9L)).thenReturn(1);
+        when(notificationBroadcastRepository.recordProgress(eq(7L), eq(0L), eq(5L), eq(2), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(notificationBroadcastRepository.recordProgress(eq(7L), eq(5L), eq(9L), eq(1), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        assertTrue(notificationBroadcastService.deliver(7L));
+
+        verify(unreadCounterService).evict(List.of(2L, 5L));
+        verify(unreadCounterService).evict(List.of(9L));
+        verify(hotInboxService).evict(List.of(2L, 5L));
+        assertEquals(NotificationBroadcast.BroadcastStatus.COMPLETED, broadcast.getStatus());
+        assertNotNull(broadcast.getCompletedAt());
+    }
+
+    @Test
+    void deliver_ResumesAfterLastDeliveredUser() {
+        broadcast.setLastUserId(5L);
+        broadcast.setStartedAt(LocalDateTime.now().minusMinutes(1));
+        when(notificationBroadcastRepository.claim(eq(7L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(notificationBroadcastRepository.findById(7L)).thenReturn(Optional.of(broadcast));
+        when(userRepository.findIdsByRoleAfter(User.UserRole.CLIENT, 5L, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+
+        notificationBroadcastService.deliver(7L);
+
+        verify(notificationRepository, never()).insertForUserRange(any(), any(), any());
+        assertEquals(NotificationBroadcast.BroadcastStatus.COMPLETED, broadcast.getStatus());
+    }
+
+    @Test
+    void deliver_MarksFailedOnError() {
+        when(notificationBroadcastRepository.claim(eq(7L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(notificationBroadcastRepository.findById(7L)).thenReturn(Optional.of(broadcast));
+        when(userRepository.findIdsByRoleAfter(User.UserRole.CLIENT, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(2L));
+        when(notificationRepository.insertForUserRange(broadcast, 0L, 2L))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        notificationBroadcastService.deliver(7L);
+
+        ArgumentCaptor<NotificationBroadcast> captor = ArgumentCaptor.forClass(NotificationBroadcast.class);
+        verify(notificationBroadcastRepository).save(captor.capture());
+        assertEquals(NotificationBroadcast.BroadcastStatus.FAILED, captor.getValue().getStatus());
+        assertEquals("connection lost", captor.getValue().getFailureReason());
+        verifyNoInteractions(unreadCounterService);
+    }
+
+    @Test
+    void deliver_SkipsBroadcastHeldByAnotherNode() {
+        when(notificationBroadcastRepository.claim(eq(7L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertFalse(notificationBroadcastService.deliver(7L));
+
+        verifyNoInteractions(userRepository, notificationRepository);
+        verify(notificationBroadcastRepository, never()).save(any());
+    }
+
+    @Test
+    void deliver_StopsWithoutFailingWhenTakenOver() {
+        when(notificationBroadcastRepository.claim(eq(7L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(notificationBroadcastRepository.findById(7L)).thenReturn(Optional.of(broadcast));
+        when(userRepository.findIdsByRoleAfter(User.UserRole.CLIENT, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(2L, 5L));
+        when(notificationRepository.insertForUserRange(broadcast, 0L, 5L)).thenReturn(2);
+        when(notificationBroadcastRepository.recordProgress(eq(7L), eq(0L), eq(5L), eq(2), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertTrue(notificationBroadcastService.deliver(7L));
+
+        verify(transactionManager).rollback(null);
+        verify(notificationBroadcastRepository, never()).save(any());
+        verifyNoInteractions(unreadCounterService, hotInboxService);
+    }
+
+    @Test
+    void resumeStale_DeliversStaleBroadcasts() {
+        when(notificationBroadcastRepository.findStaleIds(any(LocalDateTime.class))).thenReturn(List.of(7L, 8L));
+        when(notificationBroadcastRepository.claim(eq(7L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(notificationBroadcastRepository.claim(eq(8L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(notificationBroadcastRepository.findById(7L)).thenReturn(Optional.of(broadcast));
+        when(userRepository.findIdsByRoleAfter(User.UserRole.CLIENT, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+
+        assertEquals(1, notificationBroadcastService.resumeStale());
+
+        assertEquals(NotificationBroadcast.BroadcastStatus.COMPLETED, broadcast.getStatus());
+    }
+
+    @Test
+    void resumeBroadcast_PublishesEventForFailedBroadcast() {
+        broadcast.setStatus(NotificationBroadcast.BroadcastStatus.FAILED);
+        when(notificationBroadcastRepository.findById(7L)).thenReturn(Optional.of(broadcast));
+
+        notificationBroadcastService.resumeBroadcast(7L);
+
+        ArgumentCaptor<BroadcastRequestedEvent> event = ArgumentCaptor.forClass(BroadcastRequestedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(7L, event.getValue().getBroadcastId());
+    }
+
+    @Test
+    void resumeBroadcast_RejectsBroadcastWithRecentProgress() {
+        broadcast.setStatus(NotificationBroadcast.BroadcastStatus.RUNNING);
+        broadcast.setUpdatedAt(LocalDateTime.now().minusMinutes(1));
+        when(notificationBroadcastRepository.findById(7L)).thenReturn(Optional.of(broadcast));
+
+        assertThrows(BadRequestException.class, () -> notificationBroadcastService.resumeBroadcast(7L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private void setId(Object entity, Long id) {
+        try {
+            var idField = entity.getClass().getSuperclass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+        } catch (Exception e) {
+            // Ignore
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationRetentionService notificationRetentionService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRetentionService = new NotificationRetentionService(
+                notificationRepository, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(notificationRetentionService, "retentionMonths", 12);
+        ReflectionTestUtils.setField(notificationRetentionService, "premakeMonths", 3);
+        ReflectionTestUtils.setField(notificationRetentionService, "archiveBatchSize", 2);
+    }
+
+    @Test
+    void maintainPartitions_CreatesAheadAndDropsExpired() {
+        YearMonth current = YearMonth.of(2026, 10);
+        when(notificationRepository.tryLockPartitionMaintenance()).thenReturn(true);
+        when(notificationRepository.findMonthlyPartitions()).thenReturn(List.of(
+                YearMonth.of(2025, 8), YearMonth.of(2025, 9), YearMonth.of(2025, 10), YearMonth.of(2026, 10)));
+
+        List<YearMonth> dropped = notificationRetentionService.maintainPartitions(current);
+
+        assertEquals(List.of(YearMonth.of(2025, 8), YearMonth.of(2025, 9)), dropped);
+        verify(notificationRepository).createMonthlyPartition(YearMonth.of(2026, 10));
+        verify(notificationRepository).createMonthlyPartition(YearMonth.of(2027, 1));
+        verify(notificationRepository, times(4)).createMonthlyPartition(any());
+        verify(notificationRepository, never()).dropMonthlyPartition(YearMonth.of(2025, 10));
+    }
+
+    @Test
+    void maintainPartitions_SkipsWhenAnotherNodeHoldsLock() {
+        when(notificationRepository.tryLockPartitionMaintenance()).thenReturn(false);
+
+        List<YearMonth> dropped = notificationRetentionService.maintainPartitions(YearMonth.of(2026, 10));
+
+        assertTrue(dropped.isEmpty());
+        verify(notificationRepository, never()).createMonthlyPartition(any());
+        verify(notificationRepository, never()).findMonthlyPartitions();
+    }
+
+    @Test
+    void maintainPartitions_KeepsEverythingWithoutRetention() {
+        ReflectionTestUtils.setField(notificationRetentionService, "retentionMonths", 0);
+        when(notificationRepository.tryLockPartitionMaintenance()).thenReturn(true);
+
+        notificationRetentionService.maintainPartitions(YearMonth.of(2026, 10));
+
+        verify(notificationRepository, never()).findMonthlyPartitions();
+        verify(notificationRepository, never()).dropMonthlyPartition(any());
+    }
+
+    @Test
+    void checkPartitionHorizon_FailsWhenNextMonthIsMissing() {
+        when(notificationRepository.findMonthlyPartitions())
+                .thenReturn(List.of(YearMonth.of(2026, 9), YearMonth.of(2026, 10)));
+
+        assertFalse(notificationRetentionService.checkPartitionHorizon(YearMonth.of(2026, 10)));
+        assertTrue(notificationRetentionService.checkPartitionHorizon(YearMonth.of(2026, 9)));
+    }
+
+    @Test
+    void archiveRead_MovesBatchesUntilShortBatch() {
+        LocalDateTime cutoff = LocalDateTime.of(2026, 9, 18, 0, 0);
+        when(notificationRepository.archiveReadBefore(cutoff, 2)).thenReturn(2, 2, 1);
+
+        int archived = notificationRetentionService.archiveRead(cutoff);
+
+        assertEquals(5, archived);
+        verify(notificationRepository, times(3)).archiveReadBefore(cutoff, 2);
+    }
+
+    @Test
+    void maintain_SkipsArchivingWhenDisabled() {
+        when(notificationRepository.tryLockPartitionMaintenance()).thenReturn(true);
+        when(notificationRepository.findMonthlyPartitions()).thenReturn(List.of());
+
+        notificationRetentionService.maintain();
+
+        verify(notificationRepository, times(2)).findMonthlyPartitions();
+
+        verify(notificationRepository, never()).archiveReadBefore(any(), anyInt());
+    }
+}
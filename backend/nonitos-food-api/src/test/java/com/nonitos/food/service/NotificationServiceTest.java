@@ -1,6 +1,8 @@
 package com.nonitos.food.service;
 
+import com.nonitos.food.dto.notification.NotificationPageResponse;
 import com.nonitos.food.dto.notification.NotificationResponse;
+import com.nonitos.food.exception.BadRequestException;
 import com.nonitos.food.exception.ResourceNotFoundException;
 import com.nonitos.food.model.Notification;
 import com.nonitos.food.model.NotificationTemplate;
@@ -11,17 +13,26 @@ import com.nonitos.food.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +47,24 @@ class NotificationServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private UnreadCounterService unreadCounterService;
+
+    @Mock
+    private EventStreamService eventStreamService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private HotInboxService hotInboxService;
+
+    @Mock
+    private TaskScheduler coalescingScheduler;
+
     private NotificationService notificationService;
 
     private User testUser;
@@ -45,6 +73,13 @@ class NotificationServiceTest {
 
     @BeforeEach
     void setUp() {
+        NotificationTemplateRegistry notificationTemplateRegistry =
+                new NotificationTemplateRegistry(notificationTemplateRepository);
+        ReflectionTestUtils.setField(notificationTemplateRegistry, "ttlSeconds", 300L);
+        notificationService = new NotificationService(
+                notificationRepository, notificationTemplateRegistry, userRepository, unreadCounterService, eventStreamService,
+                emailService, new TransactionTemplate(transactionManager), hotInboxService, coalescingScheduler);
+
         testUser = new User();
         testUser.setEmail("test@example.com");
         testUser.setFullName("Test User");
@@ -83,6 +118,10 @@ class NotificationServiceTest {
         );
 
         verify(notificationRepository).save(any(Notification.class));
+        verify(unreadCounterService).add(1L, 1);
+        verify(eventStreamService).send(eq(1L), eq("notification"), any(NotificationResponse.class));
+        verify(emailService).send("test@example.com", "Order Created", "Your order TEST123 has been created");
+        verify(hotInboxService).push(eq(1L), any(NotificationResponse.class));
     }
 
     @Test
@@ -100,15 +139,152 @@ class NotificationServiceTest {
         );
     }
 
+    @Test
+    void sendNotification_CoalescesBurstIntoDigest() {
+        enableCoalescing();
+        NotificationTemplate paid = template(Notification.NotificationType.ORDER_PAID,
+                "Payment Confirmed", "Payment for order {{orderCode}} has been confirmed.");
+        NotificationTemplate digest = template(Notification.NotificationType.ORDER_UPDATES,
+                "{{count}} Order Updates", "{{summary}}");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(notificationTemplateRepository.findByType(Notification.NotificationType.ORDER_CREATED))
+                .thenReturn(Optional.of(testTemplate));
+        when(notificationTemplateRepository.findByType(Notification.NotificationType.ORDER_PAID))
+                .thenReturn(Optional.of(paid));
+        when(notificationTemplateRepository.findByType(Notification.NotificationType.ORDER_UPDATES))
+                .thenReturn(Optional.of(digest));
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        notificationService.sendNotification(1L, Notification.NotificationType.ORDER_CREATED,
+                Map.of("orderCode", "TEST123"), 1L, "Order");
+        notificationService.sendNotification(1L, Notification.NotificationType.ORDER_PAID,
+                Map.of("orderCode", "TEST123"), 1L, "Order");
+
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(eventStreamService, times(2)).send(eq(1L), eq("notification-pending"), any(NotificationResponse.class));
+        verify(coalescingScheduler).schedule(any(Runnable.class), any(Instant.class));
+
+        notificationService.flush(1L);
+
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository).save(saved.capture());
+        assertEquals(Notification.NotificationType.ORDER_UPDATES, saved.getValue().getType());
+        assertEquals("2 Order Updates", saved.getValue().getTitle());
+        assertEquals("Your order TEST123 has been created\nPayment for order TEST123 has been confirmed.",
+                saved.getValue().getMessage());
+        assertEquals(1L, saved.getValue().getRelatedEntityId());
+        verify(unreadCounterService).add(1L, 1);
+        verify(emailService).send(eq("test@example.com"), eq("2 Order Updates"), anyString());
+    }
+
+    @Test
+    void sendNotification_StoresSingleHeldNotificationAsIs() {
+        enableCoalescing();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(notificationTemplateRepository.findByType(Notification.NotificationType.ORDER_CREATED))
+                .thenReturn(Optional.of(testTemplate));
+        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+
+        notificationService.sendNotification(1L, Notification.NotificationType.ORDER_CREATED,
+                Map.of("orderCode", "TEST123"), 1L, "Order");
+        notificationService.flush(1L);
+        notificationService.flush(1L);
+
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository).save(saved.capture());
+        assertEquals(Notification.NotificationType.ORDER_CREATED, saved.getValue().getType());
+        verify(emailService).send("test@example.com", "Order Created", "Your order TEST123 has been created");
+    }
+
     @Test
     void getUserNotifications_Success() {
-        when(notificationRepository.findByUserIdOrderByCreatedAtDesc(1L))
+        when(hotInboxService.getLatest(1L, 21)).thenReturn(null);
+        when(notificationRepository.findInboxFirstPage(1L, PageRequest.of(0, 21)))
                 .thenReturn(List.of(testNotification));
 
-        List<NotificationResponse> notifications = notificationService.getUserNotifications(1L);
+        NotificationPageResponse page = notificationService.getUserNotifications(1L, null, 20);
 
-        assertNotNull(notifications);
-        assertEquals(1, notifications.size());
+        assertNotNull(page);
+        assertEquals(1, page.getNotifications().size());
+        assertNull(page.getNextCursor());
+        verify(hotInboxService).fill(eq(1L), isNull(), anyList());
+    }
+
+    @Test
+    void getUserNotifications_ServedFromHotInbox() {
+        NotificationResponse latest = NotificationResponse.builder()
+                .id(3L)
+                .type(Notification.NotificationType.ORDER_PAID)
+                .isRead(false)
+                .createdAt(LocalDateTime.of(2026, 2, 9, 10, 0))
+                .build();
+        NotificationResponse older = NotificationResponse.builder()
+                .id(2L)
+                .type(Notification.NotificationType.ORDER_CREATED)
+                .isRead(false)
+                .createdAt(LocalDateTime.of(2026, 2, 9, 9, 0))
+                .build();
+        when(hotInboxService.getLatest(1L, 2)).thenReturn(List.of(latest, older));
+
+        NotificationPageResponse page = notificationService.getUserNotifications(1L, null, 1);
+
+        assertEquals(List.of(latest), page.getNotifications());
+        assertNotNull(page.getNextCursor());
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void getUserNotifications_RefillsHotInboxWithCapacityRows() {
+        when(hotInboxService.getLatest(1L, 21)).thenReturn(null);
+        when(hotInboxService.getCapacity()).thenReturn(50);
+        when(hotInboxService.getGeneration(1L)).thenReturn("7");
+        when(notificationRepository.findInboxFirstPage(1L, PageRequest.of(0, 50)))
+                .thenReturn(List.of(testNotification));
+
+        NotificationPageResponse page = notificationService.getUserNotifications(1L, null, 20);
+
+        assertEquals(1, page.getNotifications().size());
+        var inOrder = inOrder(hotInboxService, notificationRepository);
+        inOrder.verify(hotInboxService).getGeneration(1L);
+        inOrder.verify(notificationRepository).findInboxFirstPage(1L, PageRequest.of(0, 50));
+        inOrder.verify(hotInboxService).fill(1L, "7", page.getNotifications());
+    }
+
+    @Test
+    void getUserNotifications_FollowsCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 2, 9, 10, 0, 0, 123456000);
+        Notification older = new Notification();
+        older.setUser(testUser);
+        older.setType(Notification.NotificationType.ORDER_PAID);
+        older.setIsRead(true);
+        older.setCreatedAt(createdAt.minusMinutes(5));
+        setId(older, 2L);
+        testNotification.setCreatedAt(createdAt);
+        when(hotInboxService.getLatest(1L, 2)).thenReturn(null);
+        when(notificationRepository.findInboxFirstPage(1L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(testNotification, older));
+
+        NotificationPageResponse first = notificationService.getUserNotifications(1L, null, 1);
+
+        assertEquals(1, first.getNotifications().size());
+        assertNotNull(first.getNextCursor());
+
+        when(notificationRepository.findInboxPageBefore(1L, createdAt, 1L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(older));
+
+        NotificationPageResponse second = notificationService.getUserNotifications(1L, first.getNextCursor(), 1);
+
+        assertEquals(2L, second.getNotifications().get(0).getId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void getUserNotifications_InvalidCursor() {
+        assertThrows(BadRequestException.class,
+                () -> notificationService.getUserNotifications(1L, "not-a-cursor", 20));
+        verifyNoInteractions(notificationRepository);
     }
 
     @Test
@@ -124,11 +300,12 @@ class NotificationServiceTest {
 
     @Test
     void getUnreadCount_Success() {
-        when(notificationRepository.countByUserIdAndIsRead(1L, false)).thenReturn(5L);
+        when(unreadCounterService.get(1L)).thenReturn(5L);
 
         long count = notificationService.getUnreadCount(1L);
 
         assertEquals(5L, count);
+        verifyNoInteractions(notificationRepository);
     }
 
     @Test
@@ -138,16 +315,34 @@ class NotificationServiceTest {
         notificationService.markAsRead(1L, 1L);
 
         verify(notificationRepository).save(any(Notification.class));
+        verify(unreadCounterService).add(1L, -1);
+        verify(hotInboxService).evict(1L);
     }
 
     @Test
     void markAllAsRead_Success() {
-        when(notificationRepository.findByUserIdAndIsReadOrderByCreatedAtDesc(1L, false))
-                .thenReturn(List.of(testNotification));
+        when(notificationRepository.markAllAsReadByUserId(eq(1L), any(LocalDateTime.class))).thenReturn(3);
 
         notificationService.markAllAsRead(1L);
 
-        verify(notificationRepository).saveAll(anyList());
+        verify(notificationRepository, never()).saveAll(anyList());
+        verify(unreadCounterService).reset(1L);
+        verify(hotInboxService).evict(1L);
+    }
+
+    private void enableCoalescing() {
+        ReflectionTestUtils.setField(notificationService, "coalescingWindowMs", 60_000L);
+        ReflectionTestUtils.setField(notificationService, "coalescedTypes", Set.of(
+                Notification.NotificationType.ORDER_CREATED, Notification.NotificationType.ORDER_PAID));
+    }
+
+    private NotificationTemplate template(Notification.NotificationType type, String title, String message) {
+        NotificationTemplate template = new NotificationTemplate();
+        template.setType(type);
+        template.setTitleTemplate(title);
+        template.setMessageTemplate(message);
+        template.setIsActive(true);
+        return template;
     }
 
     private void setId(Object entity, Long id) {
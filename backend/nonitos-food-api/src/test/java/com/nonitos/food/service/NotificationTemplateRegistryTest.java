@@ -0,0 +1,97 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.exception.ResourceNotFoundException;
+import com.nonitos.food.model.Notification;
+import com.nonitos.food.model.NotificationTemplate;
+import com.nonitos.food.repository.NotificationTemplateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationTemplateRegistryTest {
+
+    @Mock
+    private NotificationTemplateRepository notificationTemplateRepository;
+
+    @InjectMocks
+    private NotificationTemplateRegistry notificationTemplateRegistry;
+
+    private NotificationTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationTemplateRegistry, "ttlSeconds", 300L);
+
+        template = new NotificationTemplate();
+        template.setType(Notification.NotificationType.ORDER_CREATED);
+        template.setTitleTemplate("Order {{orderCode}}");
+        template.setMessageTemplate("Hi {{name}}, your order {{orderCode}} is due {{pickup}}.");
+        template.setIsActive(true);
+    }
+
+    @Test
+    void get_CompilesOncePerType() {
+        when(notificationTemplateRepository.findByType(Notification.NotificationType.ORDER_CREATED))
+                .thenReturn(Optional.of(template));
+
+        NotificationTemplateRegistry.Compiled first = notificationTemplateRegistry.get(
+                Notification.NotificationType.ORDER_CREATED);
+        NotificationTemplateRegistry.Compiled second = notificationTemplateRegistry.get(
+                Notification.NotificationType.ORDER_CREATED);
+
+        assertSame(first, second);
+        verify(notificationTemplateRepository, times(1)).findByType(Notification.NotificationType.ORDER_CREATED);
+    }
+
+    @Test
+    void get_ReloadsTemplateAfterTtl() {
+        ReflectionTestUtils.setField(notificationTemplateRegistry, "ttlSeconds", 0L);
+        when(notificationTemplateRepository.findByType(Notification.NotificationType.ORDER_CREATED))
+                .thenReturn(Optional.of(template));
+
+        notificationTemplateRegistry.get(Notification.NotificationType.ORDER_CREATED);
+        notificationTemplateRegistry.get(Notification.NotificationType.ORDER_CREATED);
+
+        verify(notificationTemplateRepository, times(2)).findByType(Notification.NotificationType.ORDER_CREATED);
+    }
+
+    @Test
+    void get_TemplateNotFound() {
+        when(notificationTemplateRepository.findByType(Notification.NotificationType.ORDER_PAID))
+                .thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> notificationTemplateRegistry.get(Notification.NotificationType.ORDER_PAID));
+    }
+
+    @Test
+    void render_ReplacesEveryOccurrenceInSinglePass() {
+        NotificationTemplateRegistry.CompiledTemplate compiled =
+                NotificationTemplateRegistry.CompiledTemplate.compile(template.getMessageTemplate());
+
+        String rendered = compiled.render(Map.of("name", "Ana", "orderCode", "ORD1", "pickup", "{{name}}"));
+
+        assertEquals("Hi Ana, your order ORD1 is due {{name}}.", rendered);
+    }
+
+    @Test
+    void render_KeepsUnknownAndUnterminatedPlaceholders() {
+        NotificationTemplateRegistry.CompiledTemplate compiled =
+                NotificationTemplateRegistry.CompiledTemplate.compile("{{a}} and {{b}} and {{c");
+
+        assertEquals("1 and {{b}} and {{c", compiled.render(Map.of("a", "1")));
+        assertEquals("{{a}} and {{b}} and {{c", compiled.render(null));
+        assertEquals("plain", NotificationTemplateRegistry.CompiledTemplate.compile("plain").render(Map.of()));
+    }
+}
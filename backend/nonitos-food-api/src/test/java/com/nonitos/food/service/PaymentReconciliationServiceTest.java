@@ -0,0 +1,168 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.model.Order;
+import com.nonitos.food.model.PaymentDiscrepancy;
+import com.nonitos.food.model.PaymentReconciliationRun;
+import com.nonitos.food.model.Transaction;
+import com.nonitos.food.repository.OrderRepository;
+import com.nonitos.food.repository.OrderRepositoryCustom.OrderPaymentState;
+import com.nonitos.food.repository.PaymentDiscrepancyRepository;
+import com.nonitos.food.repository.PaymentReconciliationRunRepository;
+import com.nonitos.food.repository.TransactionRepository;
+import com.nonitos.food.repository.TransactionRepositoryCustom.TransactionPaymentState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationServiceTest {
+
+    private static final BigDecimal TOTAL = new BigDecimal("210.00");
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PaymentReconciliationRunRepository paymentReconciliationRunRepository;
+
+    @Mock
+    private PaymentDiscrepancyRepository paymentDiscrepancyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentReconciliationService paymentReconciliationService;
+
+    private final List<PaymentDiscrepancy> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        paymentReconciliationService = new PaymentReconciliationService(orderRepository, transactionRepository,
+                paymentReconciliationRunRepository, paymentDiscrepancyRepository,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(paymentReconciliationService, "fetchSize", 1000);
+        ReflectionTestUtils.setField(paymentReconciliationService, "flushSize", 2);
+        ReflectionTestUtils.setField(paymentReconciliationService, "stuckProcessingMinutes", 60L);
+    }
+
+    @Test
+    void reconcile_ReportsDiscrepancies() {
+        LocalDateTime now = LocalDateTime.now();
+        when(transactionRepository.tryLockReconciliation()).thenReturn(true);
+        when(paymentReconciliationRunRepository.save(any(PaymentReconciliationRun.class))).thenAnswer(invocation -> {
+            PaymentReconciliationRun run = invocation.getArgument(0);
+            run.setId(5L);
+            return run;
+        });
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(paymentDiscrepancyRepository).batchInsert(anyList());
+        when(orderRepository.streamPaymentStates(1000)).thenReturn(Stream.of(
+                order(1L, Order.OrderStatus.PAID),
+                order(2L, Order.OrderStatus.PAID),
+                order(3L, Order.OrderStatus.COMPLETED),
+                order(4L, Order.OrderStatus.PENDING_PAYMENT),
+                order(5L, Order.OrderStatus.CANCELLED),
+                order(6L, Order.OrderStatus.PENDING_PAYMENT),
+                order(7L, Order.OrderStatus.PAID)));
+        when(transactionRepository.streamPaymentStates(1000)).thenReturn(Stream.of(
+                transaction(10L, 1L, Transaction.TransactionStatus.COMPLETED, TOTAL, now),
+                transaction(11L, 3L, Transaction.TransactionStatus.COMPLETED, TOTAL, now),
+                transaction(12L, 3L, Transaction.TransactionStatus.COMPLETED, TOTAL, now),
+                transaction(13L, 4L, Transaction.TransactionStatus.COMPLETED, TOTAL, now),
+                transaction(14L, 5L, Transaction.TransactionStatus.FAILED, TOTAL, now),
+                transaction(15L, 6L, Transaction.TransactionStatus.PROCESSING, TOTAL, now.minusHours(3)),
+                transaction(16L, 7L, Transaction.TransactionStatus.COMPLETED, new BigDecimal("100.00"), now)));
+
+        PaymentReconciliationRun run = paymentReconciliationService.reconcile();
+
+        assertEquals(PaymentReconciliationRun.RunStatus.COMPLETED, run.getStatus());
+        assertEquals(7L, run.getOrdersChecked());
+        assertEquals(7L, run.getTransactionsChecked());
+        assertEquals(5L, run.getDiscrepancyCount());
+        Map<Long, PaymentDiscrepancy.DiscrepancyType> byOrder = inserted.stream()
+                .collect(Collectors.toMap(PaymentDiscrepancy::getOrderId, PaymentDiscrepancy::getType));
+        assertEquals(Map.of(
+                2L, PaymentDiscrepancy.DiscrepancyType.PAID_WITHOUT_PAYMENT,
+                3L, PaymentDiscrepancy.DiscrepancyType.DUPLICATE_PAYMENT,
+                4L, PaymentDiscrepancy.DiscrepancyType.UNAPPLIED_PAYMENT,
+                6L, PaymentDiscrepancy.DiscrepancyType.STUCK_PROCESSING,
+                7L, PaymentDiscrepancy.DiscrepancyType.AMOUNT_MISMATCH), byOrder);
+        assertTrue(inserted.stream().allMatch(discrepancy -> discrepancy.getRunId().equals(5L)));
+    }
+
+    @Test
+    void reconcile_ReportsCancelledOrderWithPayment() {
+        when(transactionRepository.tryLockReconciliation()).thenReturn(true);
+        when(paymentReconciliationRunRepository.save(any(PaymentReconciliationRun.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        doAnswer(invocation -> inserted.addAll(invocation.getArgument(0)))
+                .when(paymentDiscrepancyRepository).batchInsert(anyList());
+        when(orderRepository.streamPaymentStates(1000)).thenReturn(Stream.of(order(1L, Order.OrderStatus.CANCELLED)));
+        when(transactionRepository.streamPaymentStates(1000)).thenReturn(Stream.of(
+                transaction(10L, 1L, Transaction.TransactionStatus.COMPLETED, TOTAL, LocalDateTime.now())));
+
+        paymentReconciliationService.reconcile();
+
+        assertEquals(1, inserted.size());
+        assertEquals(PaymentDiscrepancy.DiscrepancyType.CANCELLED_WITH_PAYMENT, inserted.get(0).getType());
+        assertEquals(10L, inserted.get(0).getTransactionId());
+    }
+
+    @Test
+    void reconcile_SkipsWhenAnotherNodeHoldsLock() {
+        when(transactionRepository.tryLockReconciliation()).thenReturn(false);
+
+        assertNull(paymentReconciliationService.reconcile());
+
+        verify(orderRepository, never()).streamPaymentStates(anyInt());
+        verify(paymentReconciliationRunRepository, never()).save(any());
+    }
+
+    @Test
+    void reconcile_MarksRunFailed() {
+        when(transactionRepository.tryLockReconciliation()).thenReturn(true);
+        List<PaymentReconciliationRun.RunStatus> saved = new ArrayList<>();
+        when(paymentReconciliationRunRepository.save(any(PaymentReconciliationRun.class))).thenAnswer(invocation -> {
+            PaymentReconciliationRun run = invocation.getArgument(0);
+            saved.add(run.getStatus());
+            return run;
+        });
+        when(orderRepository.streamPaymentStates(1000)).thenThrow(new IllegalStateException("Connection reset"));
+
+        assertThrows(IllegalStateException.class, () -> paymentReconciliationService.reconcile());
+
+        assertEquals(List.of(PaymentReconciliationRun.RunStatus.RUNNING, PaymentReconciliationRun.RunStatus.FAILED),
+                saved);
+    }
+
+    private OrderPaymentState order(Long id, Order.OrderStatus status) {
+        return new OrderPaymentState(id, status, TOTAL);
+    }
+
+    private TransactionPaymentState transaction(Long id, Long orderId, Transaction.TransactionStatus status,
+                                                BigDecimal amount, LocalDateTime createdAt) {
+        return new TransactionPaymentState(id, orderId, status, amount, createdAt);
+    }
+}
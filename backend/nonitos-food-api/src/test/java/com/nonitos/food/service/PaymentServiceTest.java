@@ -1,27 +1,46 @@
 package com.nonitos.food.service;
 
+import com.nonitos.food.dto.payment.BatchVerificationRequest;
+import com.nonitos.food.dto.payment.BatchVerificationResponse;
 import com.nonitos.food.dto.payment.CreditCardPaymentRequest;
 import com.nonitos.food.dto.payment.ManualPaymentRequest;
+import com.nonitos.food.dto.payment.PendingPaymentPageResponse;
 import com.nonitos.food.dto.payment.TransactionResponse;
+import com.nonitos.food.event.OrderPaidEvent;
+import com.nonitos.food.event.OrderStatusChangedEvent;
+import com.nonitos.food.event.PaymentProcessedEvent;
 import com.nonitos.food.exception.BadRequestException;
 import com.nonitos.food.exception.ResourceNotFoundException;
 import com.nonitos.food.model.*;
+import com.nonitos.food.payment.ChargeRequest;
+import com.nonitos.food.payment.ChargeResult;
+import com.nonitos.food.payment.PaymentGateway;
+import com.nonitos.food.payment.PaymentGatewayException;
+import com.nonitos.food.payment.PaymentGatewayRejectedException;
 import com.nonitos.food.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +52,18 @@ class PaymentServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
-    @InjectMocks
+    @Mock
+    private DailyRevenueRollupRepository dailyRevenueRollupRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
     private PaymentService paymentService;
 
     private Order testOrder;
@@ -41,6 +71,9 @@ class PaymentServiceTest {
 
     @BeforeEach
     void setUp() {
+        paymentService = new PaymentService(transactionRepository, orderRepository, dailyRevenueRollupRepository,
+                eventPublisher, new TransactionTemplate(transactionManager), Runnable::run, paymentGateway);
+
         User testUser = new User();
         testUser.setEmail("test@example.com");
         testUser.setFullName("Test User");
@@ -84,13 +117,265 @@ class PaymentServiceTest {
         when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
         when(transactionRepository.findFirstByOrderIdAndStatusOrderByCreatedAtDesc(
                 1L, Transaction.TransactionStatus.COMPLETED)).thenReturn(Optional.empty());
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        when(transactionRepository.save(saved.capture())).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            setId(transaction, 1L);
+            return transaction;
+        });
+        when(transactionRepository.lockById(1L)).thenAnswer(invocation -> Optional.of(saved.getValue()));
+        ArgumentCaptor<ChargeRequest> charge = ArgumentCaptor.forClass(ChargeRequest.class);
+        when(paymentGateway.charge(charge.capture())).thenReturn(ChargeResult.approved());
 
         TransactionResponse response = paymentService.processCreditCardPayment(request);
 
         assertNotNull(response);
-        verify(transactionRepository).save(any(Transaction.class));
+        assertEquals(Transaction.TransactionStatus.PROCESSING, response.getStatus());
+        assertEquals(Transaction.TransactionStatus.COMPLETED, saved.getValue().getStatus());
+        assertEquals(Order.OrderStatus.PAID, testOrder.getStatus());
+        verify(transactionRepository, times(2)).save(any(Transaction.class));
         verify(orderRepository).save(any(Order.class));
+        verify(eventPublisher).publishEvent(any(OrderPaidEvent.class));
+        verify(eventPublisher).publishEvent(any(PaymentProcessedEvent.class));
+        assertEquals(response.getTransactionReference(), charge.getValue().getReference());
+        assertEquals("4242424242424242", charge.getValue().getCardNumber());
+        verify(dailyRevenueRollupRepository).moveRevenue(any(LocalDate.class), eq("CRC"),
+                isNull(), eq(Transaction.TransactionStatus.PROCESSING), eq(testOrder.getTotalAmount()), eq(1L));
+        verify(dailyRevenueRollupRepository).moveRevenue(any(LocalDate.class), eq("CRC"),
+                eq(Transaction.TransactionStatus.PROCESSING), eq(Transaction.TransactionStatus.COMPLETED),
+                eq(testOrder.getTotalAmount()), eq(1L));
+    }
+
+    @Test
+    void processCreditCardPayment_Declined() {
+        CreditCardPaymentRequest request = CreditCardPaymentRequest.builder()
+                .orderId(1L)
+                .cardNumber("4242424242424241")
+                .cardHolderName("Test User")
+                .expiryMonth("12")
+                .expiryYear("2025")
+                .cvv("123")
+                .build();
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(transactionRepository.findFirstByOrderIdAndStatusOrderByCreatedAtDesc(
+                1L, Transaction.TransactionStatus.COMPLETED)).thenReturn(Optional.empty());
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        when(transactionRepository.save(saved.capture())).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            setId(transaction, 1L);
+            return transaction;
+        });
+        when(transactionRepository.lockById(1L)).thenAnswer(invocation -> Optional.of(saved.getValue()));
+        when(paymentGateway.charge(any(ChargeRequest.class))).thenReturn(ChargeResult.declined("Card declined by issuer"));
+
+        paymentService.processCreditCardPayment(request);
+
+        assertEquals(Transaction.TransactionStatus.FAILED, saved.getValue().getStatus());
+        assertEquals("Card declined by issuer", saved.getValue().getFailureReason());
+        assertEquals(Order.OrderStatus.PENDING_PAYMENT, testOrder.getStatus());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(eventPublisher, never()).publishEvent(any(OrderPaidEvent.class));
+        verify(eventPublisher).publishEvent(any(PaymentProcessedEvent.class));
+    }
+
+    @Test
+    void processCreditCardPayment_RefundsWhenOrderCancelledDuringCharge() {
+        CreditCardPaymentRequest request = CreditCardPaymentRequest.builder()
+                .orderId(1L)
+                .cardNumber("4242424242424242")
+                .cardHolderName("Test User")
+                .expiryMonth("12")
+                .expiryYear("2025")
+                .cvv("123")
+                .build();
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(transactionRepository.findFirstByOrderIdAndStatusOrderByCreatedAtDesc(
+                1L, Transaction.TransactionStatus.COMPLETED)).thenReturn(Optional.empty());
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        when(transactionRepository.save(saved.capture())).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            setId(transaction, 1L);
+            return transaction;
+        });
+        when(transactionRepository.lockById(1L)).thenAnswer(invocation -> {
+            testOrder.setStatus(Order.OrderStatus.CANCELLED);
+            return Optional.of(saved.getValue());
+        });
+        when(paymentGateway.charge(any(ChargeRequest.class))).thenReturn(ChargeResult.approved());
+
+        paymentService.processCreditCardPayment(request);
+
+        assertEquals(Transaction.TransactionStatus.REFUNDED, saved.getValue().getStatus());
+        verify(paymentGateway).refund(saved.getValue().getTransactionReference());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(eventPublisher, never()).publishEvent(any(OrderPaidEvent.class));
+        verify(dailyRevenueRollupRepository).moveRevenue(any(LocalDate.class), eq("CRC"),
+                eq(Transaction.TransactionStatus.PROCESSING), eq(Transaction.TransactionStatus.COMPLETED),
+                eq(testOrder.getTotalAmount()), eq(1L));
+        verify(dailyRevenueRollupRepository).moveRevenue(any(LocalDate.class), eq("CRC"),
+                eq(Transaction.TransactionStatus.COMPLETED), eq(Transaction.TransactionStatus.REFUNDED),
+                eq(testOrder.getTotalAmount()), eq(1L));
+    }
+
+    @Test
+    void processCreditCardPayment_KeepsChargeCompletedWhenRefundFails() {
+        CreditCardPaymentRequest request = CreditCardPaymentRequest.builder()
+                .orderId(1L)
+                .cardNumber("4242424242424242")
+                .cardHolderName("Test User")
+                .expiryMonth("12")
+                .expiryYear("2025")
+                .cvv("123")
+                .build();
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(transactionRepository.findFirstByOrderIdAndStatusOrderByCreatedAtDesc(
+                1L, Transaction.TransactionStatus.COMPLETED)).thenReturn(Optional.empty());
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        when(transactionRepository.save(saved.capture())).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            setId(transaction, 1L);
+            return transaction;
+        });
+        when(transactionRepository.lockById(1L)).thenAnswer(invocation -> {
+            testOrder.setStatus(Order.OrderStatus.CANCELLED);
+            return Optional.of(saved.getValue());
+        });
+        when(paymentGateway.charge(any(ChargeRequest.class))).thenReturn(ChargeResult.approved());
+        doThrow(new PaymentGatewayException("Payment provider timed out after 5000 ms"))
+                .when(paymentGateway).refund(any());
+
+        paymentService.processCreditCardPayment(request);
+
+        assertEquals(Transaction.TransactionStatus.COMPLETED, saved.getValue().getStatus());
+        assertEquals("Order no longer pending payment, refund due", saved.getValue().getProviderResponse());
+        assertEquals(Order.OrderStatus.CANCELLED, testOrder.getStatus());
+        verify(transactionRepository, times(1)).lockById(1L);
+        verify(eventPublisher, never()).publishEvent(any(OrderPaidEvent.class));
+    }
+
+    @Test
+    void processCreditCardPayment_ProviderUnavailable() {
+        CreditCardPaymentRequest request = CreditCardPaymentRequest.builder()
+                .orderId(1L)
+                .cardNumber("4242424242424242")
+                .cardHolderName("Test User")
+                .expiryMonth("12")
+                .expiryYear("2025")
+                .cvv("123")
+                .build();
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(transactionRepository.findFirstByOrderIdAndStatusOrderByCreatedAtDesc(
+                1L, Transaction.TransactionStatus.COMPLETED)).thenReturn(Optional.empty());
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        when(transactionRepository.save(saved.capture())).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            setId(transaction, 1L);
+            return transaction;
+        });
+        when(transactionRepository.lockById(1L)).thenAnswer(invocation -> Optional.of(saved.getValue()));
+        when(paymentGateway.charge(any(ChargeRequest.class)))
+                .thenThrow(new PaymentGatewayRejectedException("Payment provider unavailable, circuit open"));
+
+        paymentService.processCreditCardPayment(request);
+
+        assertEquals(Transaction.TransactionStatus.FAILED, saved.getValue().getStatus());
+        assertEquals("Payment provider error: Payment provider unavailable, circuit open",
+                saved.getValue().getFailureReason());
+        assertEquals(Order.OrderStatus.PENDING_PAYMENT, testOrder.getStatus());
+        verify(eventPublisher).publishEvent(any(PaymentProcessedEvent.class));
+    }
+
+    @Test
+    void processCreditCardPayment_LeavesProcessingWhenOutcomeUnknown() {
+        CreditCardPaymentRequest request = CreditCardPaymentRequest.builder()
+                .orderId(1L)
+                .cardNumber("4242424242424242")
+                .cardHolderName("Test User")
+                .expiryMonth("12")
+                .expiryYear("2025")
+                .cvv("123")
+                .build();
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(transactionRepository.findFirstByOrderIdAndStatusOrderByCreatedAtDesc(
+                1L, Transaction.TransactionStatus.COMPLETED)).thenReturn(Optional.empty());
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        when(transactionRepository.save(saved.capture())).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            setId(transaction, 1L);
+            return transaction;
+        });
+        when(paymentGateway.charge(any(ChargeRequest.class)))
+                .thenThrow(new PaymentGatewayException("Payment provider timed out after 5000 ms"));
+
+        paymentService.processCreditCardPayment(request);
+
+        assertEquals(Transaction.TransactionStatus.PROCESSING, saved.getValue().getStatus());
+        verify(transactionRepository, never()).lockById(any());
+        verify(eventPublisher, never()).publishEvent(any(PaymentProcessedEvent.class));
+    }
+
+    @Test
+    void resolveCardPayment_SettlesApprovedCharge() {
+        testTransaction.setStatus(Transaction.TransactionStatus.PROCESSING);
+        when(paymentGateway.findCharge("stripe_test123")).thenReturn(Optional.of(ChargeResult.approved()));
+        when(transactionRepository.lockById(1L)).thenReturn(Optional.of(testTransaction));
+
+        assertTrue(paymentService.resolveCardPayment(1L, "stripe_test123"));
+
+        assertEquals(Transaction.TransactionStatus.COMPLETED, testTransaction.getStatus());
+        assertEquals(Order.OrderStatus.PAID, testOrder.getStatus());
+        verify(eventPublisher).publishEvent(any(OrderPaidEvent.class));
+    }
+
+    @Test
+    void resolveCardPayment_FailsChargeUnknownToProvider() {
+        testTransaction.setStatus(Transaction.TransactionStatus.PROCESSING);
+        when(paymentGateway.findCharge("stripe_test123")).thenReturn(Optional.empty());
+        when(transactionRepository.lockById(1L)).thenReturn(Optional.of(testTransaction));
+
+        assertTrue(paymentService.resolveCardPayment(1L, "stripe_test123"));
+
+        assertEquals(Transaction.TransactionStatus.FAILED, testTransaction.getStatus());
+        assertEquals("Charge not found at payment provider", testTransaction.getFailureReason());
+        assertEquals(Order.OrderStatus.PENDING_PAYMENT, testOrder.getStatus());
+    }
+
+    @Test
+    void resolveCardPayment_LeavesProcessingWhenProviderCannotAnswer() {
+        testTransaction.setStatus(Transaction.TransactionStatus.PROCESSING);
+        when(paymentGateway.findCharge("stripe_test123"))
+                .thenThrow(new PaymentGatewayRejectedException("Payment provider unavailable, circuit open"));
+
+        assertFalse(paymentService.resolveCardPayment(1L, "stripe_test123"));
+
+        assertEquals(Transaction.TransactionStatus.PROCESSING, testTransaction.getStatus());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void processCreditCardPayment_AlreadyInProgress() {
+        CreditCardPaymentRequest request = CreditCardPaymentRequest.builder()
+                .orderId(1L)
+                .cardNumber("4242424242424242")
+                .cardHolderName("Test User")
+                .expiryMonth("12")
+                .expiryYear("2025")
+                .cvv("123")
+                .build();
+
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(transactionRepository.findFirstByOrderIdAndStatusOrderByCreatedAtDesc(
+                1L, Transaction.TransactionStatus.COMPLETED)).thenReturn(Optional.empty());
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_transactions_order_processing"));
+
+        assertThrows(BadRequestException.class, () -> paymentService.processCreditCardPayment(request));
+        verify(transactionRepository, never()).lockById(any());
     }
 
     @Test
@@ -158,6 +443,10 @@ class PaymentServiceTest {
         assertNotNull(response);
         verify(transactionRepository).save(any(Transaction.class));
         verify(orderRepository).save(any(Order.class));
+        verify(eventPublisher).publishEvent(any(OrderPaidEvent.class));
+        verify(dailyRevenueRollupRepository).moveRevenue(any(LocalDate.class), eq("CRC"),
+                eq(Transaction.TransactionStatus.PENDING), eq(Transaction.TransactionStatus.COMPLETED),
+                eq(new BigDecimal("210.00")), eq(1L));
     }
 
     @Test
@@ -172,6 +461,103 @@ class PaymentServiceTest {
         assertNotNull(response);
         verify(transactionRepository).save(any(Transaction.class));
         verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getPendingVerificationQueue_PagesByCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 2, 9, 0);
+        Transaction second = new Transaction();
+        second.setOrder(testOrder);
+        second.setStatus(Transaction.TransactionStatus.PENDING);
+        second.setCreatedAt(createdAt.plusMinutes(1));
+        setId(second, 2L);
+        testTransaction.setStatus(Transaction.TransactionStatus.PENDING);
+        testTransaction.setCreatedAt(createdAt);
+        when(transactionRepository.findQueueFirstPage(Transaction.TransactionStatus.PENDING, PageRequest.of(0, 2)))
+                .thenReturn(List.of(testTransaction, second));
+
+        PendingPaymentPageResponse page = paymentService.getPendingVerificationQueue(null, 1);
+
+        assertEquals(1, page.getPayments().size());
+        assertEquals("TEST1234", page.getPayments().get(0).getOrderCode());
+        assertEquals("Test User", page.getPayments().get(0).getClientName());
+        assertNotNull(page.getNextCursor());
+
+        when(transactionRepository.findQueuePageAfter(Transaction.TransactionStatus.PENDING, createdAt, 1L,
+                PageRequest.of(0, 2))).thenReturn(List.of(second));
+
+        PendingPaymentPageResponse next = paymentService.getPendingVerificationQueue(page.getNextCursor(), 1);
+
+        assertEquals(2L, next.getPayments().get(0).getId());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void verifyManualPayments_ApprovesSetWise() {
+        LocalDateTime monday = LocalDateTime.of(2026, 3, 2, 9, 0);
+        when(transactionRepository.approvePending(eq(Set.of(1L, 2L, 3L)), any(LocalDateTime.class))).thenReturn(List.of(
+                new TransactionRepositoryCustom.VerifiedTransaction(1L, 1L, new BigDecimal("210.00"), "CRC",
+                        monday, "TEST1234", 1L),
+                new TransactionRepositoryCustom.VerifiedTransaction(2L, 2L, new BigDecimal("90.00"), "CRC",
+                        monday.plusHours(2), "TEST5678", 2L)));
+
+        BatchVerificationResponse response = paymentService.verifyManualPayments(BatchVerificationRequest.builder()
+                .transactionIds(List.of(1L, 2L, 3L, 1L))
+                .approved(true)
+                .build());
+
+        assertEquals(2, response.getVerified());
+        assertEquals(2, response.getOrdersPaid());
+        assertEquals(List.of(3L), response.getSkippedTransactionIds());
+        verify(dailyRevenueRollupRepository).moveRevenue(LocalDate.of(2026, 3, 2), "CRC",
+                Transaction.TransactionStatus.PENDING, Transaction.TransactionStatus.COMPLETED,
+                new BigDecimal("300.00"), 2);
+        verify(eventPublisher, times(2)).publishEvent(any(OrderPaidEvent.class));
+        verify(eventPublisher, times(2)).publishEvent(any(OrderStatusChangedEvent.class));
+        verify(transactionRepository, never()).rejectPending(any(), any());
+    }
+
+    @Test
+    void verifyManualPayments_Rejects() {
+        when(transactionRepository.rejectPending(eq(Set.of(1L)), any(LocalDateTime.class))).thenReturn(List.of(
+                new TransactionRepositoryCustom.VerifiedTransaction(1L, 1L, new BigDecimal("210.00"), "CRC",
+                        LocalDateTime.of(2026, 3, 2, 9, 0), null, null)));
+
+        BatchVerificationResponse response = paymentService.verifyManualPayments(BatchVerificationRequest.builder()
+                .transactionIds(List.of(1L))
+                .approved(false)
+                .build());
+
+        assertEquals(1, response.getVerified());
+        assertEquals(0, response.getOrdersPaid());
+        assertTrue(response.getSkippedTransactionIds().isEmpty());
+        verify(dailyRevenueRollupRepository).moveRevenue(LocalDate.of(2026, 3, 2), "CRC",
+                Transaction.TransactionStatus.PENDING, Transaction.TransactionStatus.FAILED,
+                new BigDecimal("210.00"), 1);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void recordRefund_RefundsCompletedPayment() {
+        assertTrue(paymentService.recordRefund(testTransaction));
+
+        assertEquals(Transaction.TransactionStatus.REFUNDED, testTransaction.getStatus());
+        verify(transactionRepository).save(testTransaction);
+        verify(dailyRevenueRollupRepository).moveRevenue(any(LocalDate.class), eq("CRC"),
+                eq(Transaction.TransactionStatus.COMPLETED), eq(Transaction.TransactionStatus.REFUNDED),
+                eq(new BigDecimal("210.00")), eq(1L));
+        verify(eventPublisher).publishEvent(any(PaymentProcessedEvent.class));
+    }
+
+    @Test
+    void recordRefund_IgnoresPaymentNotCompleted() {
+        testTransaction.setStatus(Transaction.TransactionStatus.FAILED);
+
+        assertFalse(paymentService.recordRefund(testTransaction));
+
+        assertEquals(Transaction.TransactionStatus.FAILED, testTransaction.getStatus());
+        verifyNoInteractions(transactionRepository, dailyRevenueRollupRepository, eventPublisher);
     }
 
     @Test
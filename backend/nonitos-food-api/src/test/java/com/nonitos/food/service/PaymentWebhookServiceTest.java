@@ -0,0 +1,268 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nonitos.food.exception.BadRequestException;
+import com.nonitos.food.exception.UnauthorizedException;
+import com.nonitos.food.model.PaymentWebhookEvent;
+import com.nonitos.food.model.Transaction;
+import com.nonitos.food.payment.WebhookSignatureVerifier;
+import com.nonitos.food.repository.PaymentWebhookEventRepository;
+import com.nonitos.food.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentWebhookServiceTest {
+
+    private static final String PAYLOAD =
+            "{\"id\":\"evt_1\",\"type\":\"charge.succeeded\",\"reference\":\"TXN-1\"}";
+    private static final String DEDUPE_KEY = "payment_webhook:evt_1";
+
+    @Mock
+    private PaymentWebhookEventRepository paymentWebhookEventRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WebhookSignatureVerifier verifier;
+    private PaymentWebhookService paymentWebhookService;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new WebhookSignatureVerifier("whsec_test", 300,
+                Clock.fixed(Instant.now(), ZoneOffset.UTC));
+        paymentWebhookService = new PaymentWebhookService(verifier, paymentWebhookEventRepository,
+                transactionRepository, paymentService, redisTemplate, new ObjectMapper(),
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(paymentWebhookService, "dedupeTtlHours", 72L);
+        ReflectionTestUtils.setField(paymentWebhookService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(paymentWebhookService, "workers", 0);
+        ReflectionTestUtils.setField(paymentWebhookService, "batchSize", 10);
+        ReflectionTestUtils.setField(paymentWebhookService, "recoveryAgeMs", 60000L);
+        ReflectionTestUtils.invokeMethod(paymentWebhookService, "start");
+    }
+
+    @Test
+    void receive_RejectsInvalidSignature() {
+        String signature = verifier.sign(PAYLOAD);
+
+        assertThrows(UnauthorizedException.class,
+                () -> paymentWebhookService.receive(PAYLOAD.replace("TXN-1", "TXN-2"), signature));
+        assertThrows(UnauthorizedException.class, () -> paymentWebhookService.receive(PAYLOAD, null));
+        verifyNoInteractions(redisTemplate, paymentWebhookEventRepository);
+    }
+
+    @Test
+    void receive_RejectsEventWithoutReference() {
+        String payload = "{\"id\":\"evt_1\",\"type\":\"charge.succeeded\"}";
+
+        assertThrows(BadRequestException.class,
+                () -> paymentWebhookService.receive(payload, verifier.sign(payload)));
+        verifyNoInteractions(redisTemplate, paymentWebhookEventRepository);
+    }
+
+    @Test
+    void receive_StoresQueuesAndRemembersNewEvent() {
+        when(redisTemplate.hasKey(DEDUPE_KEY)).thenReturn(false);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(paymentWebhookEventRepository.insertIfAbsent(any(PaymentWebhookEvent.class))).thenReturn(7L);
+
+        assertTrue(paymentWebhookService.receive(PAYLOAD, verifier.sign(PAYLOAD)));
+
+        assertEquals(1, paymentWebhookService.getQueuedCount());
+        var inOrder = inOrder(paymentWebhookEventRepository, valueOperations);
+        inOrder.verify(paymentWebhookEventRepository).insertIfAbsent(argThat(event ->
+                "evt_1".equals(event.getEventId())
+                        && "TXN-1".equals(event.getTransactionReference())
+                        && PAYLOAD.equals(event.getPayload())
+                        && event.getStatus() == PaymentWebhookEvent.EventStatus.RECEIVED));
+        inOrder.verify(valueOperations).set(DEDUPE_KEY, "1", 72L, TimeUnit.HOURS);
+    }
+
+    @Test
+    void receive_DropsDuplicateSeenByRedis() {
+        when(redisTemplate.hasKey(DEDUPE_KEY)).thenReturn(true);
+
+        assertFalse(paymentWebhookService.receive(PAYLOAD, verifier.sign(PAYLOAD)));
+
+        assertEquals(0, paymentWebhookService.getQueuedCount());
+        verifyNoInteractions(paymentWebhookEventRepository);
+    }
+
+    @Test
+    void receive_DropsDuplicateStoredInDatabase_WhenRedisUnavailable() {
+        when(redisTemplate.hasKey(DEDUPE_KEY)).thenThrow(new RuntimeException("Connection refused"));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RuntimeException("Connection refused"))
+                .when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(paymentWebhookEventRepository.insertIfAbsent(any(PaymentWebhookEvent.class))).thenReturn(null);
+
+        assertFalse(paymentWebhookService.receive(PAYLOAD, verifier.sign(PAYLOAD)));
+
+        assertEquals(0, paymentWebhookService.getQueuedCount());
+    }
+
+    @Test
+    void receive_RemembersNothing_WhenStoreFails() {
+        when(redisTemplate.hasKey(DEDUPE_KEY)).thenReturn(false);
+        when(paymentWebhookEventRepository.insertIfAbsent(any(PaymentWebhookEvent.class)))
+                .thenThrow(new RuntimeException("Database down"));
+
+        assertThrows(RuntimeException.class, () -> paymentWebhookService.receive(PAYLOAD, verifier.sign(PAYLOAD)));
+
+        verify(redisTemplate, never()).opsForValue();
+        assertEquals(0, paymentWebhookService.getQueuedCount());
+    }
+
+    @Test
+    void apply_AppliesBatchToTransactions() {
+        Transaction processing = Transaction.builder()
+                .transactionReference("TXN-1")
+                .status(Transaction.TransactionStatus.PROCESSING)
+                .build();
+        Transaction refunded = Transaction.builder()
+                .transactionReference("TXN-2")
+                .status(Transaction.TransactionStatus.REFUNDED)
+                .build();
+        PaymentWebhookEvent succeeded = event(1L, "charge.succeeded", "TXN-1");
+        PaymentWebhookEvent refundAgain = event(2L, "charge.refunded", "TXN-2");
+        PaymentWebhookEvent unknown = event(3L, "charge.succeeded", "TXN-9");
+        when(paymentWebhookEventRepository.lockReceived(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(succeeded, refundAgain, unknown));
+        when(transactionRepository.lockByTransactionReferenceIn(anyCollection()))
+                .thenReturn(List.of(processing, refunded));
+        when(paymentService.settleCardPayment(processing, true, null)).thenAnswer(invocation -> {
+            processing.setStatus(Transaction.TransactionStatus.COMPLETED);
+            return PaymentService.Settlement.PAID;
+        });
+        when(paymentService.recordRefund(refunded)).thenReturn(false);
+
+        assertEquals(1, paymentWebhookService.apply(List.of(1L, 2L, 3L)));
+
+        assertEquals(PaymentWebhookEvent.EventStatus.APPLIED, succeeded.getStatus());
+        assertEquals("Transaction COMPLETED", succeeded.getOutcome());
+        assertEquals(PaymentWebhookEvent.EventStatus.IGNORED, refundAgain.getStatus());
+        assertEquals("Transaction already REFUNDED", refundAgain.getOutcome());
+        assertEquals(PaymentWebhookEvent.EventStatus.IGNORED, unknown.getStatus());
+        assertEquals("Unknown transaction", unknown.getOutcome());
+        assertNotNull(unknown.getProcessedAt());
+        verify(paymentWebhookEventRepository).saveAll(List.of(succeeded, refundAgain, unknown));
+    }
+
+    @Test
+    void apply_RefundsChargeForOrderNoLongerPending() {
+        Transaction processing = Transaction.builder()
+                .transactionReference("TXN-1")
+                .status(Transaction.TransactionStatus.PROCESSING)
+                .build();
+        processing.setId(11L);
+        PaymentWebhookEvent succeeded = event(1L, "charge.succeeded", "TXN-1");
+        when(paymentWebhookEventRepository.lockReceived(List.of(1L))).thenReturn(List.of(succeeded));
+        when(transactionRepository.lockByTransactionReferenceIn(anyCollection())).thenReturn(List.of(processing));
+        when(paymentService.settleCardPayment(processing, true, null)).thenReturn(PaymentService.Settlement.REFUND_DUE);
+
+        assertEquals(1, paymentWebhookService.apply(List.of(1L)));
+
+        var inOrder = inOrder(transactionManager, paymentService);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(paymentService).refundCardPayment(11L, "TXN-1");
+    }
+
+    @Test
+    void apply_RetriesFailedBatchOneEventAtATime() {
+        Transaction good = Transaction.builder()
+                .transactionReference("TXN-1")
+                .status(Transaction.TransactionStatus.PROCESSING)
+                .build();
+        Transaction bad = Transaction.builder()
+                .transactionReference("TXN-2")
+                .status(Transaction.TransactionStatus.PROCESSING)
+                .build();
+        when(paymentWebhookEventRepository.lockReceived(List.of(1L, 2L)))
+                .thenReturn(List.of(event(1L, "charge.succeeded", "TXN-1"), event(2L, "charge.succeeded", "TXN-2")));
+        PaymentWebhookEvent goodAlone = event(1L, "charge.succeeded", "TXN-1");
+        when(paymentWebhookEventRepository.lockReceived(List.of(1L))).thenReturn(List.of(goodAlone));
+        PaymentWebhookEvent badAlone = event(2L, "charge.succeeded", "TXN-2");
+        when(paymentWebhookEventRepository.lockReceived(List.of(2L)))
+                .thenReturn(List.of(event(2L, "charge.succeeded", "TXN-2")), List.of(badAlone));
+        when(transactionRepository.lockByTransactionReferenceIn(anyCollection())).thenReturn(List.of(good, bad));
+        when(paymentService.settleCardPayment(good, true, null)).thenReturn(PaymentService.Settlement.PAID);
+        when(paymentService.settleCardPayment(bad, true, null)).thenThrow(new IllegalStateException("Order has no client"));
+
+        assertEquals(1, paymentWebhookService.apply(List.of(1L, 2L)));
+
+        assertEquals(PaymentWebhookEvent.EventStatus.APPLIED, goodAlone.getStatus());
+        assertEquals(PaymentWebhookEvent.EventStatus.FAILED, badAlone.getStatus());
+        assertEquals("Order has no client", badAlone.getOutcome());
+        assertNotNull(badAlone.getProcessedAt());
+        verify(paymentWebhookEventRepository).save(badAlone);
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void apply_SkipsEventsAlreadyTaken() {
+        when(paymentWebhookEventRepository.lockReceived(List.of(1L))).thenReturn(List.of());
+
+        assertEquals(0, paymentWebhookService.apply(List.of(1L)));
+
+        verifyNoInteractions(transactionRepository, paymentService);
+        verify(paymentWebhookEventRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void recoverReceived_QueuesStaleEvents() {
+        when(paymentWebhookEventRepository.findReceivedIdsBefore(any(), any())).thenReturn(List.of(4L, 5L));
+
+        assertEquals(2, paymentWebhookService.recoverReceived());
+
+        assertEquals(2, paymentWebhookService.getQueuedCount());
+        verify(paymentWebhookEventRepository).findReceivedIdsBefore(any(), eq(PageRequest.of(0, 10)));
+    }
+
+    private PaymentWebhookEvent event(Long id, String type, String reference) {
+        PaymentWebhookEvent event = PaymentWebhookEvent.builder()
+                .eventId("evt_" + id)
+                .type(type)
+                .transactionReference(reference)
+                .payload("{}")
+                .status(PaymentWebhookEvent.EventStatus.RECEIVED)
+                .build();
+        event.setId(id);
+        return event;
+    }
+}
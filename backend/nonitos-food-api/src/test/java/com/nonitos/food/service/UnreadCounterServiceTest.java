@@ -0,0 +1,101 @@
+package com.nonitos.food.service;
+
+import com.nonitos.food.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCounterServiceTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private UnreadCounterService unreadCounterService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(unreadCounterService, "ttlHours", 24L);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void get_HitDoesNotTouchDatabase() {
+        when(valueOperations.get("notification_unread:1")).thenReturn("3");
+
+        assertEquals(3L, unreadCounterService.get(1L));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void get_MissRebuildsFromDatabaseWithoutOverwriting() {
+        when(valueOperations.get("notification_unread:1")).thenReturn(null);
+        when(notificationRepository.countByUserIdAndIsRead(1L, false)).thenReturn(7L);
+
+        assertEquals(7L, unreadCounterService.get(1L));
+        verify(valueOperations).setIfAbsent("notification_unread:1", "7", 24L, TimeUnit.HOURS);
+    }
+
+    @Test
+    void get_RedisDownFallsBackToDatabase() {
+        when(valueOperations.get("notification_unread:1"))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(notificationRepository.countByUserIdAndIsRead(1L, false)).thenReturn(2L);
+
+        assertEquals(2L, unreadCounterService.get(1L));
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void add_RunsScriptOnUserKey() {
+        unreadCounterService.add(1L, -1);
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("notification_unread:1")), eq("-1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_CorrectsOnlyDriftedCounters() {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn("notification_unread:1", "notification_unread:2");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(valueOperations.multiGet(List.of("notification_unread:1", "notification_unread:2")))
+                .thenReturn(Arrays.asList("4", "0"));
+        NotificationRepository.UnreadCount count = mock(NotificationRepository.UnreadCount.class);
+        when(count.getUserId()).thenReturn(1L);
+        when(count.getUnread()).thenReturn(5L);
+        when(notificationRepository.countUnreadByUserIdIn(Set.of(1L, 2L))).thenReturn(List.of(count));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("notification_unread:1")), eq("4"), eq("5")))
+                .thenReturn(1L);
+
+        assertEquals(1, unreadCounterService.reconcile());
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(), any());
+    }
+}
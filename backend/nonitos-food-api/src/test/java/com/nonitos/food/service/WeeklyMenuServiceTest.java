@@ -1,7 +1,12 @@
 package com.nonitos.food.service;
 
+import com.nonitos.food.dto.menu.CloneWeeklyMenuRequest;
 import com.nonitos.food.dto.menu.CreateWeeklyMenuRequest;
+import com.nonitos.food.dto.menu.SchedulePublicationRequest;
+import com.nonitos.food.dto.menu.UpdateWeeklyMenuRequest;
 import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.dto.menu.WeeklyMenuSummaryResponse;
+import com.nonitos.food.event.MenuPublishedEvent;
 import com.nonitos.food.exception.BadRequestException;
 import com.nonitos.food.exception.ResourceNotFoundException;
 import com.nonitos.food.model.*;
@@ -12,16 +17,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +51,9 @@ class WeeklyMenuServiceTest {
     @Mock
     private DishImageRepository dishImageRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private WeeklyMenuService weeklyMenuService;
 
@@ -94,7 +109,7 @@ class WeeklyMenuServiceTest {
 
         when(weeklyMenuRepository.findByWeekStartDate(monday)).thenReturn(Optional.empty());
         when(weeklyMenuRepository.save(any(WeeklyMenu.class))).thenReturn(testMenu);
-        when(menuDayRepository.findByWeeklyMenuIdOrderByDayOfWeekAscMealTypeAsc(1L))
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L)))
                 .thenReturn(Collections.emptyList());
 
         WeeklyMenuResponse response = weeklyMenuService.createWeeklyMenu(request);
@@ -105,6 +120,67 @@ class WeeklyMenuServiceTest {
         verify(weeklyMenuRepository).save(any(WeeklyMenu.class));
     }
 
+    @Test
+    void createWeeklyMenu_WithDays_ResolvesDishesAndInsertsInBatch() {
+        CreateWeeklyMenuRequest request = CreateWeeklyMenuRequest.builder()
+                .weekStartDate(monday)
+                .menuDays(List.of(
+                        menuDayRequest(DayOfWeek.MONDAY, "LUNCH", 1L),
+                        menuDayRequest(DayOfWeek.TUESDAY, "LUNCH", 1L)))
+                .build();
+        MenuDayRepository.NutritionTotals totals = mock(MenuDayRepository.NutritionTotals.class);
+        when(totals.getCalories()).thenReturn(1000L);
+        when(totals.getProtein()).thenReturn(60L);
+        when(totals.getCarbs()).thenReturn(100L);
+        when(totals.getFats()).thenReturn(40L);
+
+        when(weeklyMenuRepository.findByWeekStartDate(monday)).thenReturn(Optional.empty());
+        when(weeklyMenuRepository.save(any(WeeklyMenu.class))).thenReturn(testMenu);
+        when(dishRepository.findAllById(Set.of(1L))).thenReturn(List.of(testDish));
+        when(menuDayRepository.sumNutritionByWeeklyMenuId(1L)).thenReturn(totals);
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L)))
+                .thenReturn(Collections.emptyList());
+
+        WeeklyMenuResponse response = weeklyMenuService.createWeeklyMenu(request);
+
+        assertEquals(1000, response.getTotalCalories());
+        assertEquals(40, response.getTotalFats());
+        verify(menuDayRepository).batchInsert(eq(1L), argThat(days -> days.size() == 2));
+        verify(dishRepository, never()).findById(any());
+        verify(menuDayRepository, never()).save(any(MenuDay.class));
+    }
+
+    @Test
+    void createWeeklyMenu_DishNotFound() {
+        CreateWeeklyMenuRequest request = CreateWeeklyMenuRequest.builder()
+                .weekStartDate(monday)
+                .menuDays(List.of(menuDayRequest(DayOfWeek.MONDAY, "LUNCH", 99L)))
+                .build();
+
+        when(weeklyMenuRepository.findByWeekStartDate(monday)).thenReturn(Optional.empty());
+        when(weeklyMenuRepository.save(any(WeeklyMenu.class))).thenReturn(testMenu);
+        when(dishRepository.findAllById(Set.of(99L))).thenReturn(Collections.emptyList());
+
+        assertThrows(ResourceNotFoundException.class, () -> weeklyMenuService.createWeeklyMenu(request));
+        verify(menuDayRepository, never()).batchInsert(any(), anyList());
+    }
+
+    @Test
+    void createWeeklyMenu_DuplicateMeal() {
+        CreateWeeklyMenuRequest request = CreateWeeklyMenuRequest.builder()
+                .weekStartDate(monday)
+                .menuDays(List.of(
+                        menuDayRequest(DayOfWeek.MONDAY, "LUNCH", 1L),
+                        menuDayRequest(DayOfWeek.MONDAY, "LUNCH", 1L)))
+                .build();
+
+        when(weeklyMenuRepository.findByWeekStartDate(monday)).thenReturn(Optional.empty());
+        when(weeklyMenuRepository.save(any(WeeklyMenu.class))).thenReturn(testMenu);
+
+        assertThrows(BadRequestException.class, () -> weeklyMenuService.createWeeklyMenu(request));
+        verifyNoInteractions(dishRepository);
+    }
+
     @Test
     void createWeeklyMenu_NotMonday() {
         LocalDate tuesday = LocalDate.of(2026, 2, 10);
@@ -126,10 +202,62 @@ class WeeklyMenuServiceTest {
         assertThrows(BadRequestException.class, () -> weeklyMenuService.createWeeklyMenu(request));
     }
 
+    @Test
+    void cloneMenu_CopiesDaysWithSingleStatementAndKeepsTotals() {
+        LocalDate nextMonday = monday.plusWeeks(1);
+        testMenu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        testMenu.setTotalCalories(10500);
+        testMenu.setTotalProtein(630);
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+        when(weeklyMenuRepository.findByWeekStartDate(nextMonday)).thenReturn(Optional.empty());
+        when(weeklyMenuRepository.save(any(WeeklyMenu.class))).thenAnswer(invocation -> {
+            WeeklyMenu saved = invocation.getArgument(0);
+            var idField = WeeklyMenu.class.getSuperclass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(saved, 2L);
+            return saved;
+        });
+        when(menuDayRepository.copyMenuDays(1L, 2L)).thenReturn(21);
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(2L))).thenReturn(Collections.emptyList());
+
+        WeeklyMenuResponse response = weeklyMenuService.cloneMenu(1L,
+                CloneWeeklyMenuRequest.builder().weekStartDate(nextMonday).build());
+
+        assertEquals(2L, response.getId());
+        assertEquals(nextMonday, response.getWeekStartDate());
+        assertEquals(nextMonday.plusDays(6), response.getWeekEndDate());
+        assertEquals(WeeklyMenu.MenuStatus.DRAFT, response.getStatus());
+        assertEquals(10500, response.getTotalCalories());
+        assertEquals(630, response.getTotalProtein());
+        verify(menuDayRepository).copyMenuDays(1L, 2L);
+        verifyNoInteractions(dishRepository);
+    }
+
+    @Test
+    void cloneMenu_TargetWeekTaken() {
+        LocalDate nextMonday = monday.plusWeeks(1);
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+        when(weeklyMenuRepository.findByWeekStartDate(nextMonday)).thenReturn(Optional.of(new WeeklyMenu()));
+
+        assertThrows(BadRequestException.class, () -> weeklyMenuService.cloneMenu(1L,
+                CloneWeeklyMenuRequest.builder().weekStartDate(nextMonday).build()));
+        verify(menuDayRepository, never()).copyMenuDays(any(), any());
+    }
+
+    @Test
+    void cloneMenu_NotMonday() {
+        CloneWeeklyMenuRequest request = CloneWeeklyMenuRequest.builder()
+                .weekStartDate(monday.plusDays(1))
+                .build();
+
+        assertThrows(BadRequestException.class, () -> weeklyMenuService.cloneMenu(1L, request));
+        verifyNoInteractions(weeklyMenuRepository, menuDayRepository);
+    }
+
     @Test
     void getMenuById_Success() {
         when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
-        when(menuDayRepository.findByWeeklyMenuIdOrderByDayOfWeekAscMealTypeAsc(1L))
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L)))
                 .thenReturn(Collections.emptyList());
 
         WeeklyMenuResponse response = weeklyMenuService.getMenuById(1L);
@@ -138,6 +266,33 @@ class WeeklyMenuServiceTest {
         assertEquals(1L, response.getId());
     }
 
+    @Test
+    void getMenuById_IncludesDayAndMealTypeTotals() {
+        MenuDay lunch = MenuDay.builder()
+                .weeklyMenu(testMenu)
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .mealType(MenuDay.MealType.LUNCH)
+                .dish(testDish)
+                .build();
+        MenuDay dinner = MenuDay.builder()
+                .weeklyMenu(testMenu)
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .mealType(MenuDay.MealType.DINNER)
+                .dish(testDish)
+                .build();
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L))).thenReturn(List.of(lunch, dinner));
+        when(dishImageRepository.findPrimaryImagesByDishIdIn(Set.of(1L))).thenReturn(Collections.emptyList());
+
+        WeeklyMenuResponse response = weeklyMenuService.getMenuById(1L);
+
+        WeeklyMenuResponse.NutritionTotals mondayTotals = response.getMenusByDay().get(DayOfWeek.MONDAY).getTotals();
+        assertEquals(1000, mondayTotals.getCalories());
+        assertEquals(60, mondayTotals.getProtein());
+        assertEquals(500, response.getTotalsByMealType().get(MenuDay.MealType.DINNER).getCalories());
+        assertFalse(response.getTotalsByMealType().containsKey(MenuDay.MealType.BREAKFAST));
+    }
+
     @Test
     void getMenuById_NotFound() {
         when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.empty());
@@ -150,7 +305,7 @@ class WeeklyMenuServiceTest {
         testMenu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
         when(weeklyMenuRepository.findByStatusOrderByWeekStartDateDesc(WeeklyMenu.MenuStatus.PUBLISHED))
                 .thenReturn(List.of(testMenu));
-        when(menuDayRepository.findByWeeklyMenuIdOrderByDayOfWeekAscMealTypeAsc(1L))
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L)))
                 .thenReturn(Collections.emptyList());
 
         List<WeeklyMenuResponse> menus = weeklyMenuService.getPublishedMenus();
@@ -159,19 +314,175 @@ class WeeklyMenuServiceTest {
         assertEquals(1, menus.size());
     }
 
+    @Test
+    void getPublishedMenus_LoadsDaysAndImagesInBatch() {
+        testMenu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        WeeklyMenu otherMenu = new WeeklyMenu();
+        otherMenu.setWeekStartDate(monday.minusWeeks(1));
+        otherMenu.setWeekEndDate(monday.minusDays(1));
+        otherMenu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        setId(otherMenu, 2L);
+
+        MenuDay lunch = MenuDay.builder()
+                .weeklyMenu(testMenu)
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .mealType(MenuDay.MealType.LUNCH)
+                .dish(testDish)
+                .build();
+        MenuDay otherLunch = MenuDay.builder()
+                .weeklyMenu(otherMenu)
+                .dayOfWeek(DayOfWeek.TUESDAY)
+                .mealType(MenuDay.MealType.LUNCH)
+                .dish(testDish)
+                .build();
+
+        DishImageRepository.PrimaryImage image = mock(DishImageRepository.PrimaryImage.class);
+        when(image.getDishId()).thenReturn(1L);
+        when(image.getImageUrl()).thenReturn("https://example.com/dish.jpg");
+
+        when(weeklyMenuRepository.findByStatusOrderByWeekStartDateDesc(WeeklyMenu.MenuStatus.PUBLISHED))
+                .thenReturn(List.of(testMenu, otherMenu));
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(lunch, otherLunch));
+        when(dishImageRepository.findPrimaryImagesByDishIdIn(Set.of(1L))).thenReturn(List.of(image));
+
+        List<WeeklyMenuResponse> menus = weeklyMenuService.getPublishedMenus();
+
+        assertEquals(2, menus.size());
+        assertEquals("https://example.com/dish.jpg",
+                menus.get(0).getMenusByDay().get(DayOfWeek.MONDAY).getLunch().getImageUrl());
+        assertEquals(1L, menus.get(1).getMenusByDay().get(DayOfWeek.TUESDAY).getLunch().getDishId());
+        verify(menuDayRepository, times(1)).findWithDishByWeeklyMenuIdIn(any());
+        verify(dishImageRepository, times(1)).findPrimaryImagesByDishIdIn(any());
+        verify(dishImageRepository, never()).findByDishIdOrderByDisplayOrderAsc(any());
+    }
+
+    @Test
+    void getPublishedMenuSummaries_UsesProjection() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        WeeklyMenuSummaryResponse summary = new WeeklyMenuSummaryResponse(
+                1L, monday, monday.plusDays(6), WeeklyMenu.MenuStatus.PUBLISHED, 10500, 700, 1200, 350);
+        when(weeklyMenuRepository.findSummariesByStatus(WeeklyMenu.MenuStatus.PUBLISHED, pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        Page<WeeklyMenuSummaryResponse> page = weeklyMenuService.getPublishedMenuSummaries(pageable);
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals(10500, page.getContent().get(0).getTotalCalories());
+        verifyNoInteractions(menuDayRepository, dishImageRepository);
+    }
+
+    @Test
+    void getPublishedMenusInRange_Success() {
+        testMenu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        when(weeklyMenuRepository.findByStatusAndWeekStartDateBetweenOrderByWeekStartDateAsc(
+                WeeklyMenu.MenuStatus.PUBLISHED, monday, monday.plusWeeks(1)))
+                .thenReturn(List.of(testMenu));
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L)))
+                .thenReturn(Collections.emptyList());
+
+        List<WeeklyMenuResponse> menus = weeklyMenuService.getPublishedMenusInRange(monday, monday.plusWeeks(1));
+
+        assertEquals(1, menus.size());
+    }
+
+    @Test
+    void getPublishedMenusInRange_InvalidRange() {
+        assertThrows(BadRequestException.class,
+                () -> weeklyMenuService.getPublishedMenusInRange(monday, monday.minusWeeks(1)));
+        assertThrows(BadRequestException.class,
+                () -> weeklyMenuService.getPublishedMenusInRange(monday, monday.plusWeeks(8)));
+        verifyNoInteractions(weeklyMenuRepository);
+    }
+
+    @Test
+    void updateMenu_WritesOnlyChangedSlots() {
+        Dish otherDish = new Dish();
+        otherDish.setName("Other Dish");
+        otherDish.setCalories(300);
+        otherDish.setProtein(10);
+        otherDish.setCarbs(40);
+        otherDish.setFats(5);
+        setId(otherDish, 2L);
+
+        testMenu.setTotalCalories(1500);
+        testMenu.setTotalProtein(90);
+        testMenu.setTotalCarbs(150);
+        testMenu.setTotalFats(60);
+        MenuDay mondayLunch = storedMenuDay(10L, DayOfWeek.MONDAY, MenuDay.MealType.LUNCH);
+        MenuDay mondayDinner = storedMenuDay(11L, DayOfWeek.MONDAY, MenuDay.MealType.DINNER);
+        MenuDay tuesdayLunch = storedMenuDay(12L, DayOfWeek.TUESDAY, MenuDay.MealType.LUNCH);
+
+        UpdateWeeklyMenuRequest request = UpdateWeeklyMenuRequest.builder()
+                .menuDays(List.of(
+                        new UpdateWeeklyMenuRequest.MenuDayRequest(DayOfWeek.MONDAY, "LUNCH", 1L),
+                        new UpdateWeeklyMenuRequest.MenuDayRequest(DayOfWeek.MONDAY, "DINNER", 2L)))
+                .build();
+
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L)))
+                .thenReturn(List.of(mondayLunch, mondayDinner, tuesdayLunch))
+                .thenReturn(Collections.emptyList());
+        when(dishRepository.findAllById(Set.of(2L))).thenReturn(List.of(otherDish));
+        when(weeklyMenuRepository.save(testMenu)).thenReturn(testMenu);
+
+        WeeklyMenuResponse response = weeklyMenuService.updateMenu(1L, request);
+
+        // 1500 - 500 (old dinner) + 300 (new dinner) - 500 (removed tuesday lunch)
+        assertEquals(800, response.getTotalCalories());
+        assertEquals(40, response.getTotalProtein());
+        assertEquals(90, response.getTotalCarbs());
+        assertEquals(25, response.getTotalFats());
+        verify(menuDayRepository).deleteByIdIn(List.of(12L));
+        verify(menuDayRepository).batchUpsert(eq(1L), argThat(days -> days.size() == 1
+                && days.get(0).getMealType() == MenuDay.MealType.DINNER
+                && days.get(0).getDish() == otherDish));
+        verify(menuDayRepository, never()).deleteByWeeklyMenuId(any());
+        verify(menuDayRepository, never()).sumNutritionByWeeklyMenuId(any());
+    }
+
+    @Test
+    void updateMenu_NoChanges_SkipsWrites() {
+        MenuDay mondayLunch = storedMenuDay(10L, DayOfWeek.MONDAY, MenuDay.MealType.LUNCH);
+        UpdateWeeklyMenuRequest request = UpdateWeeklyMenuRequest.builder()
+                .menuDays(List.of(new UpdateWeeklyMenuRequest.MenuDayRequest(DayOfWeek.MONDAY, "LUNCH", 1L)))
+                .build();
+
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L))).thenReturn(List.of(mondayLunch));
+        when(dishImageRepository.findPrimaryImagesByDishIdIn(Set.of(1L))).thenReturn(Collections.emptyList());
+
+        weeklyMenuService.updateMenu(1L, request);
+
+        verify(menuDayRepository, never()).batchUpsert(any(), anyList());
+        verify(menuDayRepository, never()).deleteByIdIn(any());
+        verify(weeklyMenuRepository, never()).save(any(WeeklyMenu.class));
+        verifyNoInteractions(dishRepository);
+    }
+
+    @Test
+    void updateMenu_Published() {
+        testMenu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+
+        assertThrows(BadRequestException.class,
+                () -> weeklyMenuService.updateMenu(1L, new UpdateWeeklyMenuRequest(List.of())));
+    }
+
     @Test
     void publishMenu_Success() {
         when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
         when(weeklyMenuRepository.existsByWeekStartDateAndStatus(monday, WeeklyMenu.MenuStatus.PUBLISHED))
                 .thenReturn(false);
         when(weeklyMenuRepository.save(any(WeeklyMenu.class))).thenReturn(testMenu);
-        when(menuDayRepository.findByWeeklyMenuIdOrderByDayOfWeekAscMealTypeAsc(1L))
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L)))
                 .thenReturn(Collections.emptyList());
 
         WeeklyMenuResponse response = weeklyMenuService.publishMenu(1L);
 
         assertNotNull(response);
         verify(weeklyMenuRepository).save(any(WeeklyMenu.class));
+        verify(eventPublisher).publishEvent(any(MenuPublishedEvent.class));
     }
 
     @Test
@@ -182,6 +493,69 @@ class WeeklyMenuServiceTest {
         assertThrows(BadRequestException.class, () -> weeklyMenuService.publishMenu(1L));
     }
 
+    @Test
+    void schedulePublication_Success() {
+        LocalDateTime publishAt = LocalDateTime.of(2026, 2, 6, 18, 0);
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+        when(weeklyMenuRepository.save(testMenu)).thenReturn(testMenu);
+        when(menuDayRepository.findWithDishByWeeklyMenuIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+
+        WeeklyMenuResponse response = weeklyMenuService.schedulePublication(1L,
+                SchedulePublicationRequest.builder().publishAt(publishAt).build());
+
+        assertEquals(publishAt, response.getPublishAt());
+        assertEquals(WeeklyMenu.MenuStatus.DRAFT, response.getStatus());
+    }
+
+    @Test
+    void schedulePublication_AlreadyPublished() {
+        testMenu.setStatus(WeeklyMenu.MenuStatus.PUBLISHED);
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+
+        assertThrows(BadRequestException.class, () -> weeklyMenuService.schedulePublication(1L,
+                SchedulePublicationRequest.builder().publishAt(LocalDateTime.now().plusDays(1)).build()));
+        verify(weeklyMenuRepository, never()).save(any(WeeklyMenu.class));
+    }
+
+    @Test
+    void cancelScheduledPublication_NotScheduled() {
+        when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
+
+        assertThrows(BadRequestException.class, () -> weeklyMenuService.cancelScheduledPublication(1L));
+    }
+
+    @Test
+    void publishPrepared_FlipsStatusAndPublishesPreparedResponse() {
+        LocalDateTime publishAt = LocalDateTime.of(2026, 2, 6, 18, 0);
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 2, 5, 9, 30);
+        WeeklyMenuResponse prepared = WeeklyMenuResponse.builder()
+                .id(1L)
+                .status(WeeklyMenu.MenuStatus.DRAFT)
+                .publishAt(publishAt)
+                .build();
+        when(weeklyMenuRepository.publishIfUnchanged(eq(1L), eq(WeeklyMenu.MenuStatus.DRAFT),
+                eq(WeeklyMenu.MenuStatus.PUBLISHED), eq(publishAt), eq(updatedAt), any()))
+                .thenReturn(1);
+
+        assertTrue(weeklyMenuService.publishPrepared(prepared, publishAt, updatedAt));
+
+        assertEquals(WeeklyMenu.MenuStatus.PUBLISHED, prepared.getStatus());
+        assertNull(prepared.getPublishAt());
+        verify(eventPublisher).publishEvent(any(MenuPublishedEvent.class));
+        verifyNoInteractions(menuDayRepository);
+    }
+
+    @Test
+    void publishPrepared_ChangedOrPublishedElsewhere() {
+        LocalDateTime publishAt = LocalDateTime.of(2026, 2, 6, 18, 0);
+        WeeklyMenuResponse prepared = WeeklyMenuResponse.builder().id(1L).build();
+        when(weeklyMenuRepository.publishIfUnchanged(eq(1L), any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertFalse(weeklyMenuService.publishPrepared(prepared, publishAt, publishAt));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void deleteMenu_Success() {
         when(weeklyMenuRepository.findById(1L)).thenReturn(Optional.of(testMenu));
@@ -198,4 +572,33 @@ class WeeklyMenuServiceTest {
 
         assertThrows(BadRequestException.class, () -> weeklyMenuService.deleteMenu(1L));
     }
+
+    private MenuDay storedMenuDay(Long id, DayOfWeek day, MenuDay.MealType mealType) {
+        MenuDay menuDay = MenuDay.builder()
+                .weeklyMenu(testMenu)
+                .dayOfWeek(day)
+                .mealType(mealType)
+                .dish(testDish)
+                .build();
+        setId(menuDay, id);
+        return menuDay;
+    }
+
+    private CreateWeeklyMenuRequest.MenuDayRequest menuDayRequest(DayOfWeek day, String mealType, Long dishId) {
+        return CreateWeeklyMenuRequest.MenuDayRequest.builder()
+                .dayOfWeek(day)
+                .mealType(mealType)
+                .dishId(dishId)
+                .build();
+    }
+
+    private void setId(Object entity, Long id) {
+        try {
+            var idField = entity.getClass().getSuperclass().getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(entity, id);
+        } catch (Exception e) {
+            // Ignore
+        }
+    }
 }
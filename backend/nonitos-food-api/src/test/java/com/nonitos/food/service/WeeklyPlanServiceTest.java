@@ -0,0 +1,184 @@
+package com.nonitos.food.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nonitos.food.dto.menu.WeeklyMenuResponse;
+import com.nonitos.food.dto.order.WeeklyPlanResponse;
+import com.nonitos.food.exception.BadRequestException;
+import com.nonitos.food.model.ClientAllergy;
+import com.nonitos.food.model.ClientWeeklyPlan;
+import com.nonitos.food.model.MenuDay;
+import com.nonitos.food.repository.ClientAllergyRepository;
+import com.nonitos.food.repository.ClientWeeklyPlanRepository;
+import com.nonitos.food.repository.DishAllergenRepository;
+import com.nonitos.food.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WeeklyPlanServiceTest {
+
+    @Mock
+    private WeeklyMenuService weeklyMenuService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private DishAllergenRepository dishAllergenRepository;
+
+    @Mock
+    private ClientAllergyRepository clientAllergyRepository;
+
+    @Mock
+    private ClientWeeklyPlanRepository clientWeeklyPlanRepository;
+
+    private ObjectMapper objectMapper;
+    private WeeklyPlanService weeklyPlanService;
+    private WeeklyMenuResponse menu;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        weeklyPlanService = new WeeklyPlanService(weeklyMenuService, orderRepository, dishAllergenRepository,
+                clientAllergyRepository, clientWeeklyPlanRepository, objectMapper);
+
+        Map<DayOfWeek, WeeklyMenuResponse.DayMenus> days = new EnumMap<>(DayOfWeek.class);
+        days.put(DayOfWeek.MONDAY, WeeklyMenuResponse.DayMenus.builder()
+                .breakfast(meal(10L, "Oatmeal", 400))
+                .lunch(meal(11L, "Pad Thai", 700))
+                .dinner(meal(12L, "Salmon", 600))
+                .build());
+        days.put(DayOfWeek.TUESDAY, WeeklyMenuResponse.DayMenus.builder()
+                .lunch(meal(13L, "Chicken Rice", 650))
+                .build());
+        menu = WeeklyMenuResponse.builder()
+                .id(5L)
+                .weekStartDate(LocalDate.of(2026, 2, 9))
+                .weekEndDate(LocalDate.of(2026, 2, 15))
+                .menusByDay(days)
+                .build();
+    }
+
+    @Test
+    void buildPlanForOrder_KeepsSelectedMealsAndWarnsAboutAllergens() throws Exception {
+        OrderRepository.MealSelection order = selection(1L, 7L, 2, false, true, true);
+        DishAllergenRepository.DishAllergyRef peanuts = dishAllergy(11L, 3L, "Peanuts");
+        DishAllergenRepository.DishAllergyRef fish = dishAllergy(12L, 5L, "Fish");
+        ClientAllergyRepository.UserAllergyRef clientPeanuts = mock(ClientAllergyRepository.UserAllergyRef.class);
+        when(clientPeanuts.getUserId()).thenReturn(7L);
+        when(clientPeanuts.getAllergyId()).thenReturn(3L);
+        when(clientPeanuts.getSeverity()).thenReturn(ClientAllergy.AllergySeverity.SEVERE);
+
+        when(orderRepository.findMealSelectionById(1L)).thenReturn(Optional.of(order));
+        when(weeklyMenuService.getMenuById(5L)).thenReturn(menu);
+        when(dishAllergenRepository.findAllergyRefsByDishIdIn(Set.of(10L, 11L, 12L, 13L)))
+                .thenReturn(List.of(peanuts, fish));
+        when(clientAllergyRepository.findAllergyRefsByUserIdIn(Set.of(7L))).thenReturn(List.of(clientPeanuts));
+
+        weeklyPlanService.buildPlanForOrder(1L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClientWeeklyPlan>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clientWeeklyPlanRepository).batchUpsert(captor.capture());
+        ClientWeeklyPlan stored = captor.getValue().get(0);
+        assertEquals(7L, stored.getClientId());
+
+        WeeklyPlanResponse plan = objectMapper.readValue(stored.getDocument(), WeeklyPlanResponse.class);
+        assertEquals(2, plan.getDays().size());
+        WeeklyPlanResponse.PlanDay monday = plan.getDays().get(0);
+        assertEquals(DayOfWeek.MONDAY, monday.getDayOfWeek());
+        assertEquals(List.of(MenuDay.MealType.LUNCH, MenuDay.MealType.DINNER),
+                monday.getMeals().stream().map(WeeklyPlanResponse.PlanMeal::getMealType).toList());
+        assertEquals(1300, monday.getTotals().getCalories());
+        assertEquals(List.of("Peanuts (SEVERE)"), monday.getMeals().get(0).getAllergenWarnings());
+        assertNull(monday.getMeals().get(1).getAllergenWarnings());
+        assertEquals(1950, plan.getWeeklyTotals().getCalories());
+        assertEquals(List.of("Peanuts (SEVERE)"), plan.getAllergenWarnings());
+    }
+
+    @Test
+    void buildPlansForMenu_BuildsEveryPaidOrder() {
+        OrderRepository.MealSelection first = selection(1L, 7L, 1, true, false, false);
+        OrderRepository.MealSelection second = selection(2L, 8L, 3, true, true, true);
+        when(orderRepository.findMealSelectionsByWeeklyMenuId(eq(5L), any())).thenReturn(List.of(first, second));
+        when(dishAllergenRepository.findAllergyRefsByDishIdIn(any())).thenReturn(List.of());
+        when(clientAllergyRepository.findAllergyRefsByUserIdIn(Set.of(7L, 8L))).thenReturn(List.of());
+
+        int built = weeklyPlanService.buildPlansForMenu(menu);
+
+        assertEquals(2, built);
+        verify(clientWeeklyPlanRepository, times(1)).batchUpsert(argThat(plans -> plans.size() == 2));
+        verifyNoInteractions(weeklyMenuService);
+    }
+
+    @Test
+    void buildPlansForMenu_NoOrders() {
+        when(orderRepository.findMealSelectionsByWeeklyMenuId(eq(5L), any())).thenReturn(List.of());
+
+        assertEquals(0, weeklyPlanService.buildPlansForMenu(menu));
+        verifyNoInteractions(clientWeeklyPlanRepository, dishAllergenRepository);
+    }
+
+    @Test
+    void getPlan_OtherClient() {
+        ClientWeeklyPlan plan = ClientWeeklyPlan.builder().orderId(1L).clientId(7L).document("{}").build();
+        when(clientWeeklyPlanRepository.findByOrderId(1L)).thenReturn(Optional.of(plan));
+
+        assertThrows(BadRequestException.class, () -> weeklyPlanService.getPlan(1L, 8L));
+    }
+
+    private WeeklyMenuResponse.MealInfo meal(Long dishId, String name, int calories) {
+        return WeeklyMenuResponse.MealInfo.builder()
+                .dishId(dishId)
+                .dishName(name)
+                .calories(calories)
+                .protein(30)
+                .carbs(50)
+                .fats(15)
+                .build();
+    }
+
+    private OrderRepository.MealSelection selection(Long orderId, Long clientId, int mealsPerDay,
+                                                    boolean breakfast, boolean lunch, boolean dinner) {
+        OrderRepository.MealSelection selection = mock(OrderRepository.MealSelection.class);
+        lenient().when(selection.getId()).thenReturn(orderId);
+        lenient().when(selection.getOrderCode()).thenReturn("ORD" + orderId);
+        lenient().when(selection.getClientId()).thenReturn(clientId);
+        lenient().when(selection.getWeeklyMenuId()).thenReturn(5L);
+        lenient().when(selection.getMealsPerDay()).thenReturn(mealsPerDay);
+        lenient().when(selection.getIncludeBreakfast()).thenReturn(breakfast);
+        lenient().when(selection.getIncludeLunch()).thenReturn(lunch);
+        lenient().when(selection.getIncludeDinner()).thenReturn(dinner);
+        lenient().when(selection.getPickupDateTime()).thenReturn(LocalDateTime.of(2026, 2, 8, 10, 0));
+        return selection;
+    }
+
+    private DishAllergenRepository.DishAllergyRef dishAllergy(Long dishId, Long allergyId, String name) {
+        DishAllergenRepository.DishAllergyRef ref = mock(DishAllergenRepository.DishAllergyRef.class);
+        lenient().when(ref.getDishId()).thenReturn(dishId);
+        lenient().when(ref.getAllergyId()).thenReturn(allergyId);
+        lenient().when(ref.getAllergyName()).thenReturn(name);
+        return ref;
+    }
+}